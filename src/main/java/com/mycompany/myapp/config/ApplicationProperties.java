@@ -1,5 +1,13 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.domain.enumeration.AlertType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +17,1203 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link io.github.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+    private final Ingestion ingestion = new Ingestion();
+
+    private final Partitioning partitioning = new Partitioning();
+
+    private final Rollup rollup = new Rollup();
+
+    private final Series series = new Series();
+
+    private final Search search = new Search();
+
+    private final Cache cache = new Cache();
+
+    private final Firmware firmware = new Firmware();
+
+    private final Sms sms = new Sms();
+
+    public Ingestion getIngestion() {
+        return ingestion;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public Rollup getRollup() {
+        return rollup;
+    }
+
+    public Series getSeries() {
+        return series;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Firmware getFirmware() {
+        return firmware;
+    }
+
+    public Sms getSms() {
+        return sms;
+    }
+
+    public static class Ingestion {
+        /**
+         * Maximum number of readings accepted by a single bulk ingestion request.
+         */
+        private int maxReadingsPerRequest = 5000;
+
+        private final WriteBehind writeBehind = new WriteBehind();
+
+        public int getMaxReadingsPerRequest() {
+            return maxReadingsPerRequest;
+        }
+
+        public void setMaxReadingsPerRequest(int maxReadingsPerRequest) {
+            this.maxReadingsPerRequest = maxReadingsPerRequest;
+        }
+
+        public WriteBehind getWriteBehind() {
+            return writeBehind;
+        }
+
+        public static class WriteBehind {
+            /**
+             * Hold accepted readings in memory and store them asynchronously in group commits. Readings that are
+             * acknowledged but not stored yet are lost if the application crashes.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Maximum number of queued readings, uploads are rejected once it is reached.
+             */
+            private int capacity = 10000;
+
+            /**
+             * Number of readings that triggers a flush.
+             */
+            private int flushSize = 500;
+
+            /**
+             * Maximum time a reading waits in the queue before being flushed.
+             */
+            private long flushIntervalMs = 1000;
+
+            /**
+             * Number of times a flush failing on a transient database error is retried before its readings are dropped.
+             */
+            private int maxRetries = 3;
+
+            /**
+             * Delay before the first retry of a flush, doubled on each following retry.
+             */
+            private long retryBackoffMs = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public int getFlushSize() {
+                return flushSize;
+            }
+
+            public void setFlushSize(int flushSize) {
+                this.flushSize = flushSize;
+            }
+
+            public long getFlushIntervalMs() {
+                return flushIntervalMs;
+            }
+
+            public void setFlushIntervalMs(long flushIntervalMs) {
+                this.flushIntervalMs = flushIntervalMs;
+            }
+
+            public int getMaxRetries() {
+                return maxRetries;
+            }
+
+            public void setMaxRetries(int maxRetries) {
+                this.maxRetries = maxRetries;
+            }
+
+            public long getRetryBackoffMs() {
+                return retryBackoffMs;
+            }
+
+            public void setRetryBackoffMs(long retryBackoffMs) {
+                this.retryBackoffMs = retryBackoffMs;
+            }
+        }
+    }
+
+    public static class Partitioning {
+        /**
+         * Number of monthly partitions of the values table to create in advance.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * Number of past months of readings to keep, readings are kept forever when 0.
+         */
+        private int retentionMonths = 0;
+
+        /**
+         * When partition maintenance and retention run.
+         */
+        private String cron = "0 0 1 * * ?";
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class Rollup {
+        /**
+         * How far back each catch-up run recomputes the rollups, to include late readings.
+         */
+        private int lookbackMinutes = 60;
+
+        /**
+         * Delay between two catch-up runs.
+         */
+        private long catchUpDelayMs = 60000;
+
+        public int getLookbackMinutes() {
+            return lookbackMinutes;
+        }
+
+        public void setLookbackMinutes(int lookbackMinutes) {
+            this.lookbackMinutes = lookbackMinutes;
+        }
+
+        public long getCatchUpDelayMs() {
+            return catchUpDelayMs;
+        }
+
+        public void setCatchUpDelayMs(long catchUpDelayMs) {
+            this.catchUpDelayMs = catchUpDelayMs;
+        }
+    }
+
+    public static class Series {
+        /**
+         * Number of points returned when a series request does not give a point budget.
+         */
+        private int defaultMaxPoints = 500;
+
+        /**
+         * Largest point budget a series request can ask for.
+         */
+        private int maxPointsLimit = 10000;
+
+        /**
+         * Number of readings per page when a time-range request does not give a limit.
+         */
+        private int defaultPageSize = 100;
+
+        /**
+         * Largest number of readings per page of a time-range request.
+         */
+        private int maxPageSize = 1000;
+
+        public int getDefaultMaxPoints() {
+            return defaultMaxPoints;
+        }
+
+        public void setDefaultMaxPoints(int defaultMaxPoints) {
+            this.defaultMaxPoints = defaultMaxPoints;
+        }
+
+        public int getMaxPointsLimit() {
+            return maxPointsLimit;
+        }
+
+        public void setMaxPointsLimit(int maxPointsLimit) {
+            this.maxPointsLimit = maxPointsLimit;
+        }
+
+        public int getDefaultPageSize() {
+            return defaultPageSize;
+        }
+
+        public void setDefaultPageSize(int defaultPageSize) {
+            this.defaultPageSize = defaultPageSize;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+    }
+
+    public static class Search {
+        /**
+         * Largest number of hits returned by a page of a search request.
+         */
+        private int maxPageSize = 1000;
+
+        /**
+         * Hits after this position cannot be read by paged search requests, only by exports. It must not exceed the
+         * index.max_result_window setting of the indices.
+         */
+        private int maxResultWindow = 10000;
+
+        /**
+         * Number of hits read by each request of an export.
+         */
+        private int scrollSize = 500;
+
+        /**
+         * How long Elasticsearch keeps the search context of an export between two requests.
+         */
+        private long scrollKeepAliveMs = 60000;
+
+        /**
+         * Indexing settings of the entities, by entity class simple name. Entities that are not listed are indexed in
+         * full.
+         */
+        private Map<String, Entity> entities = new HashMap<>();
+
+        private final Cache cache = new Cache();
+
+        private final Outbox outbox = new Outbox();
+
+        private final Reindex reindex = new Reindex();
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getMaxResultWindow() {
+            return maxResultWindow;
+        }
+
+        public void setMaxResultWindow(int maxResultWindow) {
+            this.maxResultWindow = maxResultWindow;
+        }
+
+        public int getScrollSize() {
+            return scrollSize;
+        }
+
+        public void setScrollSize(int scrollSize) {
+            this.scrollSize = scrollSize;
+        }
+
+        public long getScrollKeepAliveMs() {
+            return scrollKeepAliveMs;
+        }
+
+        public void setScrollKeepAliveMs(long scrollKeepAliveMs) {
+            this.scrollKeepAliveMs = scrollKeepAliveMs;
+        }
+
+        public Map<String, Entity> getEntities() {
+            return entities;
+        }
+
+        public void setEntities(Map<String, Entity> entities) {
+            this.entities = entities;
+        }
+
+        /**
+         * @param entityType the simple name of the entity class.
+         * @return whether the entities of this type are indexed.
+         */
+        public boolean isIndexed(String entityType) {
+            Entity entity = entities.get(entityType);
+            return entity == null || entity.isEnabled();
+        }
+
+        /**
+         * @param entityType the simple name of the entity class.
+         * @return the fields of the entities of this type that are left out of their documents.
+         */
+        public Set<String> getExcludedFields(String entityType) {
+            Entity entity = entities.get(entityType);
+            return entity == null ? Collections.emptySet() : entity.getExcludedFields();
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public Reindex getReindex() {
+            return reindex;
+        }
+
+        public static class Entity {
+            /**
+             * Index the entities of this type. When disabled, they are not searchable.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Fields left out of the documents, such as binary contents.
+             */
+            private Set<String> excludedFields = new HashSet<>();
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Set<String> getExcludedFields() {
+                return excludedFields;
+            }
+
+            public void setExcludedFields(Set<String> excludedFields) {
+                this.excludedFields = excludedFields;
+            }
+        }
+
+        public static class Cache {
+            /**
+             * Cache the pages returned by the search endpoints until the searched entities change.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of cached pages of each entity type.
+             */
+            private long maxEntries = 200;
+
+            /**
+             * How long a page stays cached, bounding the staleness when documents are changed outside of the
+             * application.
+             */
+            private long timeToLiveSeconds = 300;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+
+        public static class Outbox {
+            /**
+             * Record entity changes in the search_outbox table and index them in the background, instead of indexing
+             * them in the request.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of outbox entries applied by one bulk request.
+             */
+            private int batchSize = 500;
+
+            /**
+             * Delay between two runs of the background indexer.
+             */
+            private long drainDelayMs = 1000;
+
+            /**
+             * Delay before retrying an entry that could not be indexed, doubled on each failed attempt.
+             */
+            private long initialBackoffMs = 1000;
+
+            /**
+             * Longest delay between two attempts of indexing an entry.
+             */
+            private long maxBackoffMs = 300000;
+
+            /**
+             * Delay after which the entries claimed by an instance which stopped are claimed again. It must be longer
+             * than a bulk request takes.
+             */
+            private long claimTimeoutMs = 300000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public long getDrainDelayMs() {
+                return drainDelayMs;
+            }
+
+            public void setDrainDelayMs(long drainDelayMs) {
+                this.drainDelayMs = drainDelayMs;
+            }
+
+            public long getInitialBackoffMs() {
+                return initialBackoffMs;
+            }
+
+            public void setInitialBackoffMs(long initialBackoffMs) {
+                this.initialBackoffMs = initialBackoffMs;
+            }
+
+            public long getMaxBackoffMs() {
+                return maxBackoffMs;
+            }
+
+            public void setMaxBackoffMs(long maxBackoffMs) {
+                this.maxBackoffMs = maxBackoffMs;
+            }
+
+            public long getClaimTimeoutMs() {
+                return claimTimeoutMs;
+            }
+
+            public void setClaimTimeoutMs(long claimTimeoutMs) {
+                this.claimTimeoutMs = claimTimeoutMs;
+            }
+        }
+
+        public static class Reindex {
+            /**
+             * Maximum number of bulk requests in flight.
+             */
+            private int concurrency = 4;
+
+            /**
+             * Number of entities read from the database and sent by each bulk request.
+             */
+            private int chunkSize = 1000;
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+        }
+    }
+
+    public static class Cache {
+        /**
+         * Settings of the Hibernate and application caches, by entity or collection name relative to the domain
+         * package, for instance {@code Temperature.values}, or by cache name. Unset settings default to
+         * {@code jhipster.cache.ehcache}.
+         */
+        private Map<String, Region> regions = new HashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Region {
+            /**
+             * Maximum number of entries kept on heap.
+             */
+            private Long maxEntries;
+
+            /**
+             * Maximum size of the entries kept on heap, in megabytes, instead of a number of entries.
+             */
+            private Long maxHeapMb;
+
+            /**
+             * Size of an off-heap tier behind the heap, in megabytes. Entries stored off-heap are serialized, and the
+             * total of all the off-heap tiers must fit in -XX:MaxDirectMemorySize.
+             */
+            private Long offHeapMb;
+
+            /**
+             * How long entries stay cached after they were written, 0 to never expire them.
+             */
+            private Long timeToLiveSeconds;
+
+            /**
+             * How long entries stay cached after they were last read or written, instead of a time to live.
+             */
+            private Long timeToIdleSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Long getMaxHeapMb() {
+                return maxHeapMb;
+            }
+
+            public void setMaxHeapMb(Long maxHeapMb) {
+                this.maxHeapMb = maxHeapMb;
+            }
+
+            public Long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(Long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+        }
+
+        public static class WarmUp {
+            /**
+             * Load the entities into the second-level cache on startup, the instance being out of service until done.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Simple names of the entity classes to load.
+             */
+            private List<String> entities = new ArrayList<>();
+
+            /**
+             * Number of entities loaded by each query.
+             */
+            private int chunkSize = 500;
+
+            /**
+             * Number of chunks loaded in parallel.
+             */
+            private int concurrency = 4;
+
+            /**
+             * How long the warm-up may take, the remaining chunks being left to load on demand.
+             */
+            private long timeBudgetSeconds = 60;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public List<String> getEntities() {
+                return entities;
+            }
+
+            public void setEntities(List<String> entities) {
+                this.entities = entities;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public long getTimeBudgetSeconds() {
+                return timeBudgetSeconds;
+            }
+
+            public void setTimeBudgetSeconds(long timeBudgetSeconds) {
+                this.timeBudgetSeconds = timeBudgetSeconds;
+            }
+        }
+
+        public static class Invalidation {
+            /**
+             * How the entries written on this instance are evicted from the caches of the other instances:
+             * {@code eureka} posts them to the instances registered under the same name, {@code loopback} delivers
+             * them to the instances of the same JVM, for tests, and {@code none} does not send them.
+             */
+            private String transport = "eureka";
+
+            /**
+             * Connect and read timeout of the requests sent to each instance.
+             */
+            private int timeoutMs = 2000;
+
+            /**
+             * Validity of the token of the requests sent to the other instances, which only grants the invalidations.
+             * A token is reused until half of its validity elapsed.
+             */
+            private long tokenValiditySeconds = 300;
+
+            public String getTransport() {
+                return transport;
+            }
+
+            public void setTransport(String transport) {
+                this.transport = transport;
+            }
+
+            public int getTimeoutMs() {
+                return timeoutMs;
+            }
+
+            public void setTimeoutMs(int timeoutMs) {
+                this.timeoutMs = timeoutMs;
+            }
+
+            public long getTokenValiditySeconds() {
+                return tokenValiditySeconds;
+            }
+
+            public void setTokenValiditySeconds(long tokenValiditySeconds) {
+                this.tokenValiditySeconds = tokenValiditySeconds;
+            }
+        }
+    }
+
+    public static class Firmware {
+        /**
+         * Directory of the content-addressed store of the firmware images served by downloads, and of the deltas
+         * between them. Images are copied from the database on their first download. A relative directory is resolved
+         * against the working directory, it must not be cleaned up by the system while the application runs.
+         */
+        private String storeDirectory = "data/firmware";
+
+        /**
+         * Number of bytes of an image read from the database by each query.
+         */
+        private int readChunkSize = 1024 * 1024;
+
+        /**
+         * Size of the blocks of an image matched by the deltas, smaller blocks make smaller deltas but use more memory
+         * to build them.
+         */
+        private int deltaBlockSize = 512;
+
+        /**
+         * Deltas larger than this fraction of the target image are not served, the whole image is.
+         */
+        private double maxDeltaRatio = 0.5;
+
+        /**
+         * Delay between the clean-ups of the store.
+         */
+        private long cleanupDelayMs = 60 * 60 * 1000;
+
+        /**
+         * Images which no application references are deleted once they were not written for this long, so that the
+         * image of an upload is kept until the application is saved.
+         */
+        private long unreferencedGraceMinutes = 60;
+
+        /**
+         * Deltas which were not downloaded for this long are deleted.
+         */
+        private long deltaRetentionHours = 7 * 24;
+
+        private final Rollout rollout = new Rollout();
+
+        public String getStoreDirectory() {
+            return storeDirectory;
+        }
+
+        public void setStoreDirectory(String storeDirectory) {
+            this.storeDirectory = storeDirectory;
+        }
+
+        public int getReadChunkSize() {
+            return readChunkSize;
+        }
+
+        public void setReadChunkSize(int readChunkSize) {
+            this.readChunkSize = readChunkSize;
+        }
+
+        public int getDeltaBlockSize() {
+            return deltaBlockSize;
+        }
+
+        public void setDeltaBlockSize(int deltaBlockSize) {
+            this.deltaBlockSize = deltaBlockSize;
+        }
+
+        public double getMaxDeltaRatio() {
+            return maxDeltaRatio;
+        }
+
+        public void setMaxDeltaRatio(double maxDeltaRatio) {
+            this.maxDeltaRatio = maxDeltaRatio;
+        }
+
+        public long getCleanupDelayMs() {
+            return cleanupDelayMs;
+        }
+
+        public void setCleanupDelayMs(long cleanupDelayMs) {
+            this.cleanupDelayMs = cleanupDelayMs;
+        }
+
+        public long getUnreferencedGraceMinutes() {
+            return unreferencedGraceMinutes;
+        }
+
+        public void setUnreferencedGraceMinutes(long unreferencedGraceMinutes) {
+            this.unreferencedGraceMinutes = unreferencedGraceMinutes;
+        }
+
+        public long getDeltaRetentionHours() {
+            return deltaRetentionHours;
+        }
+
+        public void setDeltaRetentionHours(long deltaRetentionHours) {
+            this.deltaRetentionHours = deltaRetentionHours;
+        }
+
+        public Rollout getRollout() {
+            return rollout;
+        }
+
+        public static class Rollout {
+            /**
+             * Downloads of images and deltas served at the same time by an instance, further downloads get a
+             * {@code 503 (Service Unavailable)}.
+             */
+            private int maxConcurrentDownloads = 50;
+
+            /**
+             * Egress of the downloads of an instance, shared by all of them, in bytes per second. 0 does not limit it.
+             */
+            private long maxBytesPerSecond = 50L * 1024 * 1024;
+
+            /**
+             * Fraction of the devices of a wave which must run the new version before the next wave starts.
+             */
+            private double minWaveCompletion = 0.9;
+
+            /**
+             * Duration after which the next wave starts, however many devices of the wave were updated.
+             */
+            private long maxWaveDurationMinutes = 24 * 60;
+
+            /**
+             * Delay between the checks of the progress of the rollouts, also sent as {@code Retry-After} to the
+             * devices which must wait.
+             */
+            private long checkDelayMs = 60_000;
+
+            public int getMaxConcurrentDownloads() {
+                return maxConcurrentDownloads;
+            }
+
+            public void setMaxConcurrentDownloads(int maxConcurrentDownloads) {
+                this.maxConcurrentDownloads = maxConcurrentDownloads;
+            }
+
+            public long getMaxBytesPerSecond() {
+                return maxBytesPerSecond;
+            }
+
+            public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+                this.maxBytesPerSecond = maxBytesPerSecond;
+            }
+
+            public double getMinWaveCompletion() {
+                return minWaveCompletion;
+            }
+
+            public void setMinWaveCompletion(double minWaveCompletion) {
+                this.minWaveCompletion = minWaveCompletion;
+            }
+
+            public long getMaxWaveDurationMinutes() {
+                return maxWaveDurationMinutes;
+            }
+
+            public void setMaxWaveDurationMinutes(long maxWaveDurationMinutes) {
+                this.maxWaveDurationMinutes = maxWaveDurationMinutes;
+            }
+
+            public long getCheckDelayMs() {
+                return checkDelayMs;
+            }
+
+            public void setCheckDelayMs(long checkDelayMs) {
+                this.checkDelayMs = checkDelayMs;
+            }
+        }
+    }
+
+    public static class Sms {
+        /**
+         * The {@link com.mycompany.myapp.service.SMSGateway} sending the notifications, {@code log} only logs them.
+         */
+        private String gateway = "log";
+
+        private final Dispatch dispatch = new Dispatch();
+
+        private final Schedule schedule = new Schedule();
+
+        private final Coalescing coalescing = new Coalescing();
+
+        public String getGateway() {
+            return gateway;
+        }
+
+        public void setGateway(String gateway) {
+            this.gateway = gateway;
+        }
+
+        public Dispatch getDispatch() {
+            return dispatch;
+        }
+
+        public Schedule getSchedule() {
+            return schedule;
+        }
+
+        public Coalescing getCoalescing() {
+            return coalescing;
+        }
+
+        public static class Dispatch {
+            /**
+             * Whether this instance sends the pending notifications.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Threads of this instance sending notifications, each claiming its own batches.
+             */
+            private int workers = 2;
+
+            /**
+             * Notifications claimed by a worker at once.
+             */
+            private int batchSize = 20;
+
+            /**
+             * Delay before a worker looks for notifications again when there were none.
+             */
+            private long pollDelayMs = 1000;
+
+            /**
+             * Delay after which a notification claimed but not sent, because its instance stopped or its gateway failed,
+             * can be claimed again. It must be at least twice {@link #sendTimeoutMs}.
+             */
+            private long claimTimeoutSeconds = 300;
+
+            /**
+             * Time the gateway has to send a notification, which is sent again later when it is exceeded.
+             */
+            private long sendTimeoutMs = 10000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getWorkers() {
+                return workers;
+            }
+
+            public void setWorkers(int workers) {
+                this.workers = workers;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public long getPollDelayMs() {
+                return pollDelayMs;
+            }
+
+            public void setPollDelayMs(long pollDelayMs) {
+                this.pollDelayMs = pollDelayMs;
+            }
+
+            public long getClaimTimeoutSeconds() {
+                return claimTimeoutSeconds;
+            }
+
+            public void setClaimTimeoutSeconds(long claimTimeoutSeconds) {
+                this.claimTimeoutSeconds = claimTimeoutSeconds;
+            }
+
+            public long getSendTimeoutMs() {
+                return sendTimeoutMs;
+            }
+
+            public void setSendTimeoutMs(long sendTimeoutMs) {
+                this.sendTimeoutMs = sendTimeoutMs;
+            }
+        }
+
+        public static class Schedule {
+            /**
+             * Precision of the timer wheel firing the scheduled notifications.
+             */
+            private long tickMs = 100;
+
+            /**
+             * Buckets of the timer wheel, a turn of the wheel lasting this many ticks.
+             */
+            private int wheelSize = 8192;
+
+            /**
+             * Notifications due within this delay are loaded in the timer wheel.
+             */
+            private long windowSeconds = 600;
+
+            /**
+             * Delay between two loads of the notifications due within the window. It must be shorter than the window.
+             */
+            private long refillDelayMs = 60000;
+
+            /**
+             * Notifications loaded in the timer wheel at most, the next ones are loaded by later refills.
+             */
+            private int maxScheduled = 100000;
+
+            public long getTickMs() {
+                return tickMs;
+            }
+
+            public void setTickMs(long tickMs) {
+                this.tickMs = tickMs;
+            }
+
+            public int getWheelSize() {
+                return wheelSize;
+            }
+
+            public void setWheelSize(int wheelSize) {
+                this.wheelSize = wheelSize;
+            }
+
+            public long getWindowSeconds() {
+                return windowSeconds;
+            }
+
+            public void setWindowSeconds(long windowSeconds) {
+                this.windowSeconds = windowSeconds;
+            }
+
+            public long getRefillDelayMs() {
+                return refillDelayMs;
+            }
+
+            public void setRefillDelayMs(long refillDelayMs) {
+                this.refillDelayMs = refillDelayMs;
+            }
+
+            public int getMaxScheduled() {
+                return maxScheduled;
+            }
+
+            public void setMaxScheduled(int maxScheduled) {
+                this.maxScheduled = maxScheduled;
+            }
+        }
+
+        public static class Coalescing {
+            /**
+             * Whether the duplicate alerts of a device are merged.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Delay after an alert during which its duplicates are merged into a single notification.
+             */
+            private long windowSeconds = 300;
+
+            /**
+             * Windows of the alert types which do not use {@code window-seconds}, 0 not merging the alerts of a type.
+             */
+            private Map<AlertType, Long> alertTypeWindowSeconds = new HashMap<>();
+
+            /**
+             * Windows kept in memory at most, the oldest ones are closed early beyond.
+             */
+            private int maxEntries = 10000;
+
+            /**
+             * Locks of the windows, more of them let more alerts be merged at the same time.
+             */
+            private int stripes = 16;
+
+            /**
+             * Delay between two closings of the windows which elapsed.
+             */
+            private long flushDelayMs = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getWindowSeconds() {
+                return windowSeconds;
+            }
+
+            public void setWindowSeconds(long windowSeconds) {
+                this.windowSeconds = windowSeconds;
+            }
+
+            public Map<AlertType, Long> getAlertTypeWindowSeconds() {
+                return alertTypeWindowSeconds;
+            }
+
+            public void setAlertTypeWindowSeconds(Map<AlertType, Long> alertTypeWindowSeconds) {
+                this.alertTypeWindowSeconds = alertTypeWindowSeconds;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public int getStripes() {
+                return stripes;
+            }
+
+            public void setStripes(int stripes) {
+                this.stripes = stripes;
+            }
+
+            public long getFlushDelayMs() {
+                return flushDelayMs;
+            }
+
+            public void setFlushDelayMs(long flushDelayMs) {
+                this.flushDelayMs = flushDelayMs;
+            }
+        }
+    }
+}
@@ -3,38 +3,43 @@ package com.mycompany.myapp.config;
 import io.github.jhipster.config.JHipsterProperties;
 import io.github.jhipster.config.cache.PrefixedKeyGenerator;
 import java.time.Duration;
+import java.util.Map;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.jcache.JCacheCache;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.serviceregistry.Registration;
 import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
+    private static final String DOMAIN_PACKAGE = com.mycompany.myapp.domain.User.class.getPackage().getName() + ".";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
     }
 
     @Bean
@@ -42,6 +47,16 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
+    /**
+     * Bind the caches to Micrometer with their Ehcache statistics, ahead of the JSR107 binder whose statistics are
+     * disabled.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CacheMeterBinderProvider<JCacheCache> ehcacheMeterBinderProvider() {
+        return (cache, tags) -> new EhcacheMetrics(cache.getNativeCache(), tags);
+    }
+
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
@@ -78,8 +93,66 @@ public class CacheConfiguration {
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache == null) {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(ehcacheConfiguration(cacheName, region(cacheName), ehcache)));
+        }
+    }
+
+    private ApplicationProperties.Cache.Region region(String cacheName) {
+        ApplicationProperties.Cache.Region region = regions.get(cacheName);
+        if (region == null && cacheName.startsWith(DOMAIN_PACKAGE)) {
+            region = regions.get(cacheName.substring(DOMAIN_PACKAGE.length()));
+        }
+        return region != null ? region : new ApplicationProperties.Cache.Region();
+    }
+
+    /**
+     * Build the configuration of a cache from its region settings, falling back to the {@code jhipster.cache.ehcache}
+     * ones.
+     */
+    @SuppressWarnings("unchecked")
+    static org.ehcache.config.CacheConfiguration<Object, Object> ehcacheConfiguration(
+        String cacheName,
+        ApplicationProperties.Cache.Region region,
+        JHipsterProperties.Cache.Ehcache defaults
+    ) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (region.getMaxHeapMb() != null) {
+            if (region.getMaxEntries() != null) {
+                throw new IllegalArgumentException("Cache " + cacheName + " cannot be limited both by entries and by size");
+            }
+            resourcePools = resourcePools.heap(region.getMaxHeapMb(), MemoryUnit.MB);
+        } else {
+            resourcePools = resourcePools.heap(region.getMaxEntries() != null ? region.getMaxEntries() : defaults.getMaxEntries(), EntryUnit.ENTRIES);
+        }
+        if (region.getOffHeapMb() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(expiry(cacheName, region, defaults));
+        if (region.getOffHeapMb() != null) {
+            // Hibernate keys and entries are serializable, but are only declared as objects
+            PlainJavaSerializer<Object> serializer = new PlainJavaSerializer<>(CacheConfiguration.class.getClassLoader());
+            builder = builder.withKeySerializer(serializer).withValueSerializer(serializer);
+        }
+        return builder.build();
+    }
+
+    private static ExpiryPolicy<Object, Object> expiry(
+        String cacheName,
+        ApplicationProperties.Cache.Region region,
+        JHipsterProperties.Cache.Ehcache defaults
+    ) {
+        if (region.getTimeToIdleSeconds() != null) {
+            if (region.getTimeToLiveSeconds() != null) {
+                throw new IllegalArgumentException("Cache " + cacheName + " cannot have both a time to live and a time to idle");
+            }
+            return ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds()));
         }
+        long timeToLiveSeconds = region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : defaults.getTimeToLiveSeconds();
+        return timeToLiveSeconds == 0
+            ? ExpiryPolicyBuilder.noExpiration()
+            : ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds));
     }
 
     @Autowired(required = false)
@@ -0,0 +1,80 @@
+package com.mycompany.myapp.config;
+
+import java.time.Duration;
+import java.util.TreeSet;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs the effective size, tiers and expiry of every cache on startup, as resolved from {@code application.cache.regions}
+ * and {@code jhipster.cache.ehcache}.
+ */
+@Component
+public class CacheSizeReport {
+    private final Logger log = LoggerFactory.getLogger(CacheSizeReport.class);
+
+    private final CacheManager cacheManager;
+
+    public CacheSizeReport(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        StringBuilder report = new StringBuilder();
+        long offHeapBytes = 0;
+        TreeSet<String> cacheNames = new TreeSet<>();
+        cacheManager.getCacheNames().forEach(cacheNames::add);
+        for (String cacheName : cacheNames) {
+            Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            Eh107Configuration<Object, Object> configuration = cache.getConfiguration(Eh107Configuration.class);
+            @SuppressWarnings("unchecked")
+            CacheRuntimeConfiguration<Object, Object> runtimeConfiguration = configuration.unwrap(CacheRuntimeConfiguration.class);
+            report.append(System.lineSeparator()).append("  ").append(describe(cacheName, runtimeConfiguration));
+            SizedResourcePool offHeap = runtimeConfiguration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP);
+            if (offHeap != null) {
+                offHeapBytes += ((MemoryUnit) offHeap.getUnit()).toBytes(offHeap.getSize());
+            }
+        }
+        log.info("Cache sizes, {} MB off-heap in total:{}", offHeapBytes / MemoryUnit.MB.toBytes(1), report);
+    }
+
+    static String describe(String cacheName, org.ehcache.config.CacheConfiguration<Object, Object> configuration) {
+        ResourcePools resourcePools = configuration.getResourcePools();
+        StringBuilder description = new StringBuilder(cacheName).append(": heap ").append(size(resourcePools, ResourceType.Core.HEAP));
+        if (resourcePools.getResourceTypeSet().contains(ResourceType.Core.OFFHEAP)) {
+            description.append(", off-heap ").append(size(resourcePools, ResourceType.Core.OFFHEAP));
+        }
+        ExpiryPolicy<Object, Object> expiryPolicy = configuration.getExpiryPolicy();
+        Duration expiry = expiryPolicy.getExpiryForCreation(null, null);
+        if (expiry == null || ExpiryPolicy.INFINITE.equals(expiry)) {
+            description.append(", never expires");
+        } else if (expiryPolicy.getExpiryForAccess(null, null) != null) {
+            description.append(", idle ").append(expiry.getSeconds()).append(" s");
+        } else {
+            description.append(", live ").append(expiry.getSeconds()).append(" s");
+        }
+        return description.toString();
+    }
+
+    private static String size(ResourcePools resourcePools, ResourceType<SizedResourcePool> type) {
+        SizedResourcePool pool = resourcePools.getPoolForResource(type);
+        return pool.getSize() + " " + pool.getUnit();
+    }
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.CacheWarmUpService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the progress of the second-level cache warm-up, as {@code cacheWarmUp} in the health endpoint.
+ * <p>
+ * The instance is out of service until the warm-up ends, so that Eureka only routes requests to it once its cache is
+ * warm. A failed or timed out warm-up does not keep it out of service, the remaining entities load on demand.
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    public Health health() {
+        String state = cacheWarmUpService.getState();
+        Health.Builder builder = CacheWarmUpService.PENDING.equals(state) || CacheWarmUpService.RUNNING.equals(state)
+            ? Health.outOfService()
+            : Health.up();
+        builder.withDetail("state", state);
+        if (cacheWarmUpService.getStartedDate() != null) {
+            builder.withDetail("startedDate", cacheWarmUpService.getStartedDate());
+        }
+        if (cacheWarmUpService.getFinishedDate() != null) {
+            builder.withDetail("finishedDate", cacheWarmUpService.getFinishedDate());
+        }
+        Map<String, String> entities = new LinkedHashMap<>();
+        cacheWarmUpService.getProgress().forEach((entityName, progress) -> entities.put(entityName, progress.toString()));
+        return builder.withDetail("entities", entities).build();
+    }
+}
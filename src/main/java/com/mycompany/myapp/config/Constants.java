@@ -11,5 +11,8 @@ public final class Constants {
     public static final String DEFAULT_LANGUAGE = "cs";
     public static final String ANONYMOUS_USER = "anonymoususer";
 
+    // Newline-delimited JSON, one document per line
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private Constants() {}
 }
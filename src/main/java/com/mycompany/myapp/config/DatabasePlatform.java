@@ -0,0 +1,49 @@
+package com.mycompany.myapp.config;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * The database product behind the data source, for the JDBC repositories whose SQL depends on it.
+ * <p>
+ * The product is read from the connection metadata on first use, then kept for the lifetime of the application.
+ */
+@Component
+public class DatabasePlatform {
+    private final DataSource dataSource;
+
+    private volatile Boolean postgreSQL;
+
+    public DatabasePlatform(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @return {@code true} if the database is PostgreSQL, {@code false} for any other database or if the metadata
+     * cannot be read.
+     */
+    public boolean isPostgreSQL() {
+        if (postgreSQL == null) {
+            postgreSQL = "PostgreSQL".equals(getProductName());
+        }
+        return postgreSQL;
+    }
+
+    /**
+     * @return the clause locking the selected rows: {@code FOR UPDATE SKIP LOCKED} on PostgreSQL, so that concurrent
+     * claims skip the rows locked by each other, or {@code FOR UPDATE} elsewhere.
+     */
+    public String getLockClause() {
+        return isPostgreSQL() ? "FOR UPDATE SKIP LOCKED" : "FOR UPDATE";
+    }
+
+    private String getProductName() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+        } catch (MetaDataAccessException e) {
+            return null;
+        }
+    }
+}
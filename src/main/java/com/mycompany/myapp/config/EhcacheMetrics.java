@@ -0,0 +1,120 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.ehcache.core.InternalCache;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.DefaultCacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+
+/**
+ * Cache metrics read from the statistics Ehcache keeps on every cache, which unlike the JSR107 ones do not need to be
+ * enabled through JMX.
+ * <p>
+ * Besides the common {@code cache.*} metrics, {@code cache.removals}, {@code cache.expirations} and
+ * {@code cache.hit.ratio} are published for every cache, and {@code cache.memory.used} for the caches with a tier
+ * sized in memory units, Ehcache not measuring the entries of the tiers sized in entries.
+ */
+public class EhcacheMetrics extends CacheMeterBinder {
+    private final javax.cache.Cache<?, ?> cache;
+
+    private final CacheStatistics statistics;
+
+    public EhcacheMetrics(javax.cache.Cache<?, ?> cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.cache = cache;
+        this.statistics = statistics(cache);
+    }
+
+    /**
+     * @return the statistics of a cache created by the Ehcache JSR107 provider.
+     */
+    public static CacheStatistics statistics(javax.cache.Cache<?, ?> cache) {
+        return new DefaultCacheStatistics((InternalCache<?, ?>) cache.unwrap(org.ehcache.Cache.class));
+    }
+
+    /**
+     * @return the number of entries of the cache, which are all held by its lowest tier.
+     */
+    public static long size(CacheStatistics statistics) {
+        return statistics.getTierStatistics().values().stream().mapToLong(TierStatistics::getMappings).max().orElse(0);
+    }
+
+    /**
+     * @return the bytes occupied by the tiers sized in memory units, or {@code -1} when no tier is.
+     */
+    public static long memoryUsed(CacheStatistics statistics) {
+        long memoryUsed = -1;
+        for (TierStatistics tierStatistics : statistics.getTierStatistics().values()) {
+            long occupied = tierStatistics.getOccupiedByteSize();
+            if (occupied >= 0) {
+                memoryUsed = Math.max(memoryUsed, 0) + occupied;
+            }
+        }
+        return memoryUsed;
+    }
+
+    /**
+     * @return the share of the gets that hit, {@code 0} before the first get.
+     */
+    public static double hitRatio(CacheStatistics statistics) {
+        long gets = statistics.getCacheHits() + statistics.getCacheMisses();
+        return gets == 0 ? 0 : (double) statistics.getCacheHits() / gets;
+    }
+
+    @Override
+    protected Long size() {
+        return size(statistics);
+    }
+
+    @Override
+    protected long hitCount() {
+        return statistics.getCacheHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return statistics.getCacheMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return statistics.getCacheEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return statistics.getCachePuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter
+            .builder("cache.removals", cache, c -> statistics.getCacheRemovals())
+            .tags(getTagsWithCacheName())
+            .description("The number of entries removed from the cache")
+            .register(registry);
+        FunctionCounter
+            .builder("cache.expirations", cache, c -> statistics.getCacheExpirations())
+            .tags(getTagsWithCacheName())
+            .description("The number of entries expired from the cache")
+            .register(registry);
+        Gauge
+            .builder("cache.hit.ratio", cache, c -> hitRatio(statistics))
+            .tags(getTagsWithCacheName())
+            .description("The share of the cache gets that hit since startup")
+            .register(registry);
+        if (memoryUsed(statistics) >= 0) {
+            Gauge
+                .builder("cache.memory.used", cache, c -> memoryUsed(statistics))
+                .tags(getTagsWithCacheName())
+                .baseUnit(BaseUnits.BYTES)
+                .description("The memory occupied by the tiers of the cache sized in memory units")
+                .register(registry);
+        }
+    }
+}
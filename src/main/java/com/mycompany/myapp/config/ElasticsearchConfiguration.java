@@ -1,14 +1,22 @@
 package com.mycompany.myapp.config;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 import com.github.vanroy.springdata.jest.JestElasticsearchTemplate;
 import com.github.vanroy.springdata.jest.mapper.DefaultJestResultsMapper;
 import io.searchbox.client.JestClient;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.boot.autoconfigure.data.elasticsearch.ElasticsearchProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -25,13 +33,16 @@ import org.springframework.data.mapping.MappingException;
 public class ElasticsearchConfiguration {
     private ObjectMapper mapper;
 
-    public ElasticsearchConfiguration(ObjectMapper mapper) {
+    private ApplicationProperties applicationProperties;
+
+    public ElasticsearchConfiguration(ObjectMapper mapper, ApplicationProperties applicationProperties) {
         this.mapper = mapper;
+        this.applicationProperties = applicationProperties;
     }
 
     @Bean
     public EntityMapper getEntityMapper() {
-        return new CustomEntityMapper(mapper);
+        return new CustomEntityMapper(mapper, applicationProperties.getSearch());
     }
 
     @Bean
@@ -49,16 +60,36 @@ public class ElasticsearchConfiguration {
         );
     }
 
-    public class CustomEntityMapper implements EntityMapper {
+    /**
+     * Maps the entities with the application {@link ObjectMapper}.
+     * <p>
+     * Conversions between entities and maps go through Jackson's token buffer, so no intermediate JSON string is
+     * written and parsed again. The fields excluded in {@code application.search.entities} are not written to the
+     * documents, including the documents nested in other ones.
+     */
+    public static class CustomEntityMapper implements EntityMapper {
+        private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+
         private ObjectMapper objectMapper;
 
         public CustomEntityMapper(ObjectMapper objectMapper) {
-            this.objectMapper = objectMapper;
+            this(objectMapper, new ApplicationProperties.Search());
+        }
+
+        public CustomEntityMapper(ObjectMapper objectMapper, ApplicationProperties.Search searchProperties) {
             objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
             objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
             objectMapper.configure(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS, true);
             objectMapper.configure(SerializationFeature.INDENT_OUTPUT, false);
             objectMapper.configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, true);
+            if (searchProperties.getEntities().isEmpty()) {
+                this.objectMapper = objectMapper;
+            } else {
+                // The REST API keeps serializing the excluded fields
+                this.objectMapper = objectMapper
+                    .copy()
+                    .registerModule(new SimpleModule("SearchExcludedFields").setSerializerModifier(new ExcludedFieldsModifier(searchProperties)));
+            }
         }
 
         @Override
@@ -74,8 +105,8 @@ public class ElasticsearchConfiguration {
         @Override
         public Map<String, Object> mapObject(Object source) {
             try {
-                return objectMapper.readValue(mapToString(source), HashMap.class);
-            } catch (IOException e) {
+                return objectMapper.convertValue(source, MAP_TYPE);
+            } catch (IllegalArgumentException e) {
                 throw new MappingException(e.getMessage(), e);
             }
         }
@@ -83,10 +114,31 @@ public class ElasticsearchConfiguration {
         @Override
         public <T> T readObject(Map<String, Object> source, Class<T> targetType) {
             try {
-                return mapToObject(mapToString(source), targetType);
-            } catch (IOException e) {
+                return objectMapper.convertValue(source, targetType);
+            } catch (IllegalArgumentException e) {
                 throw new MappingException(e.getMessage(), e);
             }
         }
     }
+
+    private static class ExcludedFieldsModifier extends BeanSerializerModifier {
+        private final ApplicationProperties.Search searchProperties;
+
+        ExcludedFieldsModifier(ApplicationProperties.Search searchProperties) {
+            this.searchProperties = searchProperties;
+        }
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(
+            SerializationConfig config,
+            BeanDescription beanDesc,
+            List<BeanPropertyWriter> beanProperties
+        ) {
+            Set<String> excludedFields = searchProperties.getExcludedFields(beanDesc.getBeanClass().getSimpleName());
+            if (excludedFields.isEmpty()) {
+                return beanProperties;
+            }
+            return beanProperties.stream().filter(property -> !excludedFields.contains(property.getName())).collect(Collectors.toList());
+        }
+    }
 }
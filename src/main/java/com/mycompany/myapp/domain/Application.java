@@ -14,7 +14,7 @@ import java.time.ZonedDateTime;
  */
 @Entity
 @Table(name = "application")
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, include = "non-lazy")
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "application")
 public class Application implements Serializable {
 
@@ -28,13 +28,23 @@ public class Application implements Serializable {
     @Column(name = "file_name")
     private String fileName;
 
+    /**
+     * The firmware image, loaded on first access by the enhanced entity, and not kept in the second-level cache.
+     */
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "data")
     private byte[] data;
 
     @Column(name = "data_content_type")
     private String dataContentType;
 
+    @Column(name = "data_size")
+    private Long dataSize;
+
+    @Column(name = "data_sha256", length = 64)
+    private String dataSha256;
+
     @Column(name = "version")
     private String version;
 
@@ -89,6 +99,32 @@ public class Application implements Serializable {
         this.dataContentType = dataContentType;
     }
 
+    public Long getDataSize() {
+        return dataSize;
+    }
+
+    public Application dataSize(Long dataSize) {
+        this.dataSize = dataSize;
+        return this;
+    }
+
+    public void setDataSize(Long dataSize) {
+        this.dataSize = dataSize;
+    }
+
+    public String getDataSha256() {
+        return dataSha256;
+    }
+
+    public Application dataSha256(String dataSha256) {
+        this.dataSha256 = dataSha256;
+        return this;
+    }
+
+    public void setDataSha256(String dataSha256) {
+        this.dataSha256 = dataSha256;
+    }
+
     public String getVersion() {
         return version;
     }
@@ -138,8 +174,9 @@ public class Application implements Serializable {
         return "Application{" +
             "id=" + getId() +
             ", fileName='" + getFileName() + "'" +
-            ", data='" + getData() + "'" +
             ", dataContentType='" + getDataContentType() + "'" +
+            ", dataSize=" + getDataSize() +
+            ", dataSha256='" + getDataSha256() + "'" +
             ", version='" + getVersion() + "'" +
             ", timestamp='" + getTimestamp() + "'" +
             "}";
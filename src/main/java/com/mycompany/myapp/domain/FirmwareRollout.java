@@ -0,0 +1,141 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.RolloutStrategy;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A staged rollout of the firmware image of an {@link Application} to the devices.
+ * <p>
+ * This is not a JPA entity: rollouts are read and written by
+ * {@link com.mycompany.myapp.repository.FirmwareRolloutRepository}. Dates are in UTC.
+ */
+public class FirmwareRollout implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long applicationId;
+
+    private String version;
+
+    private RolloutStrategy strategy;
+
+    private List<Long> waves = new ArrayList<>();
+
+    private int currentWave;
+
+    private LocalDateTime waveStartedDate;
+
+    private boolean completed;
+
+    private LocalDateTime createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    /**
+     * @return the version of the application, devices reporting it are updated.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public RolloutStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(RolloutStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * @return the device profile ids or the cumulative percentages of the devices of the waves, depending on the
+     * strategy.
+     */
+    public List<Long> getWaves() {
+        return waves;
+    }
+
+    public void setWaves(List<Long> waves) {
+        this.waves = waves;
+    }
+
+    /**
+     * @return the number of waves, including the last wave of the devices without any of the profiles.
+     */
+    public int getWaveCount() {
+        return strategy == RolloutStrategy.PROFILE ? waves.size() + 1 : waves.size();
+    }
+
+    /**
+     * @return the index of the last wave allowed to download the image, the devices of the previous waves still can.
+     */
+    public int getCurrentWave() {
+        return currentWave;
+    }
+
+    public void setCurrentWave(int currentWave) {
+        this.currentWave = currentWave;
+    }
+
+    public LocalDateTime getWaveStartedDate() {
+        return waveStartedDate;
+    }
+
+    public void setWaveStartedDate(LocalDateTime waveStartedDate) {
+        this.waveStartedDate = waveStartedDate;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FirmwareRollout{" +
+            "id=" + getId() +
+            ", applicationId=" + getApplicationId() +
+            ", version='" + getVersion() + "'" +
+            ", strategy='" + getStrategy() + "'" +
+            ", waves=" + getWaves() +
+            ", currentWave=" + getCurrentWave() +
+            ", waveStartedDate='" + getWaveStartedDate() + "'" +
+            ", completed='" + isCompleted() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The newest {@link Values} of a {@link Temperature} sensor, held in memory with primitive fields only.
+ * <p>
+ * This is not a JPA entity, see {@link com.mycompany.myapp.repository.LatestReadingRepository}.
+ */
+public final class LatestReading implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long temperatureId;
+
+    private final long valuesId;
+
+    private final double value;
+
+    private final long timestampMillis;
+
+    public LatestReading(long temperatureId, long valuesId, double value, long timestampMillis) {
+        this.temperatureId = temperatureId;
+        this.valuesId = valuesId;
+        this.value = value;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * @return whether this reading is newer than the given one, readings with the same timestamp being ordered by id.
+     */
+    public boolean isNewerThan(LatestReading other) {
+        return timestampMillis > other.timestampMillis || (timestampMillis == other.timestampMillis && valuesId > other.valuesId);
+    }
+
+    public long getTemperatureId() {
+        return temperatureId;
+    }
+
+    public long getValuesId() {
+        return valuesId;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LatestReading{" +
+            "temperatureId=" + temperatureId +
+            ", valuesId=" + valuesId +
+            ", value=" + value +
+            ", timestamp='" + getTimestamp() + "'" +
+            "}";
+    }
+}
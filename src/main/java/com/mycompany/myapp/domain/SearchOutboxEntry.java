@@ -0,0 +1,87 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * An entity change waiting to be applied to the Elasticsearch index.
+ * <p>
+ * This is not a JPA entity: entries are read and written in bulk by
+ * {@link com.mycompany.myapp.repository.SearchOutboxRepository}. Dates are in UTC.
+ */
+public class SearchOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String entityType;
+
+    private Long entityId;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    public SearchOutboxEntry() {
+        // Empty constructor needed for row mapping.
+    }
+
+    public SearchOutboxEntry(Long id, String entityType, Long entityId, int attempts) {
+        this.id = id;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.attempts = attempts;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchOutboxEntry{" +
+            "id=" + getId() +
+            ", entityType='" + getEntityType() + "'" +
+            ", entityId=" + getEntityId() +
+            ", attempts=" + getAttempts() +
+            "}";
+    }
+}
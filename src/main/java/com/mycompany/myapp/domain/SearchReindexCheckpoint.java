@@ -0,0 +1,88 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * The progress of the bulk reindex of an entity type.
+ * <p>
+ * This is not a JPA entity: checkpoints are read and written by
+ * {@link com.mycompany.myapp.repository.SearchReindexCheckpointRepository}. Dates are in UTC.
+ */
+public class SearchReindexCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String entityType;
+
+    private Long lastId;
+
+    private long indexed;
+
+    private boolean completed;
+
+    private LocalDateTime updatedDate;
+
+    public SearchReindexCheckpoint() {
+        // Empty constructor needed for row mapping.
+    }
+
+    public SearchReindexCheckpoint(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    /**
+     * @return the highest id below which every entity was indexed, or {@code null} if none was.
+     */
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public void setIndexed(long indexed) {
+        this.indexed = indexed;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchReindexCheckpoint{" +
+            "entityType='" + getEntityType() + "'" +
+            ", lastId=" + getLastId() +
+            ", indexed=" + getIndexed() +
+            ", completed='" + isCompleted() + "'" +
+            ", updatedDate='" + getUpdatedDate() + "'" +
+            "}";
+    }
+}
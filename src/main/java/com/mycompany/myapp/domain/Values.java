@@ -117,6 +117,16 @@ public class Values implements Serializable {
     public void setTemperatures(Set<Temperature> temperatures) {
         this.temperatures = temperatures;
     }
+
+    /**
+     * The timestamp is the partition key of the values table, a reading without timestamp is taken as current.
+     */
+    @PrePersist
+    public void prePersist() {
+        if (timestamp == null) {
+            timestamp = ZonedDateTime.now();
+        }
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
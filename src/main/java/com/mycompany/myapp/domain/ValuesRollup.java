@@ -0,0 +1,185 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.RollupResolution;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * The aggregate of the {@link Values} of a {@link Temperature} sensor over a time bucket.
+ * <p>
+ * This is not a JPA entity: rollups are read and written in bulk by
+ * {@link com.mycompany.myapp.repository.ValuesRollupRepository}. Dates are in UTC.
+ */
+public class ValuesRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long temperatureId;
+
+    private RollupResolution resolution;
+
+    private LocalDateTime bucketStart;
+
+    private Double min;
+
+    private Double max;
+
+    private double sum;
+
+    private long count;
+
+    private Double last;
+
+    private LocalDateTime lastTimestamp;
+
+    public ValuesRollup() {
+        // Empty constructor needed for row mapping.
+    }
+
+    public ValuesRollup(Long temperatureId, RollupResolution resolution, LocalDateTime bucketStart) {
+        this.temperatureId = temperatureId;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+    }
+
+    /**
+     * Add a single reading to this bucket.
+     */
+    public void add(double value, LocalDateTime timestamp) {
+        min = min == null ? value : Math.min(min, value);
+        max = max == null ? value : Math.max(max, value);
+        sum += value;
+        count++;
+        if (lastTimestamp == null || !timestamp.isBefore(lastTimestamp)) {
+            last = value;
+            lastTimestamp = timestamp;
+        }
+    }
+
+    /**
+     * Merge a finer bucket into this bucket.
+     */
+    public void merge(ValuesRollup other) {
+        if (other.count == 0) {
+            return;
+        }
+        min = min == null ? other.min : Math.min(min, other.min);
+        max = max == null ? other.max : Math.max(max, other.max);
+        sum += other.sum;
+        count += other.count;
+        if (lastTimestamp == null || !other.lastTimestamp.isBefore(lastTimestamp)) {
+            last = other.last;
+            lastTimestamp = other.lastTimestamp;
+        }
+    }
+
+    public Double getAvg() {
+        return count == 0 ? null : sum / count;
+    }
+
+    public Long getTemperatureId() {
+        return temperatureId;
+    }
+
+    public void setTemperatureId(Long temperatureId) {
+        this.temperatureId = temperatureId;
+    }
+
+    public RollupResolution getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(RollupResolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getLast() {
+        return last;
+    }
+
+    public void setLast(Double last) {
+        this.last = last;
+    }
+
+    public LocalDateTime getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public void setLastTimestamp(LocalDateTime lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ValuesRollup)) {
+            return false;
+        }
+        ValuesRollup that = (ValuesRollup) o;
+        return (
+            Objects.equals(temperatureId, that.temperatureId) && resolution == that.resolution && Objects.equals(bucketStart, that.bucketStart)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(temperatureId, resolution, bucketStart);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ValuesRollup{" +
+            "temperatureId=" + getTemperatureId() +
+            ", resolution='" + getResolution() + "'" +
+            ", bucketStart='" + getBucketStart() + "'" +
+            ", min=" + getMin() +
+            ", max=" + getMax() +
+            ", count=" + getCount() +
+            ", last=" + getLast() +
+            "}";
+    }
+}
@@ -0,0 +1,15 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * How the devices are assigned to the waves of a firmware rollout.
+ */
+public enum RolloutStrategy {
+    /**
+     * Each wave is a device profile, devices without any of the profiles are updated by a last wave.
+     */
+    PROFILE,
+    /**
+     * Each wave is a cumulative percentage of the devices, picked by a hash of their id.
+     */
+    PERCENTAGE
+}
@@ -0,0 +1,38 @@
+package com.mycompany.myapp.domain.enumeration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The bucket sizes of the values rollups, from the finest to the coarsest.
+ */
+public enum RollupResolution {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupResolution(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public Duration getDuration() {
+        return unit.getDuration();
+    }
+
+    /**
+     * @return the start of the bucket containing the given date.
+     */
+    public LocalDateTime bucketStart(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(unit);
+    }
+
+    /**
+     * @return the start of the bucket following the one containing the given date.
+     */
+    public LocalDateTime nextBucketStart(LocalDateTime dateTime) {
+        return bucketStart(dateTime).plus(1, unit);
+    }
+}
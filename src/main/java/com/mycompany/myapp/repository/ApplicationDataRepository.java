@@ -0,0 +1,121 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Application;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository streaming the firmware images of the applications, without loading them in the heap.
+ */
+@Repository
+public class ApplicationDataRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApplicationDataRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the SHA-256 of the images of all the applications, except the ones stored without one.
+     */
+    public Set<String> findAllDataSha256() {
+        return new HashSet<>(
+            jdbcTemplate.queryForList("SELECT DISTINCT data_sha256 FROM application WHERE data_sha256 IS NOT NULL", String.class)
+        );
+    }
+
+    /**
+     * @return the application without its image. The size of images stored without one is their length in the
+     * database, and their SHA-256 is {@code null}. Both are {@code null} if there is no image.
+     */
+    public Optional<Application> findMetadata(Long id) {
+        return jdbcTemplate
+            .query(
+                "SELECT id, file_name, data_content_type, version, timestamp, COALESCE(data_size, length(data)), data_sha256 " +
+                "FROM application WHERE id = ?",
+                ApplicationDataRepository::mapMetadata,
+                id
+            )
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * @return the id of the newest application of a version which has an image.
+     */
+    public Optional<Long> findIdByVersion(String version) {
+        return jdbcTemplate
+            .queryForList("SELECT id FROM application WHERE version = ? AND data IS NOT NULL ORDER BY id DESC LIMIT 1", Long.class, version)
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Replace the image of an application, streamed from a source of known size.
+     *
+     * @return whether the application exists.
+     */
+    public boolean updateData(Long id, String fileName, String contentType, InputStream data, long size, String sha256) {
+        return (
+            jdbcTemplate.update(
+                "UPDATE application SET file_name = ?, data_content_type = ?, data = ?, data_size = ?, data_sha256 = ? WHERE id = ?",
+                ps -> {
+                    ps.setString(1, fileName);
+                    ps.setString(2, contentType);
+                    ps.setBinaryStream(3, data, size);
+                    ps.setLong(4, size);
+                    ps.setString(5, sha256);
+                    ps.setLong(6, id);
+                }
+            ) >
+            0
+        );
+    }
+
+    /**
+     * Record the size and SHA-256 of an image stored without them, unless it was replaced since.
+     */
+    public void updateDigest(Long id, long size, String sha256) {
+        jdbcTemplate.update(
+            "UPDATE application SET data_size = ?, data_sha256 = ? WHERE id = ? AND data_sha256 IS NULL",
+            size,
+            sha256,
+            id
+        );
+    }
+
+    /**
+     * @param offset the position of the first byte, from 0.
+     * @return at most {@code length} bytes of the image, fewer at its end.
+     */
+    public byte[] readData(Long id, int offset, int length) {
+        return jdbcTemplate.queryForObject(
+            "SELECT substring(data FROM ? FOR ?) FROM application WHERE id = ?",
+            (rs, rowNum) -> rs.getBytes(1),
+            offset + 1,
+            length,
+            id
+        );
+    }
+
+    private static Application mapMetadata(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(5);
+        Application application = new Application()
+            .fileName(rs.getString(2))
+            .dataContentType(rs.getString(3))
+            .version(rs.getString(4))
+            .timestamp(timestamp != null ? timestamp.toLocalDateTime().atZone(ZoneOffset.UTC) : null)
+            .dataSize(rs.getObject(6) != null ? rs.getLong(6) : null)
+            .dataSha256(rs.getString(7));
+        application.setId(rs.getLong(1));
+        return application;
+    }
+}
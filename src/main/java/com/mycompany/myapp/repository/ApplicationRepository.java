@@ -1,14 +1,22 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Application;
+import com.mycompany.myapp.service.dto.ApplicationMetadataDTO;
 
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Spring Data  repository for the Application entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
+
+    @Query("select new com.mycompany.myapp.service.dto.ApplicationMetadataDTO(application.id, application.fileName, " +
+        "application.dataContentType, application.dataSize, application.dataSha256, application.version, application.timestamp) " +
+        "from Application application order by application.id")
+    List<ApplicationMetadataDTO> findAllMetadata();
 }
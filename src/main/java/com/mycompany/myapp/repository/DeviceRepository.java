@@ -3,12 +3,23 @@ package com.mycompany.myapp.repository;
 import com.mycompany.myapp.domain.Device;
 
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Spring Data  repository for the Device entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface DeviceRepository extends JpaRepository<Device, Long> {
+
+    @Query("select device from Device device where device.appVersion = :version " +
+        "and (device.idUpdated is null or device.idUpdated = false)")
+    List<Device> findAllUpdatedTo(@Param("version") String version);
+
+    @Query("select device from Device device where (device.appVersion is null or device.appVersion <> :version) " +
+        "and (device.idUpdated is null or device.idUpdated = true)")
+    List<Device> findAllNotUpdatedTo(@Param("version") String version);
 }
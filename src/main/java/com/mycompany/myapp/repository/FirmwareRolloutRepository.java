@@ -0,0 +1,191 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.FirmwareRollout;
+import com.mycompany.myapp.domain.enumeration.RolloutStrategy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the {@link FirmwareRollout} rows of the {@code firmware_rollout} table, and for the devices of
+ * their waves.
+ * <p>
+ * With the {@link RolloutStrategy#PERCENTAGE} strategy, a device belongs to the waves whose percentage is above
+ * {@code (id * 37 + rollout id) mod 100}: consecutive ids are spread over the percentages, differently for each rollout.
+ */
+@Repository
+public class FirmwareRolloutRepository {
+    private static final String COLUMNS =
+        "id, application_id, version, strategy, waves, current_wave, wave_started_date, completed, created_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FirmwareRolloutRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert a rollout and set its id.
+     */
+    public FirmwareRollout insert(FirmwareRollout rollout) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO firmware_rollout (application_id, version, strategy, waves, current_wave, wave_started_date, completed, " +
+                    "created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    new String[] { "id" }
+                );
+                ps.setLong(1, rollout.getApplicationId());
+                ps.setString(2, rollout.getVersion());
+                ps.setString(3, rollout.getStrategy().name());
+                ps.setString(4, rollout.getWaves().stream().map(String::valueOf).collect(Collectors.joining(",")));
+                ps.setInt(5, rollout.getCurrentWave());
+                ps.setTimestamp(6, Timestamp.valueOf(rollout.getWaveStartedDate()));
+                ps.setBoolean(7, rollout.isCompleted());
+                ps.setTimestamp(8, Timestamp.valueOf(rollout.getCreatedDate()));
+                return ps;
+            },
+            keyHolder
+        );
+        rollout.setId(keyHolder.getKey().longValue());
+        return rollout;
+    }
+
+    /**
+     * @return the rollouts which are not completed, ordered by id.
+     */
+    public List<FirmwareRollout> findActive() {
+        return jdbcTemplate.query(
+            "SELECT " + COLUMNS + " FROM firmware_rollout WHERE completed = false ORDER BY id",
+            FirmwareRolloutRepository::mapRollout
+        );
+    }
+
+    public Optional<FirmwareRollout> findActiveByApplicationId(Long applicationId) {
+        return jdbcTemplate
+            .query(
+                "SELECT " + COLUMNS + " FROM firmware_rollout WHERE application_id = ? AND completed = false ORDER BY id DESC",
+                FirmwareRolloutRepository::mapRollout,
+                applicationId
+            )
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * @return the last rollout started.
+     */
+    public Optional<FirmwareRollout> findLast() {
+        return jdbcTemplate
+            .query("SELECT " + COLUMNS + " FROM firmware_rollout ORDER BY id DESC LIMIT 1", FirmwareRolloutRepository::mapRollout)
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Move a rollout from a wave to the next one, or complete it, unless another instance already did.
+     *
+     * @return whether the rollout was updated.
+     */
+    public boolean advance(FirmwareRollout rollout, int nextWave, boolean completed, LocalDateTime now) {
+        return (
+            jdbcTemplate.update(
+                "UPDATE firmware_rollout SET current_wave = ?, wave_started_date = ?, completed = ? " +
+                "WHERE id = ? AND current_wave = ? AND completed = false",
+                nextWave,
+                Timestamp.valueOf(now),
+                completed,
+                rollout.getId(),
+                rollout.getCurrentWave()
+            ) >
+            0
+        );
+    }
+
+    /**
+     * Complete the rollouts of an application, or all of them.
+     *
+     * @return the number of rollouts completed.
+     */
+    public int completeAll(Long applicationId) {
+        if (applicationId == null) {
+            return jdbcTemplate.update("UPDATE firmware_rollout SET completed = true WHERE completed = false");
+        }
+        return jdbcTemplate.update(
+            "UPDATE firmware_rollout SET completed = true WHERE application_id = ? AND completed = false",
+            applicationId
+        );
+    }
+
+    /**
+     * @return whether a device belongs to one of the waves of a rollout up to the given one.
+     */
+    public boolean isReleased(FirmwareRollout rollout, int wave, Long deviceId) {
+        List<Object> args = new ArrayList<>();
+        args.add(deviceId);
+        String condition = waveCondition(rollout, wave, args);
+        String sql = "SELECT count(*) FROM device d WHERE d.id = ? AND " + condition;
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args.toArray());
+        return count != null && count > 0;
+    }
+
+    /**
+     * @param version the version of the devices to count, all the devices if {@code null}.
+     * @return the number of devices of the waves of a rollout up to the given one.
+     */
+    public long countDevices(FirmwareRollout rollout, int wave, String version) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT count(*) FROM device d WHERE ";
+        if (version != null) {
+            sql += "d.app_version = ? AND ";
+            args.add(version);
+        }
+        Long count = jdbcTemplate.queryForObject(sql + waveCondition(rollout, wave, args), Long.class, args.toArray());
+        return count == null ? 0 : count;
+    }
+
+    private static String waveCondition(FirmwareRollout rollout, int wave, List<Object> args) {
+        if (rollout.getStrategy() == RolloutStrategy.PERCENTAGE) {
+            args.add(rollout.getId());
+            args.add(rollout.getWaves().get(Math.min(wave, rollout.getWaves().size() - 1)));
+            return "MOD(d.id * 37 + ?, 100) < ?";
+        }
+        if (wave >= rollout.getWaves().size()) {
+            return "1 = 1";
+        }
+        List<Long> profileIds = rollout.getWaves().subList(0, wave + 1);
+        args.addAll(profileIds);
+        return (
+            "d.id IN (SELECT device_id FROM device_profile_device WHERE device_profile_id IN (" +
+            String.join(", ", Collections.nCopies(profileIds.size(), "?")) +
+            "))"
+        );
+    }
+
+    private static FirmwareRollout mapRollout(ResultSet rs, int rowNum) throws SQLException {
+        FirmwareRollout rollout = new FirmwareRollout();
+        rollout.setId(rs.getLong(1));
+        rollout.setApplicationId(rs.getLong(2));
+        rollout.setVersion(rs.getString(3));
+        rollout.setStrategy(RolloutStrategy.valueOf(rs.getString(4)));
+        rollout.setWaves(Arrays.stream(rs.getString(5).split(",")).map(Long::valueOf).collect(Collectors.toList()));
+        rollout.setCurrentWave(rs.getInt(6));
+        rollout.setWaveStartedDate(rs.getTimestamp(7).toLocalDateTime());
+        rollout.setCompleted(rs.getBoolean(8));
+        rollout.setCreatedDate(rs.getTimestamp(9).toLocalDateTime());
+        return rollout;
+    }
+}
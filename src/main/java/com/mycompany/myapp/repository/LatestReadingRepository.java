@@ -0,0 +1,75 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.LatestReading;
+import com.mycompany.myapp.domain.Temperature;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository reading the newest reading of temperature sensors, without loading entity graphs.
+ */
+@Repository
+public class LatestReadingRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public LatestReadingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stream the newest reading of every sensor. When several readings share the newest timestamp, each of them is
+     * returned.
+     */
+    public void forEachLatestReading(Consumer<LatestReading> consumer) {
+        jdbcTemplate.query(
+            "SELECT v.temperature_id, v.id, v.value, v.timestamp FROM values v " +
+            "JOIN (SELECT temperature_id, max(timestamp) AS latest FROM values " +
+            "WHERE temperature_id IS NOT NULL AND value IS NOT NULL GROUP BY temperature_id) m " +
+            "ON m.temperature_id = v.temperature_id AND m.latest = v.timestamp WHERE v.value IS NOT NULL",
+            (RowCallbackHandler) rs -> consumer.accept(mapLatestReading(rs, 0))
+        );
+    }
+
+    public Optional<LatestReading> findLatestReading(long temperatureId) {
+        return jdbcTemplate
+            .query(
+                "SELECT temperature_id, id, value, timestamp FROM values WHERE temperature_id = ? AND value IS NOT NULL " +
+                "AND timestamp IS NOT NULL ORDER BY timestamp DESC, id DESC LIMIT 1",
+                LatestReadingRepository::mapLatestReading,
+                temperatureId
+            )
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * @return the temperature sensors of the devices of a place, with only their id, name and address.
+     */
+    public List<Temperature> findTemperaturesOfPlace(Long placeId) {
+        return jdbcTemplate.query(
+            "SELECT t.id, t.name, t.address FROM temperature t JOIN device d ON d.id = t.device_id WHERE d.place_id = ? ORDER BY t.id",
+            (rs, rowNum) -> {
+                Temperature temperature = new Temperature().name(rs.getString(2)).address(rs.getString(3));
+                temperature.setId(rs.getLong(1));
+                return temperature;
+            },
+            placeId
+        );
+    }
+
+    private static LatestReading mapLatestReading(ResultSet rs, int rowNum) throws SQLException {
+        return new LatestReading(
+            rs.getLong(1),
+            rs.getLong(2),
+            rs.getDouble(3),
+            rs.getTimestamp(4).toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli()
+        );
+    }
+}
@@ -0,0 +1,197 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.config.DatabasePlatform;
+import com.mycompany.myapp.domain.SMSNotification;
+import com.mycompany.myapp.domain.enumeration.AlertType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository claiming the pending {@link SMSNotification} rows of the {@code sms_notification} table for sending.
+ * <p>
+ * A notification is pending until {@code is_send} is set. Notifications without a {@code feature_send} date are claimed
+ * in the order they were created, scheduled ones by id once they are due, as they are found by
+ * {@link #findScheduled(LocalDateTime, int)} ahead of time. Claiming a notification sets {@code is_sending} and
+ * {@code sending_timestamp}, which identifies the claim. On PostgreSQL, rows locked by another claim are skipped, other
+ * databases wait for it.
+ */
+@Repository
+public class SMSDispatchRepository {
+    private static final String COLUMNS =
+        "id, tel_number, message, created_timestamp, uuid_device, is_sending, sending_timestamp, is_send, send_timestamp, " +
+        "alert_type, feature_send";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabasePlatform databasePlatform;
+
+    public SMSDispatchRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Claim the oldest notifications without a {@code feature_send} date which are not claimed, or whose claim expired.
+     * This must run in a transaction, which holds the lock of the rows until the claim commits.
+     *
+     * @param staleBefore claims older than this date expired.
+     * @return the claimed notifications, their {@code sendingTimestamp} being {@code now} to the millisecond, which all
+     * the databases store exactly.
+     */
+    public List<SMSNotification> claim(int limit, LocalDateTime now, LocalDateTime staleBefore) {
+        return markClaimed(
+            jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM sms_notification WHERE is_send IS NOT TRUE AND feature_send IS NULL " +
+                "AND (is_sending IS NOT TRUE OR sending_timestamp IS NULL OR sending_timestamp < ?) " +
+                "ORDER BY id LIMIT ? " + databasePlatform.getLockClause(),
+                SMSDispatchRepository::mapNotification,
+                Timestamp.valueOf(staleBefore),
+                limit
+            ),
+            now
+        );
+    }
+
+    /**
+     * Claim the given scheduled notifications which are due, and not claimed or whose claim expired. This must run in a
+     * transaction, which holds the lock of the rows until the claim commits.
+     *
+     * @param staleBefore claims older than this date expired.
+     * @return the claimed notifications, as {@link #claim(int, LocalDateTime, LocalDateTime)} does.
+     */
+    public List<SMSNotification> claimDue(Collection<Long> ids, LocalDateTime now, LocalDateTime staleBefore) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> args = new ArrayList<>(ids);
+        args.add(Timestamp.valueOf(now));
+        args.add(Timestamp.valueOf(staleBefore));
+        return markClaimed(
+            jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM sms_notification WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) +
+                ") AND is_send IS NOT TRUE AND feature_send <= ? " +
+                "AND (is_sending IS NOT TRUE OR sending_timestamp IS NULL OR sending_timestamp < ?) " +
+                "ORDER BY id " + databasePlatform.getLockClause(),
+                SMSDispatchRepository::mapNotification,
+                args.toArray()
+            ),
+            now
+        );
+    }
+
+    /**
+     * @return the {@code feature_send} dates of the pending notifications due before a date, including the overdue ones,
+     * by id, ordered by date.
+     */
+    public Map<Long, LocalDateTime> findScheduled(LocalDateTime until, int limit) {
+        Map<Long, LocalDateTime> scheduled = new LinkedHashMap<>();
+        jdbcTemplate.query(
+            "SELECT id, feature_send FROM sms_notification WHERE is_send IS NOT TRUE AND feature_send <= ? ORDER BY feature_send LIMIT ?",
+            rs -> {
+                scheduled.put(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime());
+            },
+            Timestamp.valueOf(until),
+            limit
+        );
+        return scheduled;
+    }
+
+    private List<SMSNotification> markClaimed(List<SMSNotification> notifications, LocalDateTime now) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+        LocalDateTime claimedAt = now.truncatedTo(ChronoUnit.MILLIS);
+        Timestamp sendingTimestamp = Timestamp.valueOf(claimedAt);
+        jdbcTemplate.batchUpdate(
+            "UPDATE sms_notification SET is_sending = true, sending_timestamp = ? WHERE id = ?",
+            notifications.stream().map(notification -> new Object[] { sendingTimestamp, notification.getId() }).collect(Collectors.toList())
+        );
+        notifications.forEach(notification -> notification.isSending(true).sendingTimestamp(claimedAt.atZone(ZoneOffset.UTC)));
+        return notifications;
+    }
+
+    /**
+     * Extend the claim of a notification until {@code now}, unless its claim expired and it was claimed again.
+     *
+     * @return whether the claim was extended, the {@code sendingTimestamp} of the notification being then {@code now} to
+     * the millisecond.
+     */
+    public boolean renewClaim(SMSNotification notification, LocalDateTime now) {
+        LocalDateTime claimedAt = now.truncatedTo(ChronoUnit.MILLIS);
+        boolean renewed =
+            jdbcTemplate.update(
+                "UPDATE sms_notification SET sending_timestamp = ? " +
+                "WHERE id = ? AND is_send IS NOT TRUE AND is_sending = true AND sending_timestamp = ?",
+                Timestamp.valueOf(claimedAt),
+                notification.getId(),
+                Timestamp.valueOf(notification.getSendingTimestamp().withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())
+            ) >
+            0;
+        if (renewed) {
+            notification.sendingTimestamp(claimedAt.atZone(ZoneOffset.UTC));
+        }
+        return renewed;
+    }
+
+    /**
+     * Mark a claimed notification as sent, unless its claim expired and it was claimed again.
+     *
+     * @return whether the notification was marked.
+     */
+    public boolean markSent(SMSNotification notification, LocalDateTime now) {
+        return (
+            jdbcTemplate.update(
+                "UPDATE sms_notification SET is_sending = false, is_send = true, send_timestamp = ? " +
+                "WHERE id = ? AND is_sending = true AND sending_timestamp = ?",
+                Timestamp.valueOf(now),
+                notification.getId(),
+                Timestamp.valueOf(notification.getSendingTimestamp().withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())
+            ) >
+            0
+        );
+    }
+
+    /**
+     * @return the number of pending notifications, due or not.
+     */
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM sms_notification WHERE is_send IS NOT TRUE", Long.class);
+        return count == null ? 0 : count;
+    }
+
+
+    private static SMSNotification mapNotification(ResultSet rs, int rowNum) throws SQLException {
+        String alertType = rs.getString(10);
+        SMSNotification notification = new SMSNotification()
+            .telNumber(rs.getString(2))
+            .message(rs.getString(3))
+            .createdTimestamp(toZonedDateTime(rs.getTimestamp(4)))
+            .uuidDevice(rs.getString(5))
+            .isSending((Boolean) rs.getObject(6))
+            .sendingTimestamp(toZonedDateTime(rs.getTimestamp(7)))
+            .isSend((Boolean) rs.getObject(8))
+            .sendTimestamp(toZonedDateTime(rs.getTimestamp(9)))
+            .alertType(alertType != null ? AlertType.valueOf(alertType) : null)
+            .featureSend(toZonedDateTime(rs.getTimestamp(11)));
+        notification.setId(rs.getLong(1));
+        return notification;
+    }
+
+    private static ZonedDateTime toZonedDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().atZone(ZoneOffset.UTC) : null;
+    }
+}
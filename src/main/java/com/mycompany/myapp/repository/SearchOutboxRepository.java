@@ -0,0 +1,147 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.config.DatabasePlatform;
+import com.mycompany.myapp.domain.SearchOutboxEntry;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the {@link SearchOutboxEntry} rows of the {@code search_outbox} table.
+ * <p>
+ * Writes join the current transaction, so that an entry is only visible once the entity change it records commits.
+ * <p>
+ * The entries of an entity are claimed together, by the instance which locks its oldest entry, and no entry of the
+ * entity can be claimed until they are deleted or their claim expires. On PostgreSQL, entries locked by another claim
+ * are skipped, other databases wait for it.
+ */
+@Repository
+public class SearchOutboxRepository {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabasePlatform databasePlatform;
+
+    public SearchOutboxRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * Record that the given entities changed.
+     */
+    public void add(String entityType, Collection<Long> entityIds, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> args = entityIds
+            .stream()
+            .map(entityId -> new Object[] { entityType, entityId, timestamp, timestamp })
+            .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO search_outbox (entity_type, entity_id, created_date, attempts, next_attempt_at) VALUES (?, ?, ?, 0, ?)",
+            args
+        );
+    }
+
+    /**
+     * Claim all the entries of the entities whose oldest entry is due, postponing them to {@code claimedUntil}. This
+     * must run in a transaction, which holds the lock of the oldest entries until the claim commits.
+     *
+     * @param limit the number of entities claimed at most.
+     * @param claimedUntil the date the claim expires, which identifies it, to the millisecond.
+     * @return the claimed entries, ordered by id, their {@code nextAttemptAt} being {@code claimedUntil}.
+     */
+    public List<SearchOutboxEntry> claim(LocalDateTime now, LocalDateTime claimedUntil, int limit) {
+        List<SearchOutboxEntry> oldestEntries = jdbcTemplate.query(
+            "SELECT o.id, o.entity_type, o.entity_id, o.attempts FROM search_outbox o WHERE o.next_attempt_at <= ? " +
+            "AND NOT EXISTS (SELECT 1 FROM search_outbox p WHERE p.entity_type = o.entity_type AND p.entity_id = o.entity_id " +
+            "AND p.id < o.id) ORDER BY o.id LIMIT ? " + databasePlatform.getLockClause(),
+            SearchOutboxRepository::mapEntry,
+            Timestamp.valueOf(now),
+            limit
+        );
+        if (oldestEntries.isEmpty()) {
+            return oldestEntries;
+        }
+        // The newer entries of these entities cannot be claimed by another instance while their oldest entry exists
+        Map<String, List<Long>> entityIdsByType = new LinkedHashMap<>();
+        for (SearchOutboxEntry entry : oldestEntries) {
+            entityIdsByType.computeIfAbsent(entry.getEntityType(), type -> new ArrayList<>()).add(entry.getEntityId());
+        }
+        List<SearchOutboxEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entityIds : entityIdsByType.entrySet()) {
+            List<Object> args = new ArrayList<>(entityIds.getValue());
+            args.add(0, entityIds.getKey());
+            entries.addAll(
+                jdbcTemplate.query(
+                    "SELECT id, entity_type, entity_id, attempts FROM search_outbox WHERE entity_type = ? AND entity_id IN (" +
+                    String.join(", ", Collections.nCopies(entityIds.getValue().size(), "?")) +
+                    ")",
+                    SearchOutboxRepository::mapEntry,
+                    args.toArray()
+                )
+            );
+        }
+        entries.sort(Comparator.comparing(SearchOutboxEntry::getId));
+
+        // Databases which wait for the lock may return an entry claimed in the meantime, its update then fails
+        Timestamp claimedUntilTimestamp = Timestamp.valueOf(claimedUntil);
+        Timestamp nowTimestamp = Timestamp.valueOf(now);
+        int[] counts = jdbcTemplate.batchUpdate(
+            "UPDATE search_outbox SET next_attempt_at = ? WHERE id = ? AND next_attempt_at <= ?",
+            entries.stream().map(entry -> new Object[] { claimedUntilTimestamp, entry.getId(), nowTimestamp }).collect(Collectors.toList())
+        );
+        List<SearchOutboxEntry> claimed = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            if (counts[i] != 0) {
+                entries.get(i).setNextAttemptAt(claimedUntil);
+                claimed.add(entries.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM search_outbox", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Delete claimed entries, unless their claim expired and they were claimed again.
+     */
+    public void deleteAll(Collection<SearchOutboxEntry> entries) {
+        List<Object[]> args = entries
+            .stream()
+            .map(entry -> new Object[] { entry.getId(), Timestamp.valueOf(entry.getNextAttemptAt()) })
+            .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate("DELETE FROM search_outbox WHERE id = ? AND next_attempt_at = ?", args);
+    }
+
+    /**
+     * Count a failed attempt for the given entries and postpone them to their {@code nextAttemptAt}.
+     */
+    public void markFailed(Collection<SearchOutboxEntry> entries, String error) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (SearchOutboxEntry entry : entries) {
+            args.add(new Object[] { Timestamp.valueOf(entry.getNextAttemptAt()), lastError, entry.getId() });
+        }
+        jdbcTemplate.batchUpdate("UPDATE search_outbox SET attempts = attempts + 1, next_attempt_at = ?, last_error = ? WHERE id = ?", args);
+    }
+
+    private static SearchOutboxEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new SearchOutboxEntry(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getInt(4));
+    }
+
+}
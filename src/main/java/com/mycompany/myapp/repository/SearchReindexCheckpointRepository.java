@@ -0,0 +1,67 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.SearchReindexCheckpoint;
+import java.sql.Timestamp;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the {@link SearchReindexCheckpoint} rows of the {@code search_reindex_checkpoint} table.
+ */
+@Repository
+public class SearchReindexCheckpointRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchReindexCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<SearchReindexCheckpoint> findByEntityType(String entityType) {
+        return jdbcTemplate
+            .query(
+                "SELECT entity_type, last_id, indexed, completed, updated_date FROM search_reindex_checkpoint WHERE entity_type = ?",
+                (rs, rowNum) -> {
+                    SearchReindexCheckpoint checkpoint = new SearchReindexCheckpoint(rs.getString(1));
+                    long lastId = rs.getLong(2);
+                    checkpoint.setLastId(rs.wasNull() ? null : lastId);
+                    checkpoint.setIndexed(rs.getLong(3));
+                    checkpoint.setCompleted(rs.getBoolean(4));
+                    checkpoint.setUpdatedDate(rs.getTimestamp(5).toLocalDateTime());
+                    return checkpoint;
+                },
+                entityType
+            )
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Insert or update a checkpoint.
+     */
+    public void save(SearchReindexCheckpoint checkpoint) {
+        Timestamp updatedDate = Timestamp.valueOf(checkpoint.getUpdatedDate());
+        int updated = jdbcTemplate.update(
+            "UPDATE search_reindex_checkpoint SET last_id = ?, indexed = ?, completed = ?, updated_date = ? WHERE entity_type = ?",
+            checkpoint.getLastId(),
+            checkpoint.getIndexed(),
+            checkpoint.isCompleted(),
+            updatedDate,
+            checkpoint.getEntityType()
+        );
+        if (updated == 0) {
+            jdbcTemplate.update(
+                "INSERT INTO search_reindex_checkpoint (entity_type, last_id, indexed, completed, updated_date) VALUES (?, ?, ?, ?, ?)",
+                checkpoint.getEntityType(),
+                checkpoint.getLastId(),
+                checkpoint.getIndexed(),
+                checkpoint.isCompleted(),
+                updatedDate
+            );
+        }
+    }
+
+    public void deleteByEntityType(String entityType) {
+        jdbcTemplate.update("DELETE FROM search_reindex_checkpoint WHERE entity_type = ?", entityType);
+    }
+}
@@ -5,10 +5,15 @@ import com.mycompany.myapp.domain.Temperature;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Spring Data  repository for the Temperature entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface TemperatureRepository extends JpaRepository<Temperature, Long> {
+
+    List<Temperature> findAllByAddressIn(Collection<String> addresses);
 }
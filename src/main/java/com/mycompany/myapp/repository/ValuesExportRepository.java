@@ -0,0 +1,76 @@
+package com.mycompany.myapp.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository streaming large amounts of readings with a forward-only cursor, without loading entities.
+ * <p>
+ * Rows are fetched by chunks of {@value #FETCH_SIZE}, which requires a transaction on PostgreSQL.
+ */
+@Repository
+public class ValuesExportRepository {
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ValuesExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Callback receiving the exported readings one by one.
+     */
+    @FunctionalInterface
+    public interface ExportedReadingHandler {
+        void handle(long id, long temperatureId, String address, Double value, LocalDateTime timestamp) throws IOException;
+    }
+
+    /**
+     * Stream the readings of the temperature sensors of the devices of a place, ordered by sensor then timestamp.
+     * <p>
+     * The query stops as soon as the handler fails, for instance when the client of an export disconnects.
+     *
+     * @param placeId the id of the place.
+     * @param from the start of the time range, in UTC.
+     * @param to the end (exclusive) of the time range, in UTC.
+     * @param handler the handler of each reading.
+     * @throws IOException if the handler fails.
+     */
+    public void forEachReadingOfPlace(Long placeId, LocalDateTime from, LocalDateTime to, ExportedReadingHandler handler)
+        throws IOException {
+        RowCallbackHandler rowCallbackHandler = rs -> {
+            Timestamp timestamp = rs.getTimestamp(5);
+            try {
+                handler.handle(
+                    rs.getLong(1),
+                    rs.getLong(2),
+                    rs.getString(3),
+                    rs.getObject(4, Double.class),
+                    timestamp == null ? null : timestamp.toLocalDateTime()
+                );
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            jdbcTemplate.query(
+                "SELECT v.id, t.id, t.address, v.value, v.timestamp FROM values v " +
+                "JOIN temperature t ON t.id = v.temperature_id JOIN device d ON d.id = t.device_id " +
+                "WHERE d.place_id = ? AND v.timestamp >= ? AND v.timestamp < ? ORDER BY t.id, v.timestamp, v.id",
+                rowCallbackHandler,
+                placeId,
+                Timestamp.valueOf(from),
+                Timestamp.valueOf(to)
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
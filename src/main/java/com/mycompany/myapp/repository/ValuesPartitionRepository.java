@@ -0,0 +1,115 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.config.DatabasePlatform;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository managing the time partitions of the {@code values} table.
+ * <p>
+ * On PostgreSQL the table is partitioned by month, each partition being named {@code values_pYYYY_MM}, plus a
+ * {@code values_default} partition. Other databases keep a single table, and only row-level retention is available.
+ */
+@Repository
+public class ValuesPartitionRepository {
+    private static final Pattern PARTITION_NAME = Pattern.compile("values_p(\\d{4})_(\\d{2})");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabasePlatform databasePlatform;
+
+    private volatile Boolean partitioned;
+
+    public ValuesPartitionRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    /**
+     * @return {@code true} if the {@code values} table is partitioned in the current database.
+     */
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = databasePlatform.isPostgreSQL() && jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = 'values'",
+                Integer.class
+            ) > 0;
+        }
+        return partitioned;
+    }
+
+
+    public static String partitionName(YearMonth month) {
+        return "values_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    public static Optional<YearMonth> partitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    /**
+     * @return the months having a partition.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate
+            .queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'values'",
+                String.class
+            )
+            .stream()
+            .map(ValuesPartitionRepository::partitionMonth)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF values FOR VALUES FROM ('" +
+            month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')"
+        );
+    }
+
+    /**
+     * Drop a whole partition, after removing the links of its readings to temperatures.
+     */
+    public void dropPartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.update("DELETE FROM values_temperature WHERE values_id IN (SELECT id FROM " + partition + ")");
+        jdbcTemplate.execute("ALTER TABLE values DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    /**
+     * Delete the readings older than the given date row by row.
+     *
+     * @param before the date, in UTC, before which readings are deleted.
+     * @return the number of deleted readings.
+     */
+    public int deleteOlderThan(LocalDateTime before) {
+        String table = isPartitioned() ? "values_default" : "values";
+        Timestamp timestamp = Timestamp.valueOf(before);
+        jdbcTemplate.update(
+            "DELETE FROM values_temperature WHERE values_id IN (SELECT id FROM " + table + " WHERE timestamp < ?)",
+            timestamp
+        );
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE timestamp < ?", timestamp);
+    }
+}
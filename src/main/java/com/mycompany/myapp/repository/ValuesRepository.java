@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +27,16 @@ public interface ValuesRepository extends JpaRepository<Values, Long> {
 
     @Query("select values from Values values left join fetch values.temperatures where values.id =:id")
     Optional<Values> findOneWithEagerRelationships(@Param("id") Long id);
+
+    /**
+     * Keyset pagination over the readings of a sensor, ordered by timestamp then id: returns the readings after the
+     * given (timestamp, id) position, so that every page costs a single index range scan whatever its depth.
+     * The redundant {@code values.timestamp >= :afterTimestamp} bound lets the database start the scan at the position.
+     */
+    @Query("select values from Values values where values.temperature.id = :temperatureId" +
+        " and values.timestamp >= :afterTimestamp and values.timestamp < :to" +
+        " and (values.timestamp > :afterTimestamp or values.id > :afterId)" +
+        " order by values.timestamp, values.id")
+    List<Values> findAllByTemperatureAfter(@Param("temperatureId") Long temperatureId, @Param("afterTimestamp") ZonedDateTime afterTimestamp,
+                                           @Param("afterId") Long afterId, @Param("to") ZonedDateTime to, Pageable pageable);
 }
@@ -0,0 +1,234 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.config.DatabasePlatform;
+import com.mycompany.myapp.domain.ValuesRollup;
+import com.mycompany.myapp.domain.enumeration.RollupResolution;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for the {@code values_rollup} table and for the raw readings the rollups are computed from.
+ * <p>
+ * All dates are in UTC, as stored by Hibernate.
+ */
+@Repository
+public class ValuesRollupRepository {
+    private static final String ROLLUP_COLUMNS =
+        "temperature_id, resolution, bucket_start, min_value, max_value, sum_value, value_count, last_value, last_timestamp";
+
+    private static final RowMapper<ValuesRollup> ROLLUP_ROW_MAPPER = ValuesRollupRepository::mapRollup;
+
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Key of the PostgreSQL advisory lock serializing the updates of the rollups.
+     */
+    private static final long ROLLUP_LOCK_KEY = 0x76616c7565735fL;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabasePlatform databasePlatform;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public ValuesRollupRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Callback receiving raw readings one by one, without loading them all in memory.
+     */
+    @FunctionalInterface
+    public interface ReadingHandler {
+        void handle(long temperatureId, double value, LocalDateTime timestamp);
+    }
+
+    /**
+     * Stream the readings of all sensors in the given time range.
+     * <p>
+     * Rows are fetched by chunks, which requires a transaction on PostgreSQL.
+     */
+    public void forEachReading(LocalDateTime from, LocalDateTime to, ReadingHandler handler) {
+        streamingJdbcTemplate.query(
+            "SELECT temperature_id, value, timestamp FROM values " +
+            "WHERE timestamp >= ? AND timestamp < ? AND temperature_id IS NOT NULL AND value IS NOT NULL",
+            (RowCallbackHandler) rs -> handler.handle(rs.getLong(1), rs.getDouble(2), rs.getTimestamp(3).toLocalDateTime()),
+            Timestamp.valueOf(from),
+            Timestamp.valueOf(to)
+        );
+    }
+
+    /**
+     * Stream the readings of a sensor in the given time range, ordered by timestamp.
+     */
+    public void forEachReading(Long temperatureId, LocalDateTime from, LocalDateTime to, ReadingHandler handler) {
+        streamingJdbcTemplate.query(
+            "SELECT temperature_id, value, timestamp FROM values " +
+            "WHERE temperature_id = ? AND timestamp >= ? AND timestamp < ? AND value IS NOT NULL ORDER BY timestamp",
+            (RowCallbackHandler) rs -> handler.handle(rs.getLong(1), rs.getDouble(2), rs.getTimestamp(3).toLocalDateTime()),
+            temperatureId,
+            Timestamp.valueOf(from),
+            Timestamp.valueOf(to)
+        );
+    }
+
+    public long countReadings(Long temperatureId, LocalDateTime from, LocalDateTime to) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM values WHERE temperature_id = ? AND timestamp >= ? AND timestamp < ? AND value IS NOT NULL",
+            Long.class,
+            temperatureId,
+            Timestamp.valueOf(from),
+            Timestamp.valueOf(to)
+        );
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return the timestamp of the oldest reading.
+     */
+    public Optional<LocalDateTime> findFirstReadingTimestamp() {
+        return toLocalDateTime(jdbcTemplate.queryForObject("SELECT min(timestamp) FROM values", Timestamp.class));
+    }
+
+    /**
+     * @return the timestamp of the oldest reading taken at or after the given date.
+     */
+    public Optional<LocalDateTime> findFirstReadingTimestamp(LocalDateTime from) {
+        return toLocalDateTime(
+            jdbcTemplate.queryForObject("SELECT min(timestamp) FROM values WHERE timestamp >= ?", Timestamp.class, Timestamp.valueOf(from))
+        );
+    }
+
+    /**
+     * @return the start of the latest bucket having a rollup of the given resolution.
+     */
+    public Optional<LocalDateTime> findLatestBucketStart(RollupResolution resolution) {
+        return toLocalDateTime(
+            jdbcTemplate.queryForObject("SELECT max(bucket_start) FROM values_rollup WHERE resolution = ?", Timestamp.class, resolution.name())
+        );
+    }
+
+    private static Optional<LocalDateTime> toLocalDateTime(Timestamp timestamp) {
+        return Optional.ofNullable(timestamp).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * @return the rollups of all sensors whose bucket starts in the given time range.
+     */
+    public List<ValuesRollup> findAll(RollupResolution resolution, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(
+            "SELECT " + ROLLUP_COLUMNS + " FROM values_rollup WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?",
+            ROLLUP_ROW_MAPPER,
+            resolution.name(),
+            Timestamp.valueOf(from),
+            Timestamp.valueOf(to)
+        );
+    }
+
+    /**
+     * @return the rollups of a sensor whose bucket starts in the given time range, ordered by bucket.
+     */
+    public List<ValuesRollup> findAllByTemperature(Long temperatureId, RollupResolution resolution, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(
+            "SELECT " + ROLLUP_COLUMNS + " FROM values_rollup " +
+            "WHERE temperature_id = ? AND resolution = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+            ROLLUP_ROW_MAPPER,
+            temperatureId,
+            resolution.name(),
+            Timestamp.valueOf(from),
+            Timestamp.valueOf(to)
+        );
+    }
+
+    /**
+     * Take the lock serializing the updates of the rollups across instances, until the end of the current transaction.
+     * <p>
+     * On PostgreSQL this is a transaction-level advisory lock. Other databases are only used by a single instance, and
+     * the lock is always granted.
+     *
+     * @return {@code false} if another transaction holds the lock.
+     */
+    public boolean tryLock() {
+        if (!databasePlatform.isPostgreSQL()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ROLLUP_LOCK_KEY));
+    }
+
+    /**
+     * Replace all the rollups whose bucket starts in the given time range.
+     *
+     * @return the number of inserted rollups.
+     */
+    public int replaceAll(RollupResolution resolution, LocalDateTime from, LocalDateTime to, Collection<ValuesRollup> rollups) {
+        jdbcTemplate.update(
+            "DELETE FROM values_rollup WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?",
+            resolution.name(),
+            Timestamp.valueOf(from),
+            Timestamp.valueOf(to)
+        );
+        List<Object[]> rows = new ArrayList<>(rollups.size());
+        for (ValuesRollup rollup : rollups) {
+            rows.add(
+                new Object[] {
+                    rollup.getTemperatureId(),
+                    rollup.getResolution().name(),
+                    Timestamp.valueOf(rollup.getBucketStart()),
+                    rollup.getMin(),
+                    rollup.getMax(),
+                    rollup.getSum(),
+                    rollup.getCount(),
+                    rollup.getLast(),
+                    rollup.getLastTimestamp() == null ? null : Timestamp.valueOf(rollup.getLastTimestamp()),
+                }
+            );
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO values_rollup (" + ROLLUP_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            rows,
+            new int[] {
+                Types.BIGINT,
+                Types.VARCHAR,
+                Types.TIMESTAMP,
+                Types.DOUBLE,
+                Types.DOUBLE,
+                Types.DOUBLE,
+                Types.BIGINT,
+                Types.DOUBLE,
+                Types.TIMESTAMP,
+            }
+        );
+        return rows.size();
+    }
+
+    private static ValuesRollup mapRollup(ResultSet rs, int rowNum) throws SQLException {
+        ValuesRollup rollup = new ValuesRollup(
+            rs.getLong("temperature_id"),
+            RollupResolution.valueOf(rs.getString("resolution")),
+            rs.getTimestamp("bucket_start").toLocalDateTime()
+        );
+        rollup.setMin(rs.getObject("min_value", Double.class));
+        rollup.setMax(rs.getObject("max_value", Double.class));
+        rollup.setSum(rs.getDouble("sum_value"));
+        rollup.setCount(rs.getLong("value_count"));
+        rollup.setLast(rs.getObject("last_value", Double.class));
+        Timestamp lastTimestamp = rs.getTimestamp("last_timestamp");
+        rollup.setLastTimestamp(lastTimestamp == null ? null : lastTimestamp.toLocalDateTime());
+        return rollup;
+    }
+
+}
@@ -10,5 +10,10 @@ public final class AuthoritiesConstants {
 
     public static final String ANONYMOUS = "ROLE_ANONYMOUS";
 
+    /**
+     * Only granted to the tokens of the cache invalidations the instances send to each other.
+     */
+    public static final String CACHE_INVALIDATION = "ROLE_CACHE_INVALIDATION";
+
     private AuthoritiesConstants() {}
 }
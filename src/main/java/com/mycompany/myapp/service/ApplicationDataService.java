@@ -0,0 +1,286 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Application;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.repository.ApplicationDataRepository;
+import com.mycompany.myapp.repository.DeviceRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service streaming the firmware images of the applications between uploads, the database and downloads, so that the
+ * heap used does not depend on their size.
+ * <p>
+ * The database stays the reference, shared by the instances. Downloads are served from the {@link FirmwareStoreService}
+ * of the instance, to which an image is copied from the database by chunks on its first download on the instance, or
+ * written by its upload. Devices reporting the version of another stored image get a delta from that image.
+ */
+@Service
+public class ApplicationDataService {
+    private final Logger log = LoggerFactory.getLogger(ApplicationDataService.class);
+
+    private final ApplicationDataRepository applicationDataRepository;
+
+    private final FirmwareStoreService firmwareStoreService;
+
+    private final DeviceRepository deviceRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final TransactionTemplate snapshotTransactionTemplate;
+
+    private final int readChunkSize;
+
+    public ApplicationDataService(
+        ApplicationDataRepository applicationDataRepository,
+        FirmwareStoreService firmwareStoreService,
+        DeviceRepository deviceRepository,
+        EntityManagerFactory entityManagerFactory,
+        CacheInvalidationService cacheInvalidationService,
+        SearchIndexingService searchIndexingService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.applicationDataRepository = applicationDataRepository;
+        this.firmwareStoreService = firmwareStoreService;
+        this.deviceRepository = deviceRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.searchIndexingService = searchIndexingService;
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.readChunkSize = applicationProperties.getFirmware().getReadChunkSize();
+    }
+
+    /**
+     * Set the size and SHA-256 of the image of an application from its data.
+     */
+    public static void digestData(Application application) {
+        byte[] data = application.getData();
+        application.setDataSize(data != null ? (long) data.length : null);
+        application.setDataSha256(data != null ? FirmwareStoreService.toHex(FirmwareStoreService.newDigest().digest(data)) : null);
+    }
+
+    /**
+     * Replace the image of an application by an uploaded file. The file is added to the local store, then streamed to
+     * the database.
+     *
+     * @return the application without its image, empty if it does not exist.
+     * @throws IOException if the file cannot be read or stored.
+     */
+    @Transactional
+    public Optional<Application> upload(Long id, MultipartFile file) throws IOException {
+        String sha256;
+        try (InputStream in = file.getInputStream()) {
+            sha256 = firmwareStoreService.put(in);
+        }
+        Path blob = firmwareStoreService.getBlob(sha256);
+        long size = Files.size(blob);
+        boolean updated;
+        try (InputStream in = Files.newInputStream(blob)) {
+            updated = applicationDataRepository.updateData(id, file.getOriginalFilename(), file.getContentType(), in, size, sha256);
+        }
+        if (!updated) {
+            return Optional.empty();
+        }
+        log.debug("Stored {} bytes of image {} for Application {}", size, sha256, id);
+        evictAfterCommit(id);
+        Optional<Application> application = applicationDataRepository.findMetadata(id);
+        application.ifPresent(searchIndexingService::index);
+        return application;
+    }
+
+    /**
+     * Make sure the image of an application is in the local store.
+     *
+     * @return the application without its image, its size and SHA-256 matching the stored copy. Empty if the
+     * application does not exist or has no image.
+     * @throws IOException if the image cannot be copied.
+     */
+    public Optional<Application> prepareData(Long id) throws IOException {
+        Optional<Application> application = applicationDataRepository.findMetadata(id);
+        if (!application.isPresent() || application.get().getDataSize() == null) {
+            return Optional.empty();
+        }
+        String sha256 = application.get().getDataSha256();
+        if (sha256 != null && firmwareStoreService.contains(sha256)) {
+            return application;
+        }
+        return copyData(application.get());
+    }
+
+    /**
+     * Delete the images and deltas of the local store which are not used anymore, see
+     * {@link FirmwareStoreService#cleanUp(java.util.Set)}.
+     * <p>
+     * This is scheduled to get fired every hour by default.
+     */
+    @Scheduled(
+        initialDelayString = "${application.firmware.cleanup-delay-ms:3600000}",
+        fixedDelayString = "${application.firmware.cleanup-delay-ms:3600000}"
+    )
+    public void cleanUpStore() {
+        try {
+            firmwareStoreService.cleanUp(applicationDataRepository.findAllDataSha256());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not clean up the firmware store", e);
+        }
+    }
+
+    /**
+     * @return the local copy of an image returned by {@link #prepareData(Long)}.
+     */
+    public Path getDataFile(Application application) {
+        return firmwareStoreService.getBlob(application.getDataSha256());
+    }
+
+    /**
+     * Get the delta updating a device to the image of an application, from the image of the newest application of the
+     * {@link Device#getAppVersion() version} the device reports.
+     *
+     * @param application an application returned by {@link #prepareData(Long)}.
+     * @return the delta, named {@code <base SHA-256>-<target SHA-256>}. Empty if the device does not exist, if its
+     * version has no image, if the device already has the image, or if the delta is not much smaller than the image.
+     * @throws IOException if the images cannot be copied or the delta cannot be built.
+     */
+    public Optional<Path> prepareDelta(Application application, Long deviceId) throws IOException {
+        Optional<String> appVersion = deviceRepository.findById(deviceId).map(Device::getAppVersion);
+        if (!appVersion.isPresent()) {
+            return Optional.empty();
+        }
+        Optional<Long> baseId = applicationDataRepository.findIdByVersion(appVersion.get());
+        if (!baseId.isPresent()) {
+            return Optional.empty();
+        }
+        Optional<Application> base = prepareData(baseId.get());
+        if (!base.isPresent()) {
+            return Optional.empty();
+        }
+        return firmwareStoreService.getDelta(base.get().getDataSha256(), application.getDataSha256());
+    }
+
+    /**
+     * Copy an image from the database to the local store, by chunks read from one snapshot, and record the SHA-256 of
+     * images stored without one.
+     *
+     * @param current the application read before the snapshot.
+     */
+    private Optional<Application> copyData(Application current) throws IOException {
+        Long id = current.getId();
+        boolean digested = current.getDataSha256() != null;
+        Optional<Application> application;
+        try {
+            application = snapshotTransactionTemplate.execute(status -> copySnapshotData(id));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (application.isPresent() && !digested) {
+            applicationDataRepository.updateDigest(id, application.get().getDataSize(), application.get().getDataSha256());
+        }
+        return application;
+    }
+
+    private Optional<Application> copySnapshotData(Long id) {
+        Optional<Application> application = applicationDataRepository.findMetadata(id);
+        if (!application.isPresent() || application.get().getDataSize() == null) {
+            return Optional.empty();
+        }
+        String sha256;
+        try {
+            sha256 = firmwareStoreService.put(new ChunkInputStream(id, application.get().getDataSize()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (application.get().getDataSha256() == null) {
+            application.get().setDataSha256(sha256);
+        } else if (!application.get().getDataSha256().equals(sha256)) {
+            throw new IllegalStateException("The image of Application " + id + " does not match its SHA-256");
+        }
+        log.debug("Copied {} bytes of image {} for Application {}", application.get().getDataSize(), sha256, id);
+        return application;
+    }
+
+    private void evictAfterCommit(Long id) {
+        cacheInvalidationService.invalidateAfterCommit(Application.class.getName(), id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManagerFactory.getCache().evict(Application.class, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    entityManagerFactory.getCache().evict(Application.class, id);
+                }
+            }
+        );
+    }
+
+    /**
+     * Image of an application read from the database by chunks.
+     */
+    private final class ChunkInputStream extends InputStream {
+        private final Long id;
+
+        private final long size;
+
+        private long offset;
+
+        private ByteArrayInputStream chunk = new ByteArrayInputStream(new byte[0]);
+
+        private ChunkInputStream(Long id, long size) {
+            this.id = id;
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return chunk.available() > 0 || nextChunk() ? chunk.read() : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            return chunk.available() > 0 || nextChunk() ? chunk.read(buffer, offset, length) : -1;
+        }
+
+        private boolean nextChunk() {
+            if (offset >= size) {
+                return false;
+            }
+            byte[] data = applicationDataRepository.readData(id, Math.toIntExact(offset), readChunkSize);
+            if (data == null || data.length == 0) {
+                return false;
+            }
+            offset += data.length;
+            chunk = new ByteArrayInputStream(data);
+            return true;
+        }
+    }
+}
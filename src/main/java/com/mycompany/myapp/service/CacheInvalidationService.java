@@ -0,0 +1,235 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.dto.CacheInvalidationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping the local caches of the instances consistent: the cache entries written by a transaction are evicted
+ * from the caches of the other instances once it commits.
+ * <p>
+ * Updated and deleted entities and updated collections of the Hibernate second-level cache are collected by Hibernate
+ * listeners, and other caches by {@link #invalidateAfterCommit(String, Object)}. The keys written by a transaction are
+ * sent as one message through the {@link CacheInvalidationTransport}. Received keys are evicted through the Hibernate
+ * cache API, or from the cache of the same name, which does not notify the listeners, so evictions are not sent back.
+ * <p>
+ * Sent and received messages are counted in the {@code cache.invalidation.messages} metric.
+ */
+@Service
+public class CacheInvalidationService {
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final CacheInvalidationTransport transport;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheManager cacheManager;
+
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    private final Counter sentCounter;
+
+    private final Counter receivedCounter;
+
+    public CacheInvalidationService(
+        ObjectProvider<CacheInvalidationTransport> transport,
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.transport = transport.getIfAvailable();
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+        this.sentCounter = meterRegistry.counter("cache.invalidation.messages", "direction", "sent");
+        this.receivedCounter = meterRegistry.counter("cache.invalidation.messages", "direction", "received");
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        if (transport == null) {
+            return;
+        }
+        transport.onReceive(this::evict);
+        HibernateListener listener = new HibernateListener();
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+    }
+
+    /**
+     * Evict a key from the caches of the other instances once the current transaction commits, or now if there is
+     * none.
+     *
+     * @param region the entity name, collection role or cache name.
+     * @param key the key, all the keys of the region if {@code null}.
+     */
+    public void invalidateAfterCommit(String region, Object key) {
+        if (transport == null) {
+            return;
+        }
+        String keyString = key != null ? key.toString() : null;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            CacheInvalidationDTO invalidation = new CacheInvalidationDTO();
+            invalidation.setSource(instanceId);
+            invalidation.add(region, keyString);
+            send(invalidation);
+            return;
+        }
+        CacheInvalidationDTO invalidation = (CacheInvalidationDTO) TransactionSynchronizationManager.getResource(this);
+        if (invalidation == null) {
+            CacheInvalidationDTO newInvalidation = new CacheInvalidationDTO();
+            newInvalidation.setSource(instanceId);
+            TransactionSynchronizationManager.bindResource(this, newInvalidation);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+
+                    @Override
+                    public void afterCommit() {
+                        send(newInvalidation);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationService.this);
+                    }
+                }
+            );
+            invalidation = newInvalidation;
+        }
+        invalidation.add(region, keyString);
+    }
+
+    private void send(CacheInvalidationDTO invalidation) {
+        log.debug("Sending cache invalidations {}", invalidation);
+        transport.send(invalidation);
+        sentCounter.increment();
+    }
+
+    /**
+     * Evict the keys received from another instance, ignoring the ones sent by this instance.
+     */
+    void evict(CacheInvalidationDTO invalidation) {
+        if (instanceId.equals(invalidation.getSource())) {
+            return;
+        }
+        log.debug("Evicting cache invalidations {}", invalidation);
+        receivedCounter.increment();
+        MetamodelImplementor metamodel = sessionFactory.getMetamodel();
+        org.hibernate.Cache hibernateCache = sessionFactory.getCache();
+        for (Map.Entry<String, List<String>> region : invalidation.getRegions().entrySet()) {
+            String name = region.getKey();
+            List<String> keys = region.getValue();
+            if (metamodel.entityPersisters().containsKey(name)) {
+                Class<?> idClass = metamodel.entityPersister(name).getIdentifierType().getReturnedClass();
+                if (keys.isEmpty()) {
+                    hibernateCache.evictEntityData(name);
+                }
+                keys.forEach(key -> hibernateCache.evictEntityData(name, (Serializable) conversionService.convert(key, idClass)));
+            } else if (metamodel.collectionPersisters().containsKey(name)) {
+                Class<?> ownerIdClass = metamodel.collectionPersister(name).getKeyType().getReturnedClass();
+                if (keys.isEmpty()) {
+                    hibernateCache.evictCollectionData(name);
+                }
+                keys.forEach(key -> hibernateCache.evictCollectionData(name, (Serializable) conversionService.convert(key, ownerIdClass)));
+            } else {
+                Cache<Object, Object> cache = cacheManager.getCache(name);
+                if (cache == null) {
+                    log.debug("Ignoring the invalidations of the unknown cache {}", name);
+                } else if (keys.isEmpty()) {
+                    cache.clear();
+                } else {
+                    keys.forEach(cache::remove);
+                }
+            }
+        }
+    }
+
+    private final class HibernateListener
+        implements
+            PostUpdateEventListener,
+            PostDeleteEventListener,
+            PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener,
+            PostCollectionRecreateEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            onEntityWrite(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            onEntityWrite(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            onCollectionWrite(event.getCollection().getRole(), event.getAffectedOwnerIdOrNull());
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            onCollectionWrite(event.getCollection().getRole(), event.getAffectedOwnerIdOrNull());
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            onCollectionWrite(event.getCollection().getRole(), event.getAffectedOwnerIdOrNull());
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+
+        private void onEntityWrite(EntityPersister persister, Serializable id) {
+            if (persister.canWriteToCache()) {
+                invalidateAfterCommit(persister.getEntityName(), id);
+            }
+        }
+
+        private void onCollectionWrite(String role, Serializable ownerId) {
+            CollectionPersister persister = sessionFactory.getMetamodel().collectionPersister(role);
+            if (persister.hasCache()) {
+                invalidateAfterCommit(role, ownerId);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.dto.CacheInvalidationDTO;
+import java.util.function.Consumer;
+
+/**
+ * Transport of the cache invalidations between the instances of the application, selected with
+ * {@code application.cache.invalidation.transport}.
+ */
+public interface CacheInvalidationTransport {
+    /**
+     * Send invalidations to the other instances. Failures are logged, the entries then expire on their own.
+     */
+    void send(CacheInvalidationDTO invalidation);
+
+    /**
+     * Register the handler of the invalidations received from the other instances.
+     */
+    void onReceive(Consumer<CacheInvalidationDTO> handler);
+}
@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.EhcacheMetrics;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.service.dto.CacheRegionDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for inspecting and evicting the cache regions, which include the Hibernate second-level cache ones.
+ * <p>
+ * Regions are named after their cache, entity regions also by the simple name of the entity class, as in
+ * {@code application.cache.regions}.
+ */
+@Service
+public class CacheRegionService {
+    private static final String DOMAIN_PACKAGE = User.class.getPackage().getName() + ".";
+
+    private final Logger log = LoggerFactory.getLogger(CacheRegionService.class);
+
+    private final CacheManager cacheManager;
+
+    public CacheRegionService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @return all the regions, sorted by name.
+     */
+    public List<CacheRegionDTO> getRegions() {
+        List<CacheRegionDTO> regions = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                regions.add(toRegion(cache));
+            }
+        }
+        regions.sort(Comparator.comparing(CacheRegionDTO::getName));
+        return regions;
+    }
+
+    public Optional<CacheRegionDTO> getRegion(String name) {
+        return findCache(name).map(CacheRegionService::toRegion);
+    }
+
+    /**
+     * Remove all the entries of a region. Its statistics are kept.
+     *
+     * @param name the name of the region.
+     * @return the region after the eviction, or empty if there is no such region.
+     */
+    public Optional<CacheRegionDTO> evict(String name) {
+        Optional<Cache<Object, Object>> cache = findCache(name);
+        cache.ifPresent(
+            c -> {
+                c.clear();
+                log.info("Evicted the cache region {}", c.getName());
+            }
+        );
+        return cache.map(CacheRegionService::toRegion);
+    }
+
+    private Optional<Cache<Object, Object>> findCache(String name) {
+        Cache<Object, Object> cache = cacheManager.getCache(name);
+        if (cache == null && !name.startsWith(DOMAIN_PACKAGE)) {
+            cache = cacheManager.getCache(DOMAIN_PACKAGE + name);
+        }
+        return Optional.ofNullable(cache);
+    }
+
+    private static CacheRegionDTO toRegion(Cache<?, ?> cache) {
+        CacheStatistics statistics = EhcacheMetrics.statistics(cache);
+        CacheRegionDTO region = new CacheRegionDTO();
+        region.setName(cache.getName());
+        region.setSize(EhcacheMetrics.size(statistics));
+        long memoryUsed = EhcacheMetrics.memoryUsed(statistics);
+        region.setMemoryUsed(memoryUsed >= 0 ? memoryUsed : null);
+        region.setHits(statistics.getCacheHits());
+        region.setMisses(statistics.getCacheMisses());
+        region.setHitRatio(EhcacheMetrics.hitRatio(statistics));
+        region.setPuts(statistics.getCachePuts());
+        region.setEvictions(statistics.getCacheEvictions());
+        region.setExpirations(statistics.getCacheExpirations());
+        region.setRemovals(statistics.getCacheRemovals());
+        return region;
+    }
+}
@@ -0,0 +1,279 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service loading the {@code application.cache.warm-up.entities} into the second-level cache once the application is
+ * ready, so that the first requests after a deploy do not load them one by one.
+ * <p>
+ * The ids of each entity type are read first, up to the number of entries its region holds on heap, then the entities
+ * are loaded in chunks of {@code chunk-size} ids, {@code concurrency} chunks at a time. Chunks not started within
+ * {@code time-budget-seconds} are skipped and left to load on demand. Progress is reported by the {@code cacheWarmUp}
+ * health indicator, which keeps the instance out of service until the warm-up ends.
+ */
+@Service
+public class CacheWarmUpService {
+    public static final String PENDING = "PENDING";
+
+    public static final String RUNNING = "RUNNING";
+
+    public static final String COMPLETED = "COMPLETED";
+
+    public static final String TIMED_OUT = "TIMED_OUT";
+
+    public static final String FAILED = "FAILED";
+
+    public static final String DISABLED = "DISABLED";
+
+    private static final String STORE_MODE_HINT = "javax.persistence.cache.storeMode";
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private final Clock clock;
+
+    private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "cache-warm-up"));
+
+    private final Map<String, Progress> progress = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile String state;
+
+    private volatile Instant startedDate;
+
+    private volatile Instant finishedDate;
+
+    public CacheWarmUpService(
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this(entityManager, transactionTemplate, cacheManager, applicationProperties, Clock.systemUTC());
+    }
+
+    CacheWarmUpService(
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties,
+        Clock clock
+    ) {
+        this.entityManager = entityManager;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.cacheManager = cacheManager;
+        this.properties = applicationProperties.getCache().getWarmUp();
+        this.clock = clock;
+        this.state = properties.isEnabled() ? PENDING : DISABLED;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            warmUpExecutor.submit(this::warmUp);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    /**
+     * Load the configured entities into the second-level cache, within the time budget.
+     */
+    void warmUp() {
+        startedDate = clock.instant();
+        state = RUNNING;
+        Instant deadline = startedDate.plusSeconds(properties.getTimeBudgetSeconds());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService chunkExecutor = Executors.newFixedThreadPool(
+            properties.getConcurrency(),
+            runnable -> new Thread(runnable, "cache-warm-up-" + threadCount.incrementAndGet())
+        );
+        AtomicInteger skippedChunks = new AtomicInteger();
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (String entityName : properties.getEntities()) {
+                EntityType<?> entityType = entityType(entityName);
+                List<Object> ids = readOnlyTransactionTemplate.execute(status -> findIds(entityType));
+                Progress entityProgress = new Progress(ids.size());
+                progress.put(entityName, entityProgress);
+                for (int from = 0; from < ids.size(); from += properties.getChunkSize()) {
+                    List<Object> chunk = ids.subList(from, Math.min(from + properties.getChunkSize(), ids.size()));
+                    chunks.add(
+                        chunkExecutor.submit(
+                            () -> {
+                                if (!clock.instant().isBefore(deadline)) {
+                                    skippedChunks.incrementAndGet();
+                                    return;
+                                }
+                                int loaded = readOnlyTransactionTemplate.execute(status -> load(entityType, chunk));
+                                entityProgress.loaded.addAndGet(loaded);
+                            }
+                        )
+                    );
+                }
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get(Math.max(0, Duration.between(clock.instant(), deadline).toMillis()), TimeUnit.MILLISECONDS);
+            }
+            state = skippedChunks.get() > 0 ? TIMED_OUT : COMPLETED;
+        } catch (TimeoutException e) {
+            state = TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = FAILED;
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("Could not warm up the second-level cache", e instanceof ExecutionException ? e.getCause() : e);
+            state = FAILED;
+        } finally {
+            chunkExecutor.shutdownNow();
+            finishedDate = clock.instant();
+        }
+        log.info("Cache warm-up {} in {} ms: {}", state, Duration.between(startedDate, finishedDate).toMillis(), getProgress());
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    /**
+     * @return the progress of each entity type, in the order they were started.
+     */
+    public Map<String, Progress> getProgress() {
+        synchronized (progress) {
+            return new LinkedHashMap<>(progress);
+        }
+    }
+
+    private EntityType<?> entityType(String entityName) {
+        return entityManager
+            .getMetamodel()
+            .getEntities()
+            .stream()
+            .filter(entityType -> entityType.getName().equals(entityName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown entity " + entityName));
+    }
+
+    private List<Object> findIds(EntityType<?> entityType) {
+        long capacity = capacity(entityType.getJavaType());
+        if (capacity == 0) {
+            log.warn("The {} entity is not cached, it is not warmed up", entityType.getName());
+            return Collections.emptyList();
+        }
+        TypedQuery<Object> query = entityManager.createQuery(
+            "select e.id from " + entityType.getName() + " e order by e.id",
+            Object.class
+        );
+        if (capacity < Integer.MAX_VALUE) {
+            query.setMaxResults((int) capacity);
+        }
+        return query.getResultList();
+    }
+
+    private int load(EntityType<?> entityType, List<Object> ids) {
+        return entityManager
+            .createQuery("select e from " + entityType.getName() + " e where e.id in :ids", entityType.getJavaType())
+            .setParameter("ids", ids)
+            .setHint(STORE_MODE_HINT, CacheStoreMode.REFRESH)
+            .getResultList()
+            .size();
+    }
+
+    /**
+     * @return the number of entities the region of an entity class holds, {@code 0} if it has none, and
+     * {@link Long#MAX_VALUE} if it is sized in memory units or has tiers beyond the heap.
+     */
+    private long capacity(Class<?> entityClass) {
+        Cache<Object, Object> cache = cacheManager.getCache(entityClass.getName());
+        if (cache == null) {
+            return 0;
+        }
+        @SuppressWarnings("unchecked")
+        Eh107Configuration<Object, Object> configuration = cache.getConfiguration(Eh107Configuration.class);
+        ResourcePools resourcePools = configuration.unwrap(CacheRuntimeConfiguration.class).getResourcePools();
+        SizedResourcePool heap = resourcePools.getPoolForResource(ResourceType.Core.HEAP);
+        if (resourcePools.getResourceTypeSet().size() > 1 || heap.getUnit() != EntryUnit.ENTRIES) {
+            return Long.MAX_VALUE;
+        }
+        return heap.getSize();
+    }
+
+    /**
+     * The number of entities of an entity type to load, and already loaded.
+     */
+    public static final class Progress {
+        private final long total;
+
+        private final AtomicLong loaded = new AtomicLong();
+
+        private Progress(long total) {
+            this.total = total;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getLoaded() {
+            return loaded.get();
+        }
+
+        @Override
+        public String toString() {
+            return getLoaded() + "/" + getTotal();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.service.dto.CacheInvalidationDTO;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Transport posting the invalidations to the {@code cacheinvalidation} management endpoint of the other instances
+ * registered in Eureka under the name of this one.
+ * <p>
+ * Requests are sent in the background, one instance after the other, with a token of the system account which only
+ * grants the {@code cacheinvalidation} endpoint, valid for {@code application.cache.invalidation.token-validity-seconds}
+ * and reused until half of its validity elapsed. An instance that cannot be reached keeps its entries until they
+ * expire.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "transport", havingValue = "eureka", matchIfMissing = true)
+public class EurekaCacheInvalidationTransport implements CacheInvalidationTransport {
+    private final Logger log = LoggerFactory.getLogger(EurekaCacheInvalidationTransport.class);
+
+    private final DiscoveryClient discoveryClient;
+
+    private final ObjectProvider<Registration> registration;
+
+    private final TokenProvider tokenProvider;
+
+    private final RestTemplate restTemplate;
+
+    private final String endpointPath;
+
+    private final Duration tokenValidity;
+
+    private volatile String token;
+
+    private volatile long tokenRenewalMillis;
+
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "cache-invalidation"));
+
+    private volatile Consumer<CacheInvalidationDTO> handler = invalidation -> {};
+
+    public EurekaCacheInvalidationTransport(
+        DiscoveryClient discoveryClient,
+        ObjectProvider<Registration> registration,
+        TokenProvider tokenProvider,
+        RestTemplateBuilder restTemplateBuilder,
+        WebEndpointProperties webEndpointProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.tokenProvider = tokenProvider;
+        Duration timeout = Duration.ofMillis(applicationProperties.getCache().getInvalidation().getTimeoutMs());
+        this.restTemplate = restTemplateBuilder.setConnectTimeout(timeout).setReadTimeout(timeout).build();
+        this.endpointPath = webEndpointProperties.getBasePath() + "/cacheinvalidation";
+        this.tokenValidity = Duration.ofSeconds(applicationProperties.getCache().getInvalidation().getTokenValiditySeconds());
+    }
+
+    @PreDestroy
+    public void stop() {
+        sendExecutor.shutdown();
+    }
+
+    @Override
+    public void send(CacheInvalidationDTO invalidation) {
+        Registration self = registration.getIfAvailable();
+        if (self == null) {
+            return;
+        }
+        sendExecutor.execute(
+            () -> {
+                for (ServiceInstance instance : discoveryClient.getInstances(self.getServiceId())) {
+                    if (!instance.getInstanceId().equals(self.getInstanceId())) {
+                        send(instance, invalidation);
+                    }
+                }
+            }
+        );
+    }
+
+    @Override
+    public void onReceive(Consumer<CacheInvalidationDTO> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Handle invalidations posted by another instance.
+     */
+    public void receive(CacheInvalidationDTO invalidation) {
+        handler.accept(invalidation);
+    }
+
+    /**
+     * @return the current token, created again once half of its validity elapsed. Only the send thread calls this.
+     */
+    private String getToken() {
+        long now = System.currentTimeMillis();
+        if (token == null || now >= tokenRenewalMillis) {
+            token =
+                tokenProvider.createToken(
+                    new UsernamePasswordAuthenticationToken(
+                        Constants.SYSTEM_ACCOUNT,
+                        null,
+                        Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.CACHE_INVALIDATION))
+                    ),
+                    tokenValidity
+                );
+            tokenRenewalMillis = now + tokenValidity.toMillis() / 2;
+        }
+        return token;
+    }
+
+    private void send(ServiceInstance instance, CacheInvalidationDTO invalidation) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(getToken());
+        try {
+            restTemplate.postForLocation(instance.getUri().resolve(endpointPath), new HttpEntity<>(invalidation, headers));
+        } catch (RestClientException e) {
+            log.warn("Could not send the cache invalidations to {}: {}", instance.getInstanceId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.mycompany.myapp.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary delta between two firmware images, which rebuilds the target image from the base image a device already has.
+ * <p>
+ * The base image is indexed by blocks with a rolling checksum, as rsync does, and the target image is scanned for
+ * blocks of the base image at any offset. Matched blocks are extended as far as both images agree. Both images are
+ * memory-mapped, the heap used only depends on the number of blocks of the base image.
+ * <p>
+ * A delta is a deflate stream of: the magic {@code FWD1}, the target size as a long, then operations, each starting
+ * with a byte: {@code 1} copies a long offset and an int length of the base image, {@code 2} inserts an int length
+ * followed by as many bytes, and {@code 0} ends the delta.
+ */
+final class FirmwareDelta {
+    private static final int MAGIC = 0x46574431;
+
+    private static final int END = 0;
+
+    private static final int COPY = 1;
+
+    private static final int INSERT = 2;
+
+    private static final int MAX_INSERT = 64 * 1024;
+
+    private FirmwareDelta() {}
+
+    /**
+     * Write the delta rebuilding {@code target} from {@code base}.
+     *
+     * @param blockSize the size of the indexed blocks of the base image, smaller blocks find more matches but use more
+     * memory.
+     */
+    static void create(Path base, Path target, int blockSize, OutputStream out) throws IOException {
+        try (
+            FileChannel baseChannel = FileChannel.open(base, StandardOpenOption.READ);
+            FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.READ)
+        ) {
+            MappedByteBuffer baseData = baseChannel.map(FileChannel.MapMode.READ_ONLY, 0, baseChannel.size());
+            MappedByteBuffer targetData = targetChannel.map(FileChannel.MapMode.READ_ONLY, 0, targetChannel.size());
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater, 8192);
+                DataOutputStream delta = new DataOutputStream(new BufferedOutputStream(deflaterOut, 8192));
+                delta.writeInt(MAGIC);
+                delta.writeLong(targetData.limit());
+                writeOperations(baseData, targetData, blockSize, delta);
+                delta.writeByte(END);
+                delta.flush();
+                deflaterOut.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Rebuild the target image from the base image and a delta.
+     */
+    static void apply(Path base, InputStream in, OutputStream out) throws IOException {
+        try (FileChannel baseChannel = FileChannel.open(base, StandardOpenOption.READ)) {
+            MappedByteBuffer baseData = baseChannel.map(FileChannel.MapMode.READ_ONLY, 0, baseChannel.size());
+            DataInputStream delta = new DataInputStream(new BufferedInputStream(new InflaterInputStream(in), 8192));
+            if (delta.readInt() != MAGIC) {
+                throw new IOException("Not a firmware delta");
+            }
+            long remaining = delta.readLong();
+            byte[] buffer = new byte[MAX_INSERT];
+            for (int operation = delta.readByte(); operation != END; operation = delta.readByte()) {
+                if (operation == COPY) {
+                    ByteBuffer block = slice(baseData, Math.toIntExact(delta.readLong()), delta.readInt());
+                    remaining -= block.remaining();
+                    while (block.hasRemaining()) {
+                        int length = Math.min(buffer.length, block.remaining());
+                        block.get(buffer, 0, length);
+                        out.write(buffer, 0, length);
+                    }
+                } else if (operation == INSERT) {
+                    int length = delta.readInt();
+                    delta.readFully(buffer, 0, length);
+                    out.write(buffer, 0, length);
+                    remaining -= length;
+                } else {
+                    throw new IOException("Unknown firmware delta operation " + operation);
+                }
+            }
+            if (remaining != 0) {
+                throw new EOFException("Firmware delta ended " + remaining + " bytes away from the image size");
+            }
+        }
+    }
+
+    private static void writeOperations(ByteBuffer base, ByteBuffer target, int blockSize, DataOutputStream delta)
+        throws IOException {
+        Map<Integer, int[]> blocks = indexBlocks(base, blockSize);
+        int targetSize = target.limit();
+        int literalStart = 0;
+        int position = 0;
+        int checksum = targetSize >= blockSize ? checksum(target, 0, blockSize) : 0;
+        while (position + blockSize <= targetSize) {
+            int match = findBlock(blocks.get(checksum), base, target, position, blockSize);
+            if (match >= 0) {
+                int length = blockSize;
+                while (position + length < targetSize && match + length < base.limit() &&
+                    target.get(position + length) == base.get(match + length)) {
+                    length++;
+                }
+                writeInsert(target, literalStart, position, delta);
+                delta.writeByte(COPY);
+                delta.writeLong(match);
+                delta.writeInt(length);
+                position += length;
+                literalStart = position;
+                if (position + blockSize <= targetSize) {
+                    checksum = checksum(target, position, blockSize);
+                }
+            } else {
+                if (position + blockSize < targetSize) {
+                    checksum = roll(checksum, target.get(position), target.get(position + blockSize), blockSize);
+                }
+                position++;
+            }
+        }
+        writeInsert(target, literalStart, targetSize, delta);
+    }
+
+    /**
+     * @return the offsets of the full blocks of the base image, by checksum.
+     */
+    private static Map<Integer, int[]> indexBlocks(ByteBuffer base, int blockSize) {
+        Map<Integer, int[]> blocks = new HashMap<>();
+        for (int offset = 0; offset + blockSize <= base.limit(); offset += blockSize) {
+            int checksum = checksum(base, offset, blockSize);
+            int[] offsets = blocks.get(checksum);
+            if (offsets == null) {
+                blocks.put(checksum, new int[] { offset });
+            } else if (offsets.length < 8) {
+                // Repeated blocks, such as padding, keep a few candidates
+                int[] moreOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+                moreOffsets[offsets.length] = offset;
+                blocks.put(checksum, moreOffsets);
+            }
+        }
+        return blocks;
+    }
+
+    private static int findBlock(int[] offsets, ByteBuffer base, ByteBuffer target, int position, int blockSize) {
+        if (offsets == null) {
+            return -1;
+        }
+        for (int offset : offsets) {
+            if (slice(base, offset, blockSize).equals(slice(target, position, blockSize))) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private static void writeInsert(ByteBuffer target, int start, int end, DataOutputStream delta) throws IOException {
+        byte[] buffer = new byte[Math.min(MAX_INSERT, end - start)];
+        for (int offset = start; offset < end; offset += MAX_INSERT) {
+            int length = Math.min(MAX_INSERT, end - offset);
+            slice(target, offset, length).get(buffer, 0, length);
+            delta.writeByte(INSERT);
+            delta.writeInt(length);
+            delta.write(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Adler-32 like checksum of a block, as {@code b << 16 | a}.
+     */
+    private static int checksum(ByteBuffer data, int offset, int length) {
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < length; i++) {
+            int value = data.get(offset + i) & 0xff;
+            a += value;
+            b += (length - i) * value;
+        }
+        return (b & 0xffff) << 16 | (a & 0xffff);
+    }
+
+    /**
+     * @return the checksum of the block moved forward by one byte.
+     */
+    private static int roll(int checksum, byte removed, byte added, int blockSize) {
+        int a = checksum & 0xffff;
+        int b = checksum >>> 16;
+        a = (a - (removed & 0xff) + (added & 0xff)) & 0xffff;
+        b = (b - blockSize * (removed & 0xff) + a) & 0xffff;
+        return b << 16 | a;
+    }
+
+    private static ByteBuffer slice(ByteBuffer data, int offset, int length) {
+        ByteBuffer slice = data.duplicate();
+        slice.limit(offset + length);
+        slice.position(offset);
+        return slice;
+    }
+}
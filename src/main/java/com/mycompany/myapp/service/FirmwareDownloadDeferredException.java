@@ -0,0 +1,20 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Thrown when a firmware download cannot start now: the device is in a later wave of the rollout, or the instance
+ * serves as many downloads as it can.
+ */
+public class FirmwareDownloadDeferredException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public FirmwareDownloadDeferredException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
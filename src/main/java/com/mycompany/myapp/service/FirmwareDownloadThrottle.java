@@ -0,0 +1,120 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Limit of the firmware downloads served by this instance: the number of concurrent downloads, and their egress, shared
+ * by all of them.
+ * <p>
+ * Downloads over the limit are rejected rather than queued, so that devices retry later instead of holding
+ * connections. The egress is shaped with a token bucket allowing bursts of {@value #BURST_MILLIS} ms, writes sleep
+ * until their bytes fit in it. The active downloads are published in the {@code firmware.downloads.active} metric.
+ */
+@Service
+public class FirmwareDownloadThrottle {
+    static final long BURST_MILLIS = 100;
+
+    private static final int MAX_WRITE = 16 * 1024;
+
+    private final int maxConcurrentDownloads;
+
+    private final Semaphore downloads;
+
+    private final long maxBytesPerSecond;
+
+    private final long retryAfterSeconds;
+
+    private long theoreticalArrivalNanos = System.nanoTime();
+
+    public FirmwareDownloadThrottle(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Firmware.Rollout properties = applicationProperties.getFirmware().getRollout();
+        this.maxConcurrentDownloads = Math.max(1, properties.getMaxConcurrentDownloads());
+        this.downloads = new Semaphore(maxConcurrentDownloads);
+        this.maxBytesPerSecond = properties.getMaxBytesPerSecond();
+        this.retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(properties.getCheckDelayMs()));
+        Gauge.builder("firmware.downloads.active", downloads, d -> maxConcurrentDownloads - d.availablePermits()).register(meterRegistry);
+    }
+
+    /**
+     * Start a download, to be closed when it ends.
+     *
+     * @throws FirmwareDownloadDeferredException if the instance already serves as many downloads as it can.
+     */
+    public Download start() {
+        if (!downloads.tryAcquire()) {
+            throw new FirmwareDownloadDeferredException("Too many firmware downloads, retry later", retryAfterSeconds);
+        }
+        return new Download();
+    }
+
+    /**
+     * @return the time to wait before sending the given number of bytes, in nanoseconds.
+     */
+    synchronized long reserve(int bytes) {
+        long now = System.nanoTime();
+        theoreticalArrivalNanos = Math.max(theoreticalArrivalNanos, now) + bytes * 1_000_000_000L / maxBytesPerSecond;
+        return Math.max(0, theoreticalArrivalNanos - now - TimeUnit.MILLISECONDS.toNanos(BURST_MILLIS));
+    }
+
+    /**
+     * A download holding one of the permits of the instance.
+     */
+    public final class Download implements AutoCloseable {
+        private boolean closed;
+
+        private Download() {}
+
+        /**
+         * @return a stream writing to {@code out} no faster than the egress limit allows.
+         */
+        public OutputStream throttle(OutputStream out) {
+            return maxBytesPerSecond > 0 ? new ThrottledOutputStream(out) : out;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                downloads.release();
+            }
+        }
+    }
+
+    private final class ThrottledOutputStream extends FilterOutputStream {
+
+        private ThrottledOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            for (int written = 0; written < length; written += MAX_WRITE) {
+                int chunk = Math.min(MAX_WRITE, length - written);
+                long wait = reserve(chunk);
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Firmware download interrupted");
+                    }
+                }
+                out.write(buffer, offset + written, chunk);
+            }
+        }
+    }
+}
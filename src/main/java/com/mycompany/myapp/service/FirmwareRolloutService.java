@@ -0,0 +1,241 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Application;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.domain.FirmwareRollout;
+import com.mycompany.myapp.domain.enumeration.RolloutStrategy;
+import com.mycompany.myapp.repository.ApplicationDataRepository;
+import com.mycompany.myapp.repository.DeviceRepository;
+import com.mycompany.myapp.repository.FirmwareRolloutRepository;
+import com.mycompany.myapp.service.dto.FirmwareRolloutStatusDTO;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service rolling the firmware image of an application out to the devices by waves, so that they do not all download
+ * it at once.
+ * <p>
+ * Starting a rollout clears {@link Device#isIdUpdated() idUpdated} of the devices which do not report its version. Only
+ * the devices of the waves up to the current one may download the image, the others are asked to retry later. Each
+ * check marks the devices reporting the version as updated, and starts the next wave once
+ * {@code application.firmware.rollout.min-wave-completion} of the devices released so far are updated, or after
+ * {@code application.firmware.rollout.max-wave-duration-minutes}. The rollout completes with its last wave.
+ * <p>
+ * One rollout runs at a time, starting a rollout completes the running one. Rollouts are stored in the database, and
+ * moved to the next wave with a conditional update, so that every instance can check them.
+ */
+@Service
+@Transactional
+public class FirmwareRolloutService {
+    private final Logger log = LoggerFactory.getLogger(FirmwareRolloutService.class);
+
+    private final FirmwareRolloutRepository firmwareRolloutRepository;
+
+    private final ApplicationDataRepository applicationDataRepository;
+
+    private final DeviceRepository deviceRepository;
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final ApplicationProperties.Firmware.Rollout properties;
+
+    private final Clock clock;
+
+    public FirmwareRolloutService(
+        FirmwareRolloutRepository firmwareRolloutRepository,
+        ApplicationDataRepository applicationDataRepository,
+        DeviceRepository deviceRepository,
+        SearchIndexingService searchIndexingService,
+        ApplicationProperties applicationProperties
+    ) {
+        this(
+            firmwareRolloutRepository,
+            applicationDataRepository,
+            deviceRepository,
+            searchIndexingService,
+            applicationProperties,
+            Clock.systemUTC()
+        );
+    }
+
+    FirmwareRolloutService(
+        FirmwareRolloutRepository firmwareRolloutRepository,
+        ApplicationDataRepository applicationDataRepository,
+        DeviceRepository deviceRepository,
+        SearchIndexingService searchIndexingService,
+        ApplicationProperties applicationProperties,
+        Clock clock
+    ) {
+        this.firmwareRolloutRepository = firmwareRolloutRepository;
+        this.applicationDataRepository = applicationDataRepository;
+        this.deviceRepository = deviceRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.properties = applicationProperties.getFirmware().getRollout();
+        this.clock = clock;
+    }
+
+    /**
+     * Start the rollout of the image of an application.
+     *
+     * @param waves the device profile ids, or the increasing percentages of the devices of the waves. A last wave of
+     * 100% is added to percentages ending below it.
+     * @return the rollout.
+     * @throws IllegalArgumentException if the application has no image or no version, or if the waves are invalid.
+     */
+    public FirmwareRollout start(Long applicationId, RolloutStrategy strategy, List<Long> waves) {
+        if (strategy == null || waves == null || waves.isEmpty()) {
+            throw new IllegalArgumentException("A strategy and at least one wave are required");
+        }
+        Application application = applicationDataRepository
+            .findMetadata(applicationId)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown application: " + applicationId));
+        if (application.getDataSize() == null || application.getVersion() == null) {
+            throw new IllegalArgumentException("Application " + applicationId + " has no image or no version");
+        }
+
+        FirmwareRollout rollout = new FirmwareRollout();
+        rollout.setApplicationId(applicationId);
+        rollout.setVersion(application.getVersion());
+        rollout.setStrategy(strategy);
+        rollout.setWaves(strategy == RolloutStrategy.PERCENTAGE ? percentageWaves(waves) : new ArrayList<>(new LinkedHashSet<>(waves)));
+        LocalDateTime now = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+        rollout.setWaveStartedDate(now);
+        rollout.setCreatedDate(now);
+
+        int completed = firmwareRolloutRepository.completeAll(null);
+        if (completed > 0) {
+            log.info("Completed {} running firmware rollouts", completed);
+        }
+        List<Device> devices = deviceRepository.findAllNotUpdatedTo(rollout.getVersion());
+        devices.forEach(device -> device.setIdUpdated(false));
+        searchIndexingService.indexAll(devices);
+        firmwareRolloutRepository.insert(rollout);
+        log.info("Started firmware rollout {} for {} devices", rollout, devices.size());
+        return rollout;
+    }
+
+    /**
+     * @return the progress of the last rollout.
+     */
+    @Transactional(readOnly = true)
+    public Optional<FirmwareRolloutStatusDTO> getStatus() {
+        return firmwareRolloutRepository
+            .findLast()
+            .map(
+                rollout ->
+                    new FirmwareRolloutStatusDTO(
+                        rollout,
+                        firmwareRolloutRepository.countDevices(rollout, rollout.getCurrentWave(), null),
+                        firmwareRolloutRepository.countDevices(rollout, rollout.getCurrentWave(), rollout.getVersion())
+                    )
+            );
+    }
+
+    /**
+     * Complete the running rollout, all the devices may download the image.
+     */
+    public void cancel() {
+        firmwareRolloutRepository.completeAll(null);
+    }
+
+    /**
+     * @return whether a rollout of the application is running, during which devices must identify themselves to
+     * download its image.
+     */
+    @Transactional(readOnly = true)
+    public boolean isRollingOut(Long applicationId) {
+        return firmwareRolloutRepository.findActiveByApplicationId(applicationId).isPresent();
+    }
+
+    /**
+     * Check that a device may download the image of an application.
+     *
+     * @param deviceId the id of the device, downloads which do not identify the device are not checked, see
+     * {@link #isRollingOut(Long)}.
+     * @throws FirmwareDownloadDeferredException if the device is in a later wave of the rollout of the application.
+     */
+    @Transactional(readOnly = true)
+    public void checkDownload(Long applicationId, Long deviceId) {
+        if (deviceId == null) {
+            return;
+        }
+        Optional<FirmwareRollout> rollout = firmwareRolloutRepository.findActiveByApplicationId(applicationId);
+        if (rollout.isPresent() && !firmwareRolloutRepository.isReleased(rollout.get(), rollout.get().getCurrentWave(), deviceId)) {
+            throw new FirmwareDownloadDeferredException(
+                "Device " + deviceId + " is in a later wave of the rollout",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(properties.getCheckDelayMs()))
+            );
+        }
+    }
+
+    /**
+     * Record the updated devices and start the next waves of the running rollouts.
+     * <p>
+     * This is scheduled to get fired every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${application.firmware.rollout.check-delay-ms:60000}")
+    public void check() {
+        try {
+            LocalDateTime now = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+            for (FirmwareRollout rollout : firmwareRolloutRepository.findActive()) {
+                check(rollout, now);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not check the firmware rollouts", e);
+        }
+    }
+
+    private void check(FirmwareRollout rollout, LocalDateTime now) {
+        List<Device> updatedDevices = deviceRepository.findAllUpdatedTo(rollout.getVersion());
+        updatedDevices.forEach(device -> device.setIdUpdated(true));
+        searchIndexingService.indexAll(updatedDevices);
+
+        int wave = rollout.getCurrentWave();
+        long released = firmwareRolloutRepository.countDevices(rollout, wave, null);
+        long updated = firmwareRolloutRepository.countDevices(rollout, wave, rollout.getVersion());
+        boolean waveUpdated = updated >= properties.getMinWaveCompletion() * released;
+        boolean waveExpired = !now.isBefore(rollout.getWaveStartedDate().plusMinutes(properties.getMaxWaveDurationMinutes()));
+        if (!waveUpdated && !waveExpired) {
+            return;
+        }
+        boolean last = wave + 1 >= rollout.getWaveCount();
+        if (firmwareRolloutRepository.advance(rollout, last ? wave : wave + 1, last, now)) {
+            log.info(
+                "Firmware rollout {}: wave {} of {} {} with {}/{} devices updated",
+                rollout.getId(),
+                wave + 1,
+                rollout.getWaveCount(),
+                waveUpdated ? "updated" : "expired",
+                updated,
+                released
+            );
+        }
+    }
+
+    private static List<Long> percentageWaves(List<Long> waves) {
+        List<Long> percentages = new ArrayList<>(waves);
+        long previous = 0;
+        for (Long percentage : percentages) {
+            if (percentage == null || percentage <= previous || percentage > 100) {
+                throw new IllegalArgumentException("Wave percentages must increase from 1 to 100: " + waves);
+            }
+            previous = percentage;
+        }
+        if (previous < 100) {
+            percentages.add(100L);
+        }
+        return percentages;
+    }
+}
@@ -0,0 +1,251 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Content-addressed store of the firmware images on the local filesystem, in
+ * {@code application.firmware.store-directory}.
+ * <p>
+ * An image is stored once under {@code blobs/} by its SHA-256, whatever the number of applications having it. The
+ * {@link FirmwareDelta deltas} between two images are stored under {@code deltas/}, built on their first request.
+ * Files are written to a temporary file and moved in place, readers never see a partial file.
+ * <p>
+ * The store only keeps what is used: {@link #cleanUp(Set)} deletes the images which no application references, and
+ * the deltas which were not downloaded for {@code application.firmware.delta-retention-hours}. The modification time
+ * of an image is updated when it is stored again, and the one of a delta when it is served.
+ */
+@Service
+public class FirmwareStoreService {
+    private final Logger log = LoggerFactory.getLogger(FirmwareStoreService.class);
+
+    private final Path storeDirectory;
+
+    private final int deltaBlockSize;
+
+    private final double maxDeltaRatio;
+
+    private final Duration unreferencedGrace;
+
+    private final Duration deltaRetention;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<String, Object> deltaLocks = new ConcurrentHashMap<>();
+
+    public FirmwareStoreService(ApplicationProperties applicationProperties) {
+        this(applicationProperties, Clock.systemUTC());
+    }
+
+    FirmwareStoreService(ApplicationProperties applicationProperties, Clock clock) {
+        this.storeDirectory = Paths.get(applicationProperties.getFirmware().getStoreDirectory());
+        this.deltaBlockSize = applicationProperties.getFirmware().getDeltaBlockSize();
+        this.maxDeltaRatio = applicationProperties.getFirmware().getMaxDeltaRatio();
+        this.unreferencedGrace = Duration.ofMinutes(applicationProperties.getFirmware().getUnreferencedGraceMinutes());
+        this.deltaRetention = Duration.ofHours(applicationProperties.getFirmware().getDeltaRetentionHours());
+        this.clock = clock;
+    }
+
+    /**
+     * Store an image, unless the same image is already stored.
+     *
+     * @return the SHA-256 of the image.
+     * @throws IOException if the image cannot be read or written.
+     */
+    public String put(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        Path tempFile = createTempFile();
+        try {
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+                StreamUtils.copy(in, out);
+            }
+            String sha256 = toHex(digest.digest());
+            Path blob = getBlob(sha256);
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                Files.move(tempFile, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.debug("Stored image {}", sha256);
+            } else {
+                // An unreferenced image must not be cleaned up before its new application is saved
+                touch(blob);
+            }
+            return sha256;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    public boolean contains(String sha256) {
+        return Files.exists(getBlob(sha256));
+    }
+
+    /**
+     * @return the file of a stored image.
+     */
+    public Path getBlob(String sha256) {
+        return storeDirectory.resolve("blobs").resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    /**
+     * Get the delta rebuilding an image from another one, building it if needed.
+     *
+     * @return the delta, empty if one of the images is not stored, if they are the same, or if the delta is larger
+     * than {@code application.firmware.max-delta-ratio} times the target image.
+     * @throws IOException if the delta cannot be built.
+     */
+    public Optional<Path> getDelta(String baseSha256, String targetSha256) throws IOException {
+        if (baseSha256.equals(targetSha256) || !contains(baseSha256) || !contains(targetSha256)) {
+            return Optional.empty();
+        }
+        Path delta = storeDirectory.resolve("deltas").resolve(baseSha256.substring(0, 2)).resolve(baseSha256 + "-" + targetSha256);
+        if (!Files.exists(delta)) {
+            String key = baseSha256 + "-" + targetSha256;
+            synchronized (deltaLocks.computeIfAbsent(key, k -> new Object())) {
+                try {
+                    if (!Files.exists(delta)) {
+                        createDelta(getBlob(baseSha256), getBlob(targetSha256), delta);
+                    }
+                } finally {
+                    deltaLocks.remove(key);
+                }
+            }
+        }
+        long targetSize = Files.size(getBlob(targetSha256));
+        if (Files.size(delta) > maxDeltaRatio * targetSize) {
+            return Optional.empty();
+        }
+        touch(delta);
+        return Optional.of(delta);
+    }
+
+    /**
+     * Delete the images which are not referenced and were not written for
+     * {@code application.firmware.unreferenced-grace-minutes}, the deltas which were not served for
+     * {@code application.firmware.delta-retention-hours}, and the temporary files left by a stopped instance.
+     *
+     * @param referencedSha256s the SHA-256 of the images of all the applications.
+     * @return the number of deleted files.
+     * @throws IOException if the store cannot be listed.
+     */
+    public int cleanUp(Set<String> referencedSha256s) throws IOException {
+        Instant now = clock.instant();
+        Instant unreferencedBefore = now.minus(unreferencedGrace);
+        int deleted = deleteFiles(
+            storeDirectory.resolve("blobs"),
+            2,
+            blob -> !referencedSha256s.contains(blob.getFileName().toString()) && isModifiedBefore(blob, unreferencedBefore)
+        );
+        Instant unusedBefore = now.minus(deltaRetention);
+        deleted += deleteFiles(storeDirectory.resolve("deltas"), 2, delta -> isModifiedBefore(delta, unusedBefore));
+        deleted +=
+            deleteFiles(
+                storeDirectory,
+                1,
+                file -> file.getFileName().toString().startsWith("firmware-") && isModifiedBefore(file, unreferencedBefore)
+            );
+        log.debug("Deleted {} files of the firmware store", deleted);
+        return deleted;
+    }
+
+    private int deleteFiles(Path directory, int depth, Predicate<Path> filter) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory, depth)) {
+            files = walk.filter(Files::isRegularFile).filter(filter).collect(Collectors.toList());
+        }
+        int deleted = 0;
+        for (Path file : files) {
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete {} from the firmware store: {}", file, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean isModifiedBefore(Path file, Instant instant) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(instant);
+        } catch (IOException e) {
+            // Deleted meanwhile
+            return false;
+        }
+    }
+
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(clock.instant()));
+        } catch (IOException e) {
+            log.warn("Could not update the modification time of {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void createDelta(Path base, Path target, Path delta) throws IOException {
+        long start = System.nanoTime();
+        Path tempFile = createTempFile();
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                FirmwareDelta.create(base, target, deltaBlockSize, out);
+            }
+            Files.createDirectories(delta.getParent());
+            Files.move(tempFile, delta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        log.debug(
+            "Built delta {} of {} bytes for an image of {} bytes in {} ms",
+            delta.getFileName(),
+            Files.size(delta),
+            Files.size(target),
+            (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    private Path createTempFile() throws IOException {
+        Files.createDirectories(storeDirectory);
+        return Files.createTempFile(storeDirectory, "firmware-", ".tmp");
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(byte[] digest) {
+        return new String(Hex.encode(digest));
+    }
+}
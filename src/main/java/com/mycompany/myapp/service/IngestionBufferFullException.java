@@ -0,0 +1,19 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Thrown when the write-behind buffer cannot accept more readings.
+ */
+public class IngestionBufferFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public IngestionBufferFullException(long retryAfterSeconds) {
+        super("Ingestion buffer is full, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
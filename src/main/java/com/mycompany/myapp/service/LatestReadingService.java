@@ -0,0 +1,158 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.LatestReading;
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.LatestReadingRepository;
+import com.mycompany.myapp.service.dto.LatestReadingDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping the last known reading of every temperature sensor in memory.
+ * <p>
+ * The cache is filled on startup from the newest row of each sensor, and kept up to date when readings are stored.
+ * Entries are only changed once the transaction storing the readings commits, and a reading only replaces a newer one
+ * if it is more recent, so that concurrent or late uploads cannot move a sensor back in time. Sensors missing from
+ * the cache, for instance after a reading was deleted, are loaded on first access.
+ * <p>
+ * Entries hold primitive fields only and are looked up by temperature id in constant time.
+ */
+@Service
+public class LatestReadingService {
+    /**
+     * Marks the sensors known to have no reading, so that they are not looked up in the database on every request.
+     */
+    private static final LatestReading NO_READING = new LatestReading(0, Long.MIN_VALUE, Double.NaN, Long.MIN_VALUE);
+
+    private final Logger log = LoggerFactory.getLogger(LatestReadingService.class);
+
+    private final LatestReadingRepository latestReadingRepository;
+
+    private final Map<Long, LatestReading> latestReadings = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    public LatestReadingService(LatestReadingRepository latestReadingRepository, MeterRegistry meterRegistry) {
+        this.latestReadingRepository = latestReadingRepository;
+        this.hitCounter = meterRegistry.counter("values.latest.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("values.latest.cache", "result", "miss");
+        Gauge.builder("values.latest.cache.size", latestReadings, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Load the newest reading of every sensor.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            latestReadingRepository.forEachLatestReading(this::put);
+            log.info("Loaded the latest reading of {} temperature sensors in {} ms", latestReadings.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Could not load the latest readings, they will be loaded on demand", e);
+        }
+    }
+
+    /**
+     * @return the last known reading of a sensor.
+     */
+    public Optional<LatestReading> getLatestReading(long temperatureId) {
+        LatestReading reading = latestReadings.get(temperatureId);
+        if (reading != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+            reading = latestReadingRepository.findLatestReading(temperatureId).orElse(NO_READING);
+            put(temperatureId, reading);
+        }
+        return reading == NO_READING ? Optional.empty() : Optional.of(reading);
+    }
+
+    /**
+     * @return the last known reading of every sensor of a place, sensors without reading included.
+     */
+    public List<LatestReadingDTO> findLatestReadingsOfPlace(Long placeId) {
+        List<Temperature> temperatures = latestReadingRepository.findTemperaturesOfPlace(placeId);
+        List<LatestReadingDTO> result = new ArrayList<>(temperatures.size());
+        for (Temperature temperature : temperatures) {
+            Optional<LatestReading> reading = getLatestReading(temperature.getId());
+            result.add(
+                new LatestReadingDTO(
+                    temperature.getId(),
+                    temperature.getName(),
+                    temperature.getAddress(),
+                    reading.map(LatestReading::getValue).orElse(null),
+                    reading.map(LatestReading::getTimestamp).orElse(null)
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Record new readings, once the current transaction commits.
+     */
+    public void update(Collection<Values> values) {
+        List<LatestReading> readings = new ArrayList<>(values.size());
+        for (Values value : values) {
+            if (value.getId() != null && value.getValue() != null && value.getTimestamp() != null && value.getTemperature() != null) {
+                readings.add(
+                    new LatestReading(value.getTemperature().getId(), value.getId(), value.getValue(), value.getTimestamp().toInstant().toEpochMilli())
+                );
+            }
+        }
+        if (!readings.isEmpty()) {
+            afterCommit(() -> readings.forEach(this::put));
+        }
+    }
+
+    /**
+     * Forget the last known reading of a sensor, once the current transaction commits.
+     */
+    public void evict(Long temperatureId) {
+        if (temperatureId != null) {
+            afterCommit(() -> latestReadings.remove(temperatureId));
+        }
+    }
+
+    private void put(LatestReading reading) {
+        put(reading.getTemperatureId(), reading);
+    }
+
+    private void put(long temperatureId, LatestReading reading) {
+        latestReadings.merge(temperatureId, reading, (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.SMSNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gateway only logging the notifications, for development and for the instances without an SMS provider.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.sms", name = "gateway", havingValue = "log", matchIfMissing = true)
+public class LoggingSMSGateway implements SMSGateway {
+    private final Logger log = LoggerFactory.getLogger(LoggingSMSGateway.class);
+
+    @Override
+    public void send(SMSNotification notification) {
+        log.info("SMS {} to {}: {}", notification.getId(), notification.getTelNumber(), notification.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.dto.CacheInvalidationDTO;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transport delivering the invalidations in-process to all the handlers registered on it, the sender included, so that
+ * several {@link CacheInvalidationService} sharing it behave as a cluster in tests.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "transport", havingValue = "loopback")
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+    private final List<Consumer<CacheInvalidationDTO>> handlers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(CacheInvalidationDTO invalidation) {
+        handlers.forEach(handler -> handler.accept(invalidation));
+    }
+
+    @Override
+    public void onReceive(Consumer<CacheInvalidationDTO> handler) {
+        handlers.add(handler);
+    }
+}
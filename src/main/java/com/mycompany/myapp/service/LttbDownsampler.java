@@ -0,0 +1,186 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling of a series read as a stream, in two passes over the same points.
+ * <p>
+ * LTTB keeps the first and last points, splits the others into {@code threshold - 2} buckets of equal size, and
+ * keeps in each bucket the point forming the largest triangle with the point kept in the previous bucket and the
+ * average of the next bucket. The first pass ({@link #accumulate}) computes the bucket averages, the second pass
+ * ({@link #select}) picks the points, so memory is proportional to the threshold and not to the number of points.
+ * <p>
+ * Both passes must see the same points in the same order; the number of points must be known up front.
+ */
+final class LttbDownsampler {
+    private final int threshold;
+
+    private final double every;
+
+    private final double[] sumX;
+
+    private final double[] sumY;
+
+    private final long[] count;
+
+    private final long[] outX;
+
+    private final double[] outY;
+
+    private int outSize;
+
+    private long index;
+
+    private int bucket;
+
+    private long bucketEnd;
+
+    private boolean selecting;
+
+    private long aX;
+
+    private double aY;
+
+    private boolean hasCandidate;
+
+    private long candidateX;
+
+    private double candidateY;
+
+    private double candidateArea;
+
+    private long lastX;
+
+    private double lastY;
+
+    /**
+     * @param total the number of points of the series, greater than the threshold.
+     * @param threshold the number of points to keep, at least 3.
+     */
+    LttbDownsampler(long total, int threshold) {
+        if (threshold < 3 || total <= threshold) {
+            throw new IllegalArgumentException("LTTB needs at least 3 points and more points than the threshold");
+        }
+        this.threshold = threshold;
+        this.every = (double) (total - 2) / (threshold - 2);
+        this.sumX = new double[threshold];
+        this.sumY = new double[threshold];
+        this.count = new long[threshold];
+        this.outX = new long[threshold];
+        this.outY = new double[threshold];
+        this.bucket = 1;
+        this.bucketEnd = bucketEnd(1);
+    }
+
+    /**
+     * @return the index, exclusive, where bucket {@code i} ends. Bucket 0 starts at index 1, after the first point.
+     */
+    private long bucketEnd(int i) {
+        if (i >= threshold - 2) {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.floor((i + 1) * every) + 1;
+    }
+
+    /**
+     * First pass: add the next point to the average of its bucket.
+     */
+    void accumulate(long x, double y) {
+        long i = index++;
+        if (i < bucketEnd(0)) {
+            // The first point and the first bucket are never used as "next bucket" averages
+            return;
+        }
+        while (i >= bucketEnd) {
+            bucket++;
+            bucketEnd = bucketEnd(bucket);
+        }
+        sumX[bucket] += x;
+        sumY[bucket] += y;
+        count[bucket]++;
+    }
+
+    /**
+     * Second pass: consider the next point.
+     */
+    void select(long x, double y) {
+        if (!selecting) {
+            selecting = true;
+            index = 0;
+            bucket = 0;
+            bucketEnd = bucketEnd(0);
+        }
+        long i = index++;
+        lastX = x;
+        lastY = y;
+        if (i == 0) {
+            add(x, y);
+            aX = x;
+            aY = y;
+            return;
+        }
+        while (i >= bucketEnd) {
+            closeBucket();
+        }
+        if (bucket > threshold - 3) {
+            // Points of the last average bucket are only candidates for the last point
+            return;
+        }
+        double cX = average(sumX, bucket + 1, aX);
+        double cY = average(sumY, bucket + 1, aY);
+        double area = Math.abs((aX - cX) * (y - aY) - (aX - x) * (cY - aY));
+        if (!hasCandidate || area > candidateArea) {
+            hasCandidate = true;
+            candidateX = x;
+            candidateY = y;
+            candidateArea = area;
+        }
+    }
+
+    /**
+     * @return the average of a bucket, or the fallback if the bucket is empty because points disappeared between passes.
+     */
+    private double average(double[] sums, int i, double fallback) {
+        return count[i] == 0 ? fallback : sums[i] / count[i];
+    }
+
+    private void closeBucket() {
+        if (hasCandidate) {
+            add(candidateX, candidateY);
+            aX = candidateX;
+            aY = candidateY;
+            hasCandidate = false;
+        }
+        bucket++;
+        bucketEnd = bucketEnd(bucket);
+    }
+
+    /**
+     * End the second pass.
+     *
+     * @return the number of kept points.
+     */
+    int finish() {
+        if (bucket <= threshold - 3) {
+            closeBucket();
+        }
+        if (index > 1) {
+            add(lastX, lastY);
+        }
+        return outSize;
+    }
+
+    private void add(long x, double y) {
+        if (outSize < outX.length) {
+            outX[outSize] = x;
+            outY[outSize] = y;
+            outSize++;
+        }
+    }
+
+    long getX(int i) {
+        return outX[i];
+    }
+
+    double getY(int i) {
+        return outY[i];
+    }
+}
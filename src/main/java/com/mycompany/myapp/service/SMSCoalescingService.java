@@ -0,0 +1,359 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SMSNotification;
+import com.mycompany.myapp.domain.enumeration.AlertType;
+import com.mycompany.myapp.repository.SMSNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service merging the duplicate alerts of a device into a single {@link SMSNotification}, in front of their creation.
+ * <p>
+ * The first alert of a device, alert type and phone number opens a window of
+ * {@code application.sms.coalescing.window-seconds}, or of the alert type in {@code alert-type-window-seconds}, and is
+ * sent. The duplicates received within the window are not stored, and once it elapsed a single notification with
+ * their last message and their count is created, which opens the next window: a flapping sensor sends one notification
+ * per window. An alert arriving after a window elapsed, before its notification was created, carries the count itself.
+ * <p>
+ * Windows are kept in memory, in {@code stripes} maps with their own lock and {@code max-entries} windows in all. The
+ * oldest windows of a full map are closed early. Each instance merges the alerts it receives. A closed window is kept,
+ * merged with the next closed windows of its alert, until its notification is created, so that a database outage
+ * delays the notifications of the merged alerts instead of losing them. The windows are closed when the instance stops:
+ * only the merged alerts whose notification cannot be created then are lost, and logged.
+ * <p>
+ * Alerts are counted in the {@code sms.coalescing.alerts} metric, tagged with their {@code outcome}, {@code sent} or
+ * {@code suppressed}, and the notifications of the merged ones in {@code sms.coalescing.summaries}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.sms.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SMSCoalescingService {
+    private final Logger log = LoggerFactory.getLogger(SMSCoalescingService.class);
+
+    private final SMSNotificationRepository sMSNotificationRepository;
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Sms.Coalescing properties;
+
+    private final Clock clock;
+
+    private final Stripe[] stripes;
+
+    private final ConcurrentMap<Key, Window> closedWindows = new ConcurrentHashMap<>();
+
+    private final Counter sentCounter;
+
+    private final Counter suppressedCounter;
+
+    private final Counter summaryCounter;
+
+    public SMSCoalescingService(
+        SMSNotificationRepository sMSNotificationRepository,
+        SearchIndexingService searchIndexingService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(sMSNotificationRepository, searchIndexingService, transactionManager, applicationProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    SMSCoalescingService(
+        SMSNotificationRepository sMSNotificationRepository,
+        SearchIndexingService searchIndexingService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.sMSNotificationRepository = sMSNotificationRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getSms().getCoalescing();
+        this.clock = clock;
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1;
+        int stripeCapacity = Math.max(1, (properties.getMaxEntries() + stripeCount - 1) / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeCapacity, this::close);
+        }
+        this.sentCounter = alertCounter(meterRegistry, "sent");
+        this.suppressedCounter = alertCounter(meterRegistry, "suppressed");
+        this.summaryCounter = meterRegistry.counter("sms.coalescing.summaries");
+        Gauge.builder("sms.coalescing.windows", this, SMSCoalescingService::countWindows).register(meterRegistry);
+    }
+
+    private static Counter alertCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("sms.coalescing.alerts")
+            .description("Number of alerts sent or merged into the notification of a previous one")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record an alert about to be created. Alerts without a device or an alert type, and scheduled ones, are not
+     * merged.
+     *
+     * @param notification the new notification, whose message gets the count of the merged alerts it sends.
+     * @return whether the notification must be created, {@code false} if it was merged into a previous one.
+     */
+    public boolean admit(SMSNotification notification) {
+        long windowMillis = getWindowMillis(notification.getAlertType());
+        if (
+            notification.getUuidDevice() == null ||
+            notification.getAlertType() == null ||
+            notification.getFeatureSend() != null ||
+            windowMillis <= 0
+        ) {
+            sentCounter.increment();
+            return true;
+        }
+        Key key = new Key(notification.getUuidDevice(), notification.getAlertType(), notification.getTelNumber());
+        long now = clock.millis();
+        Stripe stripe = stripes[(key.hashCode() ^ key.hashCode() >>> 16) & (stripes.length - 1)];
+        int merged;
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            if (window != null && now < window.end) {
+                window.suppressed++;
+                window.message = notification.getMessage();
+                suppressedCounter.increment();
+                return false;
+            }
+            merged = window != null ? window.suppressed : 0;
+            // Removed first, so that the new window is the newest of the map
+            stripe.windows.remove(key);
+            stripe.windows.put(key, new Window(key, now + windowMillis));
+        }
+        if (merged > 0) {
+            notification.setMessage(summarize(notification.getMessage(), merged + 1, windowMillis));
+        }
+        sentCounter.increment();
+        return true;
+    }
+
+    /**
+     * Create the notifications of the windows which elapsed with merged alerts, and of the evicted ones.
+     * <p>
+     * This is scheduled to get fired every second by default.
+     */
+    @Scheduled(fixedDelayString = "${application.sms.coalescing.flush-delay-ms:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * Create the notifications of all the windows with merged alerts, as the instance stops.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!flush(true)) {
+            log.error(
+                "Could not create the SMS notifications of the merged alerts before stopping, {} alerts are lost: {}",
+                closedWindows.values().stream().mapToInt(window -> window.suppressed).sum(),
+                closedWindows.keySet()
+            );
+        }
+    }
+
+    /**
+     * @param all whether to close all the windows, instead of the elapsed ones which are reopened.
+     * @return whether the notifications of the closed windows were created, or are kept to be created by the next flush.
+     */
+    private boolean flush(boolean all) {
+        long now = clock.millis();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                List<Window> reopened = new ArrayList<>();
+                for (Iterator<Window> iterator = stripe.windows.values().iterator(); iterator.hasNext();) {
+                    Window window = iterator.next();
+                    if (all || window.end <= now) {
+                        iterator.remove();
+                        if (window.suppressed > 0) {
+                            close(window);
+                            reopened.add(new Window(window.key, now + getWindowMillis(window.key.alertType)));
+                        }
+                    }
+                }
+                if (!all) {
+                    reopened.forEach(window -> stripe.windows.put(window.key, window));
+                }
+            }
+        }
+        List<Window> closed = new ArrayList<>();
+        for (Key key : closedWindows.keySet()) {
+            Window window = closedWindows.remove(key);
+            if (window != null) {
+                closed.add(window);
+            }
+        }
+        if (closed.isEmpty()) {
+            return true;
+        }
+        try {
+            List<SMSNotification> summaries = closed.stream().map(this::toNotification).collect(Collectors.toList());
+            transactionTemplate.execute(
+                status -> {
+                    searchIndexingService.indexAll(sMSNotificationRepository.saveAll(summaries));
+                    return null;
+                }
+            );
+            summaryCounter.increment(summaries.size());
+            log.debug("Created {} SMS notifications of merged alerts", summaries.size());
+            return true;
+        } catch (RuntimeException e) {
+            // Kept until the notifications are created, merged with the windows closed in the meantime
+            closed.forEach(this::close);
+            log.warn("Could not create the SMS notifications of {} windows of merged alerts, will retry: {}", closed.size(), e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Keep a closed window with merged alerts until its notification is created.
+     */
+    private void close(Window window) {
+        closedWindows.merge(
+            window.key,
+            window,
+            (closed, next) -> {
+                Window merged = new Window(closed.key, Math.max(closed.end, next.end));
+                merged.suppressed = closed.suppressed + next.suppressed;
+                merged.message = closed.end <= next.end ? next.message : closed.message;
+                return merged;
+            }
+        );
+    }
+
+    private SMSNotification toNotification(Window window) {
+        return new SMSNotification()
+            .telNumber(window.key.telNumber)
+            .uuidDevice(window.key.uuidDevice)
+            .alertType(window.key.alertType)
+            .message(summarize(window.message, window.suppressed, getWindowMillis(window.key.alertType)))
+            .createdTimestamp(ZonedDateTime.now(clock.withZone(ZoneOffset.UTC)))
+            .isSend(false);
+    }
+
+    static String summarize(String message, int count, long windowMillis) {
+        return message + " (" + count + "x in " + TimeUnit.MILLISECONDS.toSeconds(windowMillis) + " s)";
+    }
+
+    private long getWindowMillis(AlertType alertType) {
+        Long windowSeconds = alertType != null ? properties.getAlertTypeWindowSeconds().get(alertType) : null;
+        return TimeUnit.SECONDS.toMillis(windowSeconds != null ? windowSeconds : properties.getWindowSeconds());
+    }
+
+    private double countWindows() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.windows.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Windows of a stripe, from the oldest to the newest. The oldest window is closed when the stripe is full.
+     */
+    private static final class Stripe {
+        private final Map<Key, Window> windows;
+
+        private Stripe(int capacity, Consumer<Window> closer) {
+            this.windows =
+                new LinkedHashMap<Key, Window>() {
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, Window> eldest) {
+                        if (size() <= capacity) {
+                            return false;
+                        }
+                        if (eldest.getValue().suppressed > 0) {
+                            closer.accept(eldest.getValue());
+                        }
+                        return true;
+                    }
+                };
+        }
+    }
+
+    /**
+     * Alerts merged since the notification opening the window, guarded by the lock of its stripe.
+     */
+    private static final class Window {
+        private final Key key;
+
+        private final long end;
+
+        private String message;
+
+        private int suppressed;
+
+        private Window(Key key, long end) {
+            this.key = key;
+            this.end = end;
+        }
+    }
+
+    private static final class Key {
+        private final String uuidDevice;
+
+        private final AlertType alertType;
+
+        private final String telNumber;
+
+        private Key(String uuidDevice, AlertType alertType, String telNumber) {
+            this.uuidDevice = uuidDevice;
+            this.alertType = alertType;
+            this.telNumber = telNumber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return uuidDevice.equals(other.uuidDevice) && alertType == other.alertType && Objects.equals(telNumber, other.telNumber);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uuidDevice, alertType, telNumber);
+        }
+
+        @Override
+        public String toString() {
+            return uuidDevice + "/" + alertType;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SMSNotification;
+import com.mycompany.myapp.repository.SMSDispatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service sending the pending {@link SMSNotification}s through the {@link SMSGateway}.
+ * <p>
+ * Each of the {@code application.sms.dispatch.workers} threads claims batches of notifications with
+ * {@link SMSDispatchRepository#claim}, in a short transaction, sends them outside of it, and marks each sent one. Scheduled
+ * notifications are claimed by id with {@link SMSDispatchRepository#claimDue} once the {@link SMSScheduleService} hands
+ * them over with {@link #dispatchDue(Collection)}, which wakes a waiting worker. As the claimed rows are marked before
+ * the transaction commits, the workers of all the instances drain the queue at the same time without sending a
+ * notification twice. A notification whose claim expired, because its instance stopped or its
+ * gateway failed, is claimed again after {@code application.sms.dispatch.claim-timeout-seconds}.
+ * <p>
+ * A slow batch must not outlive its claim, or another instance would send its last notifications again: the claim of
+ * each notification is renewed right before it is sent, and skipped if it was claimed again meanwhile, and the gateway
+ * is given {@code application.sms.dispatch.send-timeout-ms}, at most half of the claim timeout, to send it.
+ * <p>
+ * Sent notifications and send failures are counted in the {@code sms.dispatch.sent} and {@code sms.dispatch.failures}
+ * metrics.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.sms.dispatch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SMSDispatchService {
+    private final Logger log = LoggerFactory.getLogger(SMSDispatchService.class);
+
+    private final SMSDispatchRepository smsDispatchRepository;
+
+    private final SMSGateway smsGateway;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final ApplicationProperties.Sms.Dispatch properties;
+
+    private final Clock clock;
+
+    private final Counter sentCounter;
+
+    private final Counter failureCounter;
+
+    private final BlockingQueue<Long> dueIds = new LinkedBlockingQueue<>();
+
+    /**
+     * Threads calling the gateway, so that the workers can give up on a call which takes too long.
+     */
+    private final ExecutorService gatewayExecutor;
+
+    private volatile ExecutorService workers;
+
+    public SMSDispatchService(
+        SMSDispatchRepository smsDispatchRepository,
+        SMSGateway smsGateway,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        CacheInvalidationService cacheInvalidationService,
+        SearchIndexingService searchIndexingService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(
+            smsDispatchRepository,
+            smsGateway,
+            transactionManager,
+            entityManagerFactory,
+            cacheInvalidationService,
+            searchIndexingService,
+            applicationProperties,
+            meterRegistry,
+            Clock.systemUTC()
+        );
+    }
+
+    SMSDispatchService(
+        SMSDispatchRepository smsDispatchRepository,
+        SMSGateway smsGateway,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        CacheInvalidationService cacheInvalidationService,
+        SearchIndexingService searchIndexingService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        ApplicationProperties.Sms.Dispatch dispatchProperties = applicationProperties.getSms().getDispatch();
+        if (dispatchProperties.getSendTimeoutMs() * 2 > TimeUnit.SECONDS.toMillis(dispatchProperties.getClaimTimeoutSeconds())) {
+            throw new IllegalArgumentException(
+                "The SMS send timeout (" +
+                dispatchProperties.getSendTimeoutMs() +
+                " ms) cannot be longer than half of the claim timeout (" +
+                dispatchProperties.getClaimTimeoutSeconds() +
+                " s)"
+            );
+        }
+        this.smsDispatchRepository = smsDispatchRepository;
+        this.smsGateway = smsGateway;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.searchIndexingService = searchIndexingService;
+        this.properties = dispatchProperties;
+        this.clock = clock;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.gatewayExecutor =
+            Executors.newCachedThreadPool(runnable -> new Thread(runnable, "sms-gateway-" + threadCount.incrementAndGet()));
+        this.sentCounter = meterRegistry.counter("sms.dispatch.sent");
+        this.failureCounter = meterRegistry.counter("sms.dispatch.failures");
+        Gauge.builder("sms.dispatch.pending", smsDispatchRepository, SMSDispatchRepository::countPending).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int workerCount = Math.max(1, properties.getWorkers());
+        workers =
+            Executors.newFixedThreadPool(workerCount, runnable -> new Thread(runnable, "sms-dispatch-" + threadCount.incrementAndGet()));
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+        log.debug("Started {} SMS dispatch workers", workerCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        ExecutorService currentWorkers = workers;
+        if (currentWorkers != null) {
+            currentWorkers.shutdownNow();
+            currentWorkers.awaitTermination(properties.getPollDelayMs() + 5000, TimeUnit.MILLISECONDS);
+        }
+        gatewayExecutor.shutdownNow();
+    }
+
+    /**
+     * Hand over scheduled notifications which are due, to be claimed and sent by the workers.
+     */
+    public void dispatchDue(Collection<Long> ids) {
+        dueIds.addAll(ids);
+    }
+
+    private void work() {
+        List<Long> ids = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                dueIds.drainTo(ids, properties.getBatchSize() - ids.size());
+                int dueCount = dispatchBatch(ids);
+                ids.clear();
+                if (dispatchBatch() < properties.getBatchSize() && dueCount < properties.getBatchSize()) {
+                    // Wait for the next poll, unless scheduled notifications become due first
+                    Long id = dueIds.poll(properties.getPollDelayMs(), TimeUnit.MILLISECONDS);
+                    if (id != null) {
+                        ids.add(id);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Could not dispatch the SMS notifications", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(properties.getPollDelayMs());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim a batch of notifications without a date and send them.
+     *
+     * @return the number of claimed notifications.
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+        return send(
+            transactionTemplate.execute(
+                status -> smsDispatchRepository.claim(properties.getBatchSize(), now, now.minusSeconds(properties.getClaimTimeoutSeconds()))
+            )
+        );
+    }
+
+    /**
+     * Claim the given scheduled notifications which are due and send them.
+     *
+     * @return the number of claimed notifications.
+     */
+    int dispatchBatch(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+        return send(
+            transactionTemplate.execute(
+                status -> smsDispatchRepository.claimDue(ids, now, now.minusSeconds(properties.getClaimTimeoutSeconds()))
+            )
+        );
+    }
+
+    private int send(List<SMSNotification> claimed) {
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        evict(claimed);
+
+        List<SMSNotification> sent = new ArrayList<>(claimed.size());
+        for (SMSNotification notification : claimed) {
+            if (!smsDispatchRepository.renewClaim(notification, LocalDateTime.now(clock.withZone(ZoneOffset.UTC)))) {
+                log.debug("The claim of SMS {} expired before it was sent, another worker sends it", notification.getId());
+                continue;
+            }
+            try {
+                sendWithTimeout(notification);
+            } catch (RuntimeException e) {
+                failureCounter.increment();
+                log.warn(
+                    "Could not send SMS {}, will retry in {} s: {}",
+                    notification.getId(),
+                    properties.getClaimTimeoutSeconds(),
+                    e.toString()
+                );
+                continue;
+            }
+            LocalDateTime sentAt = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+            if (smsDispatchRepository.markSent(notification, sentAt)) {
+                notification.isSending(false).isSend(true).sendTimestamp(sentAt.atZone(ZoneOffset.UTC));
+                sent.add(notification);
+            } else {
+                log.warn("The claim of SMS {} expired before it was sent, it may have been sent twice", notification.getId());
+            }
+        }
+        sentCounter.increment(sent.size());
+        evict(sent);
+        searchIndexingService.indexAll(sent);
+        return claimed.size();
+    }
+
+    private void sendWithTimeout(SMSNotification notification) {
+        Future<?> call = gatewayExecutor.submit(() -> smsGateway.send(notification));
+        try {
+            call.get(properties.getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw new IllegalStateException("The gateway did not send the SMS within " + properties.getSendTimeoutMs() + " ms");
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending the SMS", e);
+        }
+    }
+
+    /**
+     * Evict notifications changed outside of Hibernate from the second-level cache of all the instances.
+     */
+    private void evict(Collection<SMSNotification> notifications) {
+        for (SMSNotification notification : notifications) {
+            entityManagerFactory.getCache().evict(SMSNotification.class, notification.getId());
+            cacheInvalidationService.invalidateAfterCommit(SMSNotification.class.getName(), notification.getId());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.SMSNotification;
+
+/**
+ * Gateway sending the SMS notifications, selected with {@code application.sms.gateway}.
+ */
+public interface SMSGateway {
+    /**
+     * Send a notification to its {@link SMSNotification#getTelNumber() number}.
+     *
+     * @throws RuntimeException if the notification could not be sent, it is sent again later.
+     */
+    void send(SMSNotification notification);
+}
@@ -0,0 +1,174 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SMSNotification;
+import com.mycompany.myapp.repository.SMSDispatchRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service handing the scheduled {@link SMSNotification}s over to the {@link SMSDispatchService} when their
+ * {@code featureSend} date comes, without polling the table.
+ * <p>
+ * The notifications due within {@code application.sms.schedule.window-seconds} are loaded in a {@link TimerWheel},
+ * every {@code application.sms.schedule.refill-delay-ms}, through the index on {@code feature_send}. The wheel fires them
+ * with a precision of {@code application.sms.schedule.tick-ms}. Notifications created or updated through
+ * {@link #schedule(SMSNotification)} are added without waiting for the next refill. Notifications which could not be
+ * claimed when they fired are overdue, and loaded again by the next refill.
+ * <p>
+ * The notifications in the wheel are counted in the {@code sms.schedule.scheduled} metric.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.sms.dispatch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SMSScheduleService {
+    private final Logger log = LoggerFactory.getLogger(SMSScheduleService.class);
+
+    private final SMSDispatchRepository smsDispatchRepository;
+
+    private final SMSDispatchService smsDispatchService;
+
+    private final ApplicationProperties.Sms.Schedule properties;
+
+    private final Clock clock;
+
+    private final TimerWheel<Long> wheel;
+
+    private final Set<Long> scheduledIds = ConcurrentHashMap.newKeySet();
+
+    private volatile ScheduledExecutorService executor;
+
+    public SMSScheduleService(
+        SMSDispatchRepository smsDispatchRepository,
+        SMSDispatchService smsDispatchService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(smsDispatchRepository, smsDispatchService, applicationProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    SMSScheduleService(
+        SMSDispatchRepository smsDispatchRepository,
+        SMSDispatchService smsDispatchService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.smsDispatchRepository = smsDispatchRepository;
+        this.smsDispatchService = smsDispatchService;
+        this.properties = applicationProperties.getSms().getSchedule();
+        this.clock = clock;
+        this.wheel = new TimerWheel<>(properties.getTickMs(), properties.getWheelSize(), clock.millis());
+        Gauge.builder("sms.schedule.scheduled", wheel, TimerWheel::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "sms-schedule"));
+        executor.scheduleWithFixedDelay(this::refill, 0, properties.getRefillDelayMs(), TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::tick, properties.getTickMs(), properties.getTickMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        ScheduledExecutorService currentExecutor = executor;
+        if (currentExecutor != null) {
+            currentExecutor.shutdownNow();
+            currentExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Add a created or updated notification to the wheel if it is due within the window, once its transaction commits.
+     * Notifications without a date are left to the polling workers.
+     */
+    public void schedule(SMSNotification notification) {
+        if (notification.getFeatureSend() == null || Boolean.TRUE.equals(notification.isIsSend())) {
+            return;
+        }
+        Long id = notification.getId();
+        ZonedDateTime featureSend = notification.getFeatureSend();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(id, featureSend);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    schedule(id, featureSend);
+                }
+            }
+        );
+    }
+
+    private void schedule(Long id, ZonedDateTime featureSend) {
+        long deadline = featureSend.toInstant().toEpochMilli();
+        if (deadline > clock.millis() + TimeUnit.SECONDS.toMillis(properties.getWindowSeconds())) {
+            return;
+        }
+        // An updated date is added again, the timer of the previous one fires before the notification is due, so that
+        // its claim finds nothing
+        scheduledIds.add(id);
+        wheel.add(id, deadline);
+    }
+
+    /**
+     * Hand the notifications whose tick elapsed over to the dispatcher.
+     */
+    void tick() {
+        try {
+            List<Long> due = wheel.advance(clock.millis());
+            if (!due.isEmpty()) {
+                scheduledIds.removeAll(due);
+                smsDispatchService.dispatchDue(due);
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the following ticks
+            log.error("Could not dispatch the scheduled SMS notifications", e);
+        }
+    }
+
+    /**
+     * Load the notifications due within the window which are not in the wheel yet.
+     */
+    void refill() {
+        try {
+            LocalDateTime until = LocalDateTime.now(clock.withZone(ZoneOffset.UTC)).plusSeconds(properties.getWindowSeconds());
+            Map<Long, LocalDateTime> scheduled = smsDispatchRepository.findScheduled(until, properties.getMaxScheduled());
+            int added = 0;
+            for (Map.Entry<Long, LocalDateTime> entry : scheduled.entrySet()) {
+                if (wheel.size() >= properties.getMaxScheduled()) {
+                    break;
+                }
+                if (scheduledIds.add(entry.getKey())) {
+                    wheel.add(entry.getKey(), entry.getValue().toInstant(ZoneOffset.UTC).toEpochMilli());
+                    added++;
+                }
+            }
+            log.debug("Loaded {} scheduled SMS notifications, {} in the timer wheel", added, wheel.size());
+        } catch (RuntimeException e) {
+            log.error("Could not load the scheduled SMS notifications", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Thrown when searching entities whose indexing is disabled in {@code application.search.entities}.
+ */
+public class SearchDisabledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SearchDisabledException(String entityType) {
+        super("Search of " + entityType + " is disabled");
+    }
+}
@@ -0,0 +1,256 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.SearchOutboxRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping the Elasticsearch index in sync with the entities.
+ * <p>
+ * When {@code application.search.outbox.enabled} is set, which is the default, changes are only recorded in the
+ * {@code search_outbox} table, in the transaction of the entity change, and {@link SearchOutboxIndexer} applies them
+ * to the index in the background: requests do not wait for Elasticsearch, and an Elasticsearch outage delays the
+ * indexing instead of failing the writes. Otherwise the documents are indexed synchronously through the search
+ * repository of the entity. Either way, the cached searches of the entity type are invalidated when the transaction
+ * commits, and again when the outbox entries are applied.
+ * <p>
+ * Entity types disabled in {@code application.search.entities} are not indexed, and the fields listed in their
+ * {@code excluded-fields} are left out of the documents by the entity mapper.
+ */
+@Service
+public class SearchIndexingService {
+    private final Logger log = LoggerFactory.getLogger(SearchIndexingService.class);
+
+    private final Map<Class<?>, ElasticsearchRepository<Object, Long>> searchRepositories = new HashMap<>();
+
+    private final Map<String, Class<?>> entityTypes = new TreeMap<>();
+
+    private final Map<String, Class<?>> indexedEntityTypes = new TreeMap<>();
+
+    private final SearchOutboxRepository searchOutboxRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private final boolean outboxEnabled;
+
+    private final Clock clock;
+
+    public SearchIndexingService(
+        List<ElasticsearchRepository<?, ?>> searchRepositories,
+        SearchOutboxRepository searchOutboxRepository,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        SearchResultCache searchResultCache,
+        ApplicationProperties applicationProperties
+    ) {
+        this(
+            searchRepositories,
+            searchOutboxRepository,
+            entityManager,
+            transactionTemplate,
+            searchResultCache,
+            applicationProperties,
+            Clock.systemUTC()
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    SearchIndexingService(
+        List<ElasticsearchRepository<?, ?>> searchRepositories,
+        SearchOutboxRepository searchOutboxRepository,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        SearchResultCache searchResultCache,
+        ApplicationProperties applicationProperties,
+        Clock clock
+    ) {
+        for (ElasticsearchRepository<?, ?> searchRepository : searchRepositories) {
+            Class<?> entityClass = ResolvableType.forClass(searchRepository.getClass()).as(ElasticsearchRepository.class).resolveGeneric(0);
+            if (entityClass != null) {
+                this.searchRepositories.put(entityClass, (ElasticsearchRepository<Object, Long>) searchRepository);
+                this.entityTypes.put(entityClass.getSimpleName(), entityClass);
+                if (applicationProperties.getSearch().isIndexed(entityClass.getSimpleName())) {
+                    this.indexedEntityTypes.put(entityClass.getSimpleName(), entityClass);
+                } else {
+                    log.info("Indexing of {} is disabled", entityClass.getSimpleName());
+                }
+            }
+        }
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.searchResultCache = searchResultCache;
+        this.outboxEnabled = applicationProperties.getSearch().getOutbox().isEnabled();
+        this.clock = clock;
+    }
+
+    /**
+     * @return the indexed entity classes, by simple name.
+     */
+    public Map<String, Class<?>> getIndexedEntities() {
+        return Collections.unmodifiableMap(indexedEntityTypes);
+    }
+
+    /**
+     * @return whether the entities of a class are indexed.
+     */
+    public boolean isIndexed(Class<?> entityClass) {
+        return indexedEntityTypes.get(entityClass.getSimpleName()) == entityClass;
+    }
+
+    /**
+     * Index an entity, or schedule its indexing.
+     *
+     * @param entity the entity, which must have an id.
+     */
+    public void index(Object entity) {
+        if (isDisabled(Hibernate.getClass(entity))) {
+            return;
+        }
+        if (outboxEnabled) {
+            addToOutbox(Hibernate.getClass(entity), Collections.singletonList(getId(entity)));
+        } else {
+            getSearchRepository(Hibernate.getClass(entity)).save(entity);
+        }
+        searchResultCache.invalidateAfterCommit(Hibernate.getClass(entity).getSimpleName());
+    }
+
+    /**
+     * Index entities of the same type, or schedule their indexing.
+     *
+     * @param entities the entities, which must have an id.
+     */
+    public void indexAll(Collection<?> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        Class<?> entityClass = Hibernate.getClass(entities.iterator().next());
+        if (isDisabled(entityClass)) {
+            return;
+        }
+        if (outboxEnabled) {
+            List<Long> ids = new ArrayList<>(entities.size());
+            entities.forEach(entity -> ids.add(getId(entity)));
+            addToOutbox(entityClass, ids);
+        } else {
+            getSearchRepository(entityClass).saveAll(new ArrayList<Object>(entities));
+        }
+        searchResultCache.invalidateAfterCommit(entityClass.getSimpleName());
+    }
+
+    /**
+     * Remove the document of a deleted entity, or schedule its removal.
+     */
+    public void delete(Object entity) {
+        if (isDisabled(Hibernate.getClass(entity))) {
+            return;
+        }
+        if (outboxEnabled) {
+            addToOutbox(Hibernate.getClass(entity), Collections.singletonList(getId(entity)));
+        } else {
+            getSearchRepository(Hibernate.getClass(entity)).delete(entity);
+        }
+        searchResultCache.invalidateAfterCommit(Hibernate.getClass(entity).getSimpleName());
+    }
+
+    /**
+     * Remove the document of a deleted entity, or schedule its removal.
+     */
+    public void delete(Class<?> entityClass, Long id) {
+        if (isDisabled(entityClass)) {
+            return;
+        }
+        if (outboxEnabled) {
+            addToOutbox(entityClass, Collections.singletonList(id));
+        } else {
+            getSearchRepository(entityClass).deleteById(id);
+        }
+        searchResultCache.invalidateAfterCommit(entityClass.getSimpleName());
+    }
+
+    /**
+     * Index the current state of entities: the documents of the entities that still exist are indexed in one bulk
+     * request, the documents of the other ones are removed.
+     *
+     * @param entityType the simple name of the entity class.
+     * @param ids the ids of the entities.
+     */
+    public void reindex(String entityType, Collection<Long> ids) {
+        Class<?> entityClass = entityTypes.get(entityType);
+        if (entityClass == null) {
+            throw new IllegalArgumentException("No search repository for entity type " + entityType);
+        }
+        if (!isIndexed(entityClass)) {
+            // Entries recorded before the indexing of the type was disabled
+            log.debug("Skipped {} {} documents, indexing is disabled", ids.size(), entityType);
+            return;
+        }
+        ElasticsearchRepository<Object, Long> searchRepository = searchRepositories.get(entityClass);
+        Set<Long> deletedIds = new LinkedHashSet<>(ids);
+        List<?> entities = readOnlyTransactionTemplate.execute(
+            status ->
+                entityManager
+                    .createQuery("select e from " + entityClass.getName() + " e where e.id in :ids", entityClass)
+                    .setParameter("ids", deletedIds)
+                    .getResultList()
+        );
+        if (!entities.isEmpty()) {
+            entities.forEach(entity -> deletedIds.remove(getId(entity)));
+            searchRepository.saveAll(new ArrayList<Object>(entities));
+        }
+        deletedIds.forEach(searchRepository::deleteById);
+        searchResultCache.invalidate(entityType);
+        log.debug("Reindexed {} {} documents and removed {}", entities.size(), entityType, deletedIds.size());
+    }
+
+    private void addToOutbox(Class<?> entityClass, List<Long> ids) {
+        // Fail on entities that are not indexed, as the synchronous mode does.
+        getSearchRepository(entityClass);
+        searchOutboxRepository.add(entityClass.getSimpleName(), ids, LocalDateTime.now(clock.withZone(ZoneOffset.UTC)));
+    }
+
+    /**
+     * @return whether the entity class has a search repository but its indexing is disabled.
+     */
+    private boolean isDisabled(Class<?> entityClass) {
+        return searchRepositories.containsKey(entityClass) && !isIndexed(entityClass);
+    }
+
+    private ElasticsearchRepository<Object, Long> getSearchRepository(Class<?> entityClass) {
+        ElasticsearchRepository<Object, Long> searchRepository = searchRepositories.get(entityClass);
+        if (searchRepository == null) {
+            throw new IllegalArgumentException("No search repository for entity " + entityClass.getName());
+        }
+        return searchRepository;
+    }
+
+    private Long getId(Object entity) {
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        return (Long) persistenceUnitUtil.getIdentifier(entity);
+    }
+}
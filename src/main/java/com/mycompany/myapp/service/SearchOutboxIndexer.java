@@ -0,0 +1,157 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SearchOutboxEntry;
+import com.mycompany.myapp.repository.SearchOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background indexer applying the {@code search_outbox} entries written by {@link SearchIndexingService}.
+ * <p>
+ * Each run claims the due entries of up to {@code application.search.outbox.batch-size} entities with
+ * {@link SearchOutboxRepository#claim}, in a short transaction, in the order they were written, and reindexes the
+ * entities of each type with one bulk request. All the entries of an entity are claimed and coalesced together, and
+ * its later entries cannot be claimed by another instance until they are deleted, once their documents are indexed:
+ * an instance which read an older state of an entity cannot overwrite the document indexed from a newer one. Several
+ * instances drain the outbox at the same time. Entries claimed by an instance which stopped are claimed again after
+ * {@code application.search.outbox.claim-timeout-ms}. Entries that could not be indexed are kept and retried with an
+ * exponential backoff, capped to {@code application.search.outbox.max-backoff-ms}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.search.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SearchOutboxIndexer {
+    private final Logger log = LoggerFactory.getLogger(SearchOutboxIndexer.class);
+
+    private final SearchOutboxRepository searchOutboxRepository;
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Search.Outbox properties;
+
+    private final Clock clock;
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final Counter indexedCounter;
+
+    private final Counter failureCounter;
+
+    public SearchOutboxIndexer(
+        SearchOutboxRepository searchOutboxRepository,
+        SearchIndexingService searchIndexingService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(searchOutboxRepository, searchIndexingService, transactionManager, applicationProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    SearchOutboxIndexer(
+        SearchOutboxRepository searchOutboxRepository,
+        SearchIndexingService searchIndexingService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getSearch().getOutbox();
+        this.clock = clock;
+        this.indexedCounter = meterRegistry.counter("search.outbox.indexed");
+        this.failureCounter = meterRegistry.counter("search.outbox.failures");
+        Gauge.builder("search.outbox.backlog", backlog, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Apply the due outbox entries.
+     * <p>
+     * This is scheduled to get fired every second by default.
+     */
+    @Scheduled(fixedDelayString = "${application.search.outbox.drain-delay-ms:1000}")
+    public void drain() {
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            boolean more = true;
+            while (more) {
+                more = drainBatch(batchSize);
+            }
+            backlog.set(searchOutboxRepository.count());
+        } catch (RuntimeException e) {
+            log.error("Could not drain the search outbox", e);
+        }
+    }
+
+    /**
+     * @param batchSize the number of entities claimed at most.
+     * @return whether the batch was full and all its entries were indexed, in which case more entries may be due.
+     */
+    boolean drainBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now(clock.withZone(ZoneOffset.UTC)).truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime claimedUntil = now.plus(Duration.ofMillis(properties.getClaimTimeoutMs()));
+        List<SearchOutboxEntry> entries = transactionTemplate.execute(status -> searchOutboxRepository.claim(now, claimedUntil, batchSize));
+        if (entries == null || entries.isEmpty()) {
+            return false;
+        }
+        Set<String> entityKeys = new LinkedHashSet<>();
+        Map<String, List<SearchOutboxEntry>> entriesByType = new LinkedHashMap<>();
+        for (SearchOutboxEntry entry : entries) {
+            entriesByType.computeIfAbsent(entry.getEntityType(), type -> new ArrayList<>()).add(entry);
+            entityKeys.add(entry.getEntityType() + "#" + entry.getEntityId());
+        }
+        boolean failed = false;
+        for (Map.Entry<String, List<SearchOutboxEntry>> typeEntries : entriesByType.entrySet()) {
+            List<SearchOutboxEntry> batch = typeEntries.getValue();
+            Set<Long> ids = new LinkedHashSet<>();
+            batch.forEach(entry -> ids.add(entry.getEntityId()));
+            try {
+                searchIndexingService.reindex(typeEntries.getKey(), ids);
+            } catch (RuntimeException e) {
+                log.warn("Could not index {} {} documents, will retry: {}", ids.size(), typeEntries.getKey(), e.toString());
+                failureCounter.increment();
+                failed = true;
+                batch.forEach(entry -> entry.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMillis(entry.getAttempts())))));
+                searchOutboxRepository.markFailed(batch, e.toString());
+                continue;
+            }
+            searchOutboxRepository.deleteAll(batch);
+            indexedCounter.increment(ids.size());
+        }
+        return !failed && entityKeys.size() == batchSize;
+    }
+
+    /**
+     * @return the delay before the next attempt of an entry that already failed the given number of times.
+     */
+    long backoffMillis(int attempts) {
+        long backoff = Math.max(1, properties.getInitialBackoffMs());
+        for (int i = 0; i < attempts && backoff < properties.getMaxBackoffMs(); i++) {
+            backoff *= 2;
+        }
+        return Math.min(backoff, properties.getMaxBackoffMs());
+    }
+}
@@ -0,0 +1,407 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SearchReindexCheckpoint;
+import com.mycompany.myapp.repository.SearchReindexCheckpointRepository;
+import com.mycompany.myapp.service.dto.SearchReindexProgressDTO;
+import com.mycompany.myapp.service.dto.SearchReindexStatusDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service rebuilding the Elasticsearch indices from the database, for instance after a mapping change.
+ * <p>
+ * A job reindexes the requested entity types one after the other. Each table is read in chunks of
+ * {@code application.search.reindex.chunk-size} entities ordered by id, and each chunk is sent as one bulk request;
+ * up to {@code application.search.reindex.concurrency} bulk requests are in flight while the next chunks are read.
+ * Once the bulk requests of all chunks up to an id succeeded, that id is checkpointed, so that a failed or cancelled
+ * job resumes after it. Entity types whose reindex completed are skipped, unless the job is restarted from scratch.
+ */
+@Service
+public class SearchReindexService {
+    public static final String IDLE = "IDLE";
+
+    public static final String PENDING = "PENDING";
+
+    public static final String RUNNING = "RUNNING";
+
+    public static final String COMPLETED = "COMPLETED";
+
+    public static final String SKIPPED = "SKIPPED";
+
+    public static final String FAILED = "FAILED";
+
+    public static final String CANCELLED = "CANCELLED";
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchReindexCheckpointRepository checkpointRepository;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private final ApplicationProperties.Search.Reindex properties;
+
+    private final Clock clock;
+
+    private final Counter documentCounter;
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "search-reindex"));
+
+    private volatile Job job;
+
+    private Future<?> jobFuture;
+
+    public SearchReindexService(
+        SearchIndexingService searchIndexingService,
+        SearchReindexCheckpointRepository checkpointRepository,
+        ElasticsearchOperations elasticsearchOperations,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        SearchResultCache searchResultCache,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(
+            searchIndexingService,
+            checkpointRepository,
+            elasticsearchOperations,
+            entityManager,
+            transactionTemplate,
+            searchResultCache,
+            applicationProperties,
+            meterRegistry,
+            Clock.systemUTC()
+        );
+    }
+
+    SearchReindexService(
+        SearchIndexingService searchIndexingService,
+        SearchReindexCheckpointRepository checkpointRepository,
+        ElasticsearchOperations elasticsearchOperations,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        SearchResultCache searchResultCache,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.searchIndexingService = searchIndexingService;
+        this.checkpointRepository = checkpointRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.entityManager = entityManager;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.searchResultCache = searchResultCache;
+        this.properties = applicationProperties.getSearch().getReindex();
+        this.clock = clock;
+        this.documentCounter = meterRegistry.counter("search.reindex.documents");
+        Gauge
+            .builder("search.reindex.throughput", this, SearchReindexService::getDocumentsPerSecond)
+            .baseUnit("documents/s")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        cancel();
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Start a reindex job in the background, unless one is already running.
+     *
+     * @param entityTypes the simple names of the entity classes to reindex, all the indexed entities when empty.
+     * @param restart whether to reindex everything instead of resuming from the checkpoints.
+     * @return whether the job was started.
+     * @throws IllegalArgumentException if an entity type is not indexed.
+     */
+    public synchronized boolean start(Collection<String> entityTypes, boolean restart) {
+        Map<String, Class<?>> indexedEntities = searchIndexingService.getIndexedEntities();
+        Map<String, Class<?>> selected = new LinkedHashMap<>();
+        if (entityTypes == null || entityTypes.isEmpty()) {
+            selected.putAll(indexedEntities);
+        } else {
+            for (String entityType : entityTypes) {
+                Class<?> entityClass = indexedEntities.get(entityType);
+                if (entityClass == null) {
+                    throw new IllegalArgumentException("Unknown indexed entity type " + entityType);
+                }
+                selected.put(entityType, entityClass);
+            }
+        }
+        if (job != null && job.finishedDate == null) {
+            return false;
+        }
+        Job newJob = new Job(selected, restart, clock.instant());
+        job = newJob;
+        jobFuture = jobExecutor.submit(() -> run(newJob));
+        return true;
+    }
+
+    /**
+     * Ask the running job to stop after the chunks in flight. Its checkpoints are kept.
+     */
+    public void cancel() {
+        Job current = job;
+        if (current != null) {
+            current.cancelled = true;
+        }
+    }
+
+    public SearchReindexStatusDTO getStatus() {
+        SearchReindexStatusDTO status = new SearchReindexStatusDTO();
+        Job current = job;
+        if (current == null) {
+            status.setState(IDLE);
+            return status;
+        }
+        status.setState(current.state);
+        status.setStartedDate(current.startedDate);
+        status.setFinishedDate(current.finishedDate);
+        status.setIndexed(current.indexed.get());
+        status.setDocumentsPerSecond(current.getDocumentsPerSecond(clock.instant()));
+        status.setError(current.error);
+        List<SearchReindexProgressDTO> entities = new ArrayList<>();
+        for (Progress progress : current.progress.values()) {
+            entities.add(
+                new SearchReindexProgressDTO(progress.entityType, progress.state, progress.total, progress.indexed, progress.lastId)
+            );
+        }
+        status.setEntities(entities);
+        return status;
+    }
+
+    /**
+     * Wait for the last started job to finish.
+     */
+    void awaitTermination() throws InterruptedException, ExecutionException {
+        jobFuture.get();
+    }
+
+    private double getDocumentsPerSecond() {
+        Job current = job;
+        return current == null || current.finishedDate != null ? 0 : current.getDocumentsPerSecond(clock.instant());
+    }
+
+    private void run(Job job) {
+        log.info("Reindexing {}", job.progress.keySet());
+        int concurrency = Math.max(1, properties.getConcurrency());
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService bulkExecutor = Executors.newFixedThreadPool(
+            concurrency,
+            runnable -> new Thread(runnable, "search-reindex-bulk-" + threads.incrementAndGet())
+        );
+        try {
+            for (Progress progress : job.progress.values()) {
+                if (job.cancelled) {
+                    break;
+                }
+                reindex(job, progress, concurrency, bulkExecutor);
+            }
+            job.state = job.cancelled ? CANCELLED : COMPLETED;
+            log.info("Reindex {}: {} documents indexed", job.state.toLowerCase(), job.indexed.get());
+        } catch (Exception e) {
+            job.state = FAILED;
+            job.error = e.toString();
+            job.progress.values().stream().filter(progress -> RUNNING.equals(progress.state)).forEach(progress -> progress.state = FAILED);
+            log.error("Reindex failed, it can be resumed from the last checkpoints", e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            bulkExecutor.shutdownNow();
+            job.finishedDate = clock.instant();
+        }
+    }
+
+    private void reindex(Job job, Progress progress, int concurrency, ExecutorService bulkExecutor)
+        throws InterruptedException, ExecutionException {
+        Class<?> entityClass = progress.entityClass;
+        SearchReindexCheckpoint checkpoint;
+        if (job.restart) {
+            checkpointRepository.deleteByEntityType(progress.entityType);
+            checkpoint = new SearchReindexCheckpoint(progress.entityType);
+        } else {
+            checkpoint =
+                checkpointRepository
+                    .findByEntityType(progress.entityType)
+                    .orElseGet(() -> new SearchReindexCheckpoint(progress.entityType));
+        }
+        if (checkpoint.isCompleted()) {
+            progress.state = SKIPPED;
+            return;
+        }
+        progress.state = RUNNING;
+        progress.total = readOnlyTransactionTemplate.execute(
+            status -> entityManager.createQuery("select count(e) from " + entityClass.getName() + " e", Long.class).getSingleResult()
+        );
+        progress.indexed = checkpoint.getIndexed();
+        progress.lastId = checkpoint.getLastId();
+
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+        long afterId = checkpoint.getLastId() != null ? checkpoint.getLastId() : Long.MIN_VALUE;
+        boolean more = true;
+        while (more && !job.cancelled) {
+            List<?> entities = findChunk(entityClass, afterId, chunkSize);
+            if (entities.isEmpty()) {
+                break;
+            }
+            more = entities.size() == chunkSize;
+            List<IndexQuery> queries = new ArrayList<>(entities.size());
+            for (Object entity : entities) {
+                afterId = getId(entity);
+                queries.add(new IndexQueryBuilder().withId(String.valueOf(afterId)).withObject(entity).build());
+            }
+            while (inFlight.size() >= concurrency) {
+                complete(job, progress, checkpoint, inFlight.removeFirst());
+            }
+            inFlight.addLast(new Chunk(afterId, queries.size(), bulkExecutor.submit(() -> elasticsearchOperations.bulkIndex(queries))));
+        }
+        while (!inFlight.isEmpty()) {
+            complete(job, progress, checkpoint, inFlight.removeFirst());
+        }
+        if (job.cancelled) {
+            progress.state = CANCELLED;
+            return;
+        }
+        elasticsearchOperations.refresh(entityClass);
+        searchResultCache.invalidate(entityClass.getSimpleName());
+        checkpoint.setCompleted(true);
+        saveCheckpoint(checkpoint);
+        progress.state = COMPLETED;
+        log.info("Reindexed {} {} documents", progress.indexed, progress.entityType);
+    }
+
+    private List<?> findChunk(Class<?> entityClass, long afterId, int chunkSize) {
+        return readOnlyTransactionTemplate.execute(
+            status ->
+                entityManager
+                    .createQuery("select e from " + entityClass.getName() + " e where e.id > :afterId order by e.id", entityClass)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(chunkSize)
+                    .getResultList()
+        );
+    }
+
+    /**
+     * Wait for the bulk request of the oldest chunk in flight, then move the checkpoint after it.
+     */
+    private void complete(Job job, Progress progress, SearchReindexCheckpoint checkpoint, Chunk chunk)
+        throws InterruptedException, ExecutionException {
+        chunk.future.get();
+        checkpoint.setLastId(chunk.lastId);
+        checkpoint.setIndexed(checkpoint.getIndexed() + chunk.size);
+        saveCheckpoint(checkpoint);
+        progress.lastId = chunk.lastId;
+        progress.indexed = checkpoint.getIndexed();
+        job.indexed.addAndGet(chunk.size);
+        documentCounter.increment(chunk.size);
+    }
+
+    private void saveCheckpoint(SearchReindexCheckpoint checkpoint) {
+        checkpoint.setUpdatedDate(LocalDateTime.now(clock.withZone(ZoneOffset.UTC)));
+        checkpointRepository.save(checkpoint);
+    }
+
+    private Long getId(Object entity) {
+        return (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    private static class Job {
+        private final Map<String, Progress> progress = new LinkedHashMap<>();
+
+        private final boolean restart;
+
+        private final Instant startedDate;
+
+        private final AtomicLong indexed = new AtomicLong();
+
+        private volatile String state = RUNNING;
+
+        private volatile Instant finishedDate;
+
+        private volatile String error;
+
+        private volatile boolean cancelled;
+
+        Job(Map<String, Class<?>> entityClasses, boolean restart, Instant startedDate) {
+            entityClasses.forEach((entityType, entityClass) -> progress.put(entityType, new Progress(entityType, entityClass)));
+            this.restart = restart;
+            this.startedDate = startedDate;
+        }
+
+        double getDocumentsPerSecond(Instant now) {
+            long millis = (finishedDate != null ? finishedDate : now).toEpochMilli() - startedDate.toEpochMilli();
+            return millis <= 0 ? 0 : indexed.get() * 1000.0 / millis;
+        }
+    }
+
+    private static class Progress {
+        private final String entityType;
+
+        private final Class<?> entityClass;
+
+        private volatile String state = PENDING;
+
+        private volatile long total;
+
+        private volatile long indexed;
+
+        private volatile Long lastId;
+
+        Progress(String entityType, Class<?> entityClass) {
+            this.entityType = entityType;
+            this.entityClass = entityClass;
+        }
+    }
+
+    private static class Chunk {
+        private final long lastId;
+
+        private final int size;
+
+        private final Future<?> future;
+
+        Chunk(long lastId, int size, Future<?> future) {
+            this.lastId = lastId;
+            this.size = size;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.event.EventType;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded cache of the pages returned by {@link SearchService}, with one Ehcache cache per entity type.
+ * <p>
+ * Pages are keyed by the query, with its insignificant whitespace removed, and by the page request. All the pages of
+ * an entity type are invalidated when an entity of this type is written, once the transaction commits, and again when
+ * its documents are written to the index, as they are only searchable from then on. A page computed while its entity
+ * type was invalidated is not cached, so that a slow search cannot put back results older than the invalidation.
+ * <p>
+ * Hits, misses, evictions and invalidations are counted in the {@code search.cache.*} metrics, tagged with the entity
+ * type, and {@code search.cache.hit.ratio} gives the share of hits since startup.
+ */
+@Service
+public class SearchResultCache {
+    public static final String CACHE_NAME_PREFIX = "searchResults.";
+
+    private final Logger log = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private final CacheManager cacheManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.Search.Cache properties;
+
+    private final Map<String, TypeCache> caches = new ConcurrentHashMap<>();
+
+    public SearchResultCache(CacheManager cacheManager, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.properties = applicationProperties.getSearch().getCache();
+    }
+
+    /**
+     * Get a cached page, or search it and cache it.
+     *
+     * @param entityType the simple name of the searched entity class.
+     * @param query the query string.
+     * @param pageable the page request, whose size is already bounded.
+     * @param search computes the page when it is not cached.
+     * @return the page.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> get(String entityType, String query, Pageable pageable, Supplier<Page<T>> search) {
+        if (!properties.isEnabled()) {
+            return search.get();
+        }
+        TypeCache typeCache = caches.computeIfAbsent(entityType, TypeCache::new);
+        String key = key(query, pageable);
+        Page<T> page = (Page<T>) typeCache.cache.get(key);
+        if (page != null) {
+            typeCache.hits.increment();
+            return page;
+        }
+        typeCache.misses.increment();
+        long generation = typeCache.generation.get();
+        page = search.get();
+        typeCache.cache.put(key, page);
+        if (typeCache.generation.get() != generation) {
+            // Invalidated during the search, the page may be older than the invalidation
+            typeCache.cache.remove(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Drop the cached pages of an entity type.
+     */
+    public void invalidate(String entityType) {
+        TypeCache typeCache = caches.get(entityType);
+        if (typeCache != null) {
+            typeCache.generation.incrementAndGet();
+            typeCache.cache.clear();
+            typeCache.invalidations.increment();
+            log.trace("Invalidated the cached {} searches", entityType);
+        }
+    }
+
+    /**
+     * Drop the cached pages of an entity type once the current transaction commits, or now if there is none.
+     */
+    public void invalidateAfterCommit(String entityType) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+
+                    @Override
+                    public void afterCommit() {
+                        invalidate(entityType);
+                    }
+                }
+            );
+        } else {
+            invalidate(entityType);
+        }
+    }
+
+    static String key(String query, Pageable pageable) {
+        return normalize(query) + '|' + pageable.getPageNumber() + '|' + pageable.getPageSize() + '|' + pageable.getSort();
+    }
+
+    /**
+     * @return the query without leading and trailing whitespace, and with other whitespace outside of quoted phrases
+     * collapsed to a single space.
+     */
+    static String normalize(String query) {
+        String trimmed = query.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        boolean quoted = false;
+        boolean escaped = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!quoted && Character.isWhitespace(c)) {
+                if (normalized.charAt(normalized.length() - 1) != ' ') {
+                    normalized.append(' ');
+                }
+                continue;
+            }
+            if (c == '"' && !escaped) {
+                quoted = !quoted;
+            }
+            escaped = c == '\\' && !escaped;
+            normalized.append(c);
+        }
+        return normalized.toString();
+    }
+
+    private final class TypeCache {
+        private final Cache<Object, Object> cache;
+
+        private final AtomicLong generation = new AtomicLong();
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        private final Counter invalidations;
+
+        private final AtomicLong evictions = new AtomicLong();
+
+        private TypeCache(String entityType) {
+            String cacheName = CACHE_NAME_PREFIX + entityType;
+            Cache<Object, Object> existing = cacheManager.getCache(cacheName);
+            this.cache =
+                existing != null
+                    ? existing
+                    : cacheManager.createCache(
+                        cacheName,
+                        Eh107Configuration.fromEhcacheCacheConfiguration(
+                            CacheConfigurationBuilder
+                                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(properties.getMaxEntries()))
+                                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(properties.getTimeToLiveSeconds())))
+                                .withService(
+                                    CacheEventListenerConfigurationBuilder
+                                        .newEventListenerConfiguration(event -> evictions.incrementAndGet(), EventType.EVICTED)
+                                        .unordered()
+                                        .asynchronous()
+                                )
+                                .build()
+                        )
+                    );
+            this.hits = meterRegistry.counter("search.cache.gets", "entity", entityType, "result", "hit");
+            this.misses = meterRegistry.counter("search.cache.gets", "entity", entityType, "result", "miss");
+            this.invalidations = meterRegistry.counter("search.cache.invalidations", "entity", entityType);
+            FunctionCounter.builder("search.cache.evictions", evictions, AtomicLong::get).tag("entity", entityType).register(meterRegistry);
+            Gauge
+                .builder("search.cache.hit.ratio", this, TypeCache::hitRatio)
+                .tag("entity", entityType)
+                .strongReference(true)
+                .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            double gets = hits.count() + misses.count();
+            return gets == 0 ? 0 : hits.count() / gets;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.mycompany.myapp.service;
+
+import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.ScrolledPage;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.SearchQuery;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service running query string searches with bounded memory use.
+ * <p>
+ * Paged searches return at most {@code application.search.max-page-size} hits, and cannot go past the first
+ * {@code application.search.max-result-window} hits, as Elasticsearch has to collect all the hits before the requested
+ * page on every shard. Deeper reads go through {@link #scroll(Class, String, PageHandler)}, which reads the hits in
+ * index order with a scroll context.
+ */
+@Service
+public class SearchService {
+    private final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Search properties;
+
+    private final SearchResultCache searchResultCache;
+
+    private final Map<Class<?>, String> entityTypes = new ConcurrentHashMap<>();
+
+    public SearchService(
+        ElasticsearchOperations elasticsearchOperations,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        SearchResultCache searchResultCache
+    ) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getSearch();
+        this.searchResultCache = searchResultCache;
+    }
+
+    /**
+     * Search a page of entities, which may be served from the {@link SearchResultCache}.
+     *
+     * @param searchRepository the search repository of the entities.
+     * @param query the query string.
+     * @param pageable the requested page, whose size is reduced to {@code application.search.max-page-size}.
+     * @return the page of entities.
+     * @throws SearchWindowExceededException if the page ends after {@code application.search.max-result-window} hits.
+     * @throws SearchDisabledException if the indexing of the entities is disabled.
+     */
+    public <T> Page<T> search(ElasticsearchRepository<T, Long> searchRepository, String query, Pageable pageable) {
+        String entityType = entityTypes.computeIfAbsent(
+            searchRepository.getClass(),
+            repositoryClass -> {
+                Class<?> entityClass = ResolvableType.forClass(repositoryClass).as(ElasticsearchRepository.class).resolveGeneric(0);
+                return entityClass == null ? "" : entityClass.getSimpleName();
+            }
+        );
+        if (!properties.isIndexed(entityType)) {
+            throw new SearchDisabledException(entityType);
+        }
+        Pageable bounded = bound(pageable);
+        return searchResultCache.get(entityType, query, bounded, () -> searchRepository.search(queryStringQuery(query), bounded));
+    }
+
+    Pageable bound(Pageable pageable) {
+        int size = Math.min(pageable.getPageSize(), Math.max(1, properties.getMaxPageSize()));
+        if ((long) pageable.getPageNumber() * size + size > properties.getMaxResultWindow()) {
+            throw new SearchWindowExceededException(properties.getMaxResultWindow());
+        }
+        return size == pageable.getPageSize() ? pageable : PageRequest.of(pageable.getPageNumber(), size, pageable.getSort());
+    }
+
+    /**
+     * Read all the entities matching a query, {@code application.search.scroll-size} at a time.
+     *
+     * @param entityClass the class of the entities.
+     * @param query the query string.
+     * @param handler called with each page of entities.
+     * @return the number of entities read.
+     * @throws IOException if the handler failed, in which case the scroll is stopped.
+     */
+    public <T> long scroll(Class<T> entityClass, String query, PageHandler<T> handler) throws IOException {
+        long keepAliveMs = properties.getScrollKeepAliveMs();
+        SearchQuery searchQuery = new NativeSearchQueryBuilder()
+            .withQuery(queryStringQuery(query))
+            .withSort(SortBuilders.fieldSort("_doc"))
+            .withPageable(PageRequest.of(0, Math.max(1, properties.getScrollSize())))
+            .build();
+        ScrolledPage<T> page = elasticsearchOperations.startScroll(keepAliveMs, searchQuery, entityClass);
+        String scrollId = page.getScrollId();
+        long count = 0;
+        try {
+            while (page.hasContent()) {
+                handler.handle(page.getContent());
+                count += page.getNumberOfElements();
+                page = elasticsearchOperations.continueScroll(scrollId, keepAliveMs, entityClass);
+                scrollId = page.getScrollId();
+            }
+        } finally {
+            if (scrollId != null) {
+                try {
+                    elasticsearchOperations.clearScroll(scrollId);
+                } catch (RuntimeException e) {
+                    log.debug("Could not clear scroll: {}", e.toString());
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write all the entities matching a query as newline delimited JSON, one page of hits at a time.
+     *
+     * @param entityClass the class of the entities.
+     * @param query the query string.
+     * @param out the stream to write to, which is left open.
+     * @return the number of entities written.
+     * @throws IOException if the entities could not be written, for instance because the client went away.
+     */
+    public long export(Class<?> entityClass, String query, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = scroll(
+            entityClass,
+            query,
+            page -> {
+                for (Object entity : page) {
+                    objectMapper.writeValue(generator, entity);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            }
+        );
+        generator.close();
+        return count;
+    }
+
+    /**
+     * Receives the pages of a scroll.
+     */
+    @FunctionalInterface
+    public interface PageHandler<T> {
+        void handle(List<T> page) throws IOException;
+    }
+}
@@ -0,0 +1,12 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Thrown when a search asks for hits beyond the result window, which must be read with a scroll instead.
+ */
+public class SearchWindowExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SearchWindowExceededException(int maxResultWindow) {
+        super("Search results are limited to the first " + maxResultWindow + " hits, use the export to read more");
+    }
+}
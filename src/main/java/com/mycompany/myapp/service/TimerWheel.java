@@ -0,0 +1,96 @@
+package com.mycompany.myapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel: items are added in constant time to the bucket of their deadline tick, and the buckets of the
+ * elapsed ticks are swept as time advances. Deadlines further than one turn of the wheel stay in their bucket until
+ * their turn. Deadlines are in milliseconds of any clock, the precision is one tick. This is thread-safe.
+ *
+ * @param <T> the type of the items.
+ */
+final class TimerWheel<T> {
+    private final long tickMillis;
+
+    private final List<Timer<T>>[] buckets;
+
+    private final int mask;
+
+    private long currentTick;
+
+    private int size;
+
+    /**
+     * @param wheelSize the number of buckets, rounded up to a power of 2.
+     * @param startMillis the time of the first tick.
+     */
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("The tick and the wheel size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        int bucketCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.buckets = new List[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = bucketCount - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Add an item, due at the first tick at or after its deadline. Items already due are due at the next tick.
+     */
+    synchronized void add(T item, long deadlineMillis) {
+        long tick = Math.max(currentTick, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        buckets[(int) (tick & mask)].add(new Timer<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Remove the items due at or before a time.
+     *
+     * @return the due items, ordered by bucket.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        if (nowTick < currentTick) {
+            return new ArrayList<>();
+        }
+        List<T> due = new ArrayList<>();
+        // A pause longer than a turn sweeps each bucket once
+        long steps = Math.min(nowTick - currentTick + 1, buckets.length);
+        for (long step = 0; step < steps; step++) {
+            // removeIf is linear, even when all the items of a bucket are due
+            buckets[(int) ((currentTick + step) & mask)].removeIf(
+                timer -> {
+                    if (timer.tick > nowTick) {
+                        return false;
+                    }
+                    due.add(timer.item);
+                    return true;
+                }
+            );
+        }
+        size -= due.size();
+        currentTick = nowTick + 1;
+        return due;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private static final class Timer<T> {
+        private final T item;
+
+        private final long tick;
+
+        private Timer(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.repository.ValuesExportRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting readings by streaming them from the database to an output stream.
+ * <p>
+ * Readings are written as they are read from a forward-only cursor, so memory use does not depend on the number of
+ * exported readings. When the output stream fails, typically because the client disconnected, the query is abandoned.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ValuesExportService {
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The export formats.
+     */
+    public enum Format {
+        NDJSON(Constants.APPLICATION_NDJSON_VALUE, "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ValuesExportService.class);
+
+    private final ValuesExportRepository valuesExportRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public ValuesExportService(ValuesExportRepository valuesExportRepository, ObjectMapper objectMapper) {
+        this.valuesExportRepository = valuesExportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the readings of all the temperature sensors of a place.
+     *
+     * @param placeId the id of the place.
+     * @param from the start of the time range.
+     * @param to the end (exclusive) of the time range.
+     * @param format the format of the export.
+     * @param out the stream to write to, which is not closed.
+     * @return the number of exported readings.
+     * @throws IOException if the output stream fails.
+     */
+    public long exportPlace(Long placeId, Instant from, Instant to, Format format, OutputStream out) throws IOException {
+        log.debug("Request to export the Values of Place {} from {} to {} as {}", placeId, from, to, format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ReadingWriter readingWriter = format == Format.CSV ? new CsvReadingWriter(writer) : new NdjsonReadingWriter(writer);
+        long[] count = { 0 };
+        valuesExportRepository.forEachReadingOfPlace(
+            placeId,
+            LocalDateTime.ofInstant(from, ZoneOffset.UTC),
+            LocalDateTime.ofInstant(to, ZoneOffset.UTC),
+            (id, temperatureId, address, value, timestamp) -> {
+                readingWriter.write(id, temperatureId, address, value, timestamp == null ? null : timestamp.toInstant(ZoneOffset.UTC));
+                count[0]++;
+            }
+        );
+        readingWriter.close();
+        return count[0];
+    }
+
+    private interface ReadingWriter {
+        void write(long id, long temperatureId, String address, Double value, Instant timestamp) throws IOException;
+
+        /**
+         * Flush the remaining output, without closing the underlying stream.
+         */
+        void close() throws IOException;
+    }
+
+    private final class NdjsonReadingWriter implements ReadingWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonReadingWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated explicitly, so that the last one also ends with a new line
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(long id, long temperatureId, String address, Double value, Instant timestamp) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeNumberField("temperatureId", temperatureId);
+            generator.writeStringField("address", address);
+            if (value == null) {
+                generator.writeNullField("value");
+            } else {
+                generator.writeNumberField("value", value);
+            }
+            generator.writeStringField("timestamp", timestamp == null ? null : timestamp.toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvReadingWriter implements ReadingWriter {
+        private final Writer writer;
+
+        private CsvReadingWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,temperature_id,address,value,timestamp\n");
+        }
+
+        @Override
+        public void write(long id, long temperatureId, String address, Double value, Instant timestamp) throws IOException {
+            writer.write(Long.toString(id));
+            writer.write(',');
+            writer.write(Long.toString(temperatureId));
+            writer.write(',');
+            writer.write(escape(address));
+            writer.write(',');
+            writer.write(value == null ? "" : value.toString());
+            writer.write(',');
+            writer.write(timestamp == null ? "" : timestamp.toString());
+            writer.write('\n');
+        }
+
+        private static String escape(String field) {
+            if (field == null) {
+                return "";
+            }
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+                return field;
+            }
+            return '"' + field.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.TemperatureRepository;
+import com.mycompany.myapp.service.dto.ValuesIngestionResultDTO;
+import com.mycompany.myapp.service.dto.ValuesReadingDTO;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for ingesting batches of sensor readings as {@link Values}.
+ * <p>
+ * All readings of a batch are persisted in one transaction. The persistence context is flushed every
+ * {@code hibernate.jdbc.batch_size} entities so that, together with {@code hibernate.order_inserts}, Hibernate
+ * sends the inserts as JDBC batches; the pooled sequence generator hands out ids by blocks, so there is no
+ * sequence round-trip per reading either.
+ */
+@Service
+@Transactional
+public class ValuesIngestionService {
+    private final Logger log = LoggerFactory.getLogger(ValuesIngestionService.class);
+
+    private final TemperatureRepository temperatureRepository;
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final EntityManager entityManager;
+
+    private final LatestReadingService latestReadingService;
+
+    private final int batchSize;
+
+    public ValuesIngestionService(
+        TemperatureRepository temperatureRepository,
+        SearchIndexingService searchIndexingService,
+        EntityManager entityManager,
+        LatestReadingService latestReadingService,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
+        this.temperatureRepository = temperatureRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.entityManager = entityManager;
+        this.latestReadingService = latestReadingService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Persist a batch of readings.
+     * <p>
+     * Readings that cannot be resolved to a {@link Temperature} or that carry no value are rejected individually,
+     * the other readings of the batch are still stored.
+     *
+     * @param readings the readings to store.
+     * @return one result per reading, in the order of the given readings.
+     */
+    public List<ValuesIngestionResultDTO> ingest(List<ValuesReadingDTO> readings) {
+        log.debug("Request to ingest {} readings", readings.size());
+        TemperatureLookup lookup = new TemperatureLookup(readings);
+        List<ValuesIngestionResultDTO> results = new ArrayList<>(readings.size());
+        List<Values> created = new ArrayList<>(readings.size());
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 0; i < readings.size(); i++) {
+            ValuesReadingDTO reading = readings.get(i);
+            if (reading == null || reading.getValue() == null) {
+                results.add(ValuesIngestionResultDTO.rejected(i, "A reading must have a value"));
+                continue;
+            }
+            Temperature temperature = lookup.resolve(reading);
+            if (temperature == null) {
+                results.add(ValuesIngestionResultDTO.rejected(i, "Unknown temperature sensor"));
+                continue;
+            }
+            Values values = new Values()
+                .value(reading.getValue())
+                .timestamp(reading.getTimestamp() != null ? reading.getTimestamp() : now)
+                .temperature(temperature);
+            entityManager.persist(values);
+            created.add(values);
+            results.add(ValuesIngestionResultDTO.created(i, values.getId()));
+            if (created.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        if (!created.isEmpty()) {
+            searchIndexingService.indexAll(created);
+            latestReadingService.update(created);
+        }
+        log.debug("Ingested {} of {} readings", created.size(), readings.size());
+        return results;
+    }
+
+    /**
+     * Resolves the temperature sensors of a batch with one query per key type.
+     */
+    private class TemperatureLookup {
+        private final Map<Long, Temperature> byId = new HashMap<>();
+
+        private final Map<String, Temperature> byAddress = new HashMap<>();
+
+        TemperatureLookup(List<ValuesReadingDTO> readings) {
+            Set<Long> ids = new HashSet<>();
+            Set<String> addresses = new HashSet<>();
+            for (ValuesReadingDTO reading : readings) {
+                if (reading == null) {
+                    continue;
+                }
+                if (reading.getTemperatureId() != null) {
+                    ids.add(reading.getTemperatureId());
+                } else if (reading.getAddress() != null) {
+                    addresses.add(reading.getAddress());
+                }
+            }
+            if (!ids.isEmpty()) {
+                temperatureRepository.findAllById(ids).forEach(temperature -> byId.put(temperature.getId(), temperature));
+            }
+            if (!addresses.isEmpty()) {
+                temperatureRepository
+                    .findAllByAddressIn(addresses)
+                    .forEach(temperature -> byAddress.putIfAbsent(temperature.getAddress(), temperature));
+            }
+        }
+
+        Temperature resolve(ValuesReadingDTO reading) {
+            if (reading.getTemperatureId() != null) {
+                return byId.get(reading.getTemperatureId());
+            }
+            return reading.getAddress() != null ? byAddress.get(reading.getAddress()) : null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.ValuesPartitionRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service maintaining the time partitions of the {@link Values} table.
+ * <p>
+ * Partitions for the coming months are created ahead of time, so that readings never land in the default partition,
+ * and readings older than the retention period are removed by dropping whole monthly partitions instead of deleting
+ * them row by row. Without partitioning (H2), retention falls back to a row-level delete.
+ */
+@Service
+public class ValuesPartitionService {
+    private final Logger log = LoggerFactory.getLogger(ValuesPartitionService.class);
+
+    private final ValuesPartitionRepository valuesPartitionRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Clock clock;
+
+    public ValuesPartitionService(
+        ValuesPartitionRepository valuesPartitionRepository,
+        ApplicationProperties applicationProperties,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this(valuesPartitionRepository, applicationProperties, entityManagerFactory, Clock.systemUTC());
+    }
+
+    ValuesPartitionService(
+        ValuesPartitionRepository valuesPartitionRepository,
+        ApplicationProperties applicationProperties,
+        EntityManagerFactory entityManagerFactory,
+        Clock clock
+    ) {
+        this.valuesPartitionRepository = valuesPartitionRepository;
+        this.applicationProperties = applicationProperties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create the upcoming partitions and apply the retention period.
+     * <p>
+     * This is scheduled to get fired every day at 01:00 (am) by default.
+     */
+    @Scheduled(cron = "${application.partitioning.cron:0 0 1 * * ?}")
+    public void maintainPartitions() {
+        try {
+            ApplicationProperties.Partitioning properties = applicationProperties.getPartitioning();
+            YearMonth currentMonth = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+            if (valuesPartitionRepository.isPartitioned()) {
+                createUpcomingPartitions(currentMonth, properties.getMonthsAhead());
+            }
+            if (properties.getRetentionMonths() > 0) {
+                applyRetention(currentMonth.minusMonths(properties.getRetentionMonths()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not maintain the partitions of the values table", e);
+        }
+    }
+
+    private void createUpcomingPartitions(YearMonth currentMonth, int monthsAhead) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            valuesPartitionRepository.createPartition(currentMonth.plusMonths(i));
+        }
+    }
+
+    /**
+     * Remove the readings older than the first day of the given month.
+     */
+    private void applyRetention(YearMonth oldestKeptMonth) {
+        int droppedPartitions = 0;
+        if (valuesPartitionRepository.isPartitioned()) {
+            List<YearMonth> months = valuesPartitionRepository.findPartitionMonths();
+            for (YearMonth month : months) {
+                if (month.isBefore(oldestKeptMonth)) {
+                    log.info("Dropping partition {}", ValuesPartitionRepository.partitionName(month));
+                    valuesPartitionRepository.dropPartition(month);
+                    droppedPartitions++;
+                }
+            }
+        }
+        LocalDateTime cutoff = oldestKeptMonth.atDay(1).atStartOfDay();
+        int deletedRows = valuesPartitionRepository.deleteOlderThan(cutoff);
+        if (droppedPartitions > 0 || deletedRows > 0) {
+            log.info("Removed readings before {}: {} partitions dropped, {} rows deleted", cutoff, droppedPartitions, deletedRows);
+            entityManagerFactory.getCache().evict(Values.class);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ValuesRollup;
+import com.mycompany.myapp.domain.enumeration.RollupResolution;
+import com.mycompany.myapp.repository.ValuesRollupRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the minute, hour and day rollups of the {@link com.mycompany.myapp.domain.Values} of each
+ * temperature sensor.
+ * <p>
+ * A scheduled catch-up job recomputes the recent buckets incrementally: minute rollups are computed from the raw
+ * readings of the last {@code application.rollup.lookback-minutes}, hour rollups from the minute rollups, and day
+ * rollups from the hour rollups, so that each run only reads a small amount of data. When the rollups are behind, for
+ * instance after a downtime or on the first run, the job catches up day by day from the latest rollup or from the
+ * oldest reading.
+ * <p>
+ * Each chunk is rebuilt under a lock shared by all the instances, see {@link ValuesRollupRepository#tryLock()}, so that
+ * two instances never replace the same rollups concurrently. An instance finding the lock taken leaves the run to the
+ * instance holding it.
+ */
+@Service
+public class ValuesRollupService {
+    private final Logger log = LoggerFactory.getLogger(ValuesRollupService.class);
+
+    private final ValuesRollupRepository valuesRollupRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    public ValuesRollupService(
+        ValuesRollupRepository valuesRollupRepository,
+        ApplicationProperties applicationProperties,
+        TransactionTemplate transactionTemplate
+    ) {
+        this(valuesRollupRepository, applicationProperties, transactionTemplate, Clock.systemUTC());
+    }
+
+    ValuesRollupService(
+        ValuesRollupRepository valuesRollupRepository,
+        ApplicationProperties applicationProperties,
+        TransactionTemplate transactionTemplate,
+        Clock clock
+    ) {
+        this.valuesRollupRepository = valuesRollupRepository;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Bring the rollups up to date.
+     * <p>
+     * This is scheduled to get fired every minute by default.
+     */
+    @Scheduled(
+        initialDelayString = "${application.rollup.catch-up-delay-ms:60000}",
+        fixedDelayString = "${application.rollup.catch-up-delay-ms:60000}"
+    )
+    public void catchUp() {
+        try {
+            LocalDateTime now = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+            LocalDateTime lookbackStart = now.minusMinutes(applicationProperties.getRollup().getLookbackMinutes());
+            LocalDateTime from = catchUpStart(lookbackStart);
+            while (from.isBefore(now)) {
+                LocalDateTime chunkStart = from;
+                LocalDateTime chunkEnd = RollupResolution.DAY.nextBucketStart(from);
+                if (chunkEnd.isAfter(now)) {
+                    chunkEnd = now;
+                }
+                LocalDateTime end = chunkEnd;
+                if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> tryRebuild(chunkStart, end)))) {
+                    log.debug("The rollups are being updated by another instance");
+                    return;
+                }
+                from = end;
+                if (from.isBefore(lookbackStart)) {
+                    // Skip the days without readings.
+                    from = valuesRollupRepository.findFirstReadingTimestamp(from).filter(lookbackStart::isAfter).orElse(lookbackStart);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not update the rollups of the values table", e);
+        }
+    }
+
+    private LocalDateTime catchUpStart(LocalDateTime lookbackStart) {
+        Optional<LocalDateTime> latestRollup = valuesRollupRepository.findLatestBucketStart(RollupResolution.MINUTE);
+        Optional<LocalDateTime> start = latestRollup.isPresent()
+            ? latestRollup
+            : valuesRollupRepository.findFirstReadingTimestamp();
+        return start.filter(lookbackStart::isAfter).orElse(lookbackStart);
+    }
+
+    private boolean tryRebuild(LocalDateTime from, LocalDateTime to) {
+        if (!valuesRollupRepository.tryLock()) {
+            return false;
+        }
+        rebuild(from, to);
+        return true;
+    }
+
+    /**
+     * Recompute all the rollups whose bucket overlaps the given time range.
+     *
+     * @param from the start of the time range, in UTC.
+     * @param to the end (exclusive) of the time range, in UTC.
+     * @return the number of minute rollups.
+     */
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime last = to.minusNanos(1);
+        LocalDateTime minuteFrom = RollupResolution.MINUTE.bucketStart(from);
+        LocalDateTime minuteTo = RollupResolution.MINUTE.nextBucketStart(last);
+        Map<BucketKey, ValuesRollup> minutes = new HashMap<>();
+        valuesRollupRepository.forEachReading(
+            minuteFrom,
+            minuteTo,
+            (temperatureId, value, timestamp) ->
+                minutes
+                    .computeIfAbsent(
+                        new BucketKey(temperatureId, RollupResolution.MINUTE.bucketStart(timestamp)),
+                        key -> new ValuesRollup(key.temperatureId, RollupResolution.MINUTE, key.bucketStart)
+                    )
+                    .add(value, timestamp)
+        );
+        int count = valuesRollupRepository.replaceAll(RollupResolution.MINUTE, minuteFrom, minuteTo, minutes.values());
+
+        RollupResolution finer = RollupResolution.MINUTE;
+        for (RollupResolution resolution : new RollupResolution[] { RollupResolution.HOUR, RollupResolution.DAY }) {
+            LocalDateTime bucketFrom = resolution.bucketStart(from);
+            LocalDateTime bucketTo = resolution.nextBucketStart(last);
+            Collection<ValuesRollup> rollups = rollUp(resolution, valuesRollupRepository.findAll(finer, bucketFrom, bucketTo));
+            valuesRollupRepository.replaceAll(resolution, bucketFrom, bucketTo, rollups);
+            finer = resolution;
+        }
+        log.debug("Rebuilt rollups from {} to {}: {} minute buckets", from, to, count);
+        return count;
+    }
+
+    /**
+     * Merge finer rollups into rollups of the given resolution.
+     */
+    static Collection<ValuesRollup> rollUp(RollupResolution resolution, Collection<ValuesRollup> finerRollups) {
+        Map<BucketKey, ValuesRollup> rollups = new HashMap<>();
+        for (ValuesRollup finer : finerRollups) {
+            rollups
+                .computeIfAbsent(
+                    new BucketKey(finer.getTemperatureId(), resolution.bucketStart(finer.getBucketStart())),
+                    key -> new ValuesRollup(key.temperatureId, resolution, key.bucketStart)
+                )
+                .merge(finer);
+        }
+        return rollups.values();
+    }
+
+    private static final class BucketKey {
+        private final long temperatureId;
+
+        private final LocalDateTime bucketStart;
+
+        private BucketKey(long temperatureId, LocalDateTime bucketStart) {
+            this.temperatureId = temperatureId;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey that = (BucketKey) o;
+            return temperatureId == that.temperatureId && bucketStart.equals(that.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(temperatureId, bucketStart);
+        }
+    }
+}
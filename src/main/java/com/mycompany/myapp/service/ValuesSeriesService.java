@@ -0,0 +1,179 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.domain.ValuesRollup;
+import com.mycompany.myapp.domain.enumeration.RollupResolution;
+import com.mycompany.myapp.repository.ValuesRepository;
+import com.mycompany.myapp.repository.ValuesRollupRepository;
+import com.mycompany.myapp.service.dto.ReadingPosition;
+import com.mycompany.myapp.service.dto.SeriesDTO;
+import com.mycompany.myapp.service.dto.SeriesPointDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service reading temperature series, from the raw {@link com.mycompany.myapp.domain.Values} or from their rollups.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ValuesSeriesService {
+    /**
+     * How a series with more readings than its point budget is reduced.
+     */
+    public enum Decimation {
+        AUTO,
+        LTTB,
+        ROLLUP
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ValuesSeriesService.class);
+
+    private final ValuesRollupRepository valuesRollupRepository;
+
+    private final ValuesRepository valuesRepository;
+
+    public ValuesSeriesService(ValuesRollupRepository valuesRollupRepository, ValuesRepository valuesRepository) {
+        this.valuesRollupRepository = valuesRollupRepository;
+        this.valuesRepository = valuesRepository;
+    }
+
+    /**
+     * Get a page of the readings of a sensor over a time range, ordered by timestamp then id.
+     * <p>
+     * Pages are fetched with keyset pagination: the next page starts after the last reading of the previous one,
+     * instead of skipping an offset, so deep pages cost the same as the first one.
+     *
+     * @param temperatureId the id of the sensor.
+     * @param from the start of the time range.
+     * @param to the end (exclusive) of the time range.
+     * @param after the timestamp and id of the last reading of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of readings.
+     * @return the readings.
+     */
+    public List<Values> findReadings(Long temperatureId, Instant from, Instant to, ReadingPosition after, int limit) {
+        log.debug("Request to get the readings of Temperature {} from {} to {} after {}", temperatureId, from, to, after);
+        Instant afterTimestamp = from;
+        long afterId = Long.MIN_VALUE;
+        if (after != null && !after.getTimestamp().isBefore(from)) {
+            afterTimestamp = after.getTimestamp();
+            afterId = after.getId();
+        }
+        return valuesRepository.findAllByTemperatureAfter(
+            temperatureId,
+            ZonedDateTime.ofInstant(afterTimestamp, ZoneOffset.UTC),
+            afterId,
+            ZonedDateTime.ofInstant(to, ZoneOffset.UTC),
+            PageRequest.of(0, limit)
+        );
+    }
+
+    /**
+     * Get the series of a sensor over a time range, with at most about {@code maxPoints} points.
+     * <p>
+     * With {@link Decimation#AUTO}, raw readings are returned when there are few enough of them. Short ranges with too
+     * many readings are downsampled with LTTB, which keeps the shape of the curve, and longer ranges are read from the
+     * most detailed rollup resolution whose number of buckets fits in the point budget, falling back to daily rollups
+     * for very long ranges. {@link Decimation#LTTB} and {@link Decimation#ROLLUP} force one of the two methods.
+     * <p>
+     * The readings are read twice by LTTB, so the transaction uses a consistent snapshot.
+     *
+     * @param temperatureId the id of the sensor.
+     * @param from the start of the time range.
+     * @param to the end (exclusive) of the time range.
+     * @param maxPoints the point budget.
+     * @param decimation how to reduce the number of points.
+     * @return the series.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SeriesDTO getSeries(Long temperatureId, Instant from, Instant to, int maxPoints, Decimation decimation) {
+        log.debug("Request to get the series of Temperature {} from {} to {} with {}", temperatureId, from, to, decimation);
+        LocalDateTime start = LocalDateTime.ofInstant(from, ZoneOffset.UTC);
+        LocalDateTime end = LocalDateTime.ofInstant(to, ZoneOffset.UTC);
+        RollupResolution resolution = selectResolution(Duration.between(from, to), maxPoints);
+        boolean readRaw = decimation == Decimation.LTTB || (decimation == Decimation.AUTO && resolution == RollupResolution.MINUTE);
+        if (readRaw) {
+            long count = valuesRollupRepository.countReadings(temperatureId, start, end);
+            if (count <= maxPoints) {
+                List<SeriesPointDTO> points = new ArrayList<>((int) count);
+                valuesRollupRepository.forEachReading(
+                    temperatureId,
+                    start,
+                    end,
+                    (id, value, timestamp) -> points.add(SeriesPointDTO.reading(timestamp.toInstant(ZoneOffset.UTC), value))
+                );
+                return new SeriesDTO(temperatureId, from, to, SeriesDTO.RAW, points);
+            }
+            if (maxPoints >= 3) {
+                return new SeriesDTO(temperatureId, from, to, SeriesDTO.LTTB, downsample(temperatureId, start, end, count, maxPoints));
+            }
+        }
+        List<SeriesPointDTO> points = valuesRollupRepository
+            .findAllByTemperature(temperatureId, resolution, resolution.bucketStart(start), end)
+            .stream()
+            .map(ValuesSeriesService::toPoint)
+            .collect(Collectors.toList());
+        return new SeriesDTO(temperatureId, from, to, resolution.name(), points);
+    }
+
+    /**
+     * Downsample the readings with LTTB in two streaming passes, without holding the readings in memory.
+     */
+    private List<SeriesPointDTO> downsample(Long temperatureId, LocalDateTime start, LocalDateTime end, long count, int maxPoints) {
+        LttbDownsampler downsampler = new LttbDownsampler(count, maxPoints);
+        valuesRollupRepository.forEachReading(
+            temperatureId,
+            start,
+            end,
+            (id, value, timestamp) -> downsampler.accumulate(timestamp.toInstant(ZoneOffset.UTC).toEpochMilli(), value)
+        );
+        valuesRollupRepository.forEachReading(
+            temperatureId,
+            start,
+            end,
+            (id, value, timestamp) -> downsampler.select(timestamp.toInstant(ZoneOffset.UTC).toEpochMilli(), value)
+        );
+        int size = downsampler.finish();
+        List<SeriesPointDTO> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(SeriesPointDTO.reading(Instant.ofEpochMilli(downsampler.getX(i)), downsampler.getY(i)));
+        }
+        return points;
+    }
+
+    /**
+     * @return the finest resolution having at most {@code maxPoints} buckets in the given range, or the coarsest one.
+     */
+    static RollupResolution selectResolution(Duration range, int maxPoints) {
+        for (RollupResolution resolution : RollupResolution.values()) {
+            Duration bucket = resolution.getDuration();
+            long buckets = (range.toMillis() + bucket.toMillis() - 1) / bucket.toMillis();
+            if (buckets <= maxPoints) {
+                return resolution;
+            }
+        }
+        return RollupResolution.DAY;
+    }
+
+    private static SeriesPointDTO toPoint(ValuesRollup rollup) {
+        return new SeriesPointDTO(
+            rollup.getBucketStart().toInstant(ZoneOffset.UTC),
+            rollup.getMin(),
+            rollup.getMax(),
+            rollup.getAvg(),
+            rollup.getCount(),
+            rollup.getLast()
+        );
+    }
+}
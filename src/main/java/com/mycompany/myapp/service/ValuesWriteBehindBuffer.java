@@ -0,0 +1,298 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.dto.ValuesIngestionResultDTO;
+import com.mycompany.myapp.service.dto.ValuesReadingDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Write-behind buffer in front of {@link ValuesIngestionService}.
+ * <p>
+ * Uploads are acknowledged as soon as their readings are in this buffer, which is held in memory only: readings
+ * that are acknowledged but not stored yet are lost if the application crashes or is killed. A dedicated writer
+ * thread drains the buffer and stores the readings in group commits, either when {@code flush-size} readings are
+ * waiting or when the oldest one has waited {@code flush-interval-ms}. The buffer is bounded: an upload that does not
+ * fit is rejected as a whole with an {@link IngestionBufferFullException}, so that callers can apply backpressure.
+ * Its capacity must hold the largest upload, {@code application.ingestion.max-readings-per-request}, which is checked
+ * at startup.
+ * <p>
+ * A group commit mixes the readings of several uploads. One failing on a transient database error is retried up to
+ * {@code max-retries} times, waiting {@code retry-backoff-ms} and then twice as long before each new attempt. Uploads
+ * keep filling the buffer meanwhile, until it rejects them. Readings are only dropped once the retries are
+ * exhausted. One failing on any other error is split in two halves stored separately, down to single readings, so
+ * that a reading the database refuses is the only one dropped.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.ingestion.write-behind", name = "enabled", havingValue = "true")
+public class ValuesWriteBehindBuffer {
+    private static final long SHUTDOWN_TIMEOUT_MS = 30000;
+
+    /**
+     * Queued by {@link #stop()} to wake up the writer.
+     */
+    private static final ValuesReadingDTO STOP_SIGNAL = new ValuesReadingDTO();
+
+    private final Logger log = LoggerFactory.getLogger(ValuesWriteBehindBuffer.class);
+
+    private final ValuesIngestionService valuesIngestionService;
+
+    private final BlockingQueue<ValuesReadingDTO> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * One permit per free slot: taken by uploads, released once the readings are flushed.
+     */
+    private final Semaphore freeSlots;
+
+    private final int capacity;
+
+    private final int flushSize;
+
+    private final long flushIntervalNanos;
+
+    private final int maxRetries;
+
+    private final long retryBackoffMs;
+
+    private final Timer flushTimer;
+
+    private final Counter retries;
+
+    private final Counter splits;
+
+    private final Counter droppedFull;
+
+    private final Counter droppedInvalid;
+
+    private final Counter droppedError;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public ValuesWriteBehindBuffer(
+        ValuesIngestionService valuesIngestionService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.Ingestion.WriteBehind properties = applicationProperties.getIngestion().getWriteBehind();
+        int maxReadingsPerRequest = applicationProperties.getIngestion().getMaxReadingsPerRequest();
+        if (properties.getCapacity() < maxReadingsPerRequest) {
+            throw new IllegalArgumentException(
+                "The write-behind capacity (" +
+                properties.getCapacity() +
+                ") cannot be lower than the largest upload (" +
+                maxReadingsPerRequest +
+                " readings)"
+            );
+        }
+        this.valuesIngestionService = valuesIngestionService;
+        this.capacity = properties.getCapacity();
+        this.freeSlots = new Semaphore(capacity);
+        this.flushSize = Math.max(1, properties.getFlushSize());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getFlushIntervalMs()));
+        this.maxRetries = Math.max(0, properties.getMaxRetries());
+        this.retryBackoffMs = Math.max(1, properties.getRetryBackoffMs());
+
+        Gauge.builder("values.write_behind.queue.depth", this, ValuesWriteBehindBuffer::getQueueDepth)
+            .description("Number of accepted readings not stored yet")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("values.write_behind.flush")
+            .description("Time spent storing a group of readings")
+            .register(meterRegistry);
+        this.retries = Counter.builder("values.write_behind.retries")
+            .description("Number of flushes retried after a transient database error")
+            .register(meterRegistry);
+        this.splits = Counter.builder("values.write_behind.splits")
+            .description("Number of flushes stored again in two halves after an error which is not transient")
+            .register(meterRegistry);
+        this.droppedFull = droppedCounter(meterRegistry, "full");
+        this.droppedInvalid = droppedCounter(meterRegistry, "invalid");
+        this.droppedError = droppedCounter(meterRegistry, "error");
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("values.write_behind.dropped")
+            .description("Number of readings that were not stored")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "values-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop accepting readings and store the ones already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        queue.add(STOP_SIGNAL);
+        if (writer != null) {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Write-behind buffer stopped with {} acknowledged readings not stored, they are lost", queue.size());
+        }
+    }
+
+    /**
+     * Hold readings in memory until the writer thread stores them.
+     *
+     * @param readings the readings to queue, at most {@code max-readings-per-request}.
+     * @throws IngestionBufferFullException if the buffer cannot take all the readings.
+     */
+    public void enqueue(List<ValuesReadingDTO> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        if (!running || !freeSlots.tryAcquire(readings.size())) {
+            droppedFull.increment(readings.size());
+            throw new IngestionBufferFullException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(flushIntervalNanos)));
+        }
+        queue.addAll(readings);
+    }
+
+    /**
+     * @return the number of accepted readings that are not stored yet, including the batch being flushed.
+     */
+    public int getQueueDepth() {
+        return capacity - freeSlots.availablePermits();
+    }
+
+    private void drain() {
+        List<ValuesReadingDTO> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                queue.drainTo(batch, flushSize - batch.size());
+                batch.remove(STOP_SIGNAL);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    /**
+     * Wait for the first reading, then keep collecting until the batch is full or the flush interval has elapsed.
+     */
+    private void collect(List<ValuesReadingDTO> batch) throws InterruptedException {
+        ValuesReadingDTO first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null || first == STOP_SIGNAL) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.remove(STOP_SIGNAL) || batch.size() >= flushSize || remaining <= 0) {
+                return;
+            }
+            ValuesReadingDTO next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null || next == STOP_SIGNAL) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<ValuesReadingDTO> batch) {
+        try {
+            store(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while retrying to store {} buffered readings", batch.size());
+            droppedError.increment(batch.size());
+        } finally {
+            freeSlots.release(batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Store readings in one transaction. When that fails on an error which is not transient, like a constraint
+     * violation, the readings are stored again in two halves, so that a reading the database refuses only loses itself.
+     */
+    private void store(List<ValuesReadingDTO> readings) throws InterruptedException {
+        try {
+            long rejected = ingestWithRetries(readings)
+                .stream()
+                .filter(result -> result.getStatus() == ValuesIngestionResultDTO.Status.REJECTED)
+                .count();
+            if (rejected > 0) {
+                droppedInvalid.increment(rejected);
+            }
+        } catch (RuntimeException e) {
+            if (readings.size() == 1 || isTransient(e)) {
+                log.error("Could not store {} buffered readings", readings.size(), e);
+                droppedError.increment(readings.size());
+                return;
+            }
+            log.warn("Could not store {} buffered readings, storing them in two halves: {}", readings.size(), e.getMessage());
+            splits.increment();
+            int middle = readings.size() / 2;
+            store(readings.subList(0, middle));
+            store(readings.subList(middle, readings.size()));
+        }
+    }
+
+    private List<ValuesIngestionResultDTO> ingestWithRetries(List<ValuesReadingDTO> readings) throws InterruptedException {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 0;; attempt++) {
+            try {
+                return flushTimer.record(() -> valuesIngestionService.ingest(readings));
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries || !isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Could not store {} buffered readings, retrying in {} ms: {}", readings.size(), backoffMs, e.getMessage());
+                retries.increment();
+                Thread.sleep(backoffMs);
+                backoffMs *= 2;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the error may not happen again, like a lost connection or a deadlock.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return (
+            e instanceof TransientDataAccessException ||
+            e instanceof RecoverableDataAccessException ||
+            e instanceof DataAccessResourceFailureException ||
+            e instanceof CannotCreateTransactionException
+        );
+    }
+}
@@ -0,0 +1,128 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Application;
+import java.time.ZonedDateTime;
+
+/**
+ * A DTO representing an {@link Application} without its firmware image, which is downloaded from
+ * {@code /api/applications/{id}/data}.
+ */
+public class ApplicationMetadataDTO {
+    private Long id;
+
+    private String fileName;
+
+    private String dataContentType;
+
+    private Long dataSize;
+
+    private String dataSha256;
+
+    private String version;
+
+    private ZonedDateTime timestamp;
+
+    public ApplicationMetadataDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ApplicationMetadataDTO(
+        Long id,
+        String fileName,
+        String dataContentType,
+        Long dataSize,
+        String dataSha256,
+        String version,
+        ZonedDateTime timestamp
+    ) {
+        this.id = id;
+        this.fileName = fileName;
+        this.dataContentType = dataContentType;
+        this.dataSize = dataSize;
+        this.dataSha256 = dataSha256;
+        this.version = version;
+        this.timestamp = timestamp;
+    }
+
+    public ApplicationMetadataDTO(Application application) {
+        this(
+            application.getId(),
+            application.getFileName(),
+            application.getDataContentType(),
+            application.getDataSize(),
+            application.getDataSha256(),
+            application.getVersion(),
+            application.getTimestamp()
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getDataContentType() {
+        return dataContentType;
+    }
+
+    public void setDataContentType(String dataContentType) {
+        this.dataContentType = dataContentType;
+    }
+
+    public Long getDataSize() {
+        return dataSize;
+    }
+
+    public void setDataSize(Long dataSize) {
+        this.dataSize = dataSize;
+    }
+
+    public String getDataSha256() {
+        return dataSha256;
+    }
+
+    public void setDataSha256(String dataSha256) {
+        this.dataSha256 = dataSha256;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public ZonedDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(ZonedDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ApplicationMetadataDTO{" +
+            "id=" + id +
+            ", fileName='" + fileName + "'" +
+            ", dataContentType='" + dataContentType + "'" +
+            ", dataSize=" + dataSize +
+            ", dataSha256='" + dataSha256 + "'" +
+            ", version='" + version + "'" +
+            ", timestamp=" + timestamp +
+            "}";
+    }
+}
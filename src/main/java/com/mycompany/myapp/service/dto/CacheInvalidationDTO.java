@@ -0,0 +1,70 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A DTO representing the cache entries written by a transaction, to evict on the other instances.
+ */
+public class CacheInvalidationDTO {
+    private String source;
+
+    private Map<String, List<String>> regions = new LinkedHashMap<>();
+
+    public CacheInvalidationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CacheInvalidationDTO(String source, Map<String, List<String>> regions) {
+        this.source = source;
+        this.regions = regions;
+    }
+
+    /**
+     * @return the id of the instance which wrote the entries.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    /**
+     * @return the keys to evict, by entity name, collection role or cache name, an empty list evicting all the keys.
+     */
+    public Map<String, List<String>> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, List<String>> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * Add a key to evict, or all the keys of a region if {@code key} is {@code null}.
+     */
+    public void add(String region, String key) {
+        List<String> keys = regions.get(region);
+        if (keys != null && keys.isEmpty()) {
+            return;
+        }
+        if (key == null) {
+            regions.put(region, new ArrayList<>());
+        } else {
+            regions.computeIfAbsent(region, r -> new ArrayList<>()).add(key);
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheInvalidationDTO{" +
+            "source='" + getSource() + "'" +
+            ", regions=" + getRegions() +
+            "}";
+    }
+}
@@ -0,0 +1,130 @@
+package com.mycompany.myapp.service.dto;
+
+/**
+ * A DTO representing the content and statistics of a cache region.
+ */
+public class CacheRegionDTO {
+    private String name;
+
+    private long size;
+
+    private Long memoryUsed;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRatio;
+
+    private long puts;
+
+    private long evictions;
+
+    private long expirations;
+
+    private long removals;
+
+    public CacheRegionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    /**
+     * @return the bytes occupied by the tiers of the cache sized in memory units, {@code null} when they are all sized in entries.
+     */
+    public Long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    public void setMemoryUsed(Long memoryUsed) {
+        this.memoryUsed = memoryUsed;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public void setPuts(long puts) {
+        this.puts = puts;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    public long getRemovals() {
+        return removals;
+    }
+
+    public void setRemovals(long removals) {
+        this.removals = removals;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheRegionDTO{" +
+            "name='" + getName() + "'" +
+            ", size=" + getSize() +
+            ", memoryUsed=" + getMemoryUsed() +
+            ", hits=" + getHits() +
+            ", misses=" + getMisses() +
+            ", hitRatio=" + getHitRatio() +
+            ", puts=" + getPuts() +
+            ", evictions=" + getEvictions() +
+            ", expirations=" + getExpirations() +
+            ", removals=" + getRemovals() +
+            "}";
+    }
+}
@@ -0,0 +1,164 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.FirmwareRollout;
+import com.mycompany.myapp.domain.enumeration.RolloutStrategy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the progress of a {@link FirmwareRollout}.
+ */
+public class FirmwareRolloutStatusDTO {
+    private Long id;
+
+    private Long applicationId;
+
+    private String version;
+
+    private RolloutStrategy strategy;
+
+    private List<Long> waves = new ArrayList<>();
+
+    private int currentWave;
+
+    private int waveCount;
+
+    private LocalDateTime waveStartedDate;
+
+    private boolean completed;
+
+    private long releasedDevices;
+
+    private long updatedDevices;
+
+    public FirmwareRolloutStatusDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public FirmwareRolloutStatusDTO(FirmwareRollout rollout, long releasedDevices, long updatedDevices) {
+        this.id = rollout.getId();
+        this.applicationId = rollout.getApplicationId();
+        this.version = rollout.getVersion();
+        this.strategy = rollout.getStrategy();
+        this.waves = rollout.getWaves();
+        this.currentWave = rollout.getCurrentWave();
+        this.waveCount = rollout.getWaveCount();
+        this.waveStartedDate = rollout.getWaveStartedDate();
+        this.completed = rollout.isCompleted();
+        this.releasedDevices = releasedDevices;
+        this.updatedDevices = updatedDevices;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public RolloutStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(RolloutStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public List<Long> getWaves() {
+        return waves;
+    }
+
+    public void setWaves(List<Long> waves) {
+        this.waves = waves;
+    }
+
+    public int getCurrentWave() {
+        return currentWave;
+    }
+
+    public void setCurrentWave(int currentWave) {
+        this.currentWave = currentWave;
+    }
+
+    public int getWaveCount() {
+        return waveCount;
+    }
+
+    public void setWaveCount(int waveCount) {
+        this.waveCount = waveCount;
+    }
+
+    public LocalDateTime getWaveStartedDate() {
+        return waveStartedDate;
+    }
+
+    public void setWaveStartedDate(LocalDateTime waveStartedDate) {
+        this.waveStartedDate = waveStartedDate;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * @return the number of devices of the waves up to the current one.
+     */
+    public long getReleasedDevices() {
+        return releasedDevices;
+    }
+
+    public void setReleasedDevices(long releasedDevices) {
+        this.releasedDevices = releasedDevices;
+    }
+
+    /**
+     * @return the number of devices of the waves up to the current one which report the version of the rollout.
+     */
+    public long getUpdatedDevices() {
+        return updatedDevices;
+    }
+
+    public void setUpdatedDevices(long updatedDevices) {
+        this.updatedDevices = updatedDevices;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FirmwareRolloutStatusDTO{" +
+            "id=" + id +
+            ", applicationId=" + applicationId +
+            ", version='" + version + "'" +
+            ", strategy='" + strategy + "'" +
+            ", waves=" + waves +
+            ", currentWave=" + currentWave +
+            ", waveCount=" + waveCount +
+            ", waveStartedDate='" + waveStartedDate + "'" +
+            ", completed=" + completed +
+            ", releasedDevices=" + releasedDevices +
+            ", updatedDevices=" + updatedDevices +
+            "}";
+    }
+}
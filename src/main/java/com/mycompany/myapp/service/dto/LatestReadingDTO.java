@@ -0,0 +1,84 @@
+package com.mycompany.myapp.service.dto;
+
+import java.time.Instant;
+
+/**
+ * A DTO representing the last known reading of a {@link com.mycompany.myapp.domain.Temperature} sensor.
+ * <p>
+ * The value and timestamp are {@code null} when the sensor has no reading yet.
+ */
+public class LatestReadingDTO {
+    private Long temperatureId;
+
+    private String name;
+
+    private String address;
+
+    private Double value;
+
+    private Instant timestamp;
+
+    public LatestReadingDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public LatestReadingDTO(Long temperatureId, String name, String address, Double value, Instant timestamp) {
+        this.temperatureId = temperatureId;
+        this.name = name;
+        this.address = address;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    public Long getTemperatureId() {
+        return temperatureId;
+    }
+
+    public void setTemperatureId(Long temperatureId) {
+        this.temperatureId = temperatureId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public Double getValue() {
+        return value;
+    }
+
+    public void setValue(Double value) {
+        this.value = value;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LatestReadingDTO{" +
+            "temperatureId=" + temperatureId +
+            ", name='" + name + '\'' +
+            ", address='" + address + '\'' +
+            ", value=" + value +
+            ", timestamp=" + timestamp +
+            "}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Values;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * The position of a reading in a sensor's readings ordered by timestamp then id, used as keyset pagination cursor.
+ * <p>
+ * Clients get it as an opaque string, see {@link #toCursor()}.
+ */
+public final class ReadingPosition {
+    private static final String SEPARATOR = "|";
+
+    private final Instant timestamp;
+
+    private final long id;
+
+    public ReadingPosition(Instant timestamp, long id) {
+        this.timestamp = Objects.requireNonNull(timestamp);
+        this.id = id;
+    }
+
+    public static ReadingPosition of(Values values) {
+        return new ReadingPosition(values.getTimestamp().toInstant(), values.getId());
+    }
+
+    /**
+     * Parse a cursor created by {@link #toCursor()}.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public static ReadingPosition fromCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new ReadingPosition(Instant.parse(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String toCursor() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((timestamp + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReadingPosition)) {
+            return false;
+        }
+        ReadingPosition that = (ReadingPosition) o;
+        return id == that.id && timestamp.equals(that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, id);
+    }
+
+    @Override
+    public String toString() {
+        return "ReadingPosition{timestamp=" + timestamp + ", id=" + id + "}";
+    }
+}
@@ -0,0 +1,83 @@
+package com.mycompany.myapp.service.dto;
+
+/**
+ * A DTO representing the progress of the bulk reindex of an entity type.
+ */
+public class SearchReindexProgressDTO {
+    private String entityType;
+
+    private String state;
+
+    private long total;
+
+    private long indexed;
+
+    private Long lastId;
+
+    public SearchReindexProgressDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SearchReindexProgressDTO(String entityType, String state, long total, long indexed, Long lastId) {
+        this.entityType = entityType;
+        this.state = state;
+        this.total = total;
+        this.indexed = indexed;
+        this.lastId = lastId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public void setIndexed(long indexed) {
+        this.indexed = indexed;
+    }
+
+    /**
+     * @return the highest id below which every entity was indexed.
+     */
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchReindexProgressDTO{" +
+            "entityType='" + getEntityType() + "'" +
+            ", state='" + getState() + "'" +
+            ", total=" + getTotal() +
+            ", indexed=" + getIndexed() +
+            ", lastId=" + getLastId() +
+            "}";
+    }
+}
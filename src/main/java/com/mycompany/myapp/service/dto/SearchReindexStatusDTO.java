@@ -0,0 +1,100 @@
+package com.mycompany.myapp.service.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the status of the last bulk reindex job.
+ */
+public class SearchReindexStatusDTO {
+    private String state;
+
+    private Instant startedDate;
+
+    private Instant finishedDate;
+
+    private long indexed;
+
+    private double documentsPerSecond;
+
+    private String error;
+
+    private List<SearchReindexProgressDTO> entities = new ArrayList<>();
+
+    public SearchReindexStatusDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    /**
+     * @return the number of documents indexed by this job, not counting the ones of the runs it resumed.
+     */
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public void setIndexed(long indexed) {
+        this.indexed = indexed;
+    }
+
+    public double getDocumentsPerSecond() {
+        return documentsPerSecond;
+    }
+
+    public void setDocumentsPerSecond(double documentsPerSecond) {
+        this.documentsPerSecond = documentsPerSecond;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<SearchReindexProgressDTO> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<SearchReindexProgressDTO> entities) {
+        this.entities = entities;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchReindexStatusDTO{" +
+            "state='" + getState() + "'" +
+            ", startedDate='" + getStartedDate() + "'" +
+            ", finishedDate='" + getFinishedDate() + "'" +
+            ", indexed=" + getIndexed() +
+            ", documentsPerSecond=" + getDocumentsPerSecond() +
+            ", error='" + getError() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycompany.myapp.service.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the readings of a {@link com.mycompany.myapp.domain.Temperature} sensor over a time range.
+ * <p>
+ * The resolution is {@code RAW} when the points are the readings themselves, {@code LTTB} when they are a subset of
+ * the readings selected by downsampling, or the name of the
+ * {@link com.mycompany.myapp.domain.enumeration.RollupResolution} the points were read from.
+ */
+public class SeriesDTO {
+    public static final String RAW = "RAW";
+
+    public static final String LTTB = "LTTB";
+
+    private Long temperatureId;
+
+    private Instant from;
+
+    private Instant to;
+
+    private String resolution;
+
+    private List<SeriesPointDTO> points = new ArrayList<>();
+
+    public SeriesDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SeriesDTO(Long temperatureId, Instant from, Instant to, String resolution, List<SeriesPointDTO> points) {
+        this.temperatureId = temperatureId;
+        this.from = from;
+        this.to = to;
+        this.resolution = resolution;
+        this.points = points;
+    }
+
+    public Long getTemperatureId() {
+        return temperatureId;
+    }
+
+    public void setTemperatureId(Long temperatureId) {
+        this.temperatureId = temperatureId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public List<SeriesPointDTO> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<SeriesPointDTO> points) {
+        this.points = points;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SeriesDTO{" +
+            "temperatureId=" + temperatureId +
+            ", from=" + from +
+            ", to=" + to +
+            ", resolution='" + resolution + '\'' +
+            ", points=" + points.size() +
+            "}";
+    }
+}
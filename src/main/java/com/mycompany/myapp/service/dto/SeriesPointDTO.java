@@ -0,0 +1,99 @@
+package com.mycompany.myapp.service.dto;
+
+import java.time.Instant;
+
+/**
+ * A DTO representing a point of a temperature series: either a single reading, or the aggregate of the readings of a
+ * time bucket starting at {@code timestamp}.
+ */
+public class SeriesPointDTO {
+    private Instant timestamp;
+
+    private Double min;
+
+    private Double max;
+
+    private Double avg;
+
+    private long count;
+
+    private Double last;
+
+    public SeriesPointDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SeriesPointDTO(Instant timestamp, Double min, Double max, Double avg, long count, Double last) {
+        this.timestamp = timestamp;
+        this.min = min;
+        this.max = max;
+        this.avg = avg;
+        this.count = count;
+        this.last = last;
+    }
+
+    public static SeriesPointDTO reading(Instant timestamp, double value) {
+        return new SeriesPointDTO(timestamp, value, value, value, 1, value);
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Double getAvg() {
+        return avg;
+    }
+
+    public void setAvg(Double avg) {
+        this.avg = avg;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getLast() {
+        return last;
+    }
+
+    public void setLast(Double last) {
+        this.last = last;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SeriesPointDTO{" +
+            "timestamp=" + timestamp +
+            ", min=" + min +
+            ", max=" + max +
+            ", avg=" + avg +
+            ", count=" + count +
+            ", last=" + last +
+            "}";
+    }
+}
@@ -0,0 +1,83 @@
+package com.mycompany.myapp.service.dto;
+
+/**
+ * A DTO reporting the outcome of one reading of a bulk ingestion request.
+ */
+public class ValuesIngestionResultDTO {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String error;
+
+    public ValuesIngestionResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public static ValuesIngestionResultDTO created(int index, Long id) {
+        ValuesIngestionResultDTO result = new ValuesIngestionResultDTO();
+        result.index = index;
+        result.id = id;
+        result.status = Status.CREATED;
+        return result;
+    }
+
+    public static ValuesIngestionResultDTO rejected(int index, String error) {
+        ValuesIngestionResultDTO result = new ValuesIngestionResultDTO();
+        result.index = index;
+        result.status = Status.REJECTED;
+        result.error = error;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ValuesIngestionResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", error='" + error + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.myapp.service.dto;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A DTO representing a single sensor reading pushed by a gateway.
+ * <p>
+ * The target {@link com.mycompany.myapp.domain.Temperature} is identified either by its id or by its address.
+ */
+public class ValuesReadingDTO {
+    private Long temperatureId;
+
+    private String address;
+
+    private Double value;
+
+    private ZonedDateTime timestamp;
+
+    public ValuesReadingDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ValuesReadingDTO(Long temperatureId, String address, Double value, ZonedDateTime timestamp) {
+        this.temperatureId = temperatureId;
+        this.address = address;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    public Long getTemperatureId() {
+        return temperatureId;
+    }
+
+    public void setTemperatureId(Long temperatureId) {
+        this.temperatureId = temperatureId;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public Double getValue() {
+        return value;
+    }
+
+    public void setValue(Double value) {
+        this.value = value;
+    }
+
+    public ZonedDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(ZonedDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ValuesReadingDTO{" +
+            "temperatureId=" + temperatureId +
+            ", address='" + address + '\'' +
+            ", value=" + value +
+            ", timestamp=" + timestamp +
+            "}";
+    }
+}
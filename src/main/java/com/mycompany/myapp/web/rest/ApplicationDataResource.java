@@ -0,0 +1,235 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.domain.Application;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.ApplicationDataService;
+import com.mycompany.myapp.service.FirmwareDownloadThrottle;
+import com.mycompany.myapp.service.FirmwareRolloutService;
+import com.mycompany.myapp.service.dto.ApplicationMetadataDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller uploading and downloading the firmware image of a {@link com.mycompany.myapp.domain.Application}
+ * as raw bytes, streamed without loading it in the heap.
+ */
+@RestController
+@RequestMapping("/api")
+public class ApplicationDataResource {
+
+    private final Logger log = LoggerFactory.getLogger(ApplicationDataResource.class);
+
+    private static final String ENTITY_NAME = "application";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ApplicationDataService applicationDataService;
+
+    private final FirmwareRolloutService firmwareRolloutService;
+
+    private final FirmwareDownloadThrottle firmwareDownloadThrottle;
+
+    public ApplicationDataResource(
+        ApplicationDataService applicationDataService,
+        FirmwareRolloutService firmwareRolloutService,
+        FirmwareDownloadThrottle firmwareDownloadThrottle
+    ) {
+        this.applicationDataService = applicationDataService;
+        this.firmwareRolloutService = firmwareRolloutService;
+        this.firmwareDownloadThrottle = firmwareDownloadThrottle;
+    }
+
+    /**
+     * {@code POST  /applications/:id/data} : replace the image of the "id" application by an uploaded file.
+     *
+     * @param id the id of the application.
+     * @param file the image, as the {@code file} part of a multipart request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the application without its image,
+     * or with status {@code 400 (Bad Request)} if the file is empty, or with status {@code 404 (Not Found)}.
+     * @throws IOException if the file cannot be read.
+     */
+    @PostMapping(value = "/applications/{id}/data", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApplicationMetadataDTO> uploadApplicationData(@PathVariable Long id, @RequestParam("file") MultipartFile file)
+        throws IOException {
+        log.debug("REST request to upload the data of Application : {}, {} bytes", id, file.getSize());
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("Empty file", ENTITY_NAME, "emptyfile");
+        }
+        return ResponseUtil.wrapOrNotFound(
+            applicationDataService.upload(id, file).map(ApplicationMetadataDTO::new),
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString())
+        );
+    }
+
+    /**
+     * {@code GET  /applications/:id/data} : download the image of the "id" application.
+     * <p>
+     * The ETag is the SHA-256 of the image. A single byte range is served with status {@code 206 (Partial Content)},
+     * so that interrupted downloads can resume, unless an {@code If-Range} header does not match the ETag. Requests
+     * for several ranges get the whole image.
+     * <p>
+     * Devices identified by {@code deviceId} only get the image once their wave of the rollout of the application
+     * started. Downloads get a {@code 503 (Service Unavailable)} with a {@code Retry-After} header until then, or when
+     * the instance serves as many downloads as it can. While the rollout runs, only administrators may download the
+     * image without a {@code deviceId}.
+     *
+     * @param id the id of the application.
+     * @param deviceId the id of the device downloading the image, if it is a device.
+     * @param request the HTTP request.
+     * @param response the HTTP response the image is written to, with status {@code 200 (OK)} or
+     * {@code 206 (Partial Content)}, or with status {@code 304 (Not Modified)}, or with status
+     * {@code 416 (Requested Range Not Satisfiable)}, or with status {@code 400 (Bad Request)} if the {@code deviceId}
+     * is missing during a rollout, or with status {@code 404 (Not Found)} if the application does not exist or has no
+     * image.
+     * @throws IOException if the image cannot be copied from the database.
+     */
+    @GetMapping("/applications/{id}/data")
+    public void downloadApplicationData(
+        @PathVariable Long id,
+        @RequestParam(required = false) Long deviceId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    )
+        throws IOException {
+        log.debug("REST request to download the data of Application : {}", id);
+        if (deviceId == null && !SecurityUtils.isCurrentUserInRole(AuthoritiesConstants.ADMIN) && firmwareRolloutService.isRollingOut(id)) {
+            throw new BadRequestAlertException("The deviceId is required during a rollout", ENTITY_NAME, "deviceidrequired");
+        }
+        firmwareRolloutService.checkDownload(id, deviceId);
+        Application application = applicationDataService
+            .prepareData(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String contentType = application.getDataContentType();
+        writeFile(
+            applicationDataService.getDataFile(application),
+            "\"" + application.getDataSha256() + "\"",
+            contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            application.getFileName(),
+            request,
+            response
+        );
+    }
+
+    /**
+     * {@code GET  /applications/:id/delta} : download the delta updating a device to the image of the "id" application,
+     * from the image of the version the device reports.
+     * <p>
+     * The delta is served as the image is, its ETag being its name. When there is no delta worth sending, the client is
+     * redirected to the whole image. Downloads of deltas are staged and limited as downloads of images are.
+     *
+     * @param id the id of the application.
+     * @param deviceId the id of the device.
+     * @param request the HTTP request.
+     * @param response the HTTP response the delta is written to, or with status {@code 303 (See Other)} and the location
+     * of the image, or with status {@code 404 (Not Found)} if the application does not exist or has no image.
+     * @throws IOException if the images cannot be copied from the database or the delta cannot be built.
+     */
+    @GetMapping("/applications/{id}/delta")
+    public void downloadApplicationDelta(
+        @PathVariable Long id,
+        @RequestParam Long deviceId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    )
+        throws IOException {
+        log.debug("REST request to download the delta of Application : {} for Device : {}", id, deviceId);
+        firmwareRolloutService.checkDownload(id, deviceId);
+        Application application = applicationDataService
+            .prepareData(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        Optional<Path> delta = applicationDataService.prepareDelta(application, deviceId);
+        if (!delta.isPresent()) {
+            response.setStatus(HttpStatus.SEE_OTHER.value());
+            response.setHeader(HttpHeaders.LOCATION, "/api/applications/" + id + "/data?deviceId=" + deviceId);
+            return;
+        }
+        String fileName = delta.get().getFileName().toString();
+        writeFile(delta.get(), "\"" + fileName + "\"", MediaType.APPLICATION_OCTET_STREAM_VALUE, fileName, request, response);
+    }
+
+    /**
+     * Write a file, or the single byte range requested if the {@code If-Range} header matches its ETag.
+     *
+     * @throws com.mycompany.myapp.service.FirmwareDownloadDeferredException if the instance serves as many downloads as
+     * it can.
+     */
+    private void writeFile(
+        Path file,
+        String etag,
+        String contentType,
+        String fileName,
+        HttpServletRequest request,
+        HttpServletResponse response
+    )
+        throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long size = Files.size(file);
+        try (FirmwareDownloadThrottle.Download download = firmwareDownloadThrottle.start()) {
+            long start = 0;
+            long end = size - 1;
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (ifRange == null || ifRange.equals(etag)) {
+                try {
+                    List<HttpRange> ranges = HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+                    if (ranges.size() == 1) {
+                        start = ranges.get(0).getRangeStart(size);
+                        end = ranges.get(0).getRangeEnd(size);
+                        if (start > end) {
+                            throw new IllegalArgumentException("Range starting after the end of the file: " + start);
+                        }
+                        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                    }
+                } catch (IllegalArgumentException e) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+            }
+
+            response.setContentType(contentType);
+            response.setContentLengthLong(end - start + 1);
+            if (fileName != null) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                    .filename(fileName).build().toString());
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                StreamUtils.copyRange(in, download.throttle(response.getOutputStream()), start, end);
+            } catch (IOException e) {
+                // The client went away, it can resume from the bytes it received
+                log.debug("Download of {} interrupted: {}", file.getFileName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -3,25 +3,30 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Application;
 import com.mycompany.myapp.repository.ApplicationRepository;
 import com.mycompany.myapp.repository.search.ApplicationSearchRepository;
+import com.mycompany.myapp.service.ApplicationDataService;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
+import com.mycompany.myapp.service.dto.ApplicationMetadataDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Application}.
@@ -42,9 +47,15 @@ public class ApplicationResource {
 
     private final ApplicationSearchRepository applicationSearchRepository;
 
-    public ApplicationResource(ApplicationRepository applicationRepository, ApplicationSearchRepository applicationSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public ApplicationResource(ApplicationRepository applicationRepository, ApplicationSearchRepository applicationSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.applicationRepository = applicationRepository;
         this.applicationSearchRepository = applicationSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -60,8 +71,9 @@ public class ApplicationResource {
         if (application.getId() != null) {
             throw new BadRequestAlertException("A new application cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        ApplicationDataService.digestData(application);
         Application result = applicationRepository.save(application);
-        applicationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/applications/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -82,26 +94,27 @@ public class ApplicationResource {
         if (application.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        ApplicationDataService.digestData(application);
         Application result = applicationRepository.save(application);
-        applicationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, application.getId().toString()))
             .body(result);
     }
 
     /**
-     * {@code GET  /applications} : get all the applications.
+     * {@code GET  /applications} : get all the applications, without their firmware image.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of applications in body.
      */
     @GetMapping("/applications")
-    public List<Application> getAllApplications() {
+    public List<ApplicationMetadataDTO> getAllApplications() {
         log.debug("REST request to get all Applications");
-        return applicationRepository.findAll();
+        return applicationRepository.findAllMetadata();
     }
 
     /**
-     * {@code GET  /applications/:id} : get the "id" application.
+     * {@code GET  /applications/:id} : get the "id" application, with its firmware image.
      *
      * @param id the id of the application to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the application, or with status {@code 404 (Not Found)}.
@@ -110,6 +123,8 @@ public class ApplicationResource {
     public ResponseEntity<Application> getApplication(@PathVariable Long id) {
         log.debug("REST request to get Application : {}", id);
         Optional<Application> application = applicationRepository.findById(id);
+        // The image is lazy, load it before the transaction ends
+        application.ifPresent(Application::getData);
         return ResponseUtil.wrapOrNotFound(application);
     }
 
@@ -123,22 +138,25 @@ public class ApplicationResource {
     public ResponseEntity<Void> deleteApplication(@PathVariable Long id) {
         log.debug("REST request to delete Application : {}", id);
         applicationRepository.deleteById(id);
-        applicationSearchRepository.deleteById(id);
+        searchIndexingService.delete(Application.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
     /**
      * {@code SEARCH  /_search/applications?query=:query} : search for the application corresponding
-     * to the query.
+     * to the query. The firmware images are not indexed.
      *
      * @param query the query of the application search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/applications")
-    public List<Application> searchApplications(@RequestParam String query) {
-        log.debug("REST request to search Applications for query {}", query);
-        return StreamSupport
-            .stream(applicationSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<ApplicationMetadataDTO>> searchApplications(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Applications for query {}", query);
+        Page<ApplicationMetadataDTO> page = searchService
+            .search(applicationSearchRepository, query, pageable)
+            .map(ApplicationMetadataDTO::new);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
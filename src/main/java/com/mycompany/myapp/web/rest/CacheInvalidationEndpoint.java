@@ -0,0 +1,36 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.EurekaCacheInvalidationTransport;
+import com.mycompany.myapp.service.dto.CacheInvalidationDTO;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint receiving the cache invalidations of the other instances, at {@code /management/cacheinvalidation}.
+ * <ul>
+ *     <li>{@code POST {"source": "...", "regions": {"com.mycompany.myapp.domain.DeviceConfiguration": ["1051"]}}}
+ *     evicts the listed keys, an empty list evicting the whole region.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "cacheinvalidation")
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "transport", havingValue = "eureka", matchIfMissing = true)
+public class CacheInvalidationEndpoint {
+
+    private final EurekaCacheInvalidationTransport transport;
+
+    public CacheInvalidationEndpoint(EurekaCacheInvalidationTransport transport) {
+        this.transport = transport;
+    }
+
+    @WriteOperation
+    public void receive(String source, Map<String, List<String>> regions) {
+        transport.receive(new CacheInvalidationDTO(source, regions));
+    }
+}
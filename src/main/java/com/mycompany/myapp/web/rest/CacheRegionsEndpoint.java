@@ -0,0 +1,50 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.CacheRegionService;
+import com.mycompany.myapp.service.dto.CacheRegionDTO;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint inspecting and evicting the cache regions, at {@code /management/cacheregions}.
+ * <ul>
+ *     <li>{@code GET} returns the size and statistics of all the regions.</li>
+ *     <li>{@code GET /{region}} returns the ones of a region, such as {@code Place} or
+ *     {@code com.mycompany.myapp.domain.Place.webUsers}.</li>
+ *     <li>{@code DELETE /{region}} removes all the entries of a region.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    private final CacheRegionService cacheRegionService;
+
+    public CacheRegionsEndpoint(CacheRegionService cacheRegionService) {
+        this.cacheRegionService = cacheRegionService;
+    }
+
+    @ReadOperation
+    public List<CacheRegionDTO> regions() {
+        return cacheRegionService.getRegions();
+    }
+
+    @ReadOperation
+    public CacheRegionDTO region(@Selector String region) {
+        return cacheRegionService.getRegion(region).orElse(null);
+    }
+
+    @DeleteOperation
+    public CacheRegionDTO evict(@Selector String region) {
+        return cacheRegionService
+            .evict(region)
+            .orElseThrow(() -> new InvalidEndpointRequestException("Unknown cache region " + region, "Unknown cache region"));
+    }
+}
@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.DeviceConfiguration;
 import com.mycompany.myapp.repository.DeviceConfigurationRepository;
 import com.mycompany.myapp.repository.search.DeviceConfigurationSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.DeviceConfiguration}.
@@ -42,9 +45,15 @@ public class DeviceConfigurationResource {
 
     private final DeviceConfigurationSearchRepository deviceConfigurationSearchRepository;
 
-    public DeviceConfigurationResource(DeviceConfigurationRepository deviceConfigurationRepository, DeviceConfigurationSearchRepository deviceConfigurationSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public DeviceConfigurationResource(DeviceConfigurationRepository deviceConfigurationRepository, DeviceConfigurationSearchRepository deviceConfigurationSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.deviceConfigurationRepository = deviceConfigurationRepository;
         this.deviceConfigurationSearchRepository = deviceConfigurationSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class DeviceConfigurationResource {
             throw new BadRequestAlertException("A new deviceConfiguration cannot already have an ID", ENTITY_NAME, "idexists");
         }
         DeviceConfiguration result = deviceConfigurationRepository.save(deviceConfiguration);
-        deviceConfigurationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/device-configurations/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class DeviceConfigurationResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         DeviceConfiguration result = deviceConfigurationRepository.save(deviceConfiguration);
-        deviceConfigurationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, deviceConfiguration.getId().toString()))
             .body(result);
@@ -123,7 +132,7 @@ public class DeviceConfigurationResource {
     public ResponseEntity<Void> deleteDeviceConfiguration(@PathVariable Long id) {
         log.debug("REST request to delete DeviceConfiguration : {}", id);
         deviceConfigurationRepository.deleteById(id);
-        deviceConfigurationSearchRepository.deleteById(id);
+        searchIndexingService.delete(DeviceConfiguration.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -132,13 +141,14 @@ public class DeviceConfigurationResource {
      * to the query.
      *
      * @param query the query of the deviceConfiguration search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/device-configurations")
-    public List<DeviceConfiguration> searchDeviceConfigurations(@RequestParam String query) {
-        log.debug("REST request to search DeviceConfigurations for query {}", query);
-        return StreamSupport
-            .stream(deviceConfigurationSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<DeviceConfiguration>> searchDeviceConfigurations(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of DeviceConfigurations for query {}", query);
+        Page<DeviceConfiguration> page = searchService.search(deviceConfigurationSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.DeviceProfile;
 import com.mycompany.myapp.repository.DeviceProfileRepository;
 import com.mycompany.myapp.repository.search.DeviceProfileSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.DeviceProfile}.
@@ -42,9 +45,15 @@ public class DeviceProfileResource {
 
     private final DeviceProfileSearchRepository deviceProfileSearchRepository;
 
-    public DeviceProfileResource(DeviceProfileRepository deviceProfileRepository, DeviceProfileSearchRepository deviceProfileSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public DeviceProfileResource(DeviceProfileRepository deviceProfileRepository, DeviceProfileSearchRepository deviceProfileSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.deviceProfileRepository = deviceProfileRepository;
         this.deviceProfileSearchRepository = deviceProfileSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class DeviceProfileResource {
             throw new BadRequestAlertException("A new deviceProfile cannot already have an ID", ENTITY_NAME, "idexists");
         }
         DeviceProfile result = deviceProfileRepository.save(deviceProfile);
-        deviceProfileSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/device-profiles/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class DeviceProfileResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         DeviceProfile result = deviceProfileRepository.save(deviceProfile);
-        deviceProfileSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, deviceProfile.getId().toString()))
             .body(result);
@@ -124,7 +133,7 @@ public class DeviceProfileResource {
     public ResponseEntity<Void> deleteDeviceProfile(@PathVariable Long id) {
         log.debug("REST request to delete DeviceProfile : {}", id);
         deviceProfileRepository.deleteById(id);
-        deviceProfileSearchRepository.deleteById(id);
+        searchIndexingService.delete(DeviceProfile.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -133,13 +142,14 @@ public class DeviceProfileResource {
      * to the query.
      *
      * @param query the query of the deviceProfile search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/device-profiles")
-    public List<DeviceProfile> searchDeviceProfiles(@RequestParam String query) {
-        log.debug("REST request to search DeviceProfiles for query {}", query);
-        return StreamSupport
-            .stream(deviceProfileSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<DeviceProfile>> searchDeviceProfiles(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of DeviceProfiles for query {}", query);
+        Page<DeviceProfile> page = searchService.search(deviceProfileSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Device;
 import com.mycompany.myapp.repository.DeviceRepository;
 import com.mycompany.myapp.repository.search.DeviceSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Device}.
@@ -42,9 +45,15 @@ public class DeviceResource {
 
     private final DeviceSearchRepository deviceSearchRepository;
 
-    public DeviceResource(DeviceRepository deviceRepository, DeviceSearchRepository deviceSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public DeviceResource(DeviceRepository deviceRepository, DeviceSearchRepository deviceSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.deviceRepository = deviceRepository;
         this.deviceSearchRepository = deviceSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class DeviceResource {
             throw new BadRequestAlertException("A new device cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Device result = deviceRepository.save(device);
-        deviceSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/devices/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class DeviceResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Device result = deviceRepository.save(device);
-        deviceSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, device.getId().toString()))
             .body(result);
@@ -123,7 +132,7 @@ public class DeviceResource {
     public ResponseEntity<Void> deleteDevice(@PathVariable Long id) {
         log.debug("REST request to delete Device : {}", id);
         deviceRepository.deleteById(id);
-        deviceSearchRepository.deleteById(id);
+        searchIndexingService.delete(Device.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -132,13 +141,14 @@ public class DeviceResource {
      * to the query.
      *
      * @param query the query of the device search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/devices")
-    public List<Device> searchDevices(@RequestParam String query) {
-        log.debug("REST request to search Devices for query {}", query);
-        return StreamSupport
-            .stream(deviceSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<Device>> searchDevices(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Devices for query {}", query);
+        Page<Device> page = searchService.search(deviceSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
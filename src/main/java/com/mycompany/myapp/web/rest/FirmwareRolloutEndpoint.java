@@ -0,0 +1,65 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.domain.enumeration.RolloutStrategy;
+import com.mycompany.myapp.service.FirmwareRolloutService;
+import com.mycompany.myapp.service.dto.FirmwareRolloutStatusDTO;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint managing the staged rollouts of the firmware images, at {@code /management/firmwarerollout}.
+ * <ul>
+ *     <li>{@code GET} returns the progress of the last rollout.</li>
+ *     <li>{@code POST {"applicationId": 1, "strategy": "PERCENTAGE", "waves": [1, 10, 50]}} starts the rollout of
+ *     the image of an application, by waves of device profile ids with the {@code PROFILE} strategy.</li>
+ *     <li>{@code DELETE} completes the running rollout, all the devices may download the image.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "firmwarerollout")
+public class FirmwareRolloutEndpoint {
+
+    private final FirmwareRolloutService firmwareRolloutService;
+
+    public FirmwareRolloutEndpoint(FirmwareRolloutService firmwareRolloutService) {
+        this.firmwareRolloutService = firmwareRolloutService;
+    }
+
+    @ReadOperation
+    public FirmwareRolloutStatusDTO status() {
+        return firmwareRolloutService.getStatus().orElse(null);
+    }
+
+    /**
+     * Start a rollout, completing the running one.
+     *
+     * @param applicationId the id of the application whose image is rolled out.
+     * @param strategy how the devices are assigned to the waves.
+     * @param waves the device profile ids or the percentages of the devices of the waves.
+     * @return the progress of the rollout.
+     */
+    @WriteOperation
+    public FirmwareRolloutStatusDTO start(Long applicationId, RolloutStrategy strategy, List<Number> waves) {
+        try {
+            // JSON numbers are not converted to the type of the elements of the list
+            firmwareRolloutService.start(applicationId, strategy, waves.stream().map(Number::longValue).collect(Collectors.toList()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return status();
+    }
+
+    @DeleteOperation
+    public FirmwareRolloutStatusDTO cancel() {
+        firmwareRolloutService.cancel();
+        return status();
+    }
+}
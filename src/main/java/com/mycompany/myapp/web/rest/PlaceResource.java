@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Place;
 import com.mycompany.myapp.repository.PlaceRepository;
 import com.mycompany.myapp.repository.search.PlaceSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Place}.
@@ -42,9 +45,15 @@ public class PlaceResource {
 
     private final PlaceSearchRepository placeSearchRepository;
 
-    public PlaceResource(PlaceRepository placeRepository, PlaceSearchRepository placeSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public PlaceResource(PlaceRepository placeRepository, PlaceSearchRepository placeSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.placeRepository = placeRepository;
         this.placeSearchRepository = placeSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class PlaceResource {
             throw new BadRequestAlertException("A new place cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Place result = placeRepository.save(place);
-        placeSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/places/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class PlaceResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Place result = placeRepository.save(place);
-        placeSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, place.getId().toString()))
             .body(result);
@@ -124,7 +133,7 @@ public class PlaceResource {
     public ResponseEntity<Void> deletePlace(@PathVariable Long id) {
         log.debug("REST request to delete Place : {}", id);
         placeRepository.deleteById(id);
-        placeSearchRepository.deleteById(id);
+        searchIndexingService.delete(Place.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -133,13 +142,14 @@ public class PlaceResource {
      * to the query.
      *
      * @param query the query of the place search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/places")
-    public List<Place> searchPlaces(@RequestParam String query) {
-        log.debug("REST request to search Places for query {}", query);
-        return StreamSupport
-            .stream(placeSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<Place>> searchPlaces(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Places for query {}", query);
+        Page<Place> page = searchService.search(placeSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
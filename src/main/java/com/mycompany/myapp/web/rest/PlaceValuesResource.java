@@ -0,0 +1,131 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.repository.PlaceRepository;
+import com.mycompany.myapp.service.LatestReadingService;
+import com.mycompany.myapp.service.ValuesExportService;
+import com.mycompany.myapp.service.dto.LatestReadingDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ContentEncodingUtil;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for reading the {@link com.mycompany.myapp.domain.Values} of the temperature sensors of a
+ * {@link com.mycompany.myapp.domain.Place}.
+ */
+@RestController
+@RequestMapping("/api")
+public class PlaceValuesResource {
+
+    private final Logger log = LoggerFactory.getLogger(PlaceValuesResource.class);
+
+    private static final String ENTITY_NAME = "place";
+
+    private final PlaceRepository placeRepository;
+
+    private final ValuesExportService valuesExportService;
+
+    private final LatestReadingService latestReadingService;
+
+    public PlaceValuesResource(PlaceRepository placeRepository, ValuesExportService valuesExportService,
+                               LatestReadingService latestReadingService) {
+        this.placeRepository = placeRepository;
+        this.valuesExportService = valuesExportService;
+        this.latestReadingService = latestReadingService;
+    }
+
+    /**
+     * {@code GET  /places/:id/temperatures/latest} : get the last known reading of every temperature sensor of the
+     * "id" place.
+     *
+     * @param id the id of the place.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the readings in body, or with status
+     * {@code 404 (Not Found)}.
+     */
+    @GetMapping("/places/{id}/temperatures/latest")
+    public ResponseEntity<List<LatestReadingDTO>> getPlaceLatestReadings(@PathVariable Long id) {
+        log.debug("REST request to get the latest readings of Place : {}", id);
+        if (!placeRepository.existsById(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        return ResponseEntity.ok(latestReadingService.findLatestReadingsOfPlace(id));
+    }
+
+    /**
+     * {@code GET  /places/:id/values/export} : export the readings of the temperature sensors of the "id" place.
+     * <p>
+     * Readings are streamed to the response as they are read from the database, gzip compressed if the client accepts
+     * it. The export stops as soon as the client disconnects.
+     *
+     * @param id the id of the place.
+     * @param from the start of the time range.
+     * @param to the end (exclusive) of the time range.
+     * @param format the format of the export, {@code ndjson} (default) or {@code csv}.
+     * @param request the HTTP request.
+     * @param response the HTTP response the readings are written to, with status {@code 200 (OK)}, with status
+     * {@code 400 (Bad Request)} if a parameter is invalid, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/places/{id}/values/export")
+    public void exportPlaceValues(@PathVariable Long id, @RequestParam Instant from, @RequestParam Instant to,
+                                  @RequestParam(defaultValue = "ndjson") String format,
+                                  HttpServletRequest request, HttpServletResponse response) {
+        log.debug("REST request to export the Values of Place : {}", id);
+        ValuesExportService.Format exportFormat;
+        try {
+            exportFormat = ValuesExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown export format " + format, ENTITY_NAME, "invalidformat");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("The start of the range must be before its end", ENTITY_NAME, "invalidrange");
+        }
+        if (!placeRepository.existsById(id)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        boolean gzip = ContentEncodingUtil.acceptsGzip(request);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+            .filename("place-" + id + "-values." + exportFormat.getExtension()).build().toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        long start = System.nanoTime();
+        try {
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                out = new GZIPOutputStream(out, 8192);
+            }
+            long count = valuesExportService.exportPlace(id, from, to, exportFormat, out);
+            if (out instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) out).finish();
+            }
+            out.flush();
+            log.debug("Exported {} Values of Place {} in {} ms", count, id, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            // The client went away, the database cursor has already been closed
+            log.info("Export of the Values of Place {} cancelled after {} ms: {}", id, (System.nanoTime() - start) / 1_000_000,
+                e.getMessage());
+        }
+    }
+}
@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.PushNotificationToken;
 import com.mycompany.myapp.repository.PushNotificationTokenRepository;
 import com.mycompany.myapp.repository.search.PushNotificationTokenSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.PushNotificationToken}.
@@ -42,9 +45,15 @@ public class PushNotificationTokenResource {
 
     private final PushNotificationTokenSearchRepository pushNotificationTokenSearchRepository;
 
-    public PushNotificationTokenResource(PushNotificationTokenRepository pushNotificationTokenRepository, PushNotificationTokenSearchRepository pushNotificationTokenSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public PushNotificationTokenResource(PushNotificationTokenRepository pushNotificationTokenRepository, PushNotificationTokenSearchRepository pushNotificationTokenSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.pushNotificationTokenRepository = pushNotificationTokenRepository;
         this.pushNotificationTokenSearchRepository = pushNotificationTokenSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class PushNotificationTokenResource {
             throw new BadRequestAlertException("A new pushNotificationToken cannot already have an ID", ENTITY_NAME, "idexists");
         }
         PushNotificationToken result = pushNotificationTokenRepository.save(pushNotificationToken);
-        pushNotificationTokenSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/push-notification-tokens/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class PushNotificationTokenResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         PushNotificationToken result = pushNotificationTokenRepository.save(pushNotificationToken);
-        pushNotificationTokenSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, pushNotificationToken.getId().toString()))
             .body(result);
@@ -123,7 +132,7 @@ public class PushNotificationTokenResource {
     public ResponseEntity<Void> deletePushNotificationToken(@PathVariable Long id) {
         log.debug("REST request to delete PushNotificationToken : {}", id);
         pushNotificationTokenRepository.deleteById(id);
-        pushNotificationTokenSearchRepository.deleteById(id);
+        searchIndexingService.delete(PushNotificationToken.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -132,13 +141,14 @@ public class PushNotificationTokenResource {
      * to the query.
      *
      * @param query the query of the pushNotificationToken search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/push-notification-tokens")
-    public List<PushNotificationToken> searchPushNotificationTokens(@RequestParam String query) {
-        log.debug("REST request to search PushNotificationTokens for query {}", query);
-        return StreamSupport
-            .stream(pushNotificationTokenSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<PushNotificationToken>> searchPushNotificationTokens(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of PushNotificationTokens for query {}", query);
+        Page<PushNotificationToken> page = searchService.search(pushNotificationTokenSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Role;
 import com.mycompany.myapp.repository.RoleRepository;
 import com.mycompany.myapp.repository.search.RoleSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Role}.
@@ -42,9 +45,15 @@ public class RoleResource {
 
     private final RoleSearchRepository roleSearchRepository;
 
-    public RoleResource(RoleRepository roleRepository, RoleSearchRepository roleSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public RoleResource(RoleRepository roleRepository, RoleSearchRepository roleSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.roleRepository = roleRepository;
         this.roleSearchRepository = roleSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class RoleResource {
             throw new BadRequestAlertException("A new role cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Role result = roleRepository.save(role);
-        roleSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/roles/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class RoleResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Role result = roleRepository.save(role);
-        roleSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, role.getId().toString()))
             .body(result);
@@ -124,7 +133,7 @@ public class RoleResource {
     public ResponseEntity<Void> deleteRole(@PathVariable Long id) {
         log.debug("REST request to delete Role : {}", id);
         roleRepository.deleteById(id);
-        roleSearchRepository.deleteById(id);
+        searchIndexingService.delete(Role.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -133,13 +142,14 @@ public class RoleResource {
      * to the query.
      *
      * @param query the query of the role search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/roles")
-    public List<Role> searchRoles(@RequestParam String query) {
-        log.debug("REST request to search Roles for query {}", query);
-        return StreamSupport
-            .stream(roleSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<Role>> searchRoles(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Roles for query {}", query);
+        Page<Role> page = searchService.search(roleSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
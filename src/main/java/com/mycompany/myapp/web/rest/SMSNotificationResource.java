@@ -3,25 +3,31 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.SMSNotification;
 import com.mycompany.myapp.repository.SMSNotificationRepository;
 import com.mycompany.myapp.repository.search.SMSNotificationSearchRepository;
+import com.mycompany.myapp.service.SMSCoalescingService;
+import com.mycompany.myapp.service.SMSScheduleService;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.SMSNotification}.
@@ -42,16 +48,31 @@ public class SMSNotificationResource {
 
     private final SMSNotificationSearchRepository sMSNotificationSearchRepository;
 
-    public SMSNotificationResource(SMSNotificationRepository sMSNotificationRepository, SMSNotificationSearchRepository sMSNotificationSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    private final ObjectProvider<SMSScheduleService> smsScheduleService;
+
+    private final ObjectProvider<SMSCoalescingService> smsCoalescingService;
+
+    public SMSNotificationResource(SMSNotificationRepository sMSNotificationRepository, SMSNotificationSearchRepository sMSNotificationSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService,
+                                   ObjectProvider<SMSScheduleService> smsScheduleService, ObjectProvider<SMSCoalescingService> smsCoalescingService) {
         this.sMSNotificationRepository = sMSNotificationRepository;
         this.sMSNotificationSearchRepository = sMSNotificationSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
+        this.smsScheduleService = smsScheduleService;
+        this.smsCoalescingService = smsCoalescingService;
     }
 
     /**
      * {@code POST  /sms-notifications} : Create a new sMSNotification.
+     * <p>
+     * Duplicates of a recent alert of the same device are merged into a single notification by the {@link SMSCoalescingService}.
      *
      * @param sMSNotification the sMSNotification to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new sMSNotification, or with status {@code 400 (Bad Request)} if the sMSNotification has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new sMSNotification, or with status {@code 202 (Accepted)} if it was merged into a previous one, or with status {@code 400 (Bad Request)} if the sMSNotification has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/sms-notifications")
@@ -60,8 +81,15 @@ public class SMSNotificationResource {
         if (sMSNotification.getId() != null) {
             throw new BadRequestAlertException("A new sMSNotification cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        SMSCoalescingService coalescingService = smsCoalescingService.getIfAvailable();
+        if (coalescingService != null && !coalescingService.admit(sMSNotification)) {
+            return ResponseEntity.accepted()
+                .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".coalesced", sMSNotification.getUuidDevice()))
+                .build();
+        }
         SMSNotification result = sMSNotificationRepository.save(sMSNotification);
-        sMSNotificationSearchRepository.save(result);
+        searchIndexingService.index(result);
+        smsScheduleService.ifAvailable(service -> service.schedule(result));
         return ResponseEntity.created(new URI("/api/sms-notifications/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +111,8 @@ public class SMSNotificationResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         SMSNotification result = sMSNotificationRepository.save(sMSNotification);
-        sMSNotificationSearchRepository.save(result);
+        searchIndexingService.index(result);
+        smsScheduleService.ifAvailable(service -> service.schedule(result));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, sMSNotification.getId().toString()))
             .body(result);
@@ -123,7 +152,7 @@ public class SMSNotificationResource {
     public ResponseEntity<Void> deleteSMSNotification(@PathVariable Long id) {
         log.debug("REST request to delete SMSNotification : {}", id);
         sMSNotificationRepository.deleteById(id);
-        sMSNotificationSearchRepository.deleteById(id);
+        searchIndexingService.delete(SMSNotification.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -132,13 +161,14 @@ public class SMSNotificationResource {
      * to the query.
      *
      * @param query the query of the sMSNotification search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/sms-notifications")
-    public List<SMSNotification> searchSMSNotifications(@RequestParam String query) {
-        log.debug("REST request to search SMSNotifications for query {}", query);
-        return StreamSupport
-            .stream(sMSNotificationSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<SMSNotification>> searchSMSNotifications(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of SMSNotifications for query {}", query);
+        Page<SMSNotification> page = searchService.search(sMSNotificationSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
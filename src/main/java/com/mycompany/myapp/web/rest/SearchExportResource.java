@@ -0,0 +1,94 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ContentEncodingUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller exporting all the hits of a search, past the result window of the paged search endpoints.
+ */
+@RestController
+@RequestMapping("/api")
+public class SearchExportResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchExportResource.class);
+
+    private static final String ENTITY_NAME = "search";
+
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public SearchExportResource(SearchIndexingService searchIndexingService, SearchService searchService) {
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
+    }
+
+    /**
+     * {@code GET  /_search/export?entity=:entity&query=:query} : export the entities corresponding to the query.
+     * <p>
+     * Hits are read with a scroll and streamed to the response as newline delimited JSON, gzip compressed if the client
+     * accepts it. Users are not exported, they can only be searched through {@code /_search/users}. As it reads whole
+     * indices, the export is restricted to administrators.
+     *
+     * @param entity the entity type, for instance {@code Values}.
+     * @param query the query of the search.
+     * @param request the HTTP request.
+     * @param response the HTTP response the entities are written to, with status {@code 200 (OK)}, or with status
+     * {@code 400 (Bad Request)} if the entity type is unknown.
+     */
+    @GetMapping("/_search/export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public void exportSearch(@RequestParam String entity, @RequestParam String query,
+                             HttpServletRequest request, HttpServletResponse response) {
+        log.debug("REST request to export {} for query {}", entity, query);
+        Class<?> entityClass = searchIndexingService.getIndexedEntities().get(entity);
+        if (entityClass == null || entityClass == User.class) {
+            throw new BadRequestAlertException("Unknown entity type " + entity, ENTITY_NAME, "unknownentity");
+        }
+
+        boolean gzip = ContentEncodingUtil.acceptsGzip(request);
+        response.setContentType(Constants.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+            .filename(entity.toLowerCase(Locale.ROOT) + "-search.ndjson").build().toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        long start = System.nanoTime();
+        try {
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                out = new GZIPOutputStream(out, 8192);
+            }
+            long count = searchService.export(entityClass, query, out);
+            if (out instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) out).finish();
+            }
+            out.flush();
+            log.debug("Exported {} {} in {} ms", count, entity, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            // The client went away, the scroll has already been cleared
+            log.info("Export of {} cancelled after {} ms: {}", entity, (System.nanoTime() - start) / 1_000_000, e.getMessage());
+        }
+    }
+}
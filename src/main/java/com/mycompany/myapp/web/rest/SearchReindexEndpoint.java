@@ -0,0 +1,62 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.SearchReindexService;
+import com.mycompany.myapp.service.dto.SearchReindexStatusDTO;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint managing the bulk reindex of the Elasticsearch indices, at {@code /management/searchreindex}.
+ * <ul>
+ *     <li>{@code GET} returns the progress of the last job.</li>
+ *     <li>{@code POST {"entities": ["Temperature", "Values"], "restart": false}} starts a job, both fields are optional:
+ *     all the indexed entities are reindexed by default, resuming from the last checkpoints.</li>
+ *     <li>{@code DELETE} cancels the running job, which can be resumed later.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "searchreindex")
+public class SearchReindexEndpoint {
+
+    private final SearchReindexService searchReindexService;
+
+    public SearchReindexEndpoint(SearchReindexService searchReindexService) {
+        this.searchReindexService = searchReindexService;
+    }
+
+    @ReadOperation
+    public SearchReindexStatusDTO status() {
+        return searchReindexService.getStatus();
+    }
+
+    /**
+     * Start a reindex job. When a job is already running, its status is returned and no job is started.
+     *
+     * @param entities the simple names of the entity classes to reindex, all the indexed entities by default.
+     * @param restart whether to ignore the checkpoints of the previous jobs.
+     * @return the status of the job.
+     */
+    @WriteOperation
+    public SearchReindexStatusDTO start(@Nullable List<String> entities, @Nullable Boolean restart) {
+        try {
+            searchReindexService.start(entities, Boolean.TRUE.equals(restart));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return searchReindexService.getStatus();
+    }
+
+    @DeleteOperation
+    public SearchReindexStatusDTO cancel() {
+        searchReindexService.cancel();
+        return searchReindexService.getStatus();
+    }
+}
@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Temperature;
 import com.mycompany.myapp.repository.TemperatureRepository;
 import com.mycompany.myapp.repository.search.TemperatureSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Temperature}.
@@ -42,9 +45,15 @@ public class TemperatureResource {
 
     private final TemperatureSearchRepository temperatureSearchRepository;
 
-    public TemperatureResource(TemperatureRepository temperatureRepository, TemperatureSearchRepository temperatureSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public TemperatureResource(TemperatureRepository temperatureRepository, TemperatureSearchRepository temperatureSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.temperatureRepository = temperatureRepository;
         this.temperatureSearchRepository = temperatureSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class TemperatureResource {
             throw new BadRequestAlertException("A new temperature cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Temperature result = temperatureRepository.save(temperature);
-        temperatureSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/temperatures/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class TemperatureResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Temperature result = temperatureRepository.save(temperature);
-        temperatureSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, temperature.getId().toString()))
             .body(result);
@@ -123,7 +132,7 @@ public class TemperatureResource {
     public ResponseEntity<Void> deleteTemperature(@PathVariable Long id) {
         log.debug("REST request to delete Temperature : {}", id);
         temperatureRepository.deleteById(id);
-        temperatureSearchRepository.deleteById(id);
+        searchIndexingService.delete(Temperature.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -132,13 +141,14 @@ public class TemperatureResource {
      * to the query.
      *
      * @param query the query of the temperature search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/temperatures")
-    public List<Temperature> searchTemperatures(@RequestParam String query) {
-        log.debug("REST request to search Temperatures for query {}", query);
-        return StreamSupport
-            .stream(temperatureSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<Temperature>> searchTemperatures(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Temperatures for query {}", query);
+        Page<Temperature> page = searchService.search(temperatureSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
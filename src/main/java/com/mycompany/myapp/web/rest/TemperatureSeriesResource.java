@@ -0,0 +1,143 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.TemperatureRepository;
+import com.mycompany.myapp.service.ValuesSeriesService;
+import com.mycompany.myapp.service.dto.ReadingPosition;
+import com.mycompany.myapp.service.dto.SeriesDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * REST controller for reading the {@link com.mycompany.myapp.domain.Values} of a
+ * {@link com.mycompany.myapp.domain.Temperature} sensor as a time series.
+ */
+@RestController
+@RequestMapping("/api")
+public class TemperatureSeriesResource {
+
+    private final Logger log = LoggerFactory.getLogger(TemperatureSeriesResource.class);
+
+    private static final String ENTITY_NAME = "temperature";
+
+    private static final Instant MAX_TIMESTAMP = Instant.parse("9999-12-31T00:00:00Z");
+
+    private final TemperatureRepository temperatureRepository;
+
+    private final ValuesSeriesService valuesSeriesService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public TemperatureSeriesResource(TemperatureRepository temperatureRepository, ValuesSeriesService valuesSeriesService,
+                                     ApplicationProperties applicationProperties) {
+        this.temperatureRepository = temperatureRepository;
+        this.valuesSeriesService = valuesSeriesService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * {@code GET  /temperatures/:id/series} : get the readings of the "id" temperature over a time range.
+     * <p>
+     * Series with more readings than {@code maxPoints} are downsampled with Largest-Triangle-Three-Buckets on the server,
+     * or served from the minute, hour or day rollups for long ranges.
+     *
+     * @param id the id of the temperature.
+     * @param from the start of the time range.
+     * @param to the end (exclusive) of the time range.
+     * @param maxPoints the point budget.
+     * @param decimation how to reduce long series: {@code auto} (default), {@code lttb} to downsample the raw readings,
+     * or {@code rollup} to read the rollups.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the series, with status
+     * {@code 400 (Bad Request)} if the range or the point budget is invalid, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/temperatures/{id}/series")
+    public ResponseEntity<SeriesDTO> getTemperatureSeries(@PathVariable Long id, @RequestParam Instant from, @RequestParam Instant to,
+                                                          @RequestParam(required = false) Integer maxPoints,
+                                                          @RequestParam(defaultValue = "auto") String decimation) {
+        log.debug("REST request to get the series of Temperature : {}", id);
+        ApplicationProperties.Series properties = applicationProperties.getSeries();
+        int points = maxPoints == null ? properties.getDefaultMaxPoints() : maxPoints;
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("The start of the range must be before its end", ENTITY_NAME, "invalidrange");
+        }
+        if (points < 1 || points > properties.getMaxPointsLimit()) {
+            throw new BadRequestAlertException("maxPoints must be between 1 and " + properties.getMaxPointsLimit(), ENTITY_NAME, "invalidmaxpoints");
+        }
+        ValuesSeriesService.Decimation seriesDecimation;
+        try {
+            seriesDecimation = ValuesSeriesService.Decimation.valueOf(decimation.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown decimation " + decimation, ENTITY_NAME, "invaliddecimation");
+        }
+        if (!temperatureRepository.existsById(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        return ResponseEntity.ok(valuesSeriesService.getSeries(id, from, to, points, seriesDecimation));
+    }
+
+    /**
+     * {@code GET  /temperatures/:id/values} : get a page of the readings of the "id" temperature over a time range,
+     * ordered by timestamp.
+     * <p>
+     * Pagination uses a cursor instead of a page number: when the page is full, the {@code Link} header holds the
+     * URL of the next page, whose {@code after} parameter is the position of the last reading of this page.
+     *
+     * @param id the id of the temperature.
+     * @param from the start of the time range, unbounded by default.
+     * @param to the end (exclusive) of the time range, unbounded by default.
+     * @param limit the maximum number of readings of the page.
+     * @param after the cursor of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the readings in body, with status
+     * {@code 400 (Bad Request)} if a parameter is invalid, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/temperatures/{id}/values")
+    public ResponseEntity<List<Values>> getTemperatureValues(@PathVariable Long id, @RequestParam(required = false) Instant from,
+                                                             @RequestParam(required = false) Instant to,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String after) {
+        log.debug("REST request to get the values of Temperature : {}", id);
+        ApplicationProperties.Series properties = applicationProperties.getSeries();
+        Instant start = from == null ? Instant.EPOCH : from;
+        Instant end = to == null ? MAX_TIMESTAMP : to;
+        int pageSize = limit == null ? properties.getDefaultPageSize() : limit;
+        if (!start.isBefore(end)) {
+            throw new BadRequestAlertException("The start of the range must be before its end", ENTITY_NAME, "invalidrange");
+        }
+        if (pageSize < 1 || pageSize > properties.getMaxPageSize()) {
+            throw new BadRequestAlertException("limit must be between 1 and " + properties.getMaxPageSize(), ENTITY_NAME, "invalidlimit");
+        }
+        ReadingPosition position = null;
+        if (after != null) {
+            try {
+                position = ReadingPosition.fromCursor(after);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "invalidcursor");
+            }
+        }
+        if (!temperatureRepository.existsById(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        List<Values> page = valuesSeriesService.findReadings(id, start, end, position, pageSize);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == pageSize) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", ReadingPosition.of(page.get(page.size() - 1)).toCursor())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(page);
+    }
+}
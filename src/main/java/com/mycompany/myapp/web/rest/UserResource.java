@@ -1,13 +1,12 @@
 package com.mycompany.myapp.web.rest;
 
-import static org.elasticsearch.index.query.QueryBuilders.*;
-
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.service.MailService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.dto.UserDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
@@ -20,8 +19,6 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.Collections;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,16 +77,20 @@ public class UserResource {
 
     private final UserSearchRepository userSearchRepository;
 
+    private final SearchService searchService;
+
     public UserResource(
         UserService userService,
         UserRepository userRepository,
         MailService mailService,
-        UserSearchRepository userSearchRepository
+        UserSearchRepository userSearchRepository,
+        SearchService searchService
     ) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.mailService = mailService;
         this.userSearchRepository = userSearchRepository;
+        this.searchService = searchService;
     }
 
     /**
@@ -215,10 +216,13 @@ public class UserResource {
      * {@code SEARCH /_search/users/:query} : search for the User corresponding to the query.
      *
      * @param query the query to search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/users/{query}")
-    public List<User> search(@PathVariable String query) {
-        return StreamSupport.stream(userSearchRepository.search(queryStringQuery(query)).spliterator(), false).collect(Collectors.toList());
+    public ResponseEntity<List<User>> search(@PathVariable String query, Pageable pageable) {
+        Page<User> page = searchService.search(userSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
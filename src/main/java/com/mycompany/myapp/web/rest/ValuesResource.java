@@ -1,30 +1,44 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Values;
 import com.mycompany.myapp.repository.ValuesRepository;
-import com.mycompany.myapp.repository.search.ValuesSearchRepository;
+import com.mycompany.myapp.service.LatestReadingService;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.ValuesIngestionService;
+import com.mycompany.myapp.service.ValuesWriteBehindBuffer;
+import com.mycompany.myapp.service.dto.ValuesIngestionResultDTO;
+import com.mycompany.myapp.service.dto.ValuesReadingDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Values}.
+ * <p>
+ * Readings are not indexed, so there is no {@code /_search/values} endpoint: they are read through the rollups of
+ * {@code /api/temperatures/{id}/series}.
  */
 @RestController
 @RequestMapping("/api")
@@ -40,11 +54,29 @@ public class ValuesResource {
 
     private final ValuesRepository valuesRepository;
 
-    private final ValuesSearchRepository valuesSearchRepository;
+    private final ValuesIngestionService valuesIngestionService;
+
+    private final ObjectProvider<ValuesWriteBehindBuffer> valuesWriteBehindBuffer;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final LatestReadingService latestReadingService;
+
+    private final SearchIndexingService searchIndexingService;
 
-    public ValuesResource(ValuesRepository valuesRepository, ValuesSearchRepository valuesSearchRepository) {
+    public ValuesResource(ValuesRepository valuesRepository, ValuesIngestionService valuesIngestionService,
+                          ObjectProvider<ValuesWriteBehindBuffer> valuesWriteBehindBuffer,
+                          ApplicationProperties applicationProperties, ObjectMapper objectMapper,
+                          LatestReadingService latestReadingService, SearchIndexingService searchIndexingService) {
         this.valuesRepository = valuesRepository;
-        this.valuesSearchRepository = valuesSearchRepository;
+        this.valuesIngestionService = valuesIngestionService;
+        this.valuesWriteBehindBuffer = valuesWriteBehindBuffer;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+        this.latestReadingService = latestReadingService;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -61,12 +93,70 @@ public class ValuesResource {
             throw new BadRequestAlertException("A new values cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Values result = valuesRepository.save(values);
-        valuesSearchRepository.save(result);
+        searchIndexingService.index(result);
+        latestReadingService.update(Collections.singletonList(result));
         return ResponseEntity.created(new URI("/api/values/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /values/bulk} : Create a batch of values from sensor readings.
+     * <p>
+     * When the write-behind buffer is enabled, the response has status {@code 202 (Accepted)} without body as soon as
+     * the readings are held in memory, before they are stored: they are lost if the application crashes in between.
+     * The status is {@code 503 (Service Unavailable)} if the buffer is full.
+     *
+     * @param readings the readings to store, each one keyed by temperature id or address.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each reading,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping(value = "/values/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ValuesIngestionResultDTO>> createValuesBulk(@RequestBody List<ValuesReadingDTO> readings) {
+        log.debug("REST request to save a batch of {} Values", readings.size());
+        checkBatchSize(readings.size());
+        return ingest(readings);
+    }
+
+    /**
+     * {@code POST  /values/bulk} : Create a batch of values from sensor readings sent as NDJSON, one reading per line.
+     * <p>
+     * Like the JSON variant, readings are only held in memory when the write-behind buffer is enabled.
+     *
+     * @param body the request body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each reading,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/values/bulk", consumes = Constants.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<ValuesIngestionResultDTO>> createValuesBulkNdjson(InputStream body) throws IOException {
+        List<ValuesReadingDTO> readings = new ArrayList<>();
+        try (MappingIterator<ValuesReadingDTO> iterator = objectMapper.readerFor(ValuesReadingDTO.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                readings.add(iterator.nextValue());
+                checkBatchSize(readings.size());
+            }
+        }
+        log.debug("REST request to save a batch of {} Values", readings.size());
+        return ingest(readings);
+    }
+
+    private ResponseEntity<List<ValuesIngestionResultDTO>> ingest(List<ValuesReadingDTO> readings) {
+        ValuesWriteBehindBuffer buffer = valuesWriteBehindBuffer.getIfAvailable();
+        if (buffer != null) {
+            buffer.enqueue(readings);
+            return ResponseEntity.accepted().build();
+        }
+        return ResponseEntity.ok().body(valuesIngestionService.ingest(readings));
+    }
+
+    private void checkBatchSize(int size) {
+        int max = applicationProperties.getIngestion().getMaxReadingsPerRequest();
+        if (size > max) {
+            throw new BadRequestAlertException("A batch cannot contain more than " + max + " readings", ENTITY_NAME, "batchtoolarge");
+        }
+    }
+
     /**
      * {@code PUT  /values} : Updates an existing values.
      *
@@ -82,8 +172,10 @@ public class ValuesResource {
         if (values.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        evictLatestReading(values.getId());
         Values result = valuesRepository.save(values);
-        valuesSearchRepository.save(result);
+        searchIndexingService.index(result);
+        latestReadingService.evict(result.getTemperature() != null ? result.getTemperature().getId() : null);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, values.getId().toString()))
             .body(result);
@@ -123,23 +215,18 @@ public class ValuesResource {
     @DeleteMapping("/values/{id}")
     public ResponseEntity<Void> deleteValues(@PathVariable Long id) {
         log.debug("REST request to delete Values : {}", id);
+        evictLatestReading(id);
         valuesRepository.deleteById(id);
-        valuesSearchRepository.deleteById(id);
+        searchIndexingService.delete(Values.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
     /**
-     * {@code SEARCH  /_search/values?query=:query} : search for the values corresponding
-     * to the query.
-     *
-     * @param query the query of the values search.
-     * @return the result of the search.
+     * Forget the latest reading of the sensor of a reading that is about to change.
      */
-    @GetMapping("/_search/values")
-    public List<Values> searchValues(@RequestParam String query) {
-        log.debug("REST request to search Values for query {}", query);
-        return StreamSupport
-            .stream(valuesSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    private void evictLatestReading(Long id) {
+        valuesRepository.findById(id)
+            .map(Values::getTemperature)
+            .ifPresent(temperature -> latestReadingService.evict(temperature.getId()));
     }
 }
@@ -3,25 +3,28 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.WebUser;
 import com.mycompany.myapp.repository.WebUserRepository;
 import com.mycompany.myapp.repository.search.WebUserSearchRepository;
+import com.mycompany.myapp.service.SearchIndexingService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.WebUser}.
@@ -42,9 +45,15 @@ public class WebUserResource {
 
     private final WebUserSearchRepository webUserSearchRepository;
 
-    public WebUserResource(WebUserRepository webUserRepository, WebUserSearchRepository webUserSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final SearchService searchService;
+
+    public WebUserResource(WebUserRepository webUserRepository, WebUserSearchRepository webUserSearchRepository, SearchIndexingService searchIndexingService, SearchService searchService) {
         this.webUserRepository = webUserRepository;
         this.webUserSearchRepository = webUserSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,7 +70,7 @@ public class WebUserResource {
             throw new BadRequestAlertException("A new webUser cannot already have an ID", ENTITY_NAME, "idexists");
         }
         WebUser result = webUserRepository.save(webUser);
-        webUserSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/web-users/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +92,7 @@ public class WebUserResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         WebUser result = webUserRepository.save(webUser);
-        webUserSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, webUser.getId().toString()))
             .body(result);
@@ -124,7 +133,7 @@ public class WebUserResource {
     public ResponseEntity<Void> deleteWebUser(@PathVariable Long id) {
         log.debug("REST request to delete WebUser : {}", id);
         webUserRepository.deleteById(id);
-        webUserSearchRepository.deleteById(id);
+        searchIndexingService.delete(WebUser.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
 
@@ -133,13 +142,14 @@ public class WebUserResource {
      * to the query.
      *
      * @param query the query of the webUser search.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/web-users")
-    public List<WebUser> searchWebUsers(@RequestParam String query) {
-        log.debug("REST request to search WebUsers for query {}", query);
-        return StreamSupport
-            .stream(webUserSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-        .collect(Collectors.toList());
+    public ResponseEntity<List<WebUser>> searchWebUsers(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of WebUsers for query {}", query);
+        Page<WebUser> page = searchService.search(webUserSearchRepository, query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 }
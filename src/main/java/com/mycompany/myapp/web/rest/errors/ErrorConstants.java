@@ -5,6 +5,10 @@ import java.net.URI;
 public final class ErrorConstants {
     public static final String ERR_CONCURRENCY_FAILURE = "error.concurrencyFailure";
     public static final String ERR_VALIDATION = "error.validation";
+    public static final String ERR_INGESTION_BUFFER_FULL = "error.ingestionBufferFull";
+    public static final String ERR_SEARCH_WINDOW_EXCEEDED = "error.searchWindowExceeded";
+    public static final String ERR_SEARCH_DISABLED = "error.searchDisabled";
+    public static final String ERR_FIRMWARE_DOWNLOAD_DEFERRED = "error.firmwareDownloadDeferred";
     public static final String PROBLEM_BASE_URL = "https://www.jhipster.tech/problem";
     public static final URI DEFAULT_TYPE = URI.create(PROBLEM_BASE_URL + "/problem-with-message");
     public static final URI CONSTRAINT_VIOLATION_TYPE = URI.create(PROBLEM_BASE_URL + "/constraint-violation");
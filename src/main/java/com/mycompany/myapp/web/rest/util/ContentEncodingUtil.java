@@ -0,0 +1,62 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.util.Locale;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for negotiating the content encoding of responses.
+ */
+public final class ContentEncodingUtil {
+
+    private ContentEncodingUtil() {}
+
+    /**
+     * @return {@code true} if the {@code Accept-Encoding} header of the request accepts gzip.
+     */
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        return acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Check whether an {@code Accept-Encoding} header accepts gzip, as named or through {@code *}, with a quality value
+     * greater than 0. A coding with an invalid quality value is not accepted.
+     *
+     * @param acceptEncoding the value of the header, may be {@code null}.
+     * @return {@code true} if gzip is accepted.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if ("gzip".equals(name) || "x-gzip".equals(name)) {
+                gzipQuality = Math.max(gzipQuality != null ? gzipQuality : 0, quality(parameters));
+            } else if ("*".equals(name)) {
+                anyQuality = quality(parameters);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
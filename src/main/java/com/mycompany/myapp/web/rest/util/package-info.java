@@ -0,0 +1,4 @@
+/**
+ * Utilities shared by the Spring MVC REST controllers.
+ */
+package com.mycompany.myapp.web.rest.util;
@@ -2,9 +2,10 @@ import { Component, OnInit, OnDestroy } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { ActivatedRoute } from '@angular/router';
 import { Subscription } from 'rxjs';
-import { JhiEventManager, JhiDataUtils } from 'ng-jhipster';
+import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IApplication } from 'app/shared/model/application.model';
 import { ApplicationService } from './application.service';
 import { ApplicationDeleteDialogComponent } from './application-delete-dialog.component';
@@ -17,10 +18,12 @@ export class ApplicationComponent implements OnInit, OnDestroy {
   applications?: IApplication[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected applicationService: ApplicationService,
-    protected dataUtils: JhiDataUtils,
     protected eventManager: JhiEventManager,
     protected modalService: NgbModal,
     protected activatedRoute: ActivatedRoute
@@ -36,8 +39,14 @@ export class ApplicationComponent implements OnInit, OnDestroy {
       this.applicationService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IApplication[]>) => (this.applications = res.body || []));
+        .subscribe((res: HttpResponse<IApplication[]>) => {
+          this.applications = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -46,6 +55,7 @@ export class ApplicationComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
@@ -65,12 +75,16 @@ export class ApplicationComponent implements OnInit, OnDestroy {
     return item.id!;
   }
 
-  byteSize(base64String: string): string {
-    return this.dataUtils.byteSize(base64String);
-  }
-
-  openFile(contentType = '', base64String: string): void {
-    return this.dataUtils.openFile(contentType, base64String);
+  downloadData(application: IApplication): void {
+    // eslint-disable-next-line @typescript-eslint/no-unnecessary-type-assertion
+    this.applicationService.downloadData(application.id!).subscribe((data: Blob) => {
+      const url = window.URL.createObjectURL(data);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = application.fileName || 'application-' + application.id;
+      link.click();
+      window.URL.revokeObjectURL(url);
+    });
   }
 
   registerChangeInApplications(): void {
@@ -5,7 +5,7 @@ import { map } from 'rxjs/operators';
 import * as moment from 'moment';
 
 import { SERVER_API_URL } from 'app/app.constants';
-import { createRequestOption, Search } from 'app/shared/util/request-util';
+import { createRequestOption, SearchWithPagination } from 'app/shared/util/request-util';
 import { IApplication } from 'app/shared/model/application.model';
 
 type EntityResponseType = HttpResponse<IApplication>;
@@ -45,11 +45,15 @@ export class ApplicationService {
       .pipe(map((res: EntityArrayResponseType) => this.convertDateArrayFromServer(res)));
   }
 
+  downloadData(id: number): Observable<Blob> {
+    return this.http.get(`${this.resourceUrl}/${id}/data`, { responseType: 'blob' });
+  }
+
   delete(id: number): Observable<HttpResponse<{}>> {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  search(req: Search): Observable<EntityArrayResponseType> {
+  search(req: SearchWithPagination): Observable<EntityArrayResponseType> {
     const options = createRequestOption(req);
     return this.http
       .get<IApplication[]>(this.resourceSearchUrl, { params: options, observe: 'response' })
@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IDeviceConfiguration } from 'app/shared/model/device-configuration.model';
 import { DeviceConfigurationService } from './device-configuration.service';
 import { DeviceConfigurationDeleteDialogComponent } from './device-configuration-delete-dialog.component';
@@ -17,6 +18,9 @@ export class DeviceConfigurationComponent implements OnInit, OnDestroy {
   deviceConfigurations?: IDeviceConfiguration[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected deviceConfigurationService: DeviceConfigurationService,
@@ -35,8 +39,14 @@ export class DeviceConfigurationComponent implements OnInit, OnDestroy {
       this.deviceConfigurationService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IDeviceConfiguration[]>) => (this.deviceConfigurations = res.body || []));
+        .subscribe((res: HttpResponse<IDeviceConfiguration[]>) => {
+          this.deviceConfigurations = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -47,6 +57,7 @@ export class DeviceConfigurationComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
@@ -3,7 +3,7 @@ import { HttpClient, HttpResponse } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 import { SERVER_API_URL } from 'app/app.constants';
-import { createRequestOption, Search } from 'app/shared/util/request-util';
+import { createRequestOption, SearchWithPagination } from 'app/shared/util/request-util';
 import { IDeviceConfiguration } from 'app/shared/model/device-configuration.model';
 
 type EntityResponseType = HttpResponse<IDeviceConfiguration>;
@@ -37,7 +37,7 @@ export class DeviceConfigurationService {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  search(req: Search): Observable<EntityArrayResponseType> {
+  search(req: SearchWithPagination): Observable<EntityArrayResponseType> {
     const options = createRequestOption(req);
     return this.http.get<IDeviceConfiguration[]>(this.resourceSearchUrl, { params: options, observe: 'response' });
   }
@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IDeviceProfile } from 'app/shared/model/device-profile.model';
 import { DeviceProfileService } from './device-profile.service';
 import { DeviceProfileDeleteDialogComponent } from './device-profile-delete-dialog.component';
@@ -17,6 +18,9 @@ export class DeviceProfileComponent implements OnInit, OnDestroy {
   deviceProfiles?: IDeviceProfile[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected deviceProfileService: DeviceProfileService,
@@ -35,8 +39,14 @@ export class DeviceProfileComponent implements OnInit, OnDestroy {
       this.deviceProfileService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IDeviceProfile[]>) => (this.deviceProfiles = res.body || []));
+        .subscribe((res: HttpResponse<IDeviceProfile[]>) => {
+          this.deviceProfiles = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -45,6 +55,7 @@ export class DeviceProfileComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
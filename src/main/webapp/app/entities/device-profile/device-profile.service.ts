@@ -3,7 +3,7 @@ import { HttpClient, HttpResponse } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 import { SERVER_API_URL } from 'app/app.constants';
-import { createRequestOption, Search } from 'app/shared/util/request-util';
+import { createRequestOption, SearchWithPagination } from 'app/shared/util/request-util';
 import { IDeviceProfile } from 'app/shared/model/device-profile.model';
 
 type EntityResponseType = HttpResponse<IDeviceProfile>;
@@ -37,7 +37,7 @@ export class DeviceProfileService {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  search(req: Search): Observable<EntityArrayResponseType> {
+  search(req: SearchWithPagination): Observable<EntityArrayResponseType> {
     const options = createRequestOption(req);
     return this.http.get<IDeviceProfile[]>(this.resourceSearchUrl, { params: options, observe: 'response' });
   }
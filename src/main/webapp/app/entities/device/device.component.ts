@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IDevice } from 'app/shared/model/device.model';
 import { DeviceService } from './device.service';
 import { DeviceDeleteDialogComponent } from './device-delete-dialog.component';
@@ -17,6 +18,9 @@ export class DeviceComponent implements OnInit, OnDestroy {
   devices?: IDevice[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected deviceService: DeviceService,
@@ -35,8 +39,14 @@ export class DeviceComponent implements OnInit, OnDestroy {
       this.deviceService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IDevice[]>) => (this.devices = res.body || []));
+        .subscribe((res: HttpResponse<IDevice[]>) => {
+          this.devices = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -45,6 +55,7 @@ export class DeviceComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
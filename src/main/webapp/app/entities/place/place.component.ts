@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IPlace } from 'app/shared/model/place.model';
 import { PlaceService } from './place.service';
 import { PlaceDeleteDialogComponent } from './place-delete-dialog.component';
@@ -17,6 +18,9 @@ export class PlaceComponent implements OnInit, OnDestroy {
   places?: IPlace[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected placeService: PlaceService,
@@ -35,8 +39,14 @@ export class PlaceComponent implements OnInit, OnDestroy {
       this.placeService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IPlace[]>) => (this.places = res.body || []));
+        .subscribe((res: HttpResponse<IPlace[]>) => {
+          this.places = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -45,6 +55,7 @@ export class PlaceComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IPushNotificationToken } from 'app/shared/model/push-notification-token.model';
 import { PushNotificationTokenService } from './push-notification-token.service';
 import { PushNotificationTokenDeleteDialogComponent } from './push-notification-token-delete-dialog.component';
@@ -17,6 +18,9 @@ export class PushNotificationTokenComponent implements OnInit, OnDestroy {
   pushNotificationTokens?: IPushNotificationToken[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected pushNotificationTokenService: PushNotificationTokenService,
@@ -35,8 +39,14 @@ export class PushNotificationTokenComponent implements OnInit, OnDestroy {
       this.pushNotificationTokenService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IPushNotificationToken[]>) => (this.pushNotificationTokens = res.body || []));
+        .subscribe((res: HttpResponse<IPushNotificationToken[]>) => {
+          this.pushNotificationTokens = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -47,6 +57,7 @@ export class PushNotificationTokenComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
@@ -5,7 +5,7 @@ import { map } from 'rxjs/operators';
 import * as moment from 'moment';
 
 import { SERVER_API_URL } from 'app/app.constants';
-import { createRequestOption, Search } from 'app/shared/util/request-util';
+import { createRequestOption, SearchWithPagination } from 'app/shared/util/request-util';
 import { IPushNotificationToken } from 'app/shared/model/push-notification-token.model';
 
 type EntityResponseType = HttpResponse<IPushNotificationToken>;
@@ -49,7 +49,7 @@ export class PushNotificationTokenService {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  search(req: Search): Observable<EntityArrayResponseType> {
+  search(req: SearchWithPagination): Observable<EntityArrayResponseType> {
     const options = createRequestOption(req);
     return this.http
       .get<IPushNotificationToken[]>(this.resourceSearchUrl, { params: options, observe: 'response' })
@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IRole } from 'app/shared/model/role.model';
 import { RoleService } from './role.service';
 import { RoleDeleteDialogComponent } from './role-delete-dialog.component';
@@ -17,6 +18,9 @@ export class RoleComponent implements OnInit, OnDestroy {
   roles?: IRole[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected roleService: RoleService,
@@ -35,8 +39,14 @@ export class RoleComponent implements OnInit, OnDestroy {
       this.roleService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IRole[]>) => (this.roles = res.body || []));
+        .subscribe((res: HttpResponse<IRole[]>) => {
+          this.roles = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -45,6 +55,7 @@ export class RoleComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
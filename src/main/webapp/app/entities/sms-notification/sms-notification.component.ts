@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { ISMSNotification } from 'app/shared/model/sms-notification.model';
 import { SMSNotificationService } from './sms-notification.service';
 import { SMSNotificationDeleteDialogComponent } from './sms-notification-delete-dialog.component';
@@ -17,6 +18,9 @@ export class SMSNotificationComponent implements OnInit, OnDestroy {
   sMSNotifications?: ISMSNotification[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected sMSNotificationService: SMSNotificationService,
@@ -35,8 +39,14 @@ export class SMSNotificationComponent implements OnInit, OnDestroy {
       this.sMSNotificationService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<ISMSNotification[]>) => (this.sMSNotifications = res.body || []));
+        .subscribe((res: HttpResponse<ISMSNotification[]>) => {
+          this.sMSNotifications = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -45,6 +55,7 @@ export class SMSNotificationComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
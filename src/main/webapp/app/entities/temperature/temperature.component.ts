@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { ITemperature } from 'app/shared/model/temperature.model';
 import { TemperatureService } from './temperature.service';
 import { TemperatureDeleteDialogComponent } from './temperature-delete-dialog.component';
@@ -17,6 +18,9 @@ export class TemperatureComponent implements OnInit, OnDestroy {
   temperatures?: ITemperature[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected temperatureService: TemperatureService,
@@ -35,8 +39,14 @@ export class TemperatureComponent implements OnInit, OnDestroy {
       this.temperatureService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<ITemperature[]>) => (this.temperatures = res.body || []));
+        .subscribe((res: HttpResponse<ITemperature[]>) => {
+          this.temperatures = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -45,6 +55,7 @@ export class TemperatureComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
@@ -1,6 +1,5 @@
 import { Component, OnInit, OnDestroy } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
-import { ActivatedRoute } from '@angular/router';
 import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
@@ -16,38 +15,13 @@ import { ValueDeleteDialogComponent } from './value-delete-dialog.component';
 export class ValueComponent implements OnInit, OnDestroy {
   values?: IValue[];
   eventSubscriber?: Subscription;
-  currentSearch: string;
 
-  constructor(
-    protected valueService: ValueService,
-    protected eventManager: JhiEventManager,
-    protected modalService: NgbModal,
-    protected activatedRoute: ActivatedRoute
-  ) {
-    this.currentSearch =
-      this.activatedRoute.snapshot && this.activatedRoute.snapshot.queryParams['search']
-        ? this.activatedRoute.snapshot.queryParams['search']
-        : '';
-  }
+  constructor(protected valueService: ValueService, protected eventManager: JhiEventManager, protected modalService: NgbModal) {}
 
   loadAll(): void {
-    if (this.currentSearch) {
-      this.valueService
-        .search({
-          query: this.currentSearch,
-        })
-        .subscribe((res: HttpResponse<IValue[]>) => (this.values = res.body || []));
-      return;
-    }
-
     this.valueService.query().subscribe((res: HttpResponse<IValue[]>) => (this.values = res.body || []));
   }
 
-  search(query: string): void {
-    this.currentSearch = query;
-    this.loadAll();
-  }
-
   ngOnInit(): void {
     this.loadAll();
     this.registerChangeInValues();
@@ -5,7 +5,7 @@ import { map } from 'rxjs/operators';
 import * as moment from 'moment';
 
 import { SERVER_API_URL } from 'app/app.constants';
-import { createRequestOption, Search } from 'app/shared/util/request-util';
+import { createRequestOption } from 'app/shared/util/request-util';
 import { IValue } from 'app/shared/model/value.model';
 
 type EntityResponseType = HttpResponse<IValue>;
@@ -14,7 +14,6 @@ type EntityArrayResponseType = HttpResponse<IValue[]>;
 @Injectable({ providedIn: 'root' })
 export class ValueService {
   public resourceUrl = SERVER_API_URL + 'api/values';
-  public resourceSearchUrl = SERVER_API_URL + 'api/_search/values';
 
   constructor(protected http: HttpClient) {}
 
@@ -49,13 +48,6 @@ export class ValueService {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  search(req: Search): Observable<EntityArrayResponseType> {
-    const options = createRequestOption(req);
-    return this.http
-      .get<IValue[]>(this.resourceSearchUrl, { params: options, observe: 'response' })
-      .pipe(map((res: EntityArrayResponseType) => this.convertDateArrayFromServer(res)));
-  }
-
   protected convertDateFromClient(value: IValue): IValue {
     const copy: IValue = Object.assign({}, value, {
       timestamp: value.timestamp && value.timestamp.isValid() ? value.timestamp.toJSON() : undefined,
@@ -1,6 +1,5 @@
 import { Component, OnInit, OnDestroy } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
-import { ActivatedRoute } from '@angular/router';
 import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
@@ -16,38 +15,13 @@ import { ValuesDeleteDialogComponent } from './values-delete-dialog.component';
 export class ValuesComponent implements OnInit, OnDestroy {
   values?: IValues[];
   eventSubscriber?: Subscription;
-  currentSearch: string;
 
-  constructor(
-    protected valuesService: ValuesService,
-    protected eventManager: JhiEventManager,
-    protected modalService: NgbModal,
-    protected activatedRoute: ActivatedRoute
-  ) {
-    this.currentSearch =
-      this.activatedRoute.snapshot && this.activatedRoute.snapshot.queryParams['search']
-        ? this.activatedRoute.snapshot.queryParams['search']
-        : '';
-  }
+  constructor(protected valuesService: ValuesService, protected eventManager: JhiEventManager, protected modalService: NgbModal) {}
 
   loadAll(): void {
-    if (this.currentSearch) {
-      this.valuesService
-        .search({
-          query: this.currentSearch,
-        })
-        .subscribe((res: HttpResponse<IValues[]>) => (this.values = res.body || []));
-      return;
-    }
-
     this.valuesService.query().subscribe((res: HttpResponse<IValues[]>) => (this.values = res.body || []));
   }
 
-  search(query: string): void {
-    this.currentSearch = query;
-    this.loadAll();
-  }
-
   ngOnInit(): void {
     this.loadAll();
     this.registerChangeInValues();
@@ -5,7 +5,7 @@ import { map } from 'rxjs/operators';
 import * as moment from 'moment';
 
 import { SERVER_API_URL } from 'app/app.constants';
-import { createRequestOption, Search } from 'app/shared/util/request-util';
+import { createRequestOption } from 'app/shared/util/request-util';
 import { IValues } from 'app/shared/model/values.model';
 
 type EntityResponseType = HttpResponse<IValues>;
@@ -14,7 +14,6 @@ type EntityArrayResponseType = HttpResponse<IValues[]>;
 @Injectable({ providedIn: 'root' })
 export class ValuesService {
   public resourceUrl = SERVER_API_URL + 'api/values';
-  public resourceSearchUrl = SERVER_API_URL + 'api/_search/values';
 
   constructor(protected http: HttpClient) {}
 
@@ -49,13 +48,6 @@ export class ValuesService {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  search(req: Search): Observable<EntityArrayResponseType> {
-    const options = createRequestOption(req);
-    return this.http
-      .get<IValues[]>(this.resourceSearchUrl, { params: options, observe: 'response' })
-      .pipe(map((res: EntityArrayResponseType) => this.convertDateArrayFromServer(res)));
-  }
-
   protected convertDateFromClient(values: IValues): IValues {
     const copy: IValues = Object.assign({}, values, {
       timestamp: values.timestamp && values.timestamp.isValid() ? values.timestamp.toJSON() : undefined,
@@ -5,6 +5,7 @@ import { Subscription } from 'rxjs';
 import { JhiEventManager } from 'ng-jhipster';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/shared/constants/pagination.constants';
 import { IWebUser } from 'app/shared/model/web-user.model';
 import { WebUserService } from './web-user.service';
 import { WebUserDeleteDialogComponent } from './web-user-delete-dialog.component';
@@ -17,6 +18,9 @@ export class WebUserComponent implements OnInit, OnDestroy {
   webUsers?: IWebUser[];
   eventSubscriber?: Subscription;
   currentSearch: string;
+  totalItems = 0;
+  itemsPerPage = ITEMS_PER_PAGE;
+  page = 1;
 
   constructor(
     protected webUserService: WebUserService,
@@ -35,8 +39,14 @@ export class WebUserComponent implements OnInit, OnDestroy {
       this.webUserService
         .search({
           query: this.currentSearch,
+          page: this.page - 1,
+          size: this.itemsPerPage,
+          sort: ['id,asc'],
         })
-        .subscribe((res: HttpResponse<IWebUser[]>) => (this.webUsers = res.body || []));
+        .subscribe((res: HttpResponse<IWebUser[]>) => {
+          this.webUsers = res.body || [];
+          this.totalItems = Number(res.headers.get('X-Total-Count'));
+        });
       return;
     }
 
@@ -45,6 +55,7 @@ export class WebUserComponent implements OnInit, OnDestroy {
 
   search(query: string): void {
     this.currentSearch = query;
+    this.page = 1;
     this.loadAll();
   }
 
@@ -5,6 +5,8 @@ export interface IApplication {
   fileName?: string;
   dataContentType?: string;
   data?: any;
+  dataSize?: number;
+  dataSha256?: string;
   version?: string;
   timestamp?: Moment;
 }
@@ -16,6 +18,8 @@ export class Application implements IApplication {
     public dataContentType?: string,
     public data?: any,
     public version?: string,
-    public timestamp?: Moment
+    public timestamp?: Moment,
+    public dataSize?: number,
+    public dataSha256?: string
   ) {}
 }
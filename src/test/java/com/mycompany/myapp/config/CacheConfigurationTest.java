@@ -0,0 +1,94 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.jhipster.config.JHipsterProperties;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the per region configuration of the {@link CacheConfiguration} class.
+ */
+public class CacheConfigurationTest {
+    private JHipsterProperties.Cache.Ehcache defaults;
+
+    @BeforeEach
+    public void setup() {
+        defaults = new JHipsterProperties.Cache.Ehcache();
+        defaults.setMaxEntries(100);
+        defaults.setTimeToLiveSeconds(3600);
+    }
+
+    @Test
+    public void testDefaultRegion() {
+        org.ehcache.config.CacheConfiguration<Object, Object> configuration = CacheConfiguration.ehcacheConfiguration(
+            "Place",
+            new ApplicationProperties.Cache.Region(),
+            defaults
+        );
+
+        assertThat(CacheSizeReport.describe("Place", configuration)).isEqualTo("Place: heap 100 entries, live 3600 s");
+    }
+
+    @Test
+    public void testReferenceDataRegion() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(1000L);
+        region.setTimeToLiveSeconds(0L);
+
+        org.ehcache.config.CacheConfiguration<Object, Object> configuration = CacheConfiguration.ehcacheConfiguration(
+            "Authority",
+            region,
+            defaults
+        );
+
+        assertThat(CacheSizeReport.describe("Authority", configuration)).isEqualTo("Authority: heap 1000 entries, never expires");
+    }
+
+    @Test
+    public void testSizedRegionWithOffHeapTier() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxHeapMb(1L);
+        region.setOffHeapMb(2L);
+        region.setTimeToIdleSeconds(600L);
+
+        org.ehcache.config.CacheConfiguration<Object, Object> configuration = CacheConfiguration.ehcacheConfiguration(
+            "Values",
+            region,
+            defaults
+        );
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(CacheSizeReport.describe("Values", configuration)).isEqualTo("Values: heap 1 MB, off-heap 2 MB, idle 600 s");
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        try (CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader())) {
+            Cache<Object, Object> cache = cacheManager.createCache("Values", Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+            cache.put(1L, "21.5");
+            assertThat(cache.get(1L)).isEqualTo("21.5");
+        }
+    }
+
+    @Test
+    public void testRejectConflictingSettings() {
+        ApplicationProperties.Cache.Region sizedTwice = new ApplicationProperties.Cache.Region();
+        sizedTwice.setMaxEntries(10L);
+        sizedTwice.setMaxHeapMb(1L);
+        ApplicationProperties.Cache.Region expiredTwice = new ApplicationProperties.Cache.Region();
+        expiredTwice.setTimeToLiveSeconds(60L);
+        expiredTwice.setTimeToIdleSeconds(60L);
+
+        assertThatThrownBy(() -> CacheConfiguration.ehcacheConfiguration("Values", sizedTwice, defaults))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CacheConfiguration.ehcacheConfiguration("Values", expiredTwice, defaults))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link DatabasePlatform} class.
+ */
+public class DatabasePlatformTest {
+    private DataSource dataSource;
+
+    private DatabaseMetaData metaData;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+    }
+
+    @Test
+    public void testPostgreSQL() throws SQLException {
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        DatabasePlatform databasePlatform = new DatabasePlatform(dataSource);
+
+        assertThat(databasePlatform.isPostgreSQL()).isTrue();
+        assertThat(databasePlatform.getLockClause()).isEqualTo("FOR UPDATE SKIP LOCKED");
+    }
+
+    @Test
+    public void testOtherDatabase() throws SQLException {
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+        DatabasePlatform databasePlatform = new DatabasePlatform(dataSource);
+
+        assertThat(databasePlatform.isPostgreSQL()).isFalse();
+        assertThat(databasePlatform.getLockClause()).isEqualTo("FOR UPDATE");
+    }
+
+    @Test
+    public void testUnreadableMetaData() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(new DatabasePlatform(dataSource).isPostgreSQL()).isFalse();
+    }
+
+    @Test
+    public void testReadTheMetaDataOnce() throws SQLException {
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        DatabasePlatform databasePlatform = new DatabasePlatform(dataSource);
+
+        databasePlatform.isPostgreSQL();
+        databasePlatform.getLockClause();
+        databasePlatform.isPostgreSQL();
+
+        verify(metaData, times(1)).getDatabaseProductName();
+    }
+}
@@ -0,0 +1,83 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link EhcacheMetrics}.
+ */
+public class EhcacheMetricsTest {
+    private CacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JHipsterProperties.Cache.Ehcache defaults;
+
+    @BeforeEach
+    public void setup() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader());
+        meterRegistry = new SimpleMeterRegistry();
+        defaults = new JHipsterProperties.Cache.Ehcache();
+        defaults.setMaxEntries(2);
+        defaults.setTimeToLiveSeconds(3600);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    public void testCountGetsPutsAndEvictions() {
+        Cache<Object, Object> cache = createCache("Place", new ApplicationProperties.Cache.Region());
+        new EhcacheMetrics(cache, Tags.of("name", "Place")).bindTo(meterRegistry);
+
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.put(3L, "c");
+        cache.get(3L);
+        cache.get(4L);
+
+        assertThat(meterRegistry.get("cache.puts").tag("cache", "Place").functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.find("cache.memory.used").gauge()).isNull();
+    }
+
+    @Test
+    public void testMeasureMemoryOfTiersSizedInMemoryUnits() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxHeapMb(1L);
+        region.setOffHeapMb(2L);
+        Cache<Object, Object> cache = createCache("Values", region);
+        new EhcacheMetrics(cache, Tags.empty()).bindTo(meterRegistry);
+
+        cache.put(1L, "21.5");
+
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.memory.used").tag("cache", "Values").gauge().value()).isPositive();
+    }
+
+    private Cache<Object, Object> createCache(String cacheName, ApplicationProperties.Cache.Region region) {
+        return cacheManager.createCache(
+            cacheName,
+            Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfiguration.ehcacheConfiguration(cacheName, region, defaults))
+        );
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mapping.MappingException;
+
+/**
+ * Unit tests for the {@link ElasticsearchConfiguration.CustomEntityMapper} class.
+ */
+public class ElasticsearchConfigurationTest {
+    private static final ZonedDateTime TIMESTAMP = ZonedDateTime.of(2021, 2, 1, 10, 30, 15, 250_000_000, ZoneOffset.UTC);
+
+    private ObjectMapper objectMapper;
+
+    private ElasticsearchConfiguration.CustomEntityMapper entityMapper;
+
+    @BeforeEach
+    public void setup() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        entityMapper = new ElasticsearchConfiguration.CustomEntityMapper(objectMapper);
+    }
+
+    @Test
+    public void testMapObjectMatchesTheJsonDocument() throws Exception {
+        Values values = values();
+
+        Map<String, Object> document = entityMapper.mapObject(values);
+
+        assertThat(objectMapper.writeValueAsString(document)).isEqualTo(entityMapper.mapToString(values));
+        assertThat(document.get("timestamp")).isEqualTo("2021-02-01T10:30:15.25Z");
+    }
+
+    @Test
+    public void testReadObjectFromMappedDocument() {
+        Values values = entityMapper.readObject(entityMapper.mapObject(values()), Values.class);
+
+        assertThat(values.getId()).isEqualTo(7L);
+        assertThat(values.getValue()).isEqualTo(21.5);
+        assertThat(values.getTimestamp()).isEqualTo(TIMESTAMP);
+        assertThat(values.getTemperature().getName()).isEqualTo("Living room");
+    }
+
+    @Test
+    public void testReadObjectFromParsedDocument() throws Exception {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> document = objectMapper.readValue("{\"id\":7,\"value\":21,\"unknown\":true}", HashMap.class);
+
+        Values values = entityMapper.readObject(document, Values.class);
+
+        assertThat(values.getId()).isEqualTo(7L);
+        assertThat(values.getValue()).isEqualTo(21.0);
+    }
+
+    @Test
+    public void testReadObjectWrapsErrors() {
+        assertThatThrownBy(() -> entityMapper.readObject(Collections.singletonMap("timestamp", "yesterday"), Values.class))
+            .isInstanceOf(MappingException.class);
+    }
+
+    @Test
+    public void testExcludedFieldsAreNotIndexed() throws Exception {
+        ApplicationProperties.Search searchProperties = new ApplicationProperties.Search();
+        ApplicationProperties.Search.Entity temperatureSettings = new ApplicationProperties.Search.Entity();
+        temperatureSettings.setExcludedFields(Collections.singleton("name"));
+        searchProperties.getEntities().put("Temperature", temperatureSettings);
+        ElasticsearchConfiguration.CustomEntityMapper filteringMapper = new ElasticsearchConfiguration.CustomEntityMapper(
+            objectMapper,
+            searchProperties
+        );
+
+        Map<String, Object> document = filteringMapper.mapObject(values());
+
+        assertThat(document).containsKeys("id", "value", "timestamp");
+        assertThat(document.get("temperature")).asInstanceOf(InstanceOfAssertFactories.MAP).containsKey("id").doesNotContainKey("name");
+        assertThat(filteringMapper.mapToString(values().getTemperature())).doesNotContain("Living room");
+        assertThat(objectMapper.writeValueAsString(values().getTemperature())).contains("Living room");
+    }
+
+    private static Values values() {
+        Temperature temperature = new Temperature().name("Living room");
+        temperature.setId(3L);
+        Values values = new Values().value(21.5).timestamp(TIMESTAMP).temperature(temperature);
+        values.setId(7L);
+        return values;
+    }
+}
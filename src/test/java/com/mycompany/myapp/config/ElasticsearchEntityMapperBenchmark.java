@@ -0,0 +1,104 @@
+package com.mycompany.myapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the {@link ElasticsearchConfiguration.CustomEntityMapper} conversions between the indexed entities and
+ * maps, compared to the former conversions through a JSON string.
+ * <p>
+ * Run the {@link #main(String[])} method with the test classpath, for instance from the IDE after
+ * {@code ./mvnw test-compile}. The {@code gc.alloc.rate.norm} lines of the report give the bytes allocated per
+ * conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElasticsearchEntityMapperBenchmark {
+    @Param({ "Values", "Temperature" })
+    private String entity;
+
+    private ObjectMapper objectMapper;
+
+    private ElasticsearchConfiguration.CustomEntityMapper entityMapper;
+
+    private Object source;
+
+    private Map<String, Object> document;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        entityMapper = new ElasticsearchConfiguration.CustomEntityMapper(objectMapper);
+        Device device = new Device().uuid("5c0f4a7e-3a35-4b9b-9d0c-2f1e0c8d4a61").appVersion("1.4.2").idUpdated(false);
+        device.setId(12L);
+        Temperature temperature = new Temperature()
+            .name("Boiler outlet")
+            .address("28-0316a279c4ff")
+            .createTimestamp(ZonedDateTime.of(2021, 1, 4, 8, 0, 0, 0, ZoneOffset.UTC))
+            .lastUpdateTimestamp(ZonedDateTime.of(2021, 2, 1, 10, 30, 15, 250_000_000, ZoneOffset.UTC))
+            .device(device);
+        temperature.setId(1042L);
+        Values values = new Values().value(61.25).timestamp(ZonedDateTime.of(2021, 2, 1, 10, 30, 15, 250_000_000, ZoneOffset.UTC));
+        values.setId(9_184_412L);
+        values.setTemperature(temperature);
+        source = "Values".equals(entity) ? values : temperature;
+        document = entityMapper.mapObject(source);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> mapObjectThroughJson() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsString(source), HashMap.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapObject() {
+        return entityMapper.mapObject(source);
+    }
+
+    @Benchmark
+    public Object readObjectThroughJson() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsString(document), source.getClass());
+    }
+
+    @Benchmark
+    public Object readObject() {
+        return entityMapper.readObject(document, source.getClass());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder().include(ElasticsearchEntityMapperBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()
+        )
+            .run();
+    }
+}
@@ -9,6 +9,7 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.security.Key;
+import java.time.Duration;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -65,6 +66,14 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testCreateTokenWithTheGivenValidity() {
+        Authentication authentication = createAuthentication();
+
+        assertThat(tokenProvider.validateToken(tokenProvider.createToken(authentication, Duration.ofMinutes(5)))).isEqualTo(true);
+        assertThat(tokenProvider.validateToken(tokenProvider.createToken(authentication, Duration.ofMinutes(-5)))).isEqualTo(false);
+    }
+
     @Test
     public void testReturnFalseWhenJWTisUnsupported() {
         String unsupportedToken = createUnsupportedToken();
@@ -0,0 +1,211 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Application;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.repository.ApplicationDataRepository;
+import com.mycompany.myapp.repository.DeviceRepository;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Test class for the {@link ApplicationDataService}.
+ */
+public class ApplicationDataServiceTest {
+    private static final byte[] DATA = "firmware image".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String DATA_SHA256 = "1df2f3853d10a305aa52d36fd4a03f5721d7ce7daef6f7e5e8d51074d31361f1";
+
+    @TempDir
+    Path storeDirectory;
+
+    private ApplicationDataRepository applicationDataRepository;
+
+    private DeviceRepository deviceRepository;
+
+    private FirmwareStoreService firmwareStoreService;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private SearchIndexingService searchIndexingService;
+
+    private ApplicationDataService service;
+
+    @BeforeEach
+    public void setup() {
+        applicationDataRepository = mock(ApplicationDataRepository.class);
+        deviceRepository = mock(DeviceRepository.class);
+        entityManagerFactory = mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS);
+        searchIndexingService = mock(SearchIndexingService.class);
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getFirmware().setStoreDirectory(storeDirectory.toString());
+        properties.getFirmware().setReadChunkSize(4);
+        properties.getFirmware().setDeltaBlockSize(4);
+        // The deltas of such small images are not smaller than the images
+        properties.getFirmware().setMaxDeltaRatio(10);
+        firmwareStoreService = new FirmwareStoreService(properties);
+        service =
+            new ApplicationDataService(
+                applicationDataRepository,
+                firmwareStoreService,
+                deviceRepository,
+                entityManagerFactory,
+                mock(CacheInvalidationService.class),
+                searchIndexingService,
+                mock(PlatformTransactionManager.class),
+                properties
+            );
+    }
+
+    @Test
+    public void testUploadStreamsTheFileAndKeepsALocalCopy() throws Exception {
+        byte[][] stored = new byte[1][];
+        when(applicationDataRepository.updateData(eq(1L), eq("app.bin"), eq("application/octet-stream"), any(), eq(14L), anyString()))
+            .thenAnswer(
+                invocation -> {
+                    stored[0] = StreamUtils.copyToByteArray(invocation.<InputStream>getArgument(3));
+                    return true;
+                }
+            );
+        Application metadata = metadata(DATA.length, DATA_SHA256);
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(metadata));
+
+        Optional<Application> result = service.upload(1L, new MockMultipartFile("file", "app.bin", "application/octet-stream", DATA));
+
+        assertThat(result).contains(metadata);
+        assertThat(stored[0]).isEqualTo(DATA);
+        verify(applicationDataRepository).updateData(eq(1L), any(), any(), any(), eq(14L), eq(DATA_SHA256));
+        assertThat(storeDirectory.resolve("blobs/1d").resolve(DATA_SHA256)).hasBinaryContent(DATA);
+        assertThat(Files.list(storeDirectory)).containsOnly(storeDirectory.resolve("blobs"));
+        verify(entityManagerFactory.getCache()).evict(Application.class, 1L);
+        verify(searchIndexingService).index(metadata);
+    }
+
+    @Test
+    public void testUploadToUnknownApplication() throws Exception {
+        when(applicationDataRepository.updateData(any(), any(), any(), any(), anyLong(), any())).thenReturn(false);
+
+        assertThat(service.upload(1L, new MockMultipartFile("file", DATA))).isEmpty();
+
+        verify(searchIndexingService, never()).index(any());
+    }
+
+    @Test
+    public void testCopyLegacyDataByChunksAndRecordItsDigest() throws Exception {
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(metadata(DATA.length, null)));
+        when(applicationDataRepository.readData(eq(1L), anyInt(), eq(4)))
+            .thenAnswer(
+                invocation -> {
+                    int offset = invocation.getArgument(1);
+                    return Arrays.copyOfRange(DATA, offset, Math.min(offset + 4, DATA.length));
+                }
+            );
+
+        Optional<Application> result = service.prepareData(1L);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getDataSha256()).isEqualTo(DATA_SHA256);
+        assertThat(service.getDataFile(result.get())).hasBinaryContent(DATA);
+        verify(applicationDataRepository, times(4)).readData(eq(1L), anyInt(), eq(4));
+        verify(applicationDataRepository).updateDigest(1L, DATA.length, DATA_SHA256);
+
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(metadata(DATA.length, DATA_SHA256)));
+        assertThat(service.prepareData(1L)).isPresent();
+        verify(applicationDataRepository, times(4)).readData(eq(1L), anyInt(), eq(4));
+    }
+
+    @Test
+    public void testRejectDataNotMatchingItsDigest() throws Exception {
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(metadata(DATA.length, DATA_SHA256)));
+        when(applicationDataRepository.readData(eq(1L), anyInt(), eq(4))).thenReturn(new byte[4]);
+
+        assertThatThrownBy(() -> service.prepareData(1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(firmwareStoreService.contains(DATA_SHA256)).isFalse();
+    }
+
+    @Test
+    public void testNoData() throws Exception {
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(metadata(null, null)));
+
+        assertThat(service.prepareData(1L)).isEmpty();
+        assertThat(service.prepareData(2L)).isEmpty();
+    }
+
+    @Test
+    public void testDeltaFromTheVersionOfTheDevice() throws Exception {
+        byte[] newData = "new firmware image".getBytes(StandardCharsets.US_ASCII);
+        String newSha256 = firmwareStoreService.put(new ByteArrayInputStream(newData));
+        firmwareStoreService.put(new ByteArrayInputStream(DATA));
+        Application application = metadata(newData.length, newSha256);
+        application.setId(2L);
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(new Device().appVersion("1.0")));
+        when(applicationDataRepository.findIdByVersion("1.0")).thenReturn(Optional.of(1L));
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(metadata(DATA.length, DATA_SHA256)));
+
+        Optional<Path> delta = service.prepareDelta(application, 1L);
+
+        assertThat(delta).isPresent();
+        assertThat(delta.get().getFileName().toString()).isEqualTo(DATA_SHA256 + "-" + newSha256);
+        ByteArrayOutputStream rebuilt = new ByteArrayOutputStream();
+        try (InputStream in = Files.newInputStream(delta.get())) {
+            FirmwareDelta.apply(firmwareStoreService.getBlob(DATA_SHA256), in, rebuilt);
+        }
+        assertThat(rebuilt.toByteArray()).isEqualTo(newData);
+    }
+
+    @Test
+    public void testNoDeltaForADeviceOfAnUnknownVersion() throws Exception {
+        Application application = metadata(DATA.length, DATA_SHA256);
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(new Device().appVersion("0.9")));
+        when(applicationDataRepository.findIdByVersion("0.9")).thenReturn(Optional.empty());
+
+        assertThat(service.prepareDelta(application, 1L)).isEmpty();
+        assertThat(service.prepareDelta(application, 2L)).isEmpty();
+    }
+
+    @Test
+    public void testDigestData() {
+        Application application = new Application().data(DATA);
+
+        ApplicationDataService.digestData(application);
+
+        assertThat(application.getDataSize()).isEqualTo(14L);
+        assertThat(application.getDataSha256()).isEqualTo(DATA_SHA256);
+    }
+
+    private static Application metadata(Integer size, String sha256) {
+        Application application = new Application()
+            .fileName("app.bin")
+            .dataSize(size != null ? size.longValue() : null)
+            .dataSha256(sha256);
+        application.setId(1L);
+        return application;
+    }
+}
@@ -0,0 +1,138 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import javax.persistence.EntityManagerFactory;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.type.LongType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link CacheInvalidationService}, with two instances connected by the
+ * {@link LoopbackCacheInvalidationTransport}.
+ */
+public class CacheInvalidationServiceTest {
+    private static final String DEVICE = Device.class.getName();
+
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> usersByLogin;
+
+    private SessionFactoryImplementor peerSessionFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CacheInvalidationService service;
+
+    @BeforeEach
+    public void setup() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader());
+        usersByLogin =
+            cacheManager.createCache(
+                UserRepository.USERS_BY_LOGIN_CACHE,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(60)))
+                        .build()
+                )
+            );
+        LoopbackCacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+        meterRegistry = new SimpleMeterRegistry();
+        service = service(transport, mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS), meterRegistry);
+
+        peerSessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        EntityPersister devicePersister = mock(EntityPersister.class);
+        when(devicePersister.getIdentifierType()).thenReturn(LongType.INSTANCE);
+        when(peerSessionFactory.getMetamodel().entityPersisters()).thenReturn(Collections.singletonMap(DEVICE, devicePersister));
+        when(peerSessionFactory.getMetamodel().entityPersister(DEVICE)).thenReturn(devicePersister);
+        service(transport, peerSessionFactory, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cacheManager.close();
+    }
+
+    @Test
+    public void testEvictOnPeerWithoutTransaction() {
+        usersByLogin.put("admin", "cached");
+        usersByLogin.put("user", "cached");
+
+        service.invalidateAfterCommit(UserRepository.USERS_BY_LOGIN_CACHE, "admin");
+
+        assertThat(usersByLogin.containsKey("admin")).isFalse();
+        assertThat(usersByLogin.containsKey("user")).isTrue();
+        assertThat(meterRegistry.get("cache.invalidation.messages").tag("direction", "sent").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.invalidation.messages").tag("direction", "received").counter().count()).isZero();
+    }
+
+    @Test
+    public void testSendTheKeysOfATransactionAfterCommit() {
+        usersByLogin.put("admin", "cached");
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.invalidateAfterCommit(DEVICE, 1051L);
+        service.invalidateAfterCommit(UserRepository.USERS_BY_LOGIN_CACHE, "admin");
+
+        assertThat(usersByLogin.containsKey("admin")).isTrue();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(0));
+        verify(peerSessionFactory.getCache()).evictEntityData(DEVICE, 1051L);
+        assertThat(usersByLogin.containsKey("admin")).isFalse();
+        assertThat(meterRegistry.get("cache.invalidation.messages").tag("direction", "sent").counter().count()).isEqualTo(1);
+        assertThat(TransactionSynchronizationManager.hasResource(service)).isFalse();
+    }
+
+    private CacheInvalidationService service(
+        CacheInvalidationTransport transport,
+        SessionFactoryImplementor sessionFactory,
+        SimpleMeterRegistry meterRegistry
+    ) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        ServiceRegistryImplementor serviceRegistry = mock(ServiceRegistryImplementor.class);
+        doReturn(mock(EventListenerRegistry.class)).when(serviceRegistry).getService(EventListenerRegistry.class);
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Collections.singletonMap("transport", transport));
+        CacheInvalidationService cacheInvalidationService = new CacheInvalidationService(
+            beanFactory.getBeanProvider(CacheInvalidationTransport.class),
+            entityManagerFactory,
+            cacheManager,
+            meterRegistry
+        );
+        cacheInvalidationService.registerListeners();
+        return cacheInvalidationService;
+    }
+}
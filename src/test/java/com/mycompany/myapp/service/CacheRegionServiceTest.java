@@ -0,0 +1,90 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.domain.Place;
+import com.mycompany.myapp.service.dto.CacheRegionDTO;
+import java.time.Duration;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CacheRegionService}.
+ */
+public class CacheRegionServiceTest {
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> placeCache;
+
+    private CacheRegionService cacheRegionService;
+
+    @BeforeEach
+    public void setup() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader());
+        placeCache = createCache(Place.class.getName());
+        createCache(Place.class.getName() + ".webUsers");
+        cacheRegionService = new CacheRegionService(cacheManager);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    public void testListRegionsByName() {
+        assertThat(cacheRegionService.getRegions())
+            .extracting(CacheRegionDTO::getName)
+            .containsExactly(Place.class.getName(), Place.class.getName() + ".webUsers");
+    }
+
+    @Test
+    public void testFindRegionBySimpleName() {
+        placeCache.put(1L, "Boiler room");
+        placeCache.get(1L);
+
+        CacheRegionDTO region = cacheRegionService.getRegion("Place").get();
+
+        assertThat(region.getName()).isEqualTo(Place.class.getName());
+        assertThat(region.getSize()).isEqualTo(1);
+        assertThat(region.getHits()).isEqualTo(1);
+        assertThat(region.getHitRatio()).isEqualTo(1);
+        assertThat(region.getMemoryUsed()).isNull();
+        assertThat(cacheRegionService.getRegion("Places")).isEmpty();
+    }
+
+    @Test
+    public void testEvictKeepsStatistics() {
+        placeCache.put(1L, "Boiler room");
+
+        CacheRegionDTO region = cacheRegionService.evict(Place.class.getName()).get();
+
+        assertThat(placeCache.containsKey(1L)).isFalse();
+        assertThat(region.getSize()).isZero();
+        assertThat(region.getPuts()).isEqualTo(1);
+        assertThat(cacheRegionService.evict("Places")).isEmpty();
+    }
+
+    private Cache<Object, Object> createCache(String cacheName) {
+        return cacheManager.createCache(
+            cacheName,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10))
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(60)))
+                    .build()
+            )
+        );
+    }
+}
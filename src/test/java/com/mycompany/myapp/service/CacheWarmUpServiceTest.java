@@ -0,0 +1,159 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Device;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the {@link CacheWarmUpService}.
+ */
+public class CacheWarmUpServiceTest {
+    private final List<List<Object>> loadedChunks = Collections.synchronizedList(new ArrayList<>());
+
+    private CacheManager cacheManager;
+
+    private EntityManager entityManager;
+
+    private TypedQuery<Object> idQuery;
+
+    private TypedQuery<Device> loadQuery;
+
+    private ApplicationProperties properties;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader());
+        cacheManager.createCache(
+            Device.class.getName(),
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(3))
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(60)))
+                    .build()
+            )
+        );
+
+        entityManager = mock(EntityManager.class);
+        Metamodel metamodel = mock(Metamodel.class);
+        EntityType<Device> deviceType = mock(EntityType.class);
+        when(deviceType.getName()).thenReturn("Device");
+        when(deviceType.getJavaType()).thenReturn(Device.class);
+        doReturn(Collections.singleton(deviceType)).when(metamodel).getEntities();
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+
+        idQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Object.class))).thenReturn(idQuery);
+        when(idQuery.setMaxResults(3)).thenReturn(idQuery);
+        when(idQuery.getResultList()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        loadQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Device.class))).thenReturn(loadQuery);
+        when(loadQuery.setParameter(eq("ids"), anyList()))
+            .thenAnswer(
+                invocation -> {
+                    List<Object> ids = invocation.getArgument(1);
+                    loadedChunks.add(ids);
+                    when(loadQuery.getResultList()).thenReturn(ids.stream().map(id -> new Device()).collect(Collectors.toList()));
+                    return loadQuery;
+                }
+            );
+        when(loadQuery.setHint(anyString(), eq(CacheStoreMode.REFRESH))).thenReturn(loadQuery);
+
+        properties = new ApplicationProperties();
+        properties.getCache().getWarmUp().setEntities(Collections.singletonList("Device"));
+        properties.getCache().getWarmUp().setChunkSize(2);
+        properties.getCache().getWarmUp().setConcurrency(1);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    public void testLoadChunksUpToTheRegionCapacity() {
+        CacheWarmUpService service = service();
+        assertThat(service.getState()).isEqualTo(CacheWarmUpService.PENDING);
+
+        service.warmUp();
+
+        verify(idQuery).setMaxResults(3);
+        verify(loadQuery, times(2)).setHint("javax.persistence.cache.storeMode", CacheStoreMode.REFRESH);
+        assertThat(loadedChunks).containsExactly(Arrays.asList(1L, 2L), Collections.singletonList(3L));
+        assertThat(service.getState()).isEqualTo(CacheWarmUpService.COMPLETED);
+        assertThat(service.getProgress().get("Device")).hasToString("3/3");
+        assertThat(service.getFinishedDate()).isNotNull();
+    }
+
+    @Test
+    public void testSkipChunksBeyondTheTimeBudget() {
+        properties.getCache().getWarmUp().setTimeBudgetSeconds(0);
+        CacheWarmUpService service = service();
+
+        service.warmUp();
+
+        assertThat(loadedChunks).isEmpty();
+        assertThat(service.getState()).isEqualTo(CacheWarmUpService.TIMED_OUT);
+        assertThat(service.getProgress().get("Device")).hasToString("0/3");
+    }
+
+    @Test
+    public void testFailOnUnknownEntity() {
+        properties.getCache().getWarmUp().setEntities(Collections.singletonList("Devices"));
+        CacheWarmUpService service = service();
+
+        service.warmUp();
+
+        assertThat(service.getState()).isEqualTo(CacheWarmUpService.FAILED);
+    }
+
+    @Test
+    public void testDisabled() {
+        properties.getCache().getWarmUp().setEnabled(false);
+
+        assertThat(service().getState()).isEqualTo(CacheWarmUpService.DISABLED);
+    }
+
+    private CacheWarmUpService service() {
+        return new CacheWarmUpService(
+            entityManager,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            cacheManager,
+            properties
+        );
+    }
+}
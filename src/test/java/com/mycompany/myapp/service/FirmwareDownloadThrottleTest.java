@@ -0,0 +1,75 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link FirmwareDownloadThrottle}.
+ */
+public class FirmwareDownloadThrottleTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    private FirmwareDownloadThrottle throttle;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getFirmware().getRollout().setMaxConcurrentDownloads(2);
+        properties.getFirmware().getRollout().setMaxBytesPerSecond(1024 * 1024);
+        properties.getFirmware().getRollout().setCheckDelayMs(5000);
+        throttle = new FirmwareDownloadThrottle(properties, meterRegistry);
+    }
+
+    @Test
+    public void testRejectDownloadsOverTheLimit() {
+        FirmwareDownloadThrottle.Download first = throttle.start();
+        FirmwareDownloadThrottle.Download second = throttle.start();
+        assertThat(meterRegistry.get("firmware.downloads.active").gauge().value()).isEqualTo(2);
+
+        assertThatThrownBy(throttle::start)
+            .isInstanceOfSatisfying(FirmwareDownloadDeferredException.class, e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(5));
+
+        first.close();
+        first.close();
+        throttle.start().close();
+        second.close();
+        assertThat(meterRegistry.get("firmware.downloads.active").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void testLimitTheEgress() throws Exception {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        try (FirmwareDownloadThrottle.Download download = throttle.start()) {
+            OutputStream out = download.throttle(sink);
+            // A burst of 100 ms, then 300 ms at 1 MiB/s
+            out.write(new byte[400 * 1024 + 1]);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(sink.size()).isEqualTo(400 * 1024 + 1);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    public void testShareTheEgressBetweenDownloads() {
+        long firstWait = 0;
+        for (int i = 0; i < 10; i++) {
+            firstWait = throttle.reserve(64 * 1024);
+        }
+        long secondWait = throttle.reserve(64 * 1024);
+
+        // 11 writes of 64 KiB take 687 ms at 1 MiB/s, of which 100 ms of burst
+        assertThat(TimeUnit.NANOSECONDS.toMillis(firstWait)).isBetween(500L, 600L);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(secondWait)).isBetween(550L, 600L);
+    }
+}
@@ -0,0 +1,187 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Application;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.domain.FirmwareRollout;
+import com.mycompany.myapp.domain.enumeration.RolloutStrategy;
+import com.mycompany.myapp.repository.ApplicationDataRepository;
+import com.mycompany.myapp.repository.DeviceRepository;
+import com.mycompany.myapp.repository.FirmwareRolloutRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link FirmwareRolloutService}.
+ */
+public class FirmwareRolloutServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 2, 1, 10, 30);
+
+    private FirmwareRolloutRepository firmwareRolloutRepository;
+
+    private ApplicationDataRepository applicationDataRepository;
+
+    private DeviceRepository deviceRepository;
+
+    private SearchIndexingService searchIndexingService;
+
+    private FirmwareRolloutService service;
+
+    @BeforeEach
+    public void setup() {
+        firmwareRolloutRepository = mock(FirmwareRolloutRepository.class);
+        applicationDataRepository = mock(ApplicationDataRepository.class);
+        deviceRepository = mock(DeviceRepository.class);
+        searchIndexingService = mock(SearchIndexingService.class);
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getFirmware().getRollout().setMinWaveCompletion(0.9);
+        properties.getFirmware().getRollout().setMaxWaveDurationMinutes(60);
+        properties.getFirmware().getRollout().setCheckDelayMs(30_000);
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        service =
+            new FirmwareRolloutService(
+                firmwareRolloutRepository,
+                applicationDataRepository,
+                deviceRepository,
+                searchIndexingService,
+                properties,
+                clock
+            );
+    }
+
+    @Test
+    public void testStartRolloutByPercentages() {
+        Application application = new Application().version("2.0").dataSize(100L);
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(application));
+        Device outdated = new Device().appVersion("1.0").idUpdated(true);
+        when(deviceRepository.findAllNotUpdatedTo("2.0")).thenReturn(Collections.singletonList(outdated));
+
+        FirmwareRollout rollout = service.start(1L, RolloutStrategy.PERCENTAGE, Arrays.asList(5L, 25L));
+
+        assertThat(rollout.getVersion()).isEqualTo("2.0");
+        assertThat(rollout.getWaves()).containsExactly(5L, 25L, 100L);
+        assertThat(rollout.getWaveCount()).isEqualTo(3);
+        assertThat(rollout.getCurrentWave()).isEqualTo(0);
+        assertThat(rollout.getWaveStartedDate()).isEqualTo(NOW);
+        assertThat(outdated.isIdUpdated()).isFalse();
+        verify(searchIndexingService).indexAll(Collections.singletonList(outdated));
+        verify(firmwareRolloutRepository).completeAll(null);
+        verify(firmwareRolloutRepository).insert(rollout);
+    }
+
+    @Test
+    public void testRejectInvalidRollouts() {
+        when(applicationDataRepository.findMetadata(1L)).thenReturn(Optional.of(new Application().version("2.0").dataSize(100L)));
+        when(applicationDataRepository.findMetadata(2L)).thenReturn(Optional.of(new Application().version("2.0")));
+
+        assertThatThrownBy(() -> service.start(1L, RolloutStrategy.PERCENTAGE, Arrays.asList(50L, 10L)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start(1L, RolloutStrategy.PERCENTAGE, Collections.singletonList(150L)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start(1L, RolloutStrategy.PROFILE, Collections.emptyList()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start(2L, RolloutStrategy.PROFILE, Collections.singletonList(1L)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start(3L, RolloutStrategy.PROFILE, Collections.singletonList(1L)))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(firmwareRolloutRepository, never()).insert(any());
+    }
+
+    @Test
+    public void testStartNextWaveWhenEnoughDevicesAreUpdated() {
+        FirmwareRollout rollout = rollout(RolloutStrategy.PROFILE, 0, NOW.minusMinutes(10));
+        Device device = new Device().appVersion("2.0").idUpdated(false);
+        when(deviceRepository.findAllUpdatedTo("2.0")).thenReturn(Collections.singletonList(device));
+        when(firmwareRolloutRepository.countDevices(rollout, 0, null)).thenReturn(10L);
+        when(firmwareRolloutRepository.countDevices(rollout, 0, "2.0")).thenReturn(9L);
+
+        service.check();
+
+        assertThat(device.isIdUpdated()).isTrue();
+        verify(searchIndexingService).indexAll(Collections.singletonList(device));
+        verify(firmwareRolloutRepository).advance(rollout, 1, false, NOW);
+    }
+
+    @Test
+    public void testWaitForTheDevicesOfTheWave() {
+        FirmwareRollout rollout = rollout(RolloutStrategy.PROFILE, 0, NOW.minusMinutes(10));
+        when(firmwareRolloutRepository.countDevices(rollout, 0, null)).thenReturn(10L);
+        when(firmwareRolloutRepository.countDevices(rollout, 0, "2.0")).thenReturn(8L);
+
+        service.check();
+
+        verify(firmwareRolloutRepository, never()).advance(any(), anyInt(), anyBoolean(), any());
+    }
+
+    @Test
+    public void testStartNextWaveAfterItsMaximumDuration() {
+        FirmwareRollout rollout = rollout(RolloutStrategy.PROFILE, 1, NOW.minusMinutes(60));
+        when(firmwareRolloutRepository.countDevices(rollout, 1, null)).thenReturn(10L);
+        when(firmwareRolloutRepository.countDevices(rollout, 1, "2.0")).thenReturn(2L);
+
+        service.check();
+
+        verify(firmwareRolloutRepository).advance(rollout, 2, false, NOW);
+    }
+
+    @Test
+    public void testCompleteWithTheLastWave() {
+        FirmwareRollout rollout = rollout(RolloutStrategy.PROFILE, 2, NOW.minusMinutes(10));
+        when(firmwareRolloutRepository.countDevices(eq(rollout), eq(2), isNull())).thenReturn(20L);
+        when(firmwareRolloutRepository.countDevices(rollout, 2, "2.0")).thenReturn(20L);
+
+        service.check();
+
+        verify(firmwareRolloutRepository).advance(rollout, 2, true, NOW);
+    }
+
+    @Test
+    public void testDeferDevicesOfLaterWaves() {
+        FirmwareRollout rollout = rollout(RolloutStrategy.PERCENTAGE, 0, NOW);
+        when(firmwareRolloutRepository.findActiveByApplicationId(1L)).thenReturn(Optional.of(rollout));
+        when(firmwareRolloutRepository.isReleased(rollout, 0, 7L)).thenReturn(true);
+
+        service.checkDownload(1L, 7L);
+        service.checkDownload(1L, null);
+        service.checkDownload(2L, 8L);
+        assertThatThrownBy(() -> service.checkDownload(1L, 8L))
+            .isInstanceOfSatisfying(
+                FirmwareDownloadDeferredException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(30)
+            );
+    }
+
+    private FirmwareRollout rollout(RolloutStrategy strategy, int currentWave, LocalDateTime waveStartedDate) {
+        FirmwareRollout rollout = new FirmwareRollout();
+        rollout.setId(1L);
+        rollout.setApplicationId(1L);
+        rollout.setVersion("2.0");
+        rollout.setStrategy(strategy);
+        rollout.setWaves(Arrays.asList(3L, 4L));
+        rollout.setCurrentWave(currentWave);
+        rollout.setWaveStartedDate(waveStartedDate);
+        rollout.setCreatedDate(waveStartedDate);
+        List<FirmwareRollout> active = Collections.singletonList(rollout);
+        when(firmwareRolloutRepository.findActive()).thenReturn(active);
+        return rollout;
+    }
+}
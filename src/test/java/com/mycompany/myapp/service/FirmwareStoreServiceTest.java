@@ -0,0 +1,121 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for the {@link FirmwareStoreService} and the {@link FirmwareDelta}.
+ */
+public class FirmwareStoreServiceTest {
+    private static final int IMAGE_SIZE = 256 * 1024;
+
+    @TempDir
+    Path storeDirectory;
+
+    private ApplicationProperties properties;
+
+    private FirmwareStoreService service;
+
+    private byte[] image;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ApplicationProperties();
+        properties.getFirmware().setStoreDirectory(storeDirectory.toString());
+        service = new FirmwareStoreService(properties);
+        // Random bytes do not compress, only the delta makes the new image smaller
+        image = new byte[IMAGE_SIZE];
+        new Random(42).nextBytes(image);
+    }
+
+    @Test
+    public void testStoreIdenticalImagesOnce() throws Exception {
+        String sha256 = service.put(new ByteArrayInputStream(image));
+
+        assertThat(service.put(new ByteArrayInputStream(image.clone()))).isEqualTo(sha256);
+        assertThat(service.contains(sha256)).isTrue();
+        assertThat(service.getBlob(sha256)).hasBinaryContent(image);
+        assertThat(Files.list(service.getBlob(sha256).getParent())).hasSize(1);
+        assertThat(Files.list(storeDirectory)).containsOnly(storeDirectory.resolve("blobs"));
+    }
+
+    @Test
+    public void testDeltaOfAPatchedImage() throws Exception {
+        byte[] patched = patch(image);
+        String baseSha256 = service.put(new ByteArrayInputStream(image));
+        String targetSha256 = service.put(new ByteArrayInputStream(patched));
+
+        Optional<Path> delta = service.getDelta(baseSha256, targetSha256);
+
+        assertThat(delta).isPresent();
+        assertThat(Files.size(delta.get())).isLessThan(IMAGE_SIZE / 10);
+        ByteArrayOutputStream rebuilt = new ByteArrayOutputStream();
+        try (InputStream in = Files.newInputStream(delta.get())) {
+            FirmwareDelta.apply(service.getBlob(baseSha256), in, rebuilt);
+        }
+        assertThat(rebuilt.toByteArray()).isEqualTo(patched);
+        assertThat(service.getDelta(baseSha256, targetSha256)).contains(delta.get());
+    }
+
+    @Test
+    public void testNoDeltaOfUnrelatedImages() throws Exception {
+        byte[] other = new byte[IMAGE_SIZE];
+        new Random(7).nextBytes(other);
+        String baseSha256 = service.put(new ByteArrayInputStream(image));
+        String targetSha256 = service.put(new ByteArrayInputStream(other));
+
+        assertThat(service.getDelta(baseSha256, targetSha256)).isEmpty();
+        assertThat(service.getDelta(baseSha256, baseSha256)).isEmpty();
+        assertThat(service.getDelta(baseSha256, "0000")).isEmpty();
+    }
+
+    @Test
+    public void testCleanUpUnusedFiles() throws Exception {
+        MutableClock clock = new MutableClock(Instant.now());
+        service = new FirmwareStoreService(properties, clock);
+        byte[] other = new byte[IMAGE_SIZE];
+        new Random(7).nextBytes(other);
+        String baseSha256 = service.put(new ByteArrayInputStream(image));
+        String targetSha256 = service.put(new ByteArrayInputStream(patch(image)));
+        String unreferencedSha256 = service.put(new ByteArrayInputStream(other));
+        Path delta = service.getDelta(baseSha256, targetSha256).get();
+        HashSet<String> referenced = new HashSet<>(Arrays.asList(baseSha256, targetSha256));
+
+        assertThat(service.cleanUp(referenced)).isZero();
+
+        clock.advance(2 * 60 * 60 * 1000);
+        assertThat(service.cleanUp(referenced)).isEqualTo(1);
+        assertThat(service.contains(unreferencedSha256)).isFalse();
+        assertThat(service.contains(baseSha256)).isTrue();
+        assertThat(service.contains(targetSha256)).isTrue();
+        assertThat(delta).exists();
+
+        clock.advance(7 * 24 * 60 * 60 * 1000);
+        assertThat(service.cleanUp(referenced)).isEqualTo(1);
+        assertThat(delta).doesNotExist();
+        assertThat(service.contains(baseSha256)).isTrue();
+    }
+
+    private static byte[] patch(byte[] image) {
+        byte[] patched = new byte[IMAGE_SIZE + 100];
+        System.arraycopy(image, 0, patched, 0, 1000);
+        Arrays.fill(patched, 1000, 1100, (byte) 0x5a);
+        System.arraycopy(image, 1000, patched, 1100, IMAGE_SIZE - 1000);
+        patched[200_000] ^= 0xff;
+        return patched;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.LatestReading;
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.LatestReadingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link LatestReadingService}.
+ */
+public class LatestReadingServiceTest {
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    private LatestReadingRepository latestReadingRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LatestReadingService latestReadingService;
+
+    @BeforeEach
+    public void setup() {
+        latestReadingRepository = mock(LatestReadingRepository.class);
+        when(latestReadingRepository.findLatestReading(anyLong())).thenReturn(Optional.empty());
+        meterRegistry = new SimpleMeterRegistry();
+        latestReadingService = new LatestReadingService(latestReadingRepository, meterRegistry);
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRebuildLoadsTheNewestReadingOfEachSensor() {
+        doAnswer(
+                invocation -> {
+                    Consumer<LatestReading> consumer = invocation.getArgument(0);
+                    consumer.accept(new LatestReading(1L, 10L, 20.0, NOW.toEpochMilli()));
+                    consumer.accept(new LatestReading(1L, 11L, 21.0, NOW.toEpochMilli()));
+                    consumer.accept(new LatestReading(2L, 12L, 5.0, NOW.toEpochMilli()));
+                    return null;
+                }
+            )
+            .when(latestReadingRepository)
+            .forEachLatestReading(any(Consumer.class));
+
+        latestReadingService.rebuild();
+
+        assertThat(latestReadingService.getLatestReading(1L)).map(LatestReading::getValue).contains(21.0);
+        assertThat(latestReadingService.getLatestReading(2L)).map(LatestReading::getValue).contains(5.0);
+        verify(latestReadingRepository, never()).findLatestReading(anyLong());
+        assertThat(meterRegistry.get("values.latest.cache").tag("result", "hit").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testMissLoadsFromTheDatabaseOnce() {
+        assertThat(latestReadingService.getLatestReading(3L)).isEmpty();
+        assertThat(latestReadingService.getLatestReading(3L)).isEmpty();
+
+        verify(latestReadingRepository, times(1)).findLatestReading(3L);
+        assertThat(meterRegistry.get("values.latest.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("values.latest.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUpdateKeepsTheNewestReading() {
+        latestReadingService.update(Arrays.asList(values(1L, 100L, 22.0, NOW), values(1L, 99L, 30.0, NOW.minusSeconds(60))));
+        latestReadingService.update(Collections.singletonList(values(1L, 98L, 40.0, NOW.minusSeconds(120))));
+
+        assertThat(latestReadingService.getLatestReading(1L)).map(LatestReading::getValue).contains(22.0);
+    }
+
+    @Test
+    public void testUpdateIsAppliedOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        latestReadingService.update(Collections.singletonList(values(1L, 100L, 22.0, NOW)));
+
+        assertThat(latestReadingService.getLatestReading(1L)).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(latestReadingService.getLatestReading(1L)).map(LatestReading::getValue).contains(22.0);
+    }
+
+    @Test
+    public void testEvictReloadsFromTheDatabase() {
+        latestReadingService.update(Collections.singletonList(values(1L, 100L, 22.0, NOW)));
+        when(latestReadingRepository.findLatestReading(1L)).thenReturn(Optional.of(new LatestReading(1L, 90L, 19.0, NOW.minusSeconds(600).toEpochMilli())));
+
+        latestReadingService.evict(1L);
+
+        assertThat(latestReadingService.getLatestReading(1L)).map(LatestReading::getValue).contains(19.0);
+    }
+
+    private static Values values(Long temperatureId, Long id, Double value, Instant timestamp) {
+        Temperature temperature = new Temperature();
+        temperature.setId(temperatureId);
+        Values values = new Values().value(value).timestamp(ZonedDateTime.ofInstant(timestamp, ZoneOffset.UTC)).temperature(temperature);
+        values.setId(id);
+        return values;
+    }
+}
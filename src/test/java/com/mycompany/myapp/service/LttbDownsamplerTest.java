@@ -0,0 +1,117 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LttbDownsampler}.
+ */
+public class LttbDownsamplerTest {
+
+    @Test
+    public void testSameResultAsInMemoryLttb() {
+        Random random = new Random(42);
+        int total = 10_000;
+        long[] xs = new long[total];
+        double[] ys = new double[total];
+        for (int i = 0; i < total; i++) {
+            xs[i] = 1_000_000L + i * 1000L + random.nextInt(500);
+            ys[i] = 20 + 5 * Math.sin(i / 300.0) + random.nextGaussian();
+        }
+
+        for (int threshold : new int[] { 3, 10, 333, 1000, 9999 }) {
+            LttbDownsampler downsampler = downsample(xs, ys, threshold);
+            List<Integer> expected = referenceLttb(xs, ys, threshold);
+
+            assertThat(downsampler.finish()).isEqualTo(threshold);
+            for (int i = 0; i < threshold; i++) {
+                assertThat(downsampler.getX(i)).isEqualTo(xs[expected.get(i)]);
+                assertThat(downsampler.getY(i)).isEqualTo(ys[expected.get(i)]);
+            }
+        }
+    }
+
+    @Test
+    public void testKeepsSpikes() {
+        int total = 1000;
+        long[] xs = new long[total];
+        double[] ys = new double[total];
+        for (int i = 0; i < total; i++) {
+            xs[i] = i;
+            ys[i] = i == 637 ? 100 : 20;
+        }
+
+        LttbDownsampler downsampler = downsample(xs, ys, 20);
+        int size = downsampler.finish();
+
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(downsampler.getY(i));
+        }
+        assertThat(values).contains(100.0);
+    }
+
+    @Test
+    public void testRejectsInvalidThreshold() {
+        assertThatThrownBy(() -> new LttbDownsampler(100, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LttbDownsampler(100, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LttbDownsampler downsample(long[] xs, double[] ys, int threshold) {
+        LttbDownsampler downsampler = new LttbDownsampler(xs.length, threshold);
+        for (int i = 0; i < xs.length; i++) {
+            downsampler.accumulate(xs[i], ys[i]);
+        }
+        for (int i = 0; i < xs.length; i++) {
+            downsampler.select(xs[i], ys[i]);
+        }
+        return downsampler;
+    }
+
+    /**
+     * The original LTTB algorithm, on points held in memory.
+     */
+    private static List<Integer> referenceLttb(long[] xs, double[] ys, int threshold) {
+        int total = xs.length;
+        List<Integer> sampled = new ArrayList<>();
+        double every = (double) (total - 2) / (threshold - 2);
+        int a = 0;
+        sampled.add(0);
+        for (int i = 0; i < threshold - 2; i++) {
+            int avgRangeStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgRangeEnd = Math.min((int) Math.floor((i + 2) * every) + 1, total);
+            if (i == threshold - 3) {
+                avgRangeEnd = total;
+            }
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgRangeStart; j < avgRangeEnd; j++) {
+                avgX += xs[j];
+                avgY += ys[j];
+            }
+            avgX /= avgRangeEnd - avgRangeStart;
+            avgY /= avgRangeEnd - avgRangeStart;
+
+            int rangeOffs = (int) Math.floor(i * every) + 1;
+            int rangeTo = (int) Math.floor((i + 1) * every) + 1;
+            double maxArea = -1;
+            int next = rangeOffs;
+            for (int j = rangeOffs; j < rangeTo; j++) {
+                double area = Math.abs((xs[a] - avgX) * (ys[j] - ys[a]) - (xs[a] - xs[j]) * (avgY - ys[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled.add(next);
+            a = next;
+        }
+        sampled.add(total - 1);
+        return sampled;
+    }
+}
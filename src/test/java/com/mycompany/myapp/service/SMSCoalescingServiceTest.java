@@ -0,0 +1,194 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SMSNotification;
+import com.mycompany.myapp.domain.enumeration.AlertType;
+import com.mycompany.myapp.repository.SMSNotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link SMSCoalescingService}.
+ */
+public class SMSCoalescingServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 2, 1, 10, 30);
+
+    private SMSNotificationRepository sMSNotificationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MutableClock clock;
+
+    private ApplicationProperties properties;
+
+    private SMSCoalescingService service;
+
+    @BeforeEach
+    public void setup() {
+        sMSNotificationRepository = mock(SMSNotificationRepository.class);
+        when(sMSNotificationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        properties = new ApplicationProperties();
+        properties.getSms().getCoalescing().setWindowSeconds(60);
+        properties.getSms().getCoalescing().getAlertTypeWindowSeconds().put(AlertType.DEBUG, 0L);
+        properties.getSms().getCoalescing().setMaxEntries(4);
+        properties.getSms().getCoalescing().setStripes(2);
+        service = newService();
+    }
+
+    private SMSCoalescingService newService() {
+        return new SMSCoalescingService(
+            sMSNotificationRepository,
+            mock(SearchIndexingService.class),
+            mock(PlatformTransactionManager.class),
+            properties,
+            meterRegistry,
+            clock
+        );
+    }
+
+    @Test
+    public void testMergeDuplicatesWithinTheWindow() {
+        assertThat(service.admit(alert("device-1", AlertType.ERROR, "Too hot"))).isTrue();
+        assertThat(service.admit(alert("device-1", AlertType.ERROR, "Too hot"))).isFalse();
+        assertThat(service.admit(alert("device-1", AlertType.ERROR, "Still too hot"))).isFalse();
+        assertThat(service.admit(alert("device-1", AlertType.WARN, "Too hot"))).isTrue();
+        assertThat(service.admit(alert("device-2", AlertType.ERROR, "Too hot"))).isTrue();
+
+        assertThat(meterRegistry.get("sms.coalescing.alerts").tag("outcome", "sent").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("sms.coalescing.alerts").tag("outcome", "suppressed").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("sms.coalescing.windows").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCreateOneNotificationOfTheMergedAlertsWhenTheWindowElapses() {
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-1", AlertType.ERROR, "Still too hot"));
+
+        service.flush();
+        verify(sMSNotificationRepository, never()).saveAll(any());
+
+        clock.advance(60_000);
+        service.flush();
+
+        List<SMSNotification> summaries = captureSaved();
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.get(0).getMessage()).isEqualTo("Still too hot (2x in 60 s)");
+        assertThat(summaries.get(0).getUuidDevice()).isEqualTo("device-1");
+        assertThat(summaries.get(0).getAlertType()).isEqualTo(AlertType.ERROR);
+        assertThat(summaries.get(0).getTelNumber()).isEqualTo("+420123456789");
+        assertThat(meterRegistry.get("sms.coalescing.summaries").counter().count()).isEqualTo(1);
+
+        // The notification opened the next window
+        assertThat(service.admit(alert("device-1", AlertType.ERROR, "Too hot"))).isFalse();
+    }
+
+    @Test
+    public void testKeepClosedWindowsUntilTheirNotificationIsCreated() {
+        when(sMSNotificationRepository.saveAll(any()))
+            .thenThrow(new IllegalStateException("Database down"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+
+        clock.advance(60_000);
+        service.flush();
+        assertThat(meterRegistry.get("sms.coalescing.summaries").counter().count()).isEqualTo(0);
+
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        clock.advance(60_000);
+        service.flush();
+
+        ArgumentCaptor<List<SMSNotification>> captor = listCaptor();
+        verify(sMSNotificationRepository, times(2)).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(SMSNotification::getMessage).containsExactly("Too hot (2x in 60 s)");
+        assertThat(meterRegistry.get("sms.coalescing.summaries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCloseAllTheWindowsWhenStopping() {
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-2", AlertType.ERROR, "Too hot"));
+
+        service.stop();
+
+        assertThat(captureSaved()).extracting(SMSNotification::getMessage).containsExactly("Too hot (1x in 60 s)");
+        assertThat(meterRegistry.get("sms.coalescing.windows").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAlertAfterTheWindowCarriesTheCount() {
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+
+        clock.advance(60_000);
+        SMSNotification alert = alert("device-1", AlertType.ERROR, "Too hot");
+        assertThat(service.admit(alert)).isTrue();
+        assertThat(alert.getMessage()).isEqualTo("Too hot (2x in 60 s)");
+
+        service.flush();
+        verify(sMSNotificationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void testDoNotMergeUnmergeableAlerts() {
+        assertThat(service.admit(alert("device-1", AlertType.DEBUG, "Debug"))).isTrue();
+        assertThat(service.admit(alert("device-1", AlertType.DEBUG, "Debug"))).isTrue();
+        assertThat(service.admit(alert(null, AlertType.ERROR, "Too hot"))).isTrue();
+        assertThat(service.admit(alert(null, AlertType.ERROR, "Too hot"))).isTrue();
+        SMSNotification scheduled = alert("device-1", AlertType.ERROR, "Too hot").featureSend(NOW.plusHours(1).atZone(ZoneOffset.UTC));
+        assertThat(service.admit(scheduled)).isTrue();
+        assertThat(service.admit(alert("device-1", AlertType.ERROR, "Too hot"))).isTrue();
+    }
+
+    @Test
+    public void testCloseTheOldestWindowsOfAFullStripe() {
+        properties.getSms().getCoalescing().setStripes(1);
+        properties.getSms().getCoalescing().setMaxEntries(2);
+        meterRegistry = new SimpleMeterRegistry();
+        service = newService();
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-1", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-2", AlertType.ERROR, "Too hot"));
+        service.admit(alert("device-3", AlertType.ERROR, "Too hot"));
+
+        assertThat(meterRegistry.get("sms.coalescing.windows").gauge().value()).isEqualTo(2);
+        service.flush();
+
+        List<SMSNotification> summaries = captureSaved();
+        assertThat(summaries).extracting(SMSNotification::getUuidDevice).containsExactly("device-1");
+        assertThat(service.admit(alert("device-1", AlertType.ERROR, "Too hot"))).isTrue();
+    }
+
+    private List<SMSNotification> captureSaved() {
+        ArgumentCaptor<List<SMSNotification>> captor = listCaptor();
+        verify(sMSNotificationRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<SMSNotification>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static SMSNotification alert(String uuidDevice, AlertType alertType, String message) {
+        return new SMSNotification().telNumber("+420123456789").uuidDevice(uuidDevice).alertType(alertType).message(message);
+    }
+}
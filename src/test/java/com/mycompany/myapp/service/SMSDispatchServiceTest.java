@@ -0,0 +1,247 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SMSNotification;
+import com.mycompany.myapp.repository.SMSDispatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link SMSDispatchService}.
+ */
+public class SMSDispatchServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 2, 1, 10, 30);
+
+    private SMSDispatchRepository smsDispatchRepository;
+
+    private SMSGateway smsGateway;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private SearchIndexingService searchIndexingService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApplicationProperties properties;
+
+    private SMSDispatchService service;
+
+    @BeforeEach
+    public void setup() {
+        smsDispatchRepository = mock(SMSDispatchRepository.class);
+        when(smsDispatchRepository.renewClaim(any(), any())).thenReturn(true);
+        smsGateway = mock(SMSGateway.class);
+        entityManagerFactory = mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS);
+        searchIndexingService = mock(SearchIndexingService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ApplicationProperties();
+        properties.getSms().getDispatch().setBatchSize(10);
+        properties.getSms().getDispatch().setClaimTimeoutSeconds(60);
+        properties.getSms().getDispatch().setPollDelayMs(10);
+        service = newService();
+    }
+
+    private SMSDispatchService newService() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new SMSDispatchService(
+            smsDispatchRepository,
+            smsGateway,
+            mock(PlatformTransactionManager.class),
+            entityManagerFactory,
+            mock(CacheInvalidationService.class),
+            searchIndexingService,
+            properties,
+            meterRegistry,
+            clock
+        );
+    }
+
+    @Test
+    public void testSendClaimedNotifications() {
+        SMSNotification first = claimed(1L);
+        SMSNotification second = claimed(2L);
+        when(smsDispatchRepository.claim(10, NOW, NOW.minusSeconds(60))).thenReturn(Arrays.asList(first, second));
+        when(smsDispatchRepository.markSent(any(), any())).thenReturn(true);
+
+        assertThat(service.dispatchBatch()).isEqualTo(2);
+
+        verify(smsGateway).send(first);
+        verify(smsGateway).send(second);
+        verify(smsDispatchRepository).markSent(first, NOW);
+        verify(smsDispatchRepository).markSent(second, NOW);
+        assertThat(first.isIsSend()).isTrue();
+        assertThat(first.isIsSending()).isFalse();
+        assertThat(first.getSendTimestamp()).isEqualTo(NOW.atZone(ZoneOffset.UTC));
+        verify(searchIndexingService).indexAll(Arrays.asList(first, second));
+        verify(entityManagerFactory.getCache(), times(2)).evict(SMSNotification.class, 1L);
+        assertThat(meterRegistry.get("sms.dispatch.sent").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testKeepTheClaimOfFailedNotifications() {
+        SMSNotification failed = claimed(1L);
+        SMSNotification sent = claimed(2L);
+        when(smsDispatchRepository.claim(anyInt(), any(), any())).thenReturn(Arrays.asList(failed, sent));
+        doThrow(new IllegalStateException("Gateway down")).when(smsGateway).send(failed);
+        when(smsDispatchRepository.markSent(sent, NOW)).thenReturn(true);
+
+        assertThat(service.dispatchBatch()).isEqualTo(2);
+
+        verify(smsDispatchRepository, never()).markSent(failed, NOW);
+        assertThat(failed.isIsSend()).isNull();
+        verify(searchIndexingService).indexAll(Collections.singletonList(sent));
+        assertThat(meterRegistry.get("sms.dispatch.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDoNotIndexNotificationsWhoseClaimExpired() {
+        SMSNotification notification = claimed(1L);
+        when(smsDispatchRepository.claim(anyInt(), any(), any())).thenReturn(Collections.singletonList(notification));
+        when(smsDispatchRepository.markSent(notification, NOW)).thenReturn(false);
+
+        service.dispatchBatch();
+
+        verify(smsGateway).send(notification);
+        verify(searchIndexingService).indexAll(Collections.emptyList());
+        assertThat(meterRegistry.get("sms.dispatch.sent").counter().count()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSkipNotificationsClaimedAgain() {
+        SMSNotification claimedAgain = claimed(1L);
+        SMSNotification sent = claimed(2L);
+        when(smsDispatchRepository.claim(anyInt(), any(), any())).thenReturn(Arrays.asList(claimedAgain, sent));
+        when(smsDispatchRepository.renewClaim(claimedAgain, NOW)).thenReturn(false);
+        when(smsDispatchRepository.markSent(sent, NOW)).thenReturn(true);
+
+        service.dispatchBatch();
+
+        verify(smsGateway, never()).send(claimedAgain);
+        verify(smsGateway).send(sent);
+        verify(searchIndexingService).indexAll(Collections.singletonList(sent));
+    }
+
+    @Test
+    public void testGiveUpOnASlowGateway() throws Exception {
+        properties.getSms().getDispatch().setSendTimeoutMs(100);
+        service = newService();
+        SMSNotification slow = claimed(1L);
+        when(smsDispatchRepository.claim(anyInt(), any(), any())).thenReturn(Collections.singletonList(slow));
+        doAnswer(
+                invocation -> {
+                    Thread.sleep(5000);
+                    return null;
+                }
+            )
+            .when(smsGateway)
+            .send(slow);
+
+        try {
+            service.dispatchBatch();
+        } finally {
+            service.stop();
+        }
+
+        verify(smsDispatchRepository, never()).markSent(any(), any());
+        assertThat(meterRegistry.get("sms.dispatch.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRefuseASendTimeoutLongerThanHalfTheClaimTimeout() {
+        properties.getSms().getDispatch().setSendTimeoutMs(30001);
+
+        assertThatThrownBy(this::newService).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testWorkersDrainTheQueue() throws Exception {
+        SMSNotification notification = claimed(1L);
+        when(smsDispatchRepository.claim(anyInt(), any(), any())).thenReturn(Collections.singletonList(notification), Collections.emptyList());
+        when(smsDispatchRepository.markSent(notification, NOW)).thenReturn(true);
+
+        service.start();
+        try {
+            verify(smsGateway, timeout(5000)).send(notification);
+            verify(smsDispatchRepository, timeout(5000)).markSent(notification, NOW);
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    public void testSendDueScheduledNotifications() {
+        SMSNotification notification = claimed(1L);
+        when(smsDispatchRepository.claimDue(Arrays.asList(1L, 2L), NOW, NOW.minusSeconds(60))).thenReturn(Collections.singletonList(notification));
+        when(smsDispatchRepository.markSent(notification, NOW)).thenReturn(true);
+
+        assertThat(service.dispatchBatch(Arrays.asList(1L, 2L))).isEqualTo(1);
+        assertThat(service.dispatchBatch(Collections.emptyList())).isEqualTo(0);
+
+        verify(smsGateway).send(notification);
+        verify(smsDispatchRepository).claimDue(any(), any(), any());
+        assertThat(notification.isIsSend()).isTrue();
+    }
+
+    @Test
+    public void testDueNotificationsWakeTheWorkers() throws Exception {
+        SMSNotification notification = claimed(1L);
+        when(smsDispatchRepository.claimDue(Collections.singletonList(1L), NOW, NOW.minusSeconds(60))).thenReturn(Collections.singletonList(notification));
+        when(smsDispatchRepository.markSent(notification, NOW)).thenReturn(true);
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSms().getDispatch().setWorkers(1);
+        properties.getSms().getDispatch().setClaimTimeoutSeconds(60);
+        properties.getSms().getDispatch().setPollDelayMs(60000);
+        SMSDispatchService slowPollingService = new SMSDispatchService(
+            smsDispatchRepository,
+            smsGateway,
+            mock(PlatformTransactionManager.class),
+            entityManagerFactory,
+            mock(CacheInvalidationService.class),
+            searchIndexingService,
+            properties,
+            new SimpleMeterRegistry(),
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC)
+        );
+
+        slowPollingService.start();
+        try {
+            verify(smsDispatchRepository, timeout(5000)).claim(anyInt(), any(), any());
+            slowPollingService.dispatchDue(Collections.singletonList(1L));
+            verify(smsGateway, timeout(5000)).send(notification);
+        } finally {
+            slowPollingService.stop();
+        }
+    }
+
+    private static SMSNotification claimed(Long id) {
+        SMSNotification notification = new SMSNotification()
+            .telNumber("+420123456789")
+            .message("Alert")
+            .isSending(true)
+            .sendingTimestamp(NOW.atZone(ZoneOffset.UTC));
+        notification.setId(id);
+        return notification;
+    }
+}
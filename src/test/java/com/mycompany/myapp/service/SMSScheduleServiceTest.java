@@ -0,0 +1,133 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SMSNotification;
+import com.mycompany.myapp.repository.SMSDispatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SMSScheduleService}.
+ */
+public class SMSScheduleServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 2, 1, 10, 30);
+
+    private SMSDispatchRepository smsDispatchRepository;
+
+    private SMSDispatchService smsDispatchService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MutableClock clock;
+
+    private SMSScheduleService service;
+
+    @BeforeEach
+    public void setup() {
+        smsDispatchRepository = mock(SMSDispatchRepository.class);
+        smsDispatchService = mock(SMSDispatchService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSms().getSchedule().setTickMs(100);
+        properties.getSms().getSchedule().setWheelSize(64);
+        properties.getSms().getSchedule().setWindowSeconds(600);
+        properties.getSms().getSchedule().setMaxScheduled(1000);
+        service = new SMSScheduleService(smsDispatchRepository, smsDispatchService, properties, meterRegistry, clock);
+    }
+
+    @Test
+    public void testFireRefilledNotificationsAtTheirTick() {
+        Map<Long, LocalDateTime> scheduled = new LinkedHashMap<>();
+        scheduled.put(1L, NOW.minusMinutes(1));
+        scheduled.put(2L, NOW.plusNanos(250_000_000));
+        scheduled.put(3L, NOW.plusSeconds(1));
+        when(smsDispatchRepository.findScheduled(NOW.plusSeconds(600), 1000)).thenReturn(scheduled);
+
+        service.refill();
+        assertThat(meterRegistry.get("sms.schedule.scheduled").gauge().value()).isEqualTo(3);
+
+        clock.advance(100);
+        service.tick();
+        verify(smsDispatchService).dispatchDue(Collections.singletonList(1L));
+
+        clock.advance(100);
+        service.tick();
+        verify(smsDispatchService, never()).dispatchDue(Collections.singletonList(2L));
+
+        clock.advance(100);
+        service.tick();
+        verify(smsDispatchService).dispatchDue(Collections.singletonList(2L));
+        assertThat(meterRegistry.get("sms.schedule.scheduled").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRefillSkipsScheduledNotifications() {
+        Map<Long, LocalDateTime> scheduled = new LinkedHashMap<>();
+        scheduled.put(1L, NOW.plusSeconds(30));
+        when(smsDispatchRepository.findScheduled(any(), any(Integer.class))).thenReturn(scheduled);
+
+        service.refill();
+        service.refill();
+
+        assertThat(meterRegistry.get("sms.schedule.scheduled").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFireNotificationsBeyondOneTurnAfterALongPause() {
+        // A turn of the wheel lasts 6.4 s
+        Map<Long, LocalDateTime> scheduled = new LinkedHashMap<>();
+        scheduled.put(1L, NOW.plusSeconds(2));
+        scheduled.put(2L, NOW.plusSeconds(20));
+        when(smsDispatchRepository.findScheduled(any(), any(Integer.class))).thenReturn(scheduled);
+        service.refill();
+
+        clock.advance(10_000);
+        service.tick();
+        verify(smsDispatchService).dispatchDue(Collections.singletonList(1L));
+
+        clock.advance(10_000);
+        service.tick();
+        verify(smsDispatchService).dispatchDue(Collections.singletonList(2L));
+    }
+
+    @Test
+    public void testScheduleNotificationsWithinTheWindow() {
+        SMSNotification soon = notification(1L, NOW.plusSeconds(1));
+        SMSNotification later = notification(2L, NOW.plusHours(1));
+        SMSNotification sent = notification(3L, NOW.plusSeconds(1)).isSend(true);
+
+        service.schedule(soon);
+        service.schedule(later);
+        service.schedule(sent);
+        service.schedule(notification(4L, null));
+
+        clock.advance(2000);
+        service.tick();
+        verify(smsDispatchService).dispatchDue(Arrays.asList(1L));
+        assertThat(meterRegistry.get("sms.schedule.scheduled").gauge().value()).isEqualTo(0);
+    }
+
+    private static SMSNotification notification(Long id, LocalDateTime featureSend) {
+        SMSNotification notification = new SMSNotification()
+            .telNumber("+420123456789")
+            .message("Alert")
+            .featureSend(featureSend != null ? featureSend.atZone(ZoneOffset.UTC) : null);
+        notification.setId(id);
+        return notification;
+    }
+}
@@ -0,0 +1,141 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SearchOutboxEntry;
+import com.mycompany.myapp.repository.SearchOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link SearchOutboxIndexer}.
+ */
+public class SearchOutboxIndexerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 2, 1, 10, 30);
+
+    private static final LocalDateTime CLAIMED_UNTIL = NOW.plusMinutes(1);
+
+    private SearchOutboxRepository searchOutboxRepository;
+
+    private SearchIndexingService searchIndexingService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SearchOutboxIndexer indexer;
+
+    @BeforeEach
+    public void setup() {
+        searchOutboxRepository = mock(SearchOutboxRepository.class);
+        searchIndexingService = mock(SearchIndexingService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSearch().getOutbox().setInitialBackoffMs(1000);
+        properties.getSearch().getOutbox().setMaxBackoffMs(5000);
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        properties.getSearch().getOutbox().setClaimTimeoutMs(60000);
+        indexer =
+            new SearchOutboxIndexer(
+                searchOutboxRepository,
+                searchIndexingService,
+                mock(PlatformTransactionManager.class),
+                properties,
+                meterRegistry,
+                clock
+            );
+    }
+
+    @Test
+    public void testCoalesceEntriesOfTheSameEntity() {
+        List<SearchOutboxEntry> entries = Arrays.asList(
+            new SearchOutboxEntry(1L, "Temperature", 7L, 0),
+            new SearchOutboxEntry(2L, "Device", 3L, 0),
+            new SearchOutboxEntry(3L, "Temperature", 7L, 0),
+            new SearchOutboxEntry(4L, "Temperature", 8L, 0)
+        );
+        when(searchOutboxRepository.claim(NOW, CLAIMED_UNTIL, 10)).thenReturn(entries);
+
+        assertThat(indexer.drainBatch(10)).isFalse();
+
+        verify(searchIndexingService).reindex("Temperature", new HashSet<>(Arrays.asList(7L, 8L)));
+        verify(searchIndexingService).reindex("Device", Collections.singleton(3L));
+        ArgumentCaptor<Collection<SearchOutboxEntry>> deleted = captor();
+        verify(searchOutboxRepository, times(2)).deleteAll(deleted.capture());
+        assertThat(deleted.getAllValues())
+            .flatExtracting(batch -> batch)
+            .extracting(SearchOutboxEntry::getId)
+            .containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(meterRegistry.get("search.outbox.indexed").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void testContinueWhileBatchesAreFull() {
+        when(searchOutboxRepository.claim(NOW, CLAIMED_UNTIL, 1)).thenReturn(Arrays.asList(new SearchOutboxEntry(1L, "Device", 3L, 0)));
+
+        assertThat(indexer.drainBatch(1)).isTrue();
+    }
+
+    @Test
+    public void testBatchIsFullOfEntitiesNotEntries() {
+        List<SearchOutboxEntry> entries = Arrays.asList(
+            new SearchOutboxEntry(1L, "Device", 3L, 0),
+            new SearchOutboxEntry(2L, "Device", 3L, 0)
+        );
+        when(searchOutboxRepository.claim(NOW, CLAIMED_UNTIL, 2)).thenReturn(entries);
+
+        assertThat(indexer.drainBatch(2)).isFalse();
+        verify(searchIndexingService).reindex("Device", Collections.singleton(3L));
+    }
+
+    @Test
+    public void testRetryFailedEntriesWithBackoff() {
+        List<SearchOutboxEntry> entries = Arrays.asList(
+            new SearchOutboxEntry(1L, "Device", 3L, 0),
+            new SearchOutboxEntry(2L, "Device", 4L, 2)
+        );
+        when(searchOutboxRepository.claim(NOW, CLAIMED_UNTIL, 2)).thenReturn(entries);
+        doThrow(new IllegalStateException("Elasticsearch is down")).when(searchIndexingService).reindex(eq("Device"), anyCollection());
+
+        assertThat(indexer.drainBatch(2)).isFalse();
+
+        verify(searchOutboxRepository).markFailed(eq(entries), anyString());
+        verify(searchOutboxRepository, never()).deleteAll(any());
+        assertThat(entries.get(0).getNextAttemptAt()).isEqualTo(NOW.plusSeconds(1));
+        assertThat(entries.get(1).getNextAttemptAt()).isEqualTo(NOW.plusSeconds(4));
+        assertThat(meterRegistry.get("search.outbox.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBackoffIsCapped() {
+        assertThat(indexer.backoffMillis(0)).isEqualTo(1000);
+        assertThat(indexer.backoffMillis(1)).isEqualTo(2000);
+        assertThat(indexer.backoffMillis(3)).isEqualTo(5000);
+        assertThat(indexer.backoffMillis(100)).isEqualTo(5000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<SearchOutboxEntry>> captor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
@@ -0,0 +1,175 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.domain.SearchReindexCheckpoint;
+import com.mycompany.myapp.repository.SearchReindexCheckpointRepository;
+import com.mycompany.myapp.service.dto.SearchReindexStatusDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the {@link SearchReindexService}.
+ */
+public class SearchReindexServiceTest {
+    private static final int CHUNK_SIZE = 2;
+
+    private final List<Device> devices = LongStream.rangeClosed(1, 5).mapToObj(SearchReindexServiceTest::device).collect(Collectors.toList());
+
+    private final AtomicLong afterId = new AtomicLong();
+
+    private final List<Long> queriedAfterIds = new ArrayList<>();
+
+    private SearchReindexCheckpointRepository checkpointRepository;
+
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private SearchReindexService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        SearchIndexingService searchIndexingService = mock(SearchIndexingService.class);
+        when(searchIndexingService.getIndexedEntities()).thenReturn(Collections.singletonMap("Device", Device.class));
+        checkpointRepository = mock(SearchReindexCheckpointRepository.class);
+        when(checkpointRepository.findByEntityType("Device")).thenReturn(Optional.empty());
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+
+        EntityManager entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        when(entityManager.createQuery(anyString(), eq(Long.class)).getSingleResult()).thenReturn((long) devices.size());
+        TypedQuery<Device> chunkQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Device.class))).thenReturn(chunkQuery);
+        when(chunkQuery.setParameter(eq("afterId"), any()))
+            .thenAnswer(
+                invocation -> {
+                    afterId.set(invocation.getArgument(1));
+                    queriedAfterIds.add(afterId.get());
+                    return chunkQuery;
+                }
+            );
+        when(chunkQuery.setMaxResults(anyInt())).thenReturn(chunkQuery);
+        when(chunkQuery.getResultList())
+            .thenAnswer(
+                invocation -> devices.stream().filter(device -> device.getId() > afterId.get()).limit(CHUNK_SIZE).collect(Collectors.toList())
+            );
+        when(entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(any()))
+            .thenAnswer(invocation -> ((Device) invocation.getArgument(0)).getId());
+
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSearch().getReindex().setChunkSize(CHUNK_SIZE);
+        properties.getSearch().getReindex().setConcurrency(2);
+        service =
+            new SearchReindexService(
+                searchIndexingService,
+                checkpointRepository,
+                elasticsearchOperations,
+                entityManager,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                mock(SearchResultCache.class),
+                properties,
+                new SimpleMeterRegistry()
+            );
+    }
+
+    @AfterEach
+    public void teardown() {
+        service.stop();
+    }
+
+    @Test
+    public void testReindexAllChunks() throws Exception {
+        assertThat(service.start(null, false)).isTrue();
+        service.awaitTermination();
+
+        verify(elasticsearchOperations, times(3)).bulkIndex(anyList());
+        verify(elasticsearchOperations).refresh(Device.class);
+        SearchReindexStatusDTO status = service.getStatus();
+        assertThat(status.getState()).isEqualTo(SearchReindexService.COMPLETED);
+        assertThat(status.getIndexed()).isEqualTo(5);
+        assertThat(status.getEntities()).hasSize(1);
+        assertThat(status.getEntities().get(0).getTotal()).isEqualTo(5);
+        assertThat(status.getEntities().get(0).getLastId()).isEqualTo(5L);
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        SearchReindexCheckpoint checkpoint = new SearchReindexCheckpoint("Device");
+        checkpoint.setLastId(2L);
+        checkpoint.setIndexed(2);
+        when(checkpointRepository.findByEntityType("Device")).thenReturn(Optional.of(checkpoint));
+
+        service.start(Collections.singletonList("Device"), false);
+        service.awaitTermination();
+
+        assertThat(queriedAfterIds.get(0)).isEqualTo(2L);
+        verify(elasticsearchOperations, times(2)).bulkIndex(anyList());
+        assertThat(checkpoint.isCompleted()).isTrue();
+        assertThat(checkpoint.getIndexed()).isEqualTo(5);
+        assertThat(service.getStatus().getIndexed()).isEqualTo(3);
+    }
+
+    @Test
+    public void testKeepCheckpointOfContiguousChunksOnFailure() throws Exception {
+        doAnswer(
+                invocation -> {
+                    List<IndexQuery> queries = invocation.getArgument(0);
+                    if (queries.stream().anyMatch(query -> "3".equals(query.getId()))) {
+                        throw new IllegalStateException("Elasticsearch is down");
+                    }
+                    return null;
+                }
+            )
+            .when(elasticsearchOperations)
+            .bulkIndex(anyList());
+        SearchReindexCheckpoint checkpoint = new SearchReindexCheckpoint("Device");
+        when(checkpointRepository.findByEntityType("Device")).thenReturn(Optional.of(checkpoint));
+
+        service.start(null, false);
+        service.awaitTermination();
+
+        assertThat(service.getStatus().getState()).isEqualTo(SearchReindexService.FAILED);
+        assertThat(checkpoint.getLastId()).isEqualTo(2L);
+        assertThat(checkpoint.isCompleted()).isFalse();
+    }
+
+    @Test
+    public void testRejectUnknownEntityType() {
+        assertThatThrownBy(() -> service.start(Collections.singletonList("Unknown"), false)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getStatus().getState()).isEqualTo(SearchReindexService.IDLE);
+    }
+
+    private static Device device(long id) {
+        Device device = new Device();
+        device.setId(id);
+        return device;
+    }
+}
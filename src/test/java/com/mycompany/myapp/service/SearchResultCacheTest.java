@@ -0,0 +1,127 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Test class for the {@link SearchResultCache}.
+ */
+public class SearchResultCacheTest {
+    private final AtomicInteger searches = new AtomicInteger();
+
+    private CacheManager cacheManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SearchResultCache searchResultCache;
+
+    @BeforeEach
+    public void setup() {
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader());
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSearch().getCache().setMaxEntries(2);
+        searchResultCache = new SearchResultCache(cacheManager, meterRegistry, properties);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    public void testCacheByNormalizedQueryAndPage() {
+        assertThat(search("Device", "status:on  AND name:x")).isSameAs(search("Device", " status:on AND\tname:x "));
+        search("Device", "status:on AND name:x", PageRequest.of(1, 20));
+        search("Device", "status:on AND name:x", PageRequest.of(0, 20, Sort.by("name")));
+
+        assertThat(searches).hasValue(3);
+        assertThat(meterRegistry.get("search.cache.gets").tag("entity", "Device").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("search.cache.hit.ratio").tag("entity", "Device").gauge().value()).isEqualTo(0.25);
+    }
+
+    @Test
+    public void testNormalizeKeepsQuotedPhrases() {
+        assertThat(SearchResultCache.normalize("  name:\"Boiler  room\"   OR  id:1 ")).isEqualTo("name:\"Boiler  room\" OR id:1");
+        assertThat(SearchResultCache.normalize("name:\\\"a   b")).isEqualTo("name:\\\"a b");
+    }
+
+    @Test
+    public void testInvalidateOnlyTheWrittenEntityType() {
+        search("Device", "*");
+        search("Place", "*");
+
+        searchResultCache.invalidateAfterCommit("Device");
+        search("Device", "*");
+        search("Place", "*");
+
+        assertThat(searches).hasValue(3);
+        assertThat(meterRegistry.get("search.cache.invalidations").tag("entity", "Device").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDoNotCachePagesSearchedDuringAnInvalidation() {
+        searchResultCache.get(
+            "Device",
+            "*",
+            PageRequest.of(0, 20),
+            () -> {
+                searchResultCache.invalidate("Device");
+                return page();
+            }
+        );
+        search("Device", "*");
+
+        assertThat(searches).hasValue(1);
+        assertThat(meterRegistry.get("search.cache.gets").tag("entity", "Device").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testBypassWhenDisabled() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSearch().getCache().setEnabled(false);
+        searchResultCache = new SearchResultCache(cacheManager, meterRegistry, properties);
+
+        search("Device", "*");
+        search("Device", "*");
+
+        assertThat(searches).hasValue(2);
+        assertThat(cacheManager.getCache(SearchResultCache.CACHE_NAME_PREFIX + "Device")).isNull();
+    }
+
+    private Page<Object> search(String entityType, String query) {
+        return search(entityType, query, PageRequest.of(0, 20));
+    }
+
+    private Page<Object> search(String entityType, String query, PageRequest pageRequest) {
+        return searchResultCache.get(
+            entityType,
+            query,
+            pageRequest,
+            () -> {
+                searches.incrementAndGet();
+                return page();
+            }
+        );
+    }
+
+    private static Page<Object> page() {
+        return new PageImpl<>(Collections.singletonList(new Object()));
+    }
+}
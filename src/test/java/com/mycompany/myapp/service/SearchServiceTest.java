@@ -0,0 +1,121 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.repository.search.ValuesSearchRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.ScrolledPage;
+import org.springframework.data.elasticsearch.core.aggregation.impl.AggregatedPageImpl;
+import org.springframework.data.elasticsearch.core.query.SearchQuery;
+
+/**
+ * Test class for the {@link SearchService}.
+ */
+public class SearchServiceTest {
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    public void setup() {
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSearch().setMaxPageSize(100);
+        properties.getSearch().setMaxResultWindow(1000);
+        searchService = new SearchService(elasticsearchOperations, new ObjectMapper(), properties, mock(SearchResultCache.class));
+    }
+
+    @Test
+    public void testBoundPageSize() {
+        assertThat(searchService.bound(PageRequest.of(2, 20))).isEqualTo(PageRequest.of(2, 20));
+        assertThat(searchService.bound(PageRequest.of(1, 500))).isEqualTo(PageRequest.of(1, 100));
+    }
+
+    @Test
+    public void testRejectPagesPastTheResultWindow() {
+        assertThat(searchService.bound(PageRequest.of(9, 100)).getOffset()).isEqualTo(900);
+        assertThatThrownBy(() -> searchService.bound(PageRequest.of(10, 100))).isInstanceOf(SearchWindowExceededException.class);
+        assertThatThrownBy(() -> searchService.bound(PageRequest.of(Integer.MAX_VALUE, 100)))
+            .isInstanceOf(SearchWindowExceededException.class);
+    }
+
+    @Test
+    public void testRejectSearchOfDisabledEntities() {
+        ApplicationProperties properties = new ApplicationProperties();
+        ApplicationProperties.Search.Entity valuesSettings = new ApplicationProperties.Search.Entity();
+        valuesSettings.setEnabled(false);
+        properties.getSearch().getEntities().put("Values", valuesSettings);
+        SearchService service = new SearchService(elasticsearchOperations, new ObjectMapper(), properties, mock(SearchResultCache.class));
+        ValuesSearchRepository valuesSearchRepository = mock(ValuesSearchRepository.class);
+
+        assertThatThrownBy(() -> service.search(valuesSearchRepository, "*", PageRequest.of(0, 20)))
+            .isInstanceOf(SearchDisabledException.class);
+        verifyNoInteractions(valuesSearchRepository);
+    }
+
+    @Test
+    public void testExportScrollsAllHits() throws IOException {
+        when(elasticsearchOperations.startScroll(anyLong(), any(SearchQuery.class), eq(Device.class)))
+            .thenReturn(scrolledPage("scroll-1", device(1L), device(2L)));
+        when(elasticsearchOperations.continueScroll("scroll-1", 60000L, Device.class)).thenReturn(scrolledPage("scroll-2", device(3L)));
+        when(elasticsearchOperations.continueScroll("scroll-2", 60000L, Device.class)).thenReturn(scrolledPage("scroll-3"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = searchService.export(Device.class, "*", out);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n")).hasSize(3).allMatch(line -> line.startsWith("{\"id\":"));
+        verify(elasticsearchOperations).clearScroll("scroll-3");
+    }
+
+    @Test
+    public void testClearScrollWhenTheClientGoesAway() {
+        when(elasticsearchOperations.startScroll(anyLong(), any(SearchQuery.class), eq(Device.class)))
+            .thenReturn(scrolledPage("scroll-1", device(1L)));
+
+        assertThatThrownBy(
+                () ->
+                    searchService.scroll(
+                        Device.class,
+                        "*",
+                        page -> {
+                            throw new IOException("Broken pipe");
+                        }
+                    )
+            )
+            .isInstanceOf(IOException.class);
+        verify(elasticsearchOperations).clearScroll("scroll-1");
+    }
+
+    private static ScrolledPage<Device> scrolledPage(String scrollId, Device... devices) {
+        List<Device> content = Arrays.asList(devices);
+        Pageable pageable = PageRequest.of(0, Math.max(1, devices.length));
+        return new AggregatedPageImpl<>(content, pageable, devices.length, null, scrollId);
+    }
+
+    private static Device device(Long id) {
+        Device device = new Device();
+        device.setId(id);
+        return device;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.repository.ValuesExportRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ValuesExportService}.
+ */
+public class ValuesExportServiceTest {
+    private static final Instant FROM = Instant.parse("2026-10-01T00:00:00Z");
+
+    private static final Instant TO = Instant.parse("2026-11-01T00:00:00Z");
+
+    private ValuesExportRepository valuesExportRepository;
+
+    private ValuesExportService valuesExportService;
+
+    private AtomicInteger handledRows;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        valuesExportRepository = mock(ValuesExportRepository.class);
+        valuesExportService = new ValuesExportService(valuesExportRepository, new ObjectMapper());
+        handledRows = new AtomicInteger();
+        doAnswer(
+                invocation -> {
+                    ValuesExportRepository.ExportedReadingHandler handler = invocation.getArgument(3);
+                    handler.handle(1L, 10L, "28-00000001", 21.5, LocalDateTime.of(2026, 10, 1, 12, 0));
+                    handledRows.incrementAndGet();
+                    handler.handle(2L, 10L, "28-\"a,b\"", null, LocalDateTime.of(2026, 10, 1, 12, 1));
+                    handledRows.incrementAndGet();
+                    return null;
+                }
+            )
+            .when(valuesExportRepository)
+            .forEachReadingOfPlace(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    public void testExportAsNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = valuesExportService.exportPlace(1L, FROM, TO, ValuesExportService.Format.NDJSON, out);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8.name()))
+            .isEqualTo(
+                "{\"id\":1,\"temperatureId\":10,\"address\":\"28-00000001\",\"value\":21.5,\"timestamp\":\"2026-10-01T12:00:00Z\"}\n" +
+                "{\"id\":2,\"temperatureId\":10,\"address\":\"28-\\\"a,b\\\"\",\"value\":null,\"timestamp\":\"2026-10-01T12:01:00Z\"}\n"
+            );
+    }
+
+    @Test
+    public void testExportAsCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        valuesExportService.exportPlace(1L, FROM, TO, ValuesExportService.Format.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8.name()))
+            .isEqualTo(
+                "id,temperature_id,address,value,timestamp\n" +
+                "1,10,28-00000001,21.5,2026-10-01T12:00:00Z\n" +
+                "2,10,\"28-\"\"a,b\"\"\",,2026-10-01T12:01:00Z\n"
+            );
+    }
+
+    @Test
+    public void testExportStopsWhenTheClientDisconnects() throws IOException {
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        doAnswer(
+                invocation -> {
+                    ValuesExportRepository.ExportedReadingHandler handler = invocation.getArgument(3);
+                    for (long i = 0; i < 100_000; i++) {
+                        handler.handle(i, 10L, "28-00000001", 21.5, LocalDateTime.of(2026, 10, 1, 12, 0));
+                        handledRows.incrementAndGet();
+                    }
+                    return null;
+                }
+            )
+            .when(valuesExportRepository)
+            .forEachReadingOfPlace(eq(2L), any(), any(), any());
+
+        assertThatThrownBy(() -> valuesExportService.exportPlace(2L, FROM, TO, ValuesExportService.Format.NDJSON, out))
+            .isInstanceOf(IOException.class);
+        assertThat(handledRows.get()).isLessThan(100_000);
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.JhipsterSampleApplicationApp;
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.TemperatureRepository;
+import com.mycompany.myapp.repository.ValuesRepository;
+import com.mycompany.myapp.repository.search.ValuesSearchRepository;
+import com.mycompany.myapp.service.dto.ValuesIngestionResultDTO;
+import com.mycompany.myapp.service.dto.ValuesReadingDTO;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ValuesIngestionService}.
+ */
+@SpringBootTest(classes = JhipsterSampleApplicationApp.class)
+public class ValuesIngestionServiceIT {
+    private static final int BENCHMARK_READINGS = 5000;
+
+    private final Logger log = LoggerFactory.getLogger(ValuesIngestionServiceIT.class);
+
+    @Autowired
+    private ValuesIngestionService valuesIngestionService;
+
+    @Autowired
+    private ValuesRepository valuesRepository;
+
+    @Autowired
+    private TemperatureRepository temperatureRepository;
+
+    /**
+     * This repository is mocked in the com.mycompany.myapp.repository.search test package.
+     *
+     * @see com.mycompany.myapp.repository.search.ValuesSearchRepositoryMockConfiguration
+     */
+    @Autowired
+    private ValuesSearchRepository mockValuesSearchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Temperature temperature;
+
+    @BeforeEach
+    public void init() {
+        valuesRepository.deleteAll();
+        temperature = temperatureRepository.saveAndFlush(new Temperature().name("bench").address("28-0000000000ff"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        valuesRepository.deleteAll();
+        temperatureRepository.delete(temperature);
+    }
+
+    @Test
+    public void assertThatReadingsAreResolvedByIdOrAddress() {
+        List<ValuesIngestionResultDTO> results = valuesIngestionService.ingest(
+            Arrays.asList(
+                new ValuesReadingDTO(temperature.getId(), null, 21.5, ZonedDateTime.now()),
+                new ValuesReadingDTO(null, temperature.getAddress(), 22.0, null),
+                new ValuesReadingDTO(null, "unknown", 23.0, null),
+                new ValuesReadingDTO(temperature.getId(), null, null, null)
+            )
+        );
+
+        assertThat(results)
+            .extracting(ValuesIngestionResultDTO::getStatus)
+            .containsExactly(
+                ValuesIngestionResultDTO.Status.CREATED,
+                ValuesIngestionResultDTO.Status.CREATED,
+                ValuesIngestionResultDTO.Status.REJECTED,
+                ValuesIngestionResultDTO.Status.REJECTED
+            );
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(valuesRepository.findAll()).hasSize(2).allMatch(values -> values.getTimestamp() != null);
+    }
+
+    /**
+     * Compares the throughput of the bulk path with one transaction per reading, as done by {@code POST /api/values}.
+     * <p>
+     * Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void compareBulkAndSingleItemThroughput() {
+        List<ValuesReadingDTO> readings = new ArrayList<>(BENCHMARK_READINGS);
+        for (int i = 0; i < BENCHMARK_READINGS; i++) {
+            readings.add(new ValuesReadingDTO(temperature.getId(), null, (double) i, ZonedDateTime.now()));
+        }
+
+        long start = System.nanoTime();
+        for (ValuesReadingDTO reading : readings) {
+            transactionTemplate.execute(
+                status -> {
+                    Values values = valuesRepository.save(
+                        new Values().value(reading.getValue()).timestamp(reading.getTimestamp()).temperature(temperature)
+                    );
+                    mockValuesSearchRepository.save(values);
+                    return values;
+                }
+            );
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        valuesIngestionService.ingest(readings);
+        long bulkNanos = System.nanoTime() - start;
+
+        log.info(
+            "Ingested {} readings: single-item path {} readings/s, bulk path {} readings/s",
+            BENCHMARK_READINGS,
+            BENCHMARK_READINGS * 1_000_000_000L / singleNanos,
+            BENCHMARK_READINGS * 1_000_000_000L / bulkNanos
+        );
+        assertThat(valuesRepository.count()).isEqualTo(2L * BENCHMARK_READINGS);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mycompany.myapp.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.ValuesPartitionRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ValuesPartitionService}.
+ */
+public class ValuesPartitionServiceTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-17T10:00:00Z"), ZoneOffset.UTC);
+
+    private ValuesPartitionRepository valuesPartitionRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private Cache cache;
+
+    private ValuesPartitionService valuesPartitionService;
+
+    @BeforeEach
+    public void setup() {
+        valuesPartitionRepository = mock(ValuesPartitionRepository.class);
+        applicationProperties = new ApplicationProperties();
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        valuesPartitionService = new ValuesPartitionService(valuesPartitionRepository, applicationProperties, entityManagerFactory, CLOCK);
+    }
+
+    @Test
+    public void testCreateUpcomingPartitions() {
+        when(valuesPartitionRepository.isPartitioned()).thenReturn(true);
+        applicationProperties.getPartitioning().setMonthsAhead(2);
+
+        valuesPartitionService.maintainPartitions();
+
+        verify(valuesPartitionRepository).createPartition(YearMonth.of(2026, 10));
+        verify(valuesPartitionRepository).createPartition(YearMonth.of(2026, 11));
+        verify(valuesPartitionRepository).createPartition(YearMonth.of(2026, 12));
+        verify(valuesPartitionRepository, never()).createPartition(YearMonth.of(2027, 1));
+        verify(valuesPartitionRepository, never()).deleteOlderThan(any());
+    }
+
+    @Test
+    public void testRetentionDropsWholePartitions() {
+        when(valuesPartitionRepository.isPartitioned()).thenReturn(true);
+        when(valuesPartitionRepository.findPartitionMonths())
+            .thenReturn(Arrays.asList(YearMonth.of(2026, 5), YearMonth.of(2026, 6), YearMonth.of(2026, 7), YearMonth.of(2026, 10)));
+        applicationProperties.getPartitioning().setRetentionMonths(3);
+
+        valuesPartitionService.maintainPartitions();
+
+        verify(valuesPartitionRepository).dropPartition(YearMonth.of(2026, 5));
+        verify(valuesPartitionRepository).dropPartition(YearMonth.of(2026, 6));
+        verify(valuesPartitionRepository, never()).dropPartition(YearMonth.of(2026, 7));
+        verify(valuesPartitionRepository).deleteOlderThan(LocalDateTime.of(2026, 7, 1, 0, 0));
+        verify(cache).evict(Values.class);
+    }
+
+    @Test
+    public void testRetentionWithoutPartitioning() {
+        when(valuesPartitionRepository.isPartitioned()).thenReturn(false);
+        when(valuesPartitionRepository.deleteOlderThan(any())).thenReturn(0);
+        applicationProperties.getPartitioning().setRetentionMonths(1);
+
+        valuesPartitionService.maintainPartitions();
+
+        verify(valuesPartitionRepository, never()).createPartition(any());
+        verify(valuesPartitionRepository, never()).dropPartition(any());
+        verify(valuesPartitionRepository).deleteOlderThan(LocalDateTime.of(2026, 9, 1, 0, 0));
+        verify(cache, never()).evict(Values.class);
+    }
+}
@@ -0,0 +1,165 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ValuesRollup;
+import com.mycompany.myapp.domain.enumeration.RollupResolution;
+import com.mycompany.myapp.repository.ValuesRollupRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the {@link ValuesRollupService}.
+ */
+public class ValuesRollupServiceTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-17T10:30:00Z"), ZoneOffset.UTC);
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 10, 30);
+
+    private ValuesRollupRepository valuesRollupRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private ValuesRollupService valuesRollupService;
+
+    @BeforeEach
+    public void setup() {
+        valuesRollupRepository = mock(ValuesRollupRepository.class);
+        applicationProperties = new ApplicationProperties();
+        when(valuesRollupRepository.tryLock()).thenReturn(true);
+        applicationProperties.getRollup().setLookbackMinutes(60);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        valuesRollupService = new ValuesRollupService(valuesRollupRepository, applicationProperties, transactionTemplate, CLOCK);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRebuildAggregatesReadingsByMinute() {
+        doAnswer(
+                invocation -> {
+                    ValuesRollupRepository.ReadingHandler handler = invocation.getArgument(2);
+                    handler.handle(1L, 20.0, NOW.minusMinutes(1).plusSeconds(50));
+                    handler.handle(1L, 22.0, NOW.minusMinutes(1).plusSeconds(10));
+                    handler.handle(1L, 21.0, NOW.minusMinutes(1).plusSeconds(30));
+                    handler.handle(2L, 5.0, NOW.minusMinutes(1));
+                    handler.handle(1L, 18.0, NOW);
+                    return null;
+                }
+            )
+            .when(valuesRollupRepository)
+            .forEachReading(any(LocalDateTime.class), any(LocalDateTime.class), any(ValuesRollupRepository.ReadingHandler.class));
+        when(valuesRollupRepository.replaceAll(any(), any(), any(), anyCollection())).thenAnswer(invocation -> invocation.<Collection<?>>getArgument(3).size());
+
+        int count = valuesRollupService.rebuild(NOW.minusMinutes(1), NOW.plusSeconds(1));
+
+        assertThat(count).isEqualTo(3);
+        ArgumentCaptor<Collection<ValuesRollup>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(valuesRollupRepository)
+            .replaceAll(eq(RollupResolution.MINUTE), eq(NOW.minusMinutes(1)), eq(NOW.plusMinutes(1)), captor.capture());
+        ValuesRollup rollup = captor
+            .getValue()
+            .stream()
+            .filter(r -> r.getTemperatureId() == 1L && r.getBucketStart().equals(NOW.minusMinutes(1)))
+            .findFirst()
+            .get();
+        assertThat(rollup.getMin()).isEqualTo(20.0);
+        assertThat(rollup.getMax()).isEqualTo(22.0);
+        assertThat(rollup.getAvg()).isEqualTo(21.0);
+        assertThat(rollup.getCount()).isEqualTo(3);
+        assertThat(rollup.getLast()).isEqualTo(20.0);
+
+        verify(valuesRollupRepository).findAll(RollupResolution.MINUTE, NOW.withMinute(0), NOW.withMinute(0).plusHours(1));
+        verify(valuesRollupRepository).findAll(RollupResolution.HOUR, NOW.toLocalDate().atStartOfDay(), NOW.toLocalDate().plusDays(1).atStartOfDay());
+        verify(valuesRollupRepository)
+            .replaceAll(eq(RollupResolution.DAY), eq(NOW.toLocalDate().atStartOfDay()), eq(NOW.toLocalDate().plusDays(1).atStartOfDay()), anyCollection());
+    }
+
+    @Test
+    public void testRollUpMergesFinerBuckets() {
+        ValuesRollup first = new ValuesRollup(1L, RollupResolution.MINUTE, NOW.withMinute(0));
+        first.add(10.0, NOW.withMinute(0));
+        first.add(14.0, NOW.withMinute(0).plusSeconds(30));
+        ValuesRollup second = new ValuesRollup(1L, RollupResolution.MINUTE, NOW.withMinute(59));
+        second.add(30.0, NOW.withMinute(59));
+        ValuesRollup nextHour = new ValuesRollup(1L, RollupResolution.MINUTE, NOW.plusHours(1).withMinute(0));
+        nextHour.add(0.0, NOW.plusHours(1).withMinute(0));
+
+        List<ValuesRollup> rollups = new ArrayList<>(ValuesRollupService.rollUp(RollupResolution.HOUR, Arrays.asList(second, nextHour, first)));
+        rollups.sort(Comparator.comparing(ValuesRollup::getBucketStart));
+
+        assertThat(rollups).hasSize(2);
+        ValuesRollup hour = rollups.get(0);
+        assertThat(hour.getResolution()).isEqualTo(RollupResolution.HOUR);
+        assertThat(hour.getBucketStart()).isEqualTo(NOW.withMinute(0));
+        assertThat(hour.getMin()).isEqualTo(10.0);
+        assertThat(hour.getMax()).isEqualTo(30.0);
+        assertThat(hour.getAvg()).isEqualTo(18.0);
+        assertThat(hour.getCount()).isEqualTo(3);
+        assertThat(hour.getLast()).isEqualTo(30.0);
+        assertThat(hour.getLastTimestamp()).isEqualTo(NOW.withMinute(59));
+    }
+
+    @Test
+    public void testCatchUpOnlyRecomputesTheLookbackWindow() {
+        when(valuesRollupRepository.findLatestBucketStart(RollupResolution.MINUTE)).thenReturn(Optional.of(NOW.minusMinutes(1)));
+
+        valuesRollupService.catchUp();
+
+        verify(valuesRollupRepository).forEachReading(eq(NOW.minusHours(1)), eq(NOW), any(ValuesRollupRepository.ReadingHandler.class));
+    }
+
+    @Test
+    public void testCatchUpSkipsDaysWithoutReadings() {
+        LocalDateTime firstReading = NOW.minusDays(10);
+        LocalDateTime secondReading = NOW.minusDays(3);
+        when(valuesRollupRepository.findLatestBucketStart(RollupResolution.MINUTE)).thenReturn(Optional.empty());
+        when(valuesRollupRepository.findFirstReadingTimestamp()).thenReturn(Optional.of(firstReading));
+        when(valuesRollupRepository.findFirstReadingTimestamp(firstReading.toLocalDate().plusDays(1).atStartOfDay()))
+            .thenReturn(Optional.of(secondReading));
+        when(valuesRollupRepository.findFirstReadingTimestamp(secondReading.toLocalDate().plusDays(1).atStartOfDay()))
+            .thenReturn(Optional.empty());
+
+        valuesRollupService.catchUp();
+
+        verify(valuesRollupRepository)
+            .forEachReading(eq(firstReading), eq(firstReading.toLocalDate().plusDays(1).atStartOfDay()), any(ValuesRollupRepository.ReadingHandler.class));
+        verify(valuesRollupRepository)
+            .forEachReading(eq(secondReading), eq(secondReading.toLocalDate().plusDays(1).atStartOfDay()), any(ValuesRollupRepository.ReadingHandler.class));
+        verify(valuesRollupRepository)
+            .forEachReading(eq(NOW.minusHours(1)), eq(NOW), any(ValuesRollupRepository.ReadingHandler.class));
+    }
+
+    @Test
+    public void testCatchUpStopsWhenAnotherInstanceHoldsTheLock() {
+        when(valuesRollupRepository.tryLock()).thenReturn(false);
+        when(valuesRollupRepository.findLatestBucketStart(RollupResolution.MINUTE)).thenReturn(Optional.of(NOW.minusDays(3)));
+
+        valuesRollupService.catchUp();
+
+        verify(valuesRollupRepository).tryLock();
+        verify(valuesRollupRepository, never()).forEachReading(any(LocalDateTime.class), any(LocalDateTime.class), any(ValuesRollupRepository.ReadingHandler.class));
+        verify(valuesRollupRepository, never()).replaceAll(any(), any(), any(), anyCollection());
+    }
+}
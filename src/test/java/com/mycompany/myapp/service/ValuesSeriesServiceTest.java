@@ -0,0 +1,127 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.ValuesRollup;
+import com.mycompany.myapp.domain.enumeration.RollupResolution;
+import com.mycompany.myapp.repository.ValuesRepository;
+import com.mycompany.myapp.repository.ValuesRollupRepository;
+import com.mycompany.myapp.service.dto.ReadingPosition;
+import com.mycompany.myapp.service.dto.SeriesDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Test class for the {@link ValuesSeriesService}.
+ */
+public class ValuesSeriesServiceTest {
+    private static final Instant TO = Instant.parse("2026-10-17T10:00:00Z");
+
+    private ValuesRollupRepository valuesRollupRepository;
+
+    private ValuesRepository valuesRepository;
+
+    private ValuesSeriesService valuesSeriesService;
+
+    @BeforeEach
+    public void setup() {
+        valuesRollupRepository = mock(ValuesRollupRepository.class);
+        valuesRepository = mock(ValuesRepository.class);
+        valuesSeriesService = new ValuesSeriesService(valuesRollupRepository, valuesRepository);
+    }
+
+    @Test
+    public void testSelectResolution() {
+        assertThat(ValuesSeriesService.selectResolution(Duration.ofHours(2), 500)).isEqualTo(RollupResolution.MINUTE);
+        assertThat(ValuesSeriesService.selectResolution(Duration.ofDays(7), 500)).isEqualTo(RollupResolution.HOUR);
+        assertThat(ValuesSeriesService.selectResolution(Duration.ofDays(90), 500)).isEqualTo(RollupResolution.DAY);
+        assertThat(ValuesSeriesService.selectResolution(Duration.ofDays(3650), 500)).isEqualTo(RollupResolution.DAY);
+    }
+
+    @Test
+    public void testShortRangeReturnsRawReadings() {
+        when(valuesRollupRepository.countReadings(eq(1L), any(), any())).thenReturn(120L);
+
+        SeriesDTO series = valuesSeriesService.getSeries(1L, TO.minus(Duration.ofHours(2)), TO, 500, ValuesSeriesService.Decimation.AUTO);
+
+        assertThat(series.getResolution()).isEqualTo(SeriesDTO.RAW);
+        verify(valuesRollupRepository).forEachReading(eq(1L), any(), any(), any());
+        verify(valuesRollupRepository, never()).findAllByTemperature(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testShortRangeWithManyReadingsIsDownsampled() {
+        when(valuesRollupRepository.countReadings(eq(1L), any(), any())).thenReturn(1000L);
+        doAnswer(
+                invocation -> {
+                    ValuesRollupRepository.ReadingHandler handler = invocation.getArgument(3);
+                    for (int i = 0; i < 1000; i++) {
+                        handler.handle(1L, i % 7, LocalDateTime.of(2026, 10, 17, 8, 0).plusSeconds(i));
+                    }
+                    return null;
+                }
+            )
+            .when(valuesRollupRepository)
+            .forEachReading(eq(1L), any(), any(), any());
+
+        SeriesDTO series = valuesSeriesService.getSeries(1L, TO.minus(Duration.ofHours(2)), TO, 200, ValuesSeriesService.Decimation.AUTO);
+
+        assertThat(series.getResolution()).isEqualTo(SeriesDTO.LTTB);
+        assertThat(series.getPoints()).hasSize(200);
+        assertThat(series.getPoints().get(0).getTimestamp()).isEqualTo(Instant.parse("2026-10-17T08:00:00Z"));
+        assertThat(series.getPoints().get(199).getTimestamp()).isEqualTo(Instant.parse("2026-10-17T08:16:39Z"));
+        verify(valuesRollupRepository, never()).findAllByTemperature(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testLongRangeReadsRollups() {
+        ValuesRollup rollup = new ValuesRollup(1L, RollupResolution.DAY, LocalDateTime.of(2026, 10, 1, 0, 0));
+        rollup.add(21.0, LocalDateTime.of(2026, 10, 1, 12, 0));
+        when(valuesRollupRepository.findAllByTemperature(eq(1L), eq(RollupResolution.DAY), any(), any()))
+            .thenReturn(Collections.singletonList(rollup));
+
+        SeriesDTO series = valuesSeriesService.getSeries(1L, TO.minus(Duration.ofDays(90)), TO, 500, ValuesSeriesService.Decimation.AUTO);
+
+        assertThat(series.getResolution()).isEqualTo("DAY");
+        assertThat(series.getPoints()).hasSize(1);
+        assertThat(series.getPoints().get(0).getTimestamp()).isEqualTo(Instant.parse("2026-10-01T00:00:00Z"));
+        assertThat(series.getPoints().get(0).getAvg()).isEqualTo(21.0);
+        verify(valuesRollupRepository, never()).countReadings(any(), any(), any());
+    }
+
+    @Test
+    public void testFindReadingsSeeksAfterTheCursor() {
+        Instant from = TO.minus(Duration.ofDays(1));
+        Instant cursorTimestamp = TO.minus(Duration.ofHours(1));
+
+        valuesSeriesService.findReadings(1L, from, TO, null, 100);
+        valuesSeriesService.findReadings(1L, from, TO, new ReadingPosition(cursorTimestamp, 42L), 100);
+
+        verify(valuesRepository)
+            .findAllByTemperatureAfter(1L, from.atZone(ZoneOffset.UTC), Long.MIN_VALUE, TO.atZone(ZoneOffset.UTC), PageRequest.of(0, 100));
+        verify(valuesRepository)
+            .findAllByTemperatureAfter(1L, cursorTimestamp.atZone(ZoneOffset.UTC), 42L, TO.atZone(ZoneOffset.UTC), PageRequest.of(0, 100));
+    }
+
+    @Test
+    public void testReadingPositionCursor() {
+        ReadingPosition position = new ReadingPosition(TO, 42L);
+
+        assertThat(ReadingPosition.fromCursor(position.toCursor())).isEqualTo(position);
+        assertThatThrownBy(() -> ReadingPosition.fromCursor("invalid")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,193 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.dto.ValuesIngestionResultDTO;
+import com.mycompany.myapp.service.dto.ValuesReadingDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Test class for the {@link ValuesWriteBehindBuffer}.
+ */
+public class ValuesWriteBehindBufferTest {
+    private ValuesIngestionService valuesIngestionService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ValuesWriteBehindBuffer buffer;
+
+    @BeforeEach
+    public void setup() {
+        valuesIngestionService = mock(ValuesIngestionService.class);
+        when(valuesIngestionService.ingest(anyList())).thenReturn(Collections.emptyList());
+        buffer = createBuffer(10, 5);
+    }
+
+    private ValuesWriteBehindBuffer createBuffer(int capacity, int flushSize) {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getIngestion().setMaxReadingsPerRequest(capacity);
+        properties.getIngestion().getWriteBehind().setCapacity(capacity);
+        properties.getIngestion().getWriteBehind().setFlushSize(flushSize);
+        properties.getIngestion().getWriteBehind().setFlushIntervalMs(60000);
+        properties.getIngestion().getWriteBehind().setRetryBackoffMs(10);
+        return new ValuesWriteBehindBuffer(valuesIngestionService, properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void teardown() throws InterruptedException {
+        buffer.stop();
+    }
+
+    @Test
+    public void testFlushWhenFlushSizeIsReached() throws InterruptedException {
+        buffer.start();
+        buffer.enqueue(readings(4));
+        verify(valuesIngestionService, after(200).never()).ingest(anyList());
+
+        buffer.enqueue(readings(1));
+        verify(valuesIngestionService, timeout(5000)).ingest(anyList());
+        buffer.stop();
+        assertThat(meterRegistry.get("values.write_behind.flush").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRejectWhenFull() {
+        buffer = createBuffer(10, 100);
+        buffer.start();
+        buffer.enqueue(readings(10));
+
+        assertThatThrownBy(() -> buffer.enqueue(readings(1))).isInstanceOf(IngestionBufferFullException.class);
+        assertThat(buffer.getQueueDepth()).isEqualTo(10);
+        assertThat(meterRegistry.get("values.write_behind.dropped").tag("reason", "full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRejectWhenNotRunning() {
+        assertThatThrownBy(() -> buffer.enqueue(readings(1))).isInstanceOf(IngestionBufferFullException.class);
+    }
+
+    @Test
+    public void testStopFlushesQueuedReadings() throws InterruptedException {
+        buffer.start();
+        buffer.enqueue(readings(3));
+        buffer.stop();
+
+        verify(valuesIngestionService).ingest(anyList());
+        assertThat(buffer.getQueueDepth()).isZero();
+    }
+
+    @Test
+    public void testCountRejectedReadings() throws InterruptedException {
+        List<ValuesIngestionResultDTO> results = new ArrayList<>();
+        results.add(ValuesIngestionResultDTO.created(0, 1L));
+        results.add(ValuesIngestionResultDTO.rejected(1, "Unknown temperature sensor"));
+        when(valuesIngestionService.ingest(anyList())).thenReturn(results);
+
+        buffer.start();
+        buffer.enqueue(readings(5));
+        verify(valuesIngestionService, timeout(5000)).ingest(anyList());
+        buffer.stop();
+        assertThat(meterRegistry.get("values.write_behind.dropped").tag("reason", "invalid").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRefuseACapacityLowerThanTheLargestUpload() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getIngestion().setMaxReadingsPerRequest(100);
+        properties.getIngestion().getWriteBehind().setCapacity(99);
+
+        assertThatThrownBy(() -> new ValuesWriteBehindBuffer(valuesIngestionService, properties, meterRegistry))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRetryTransientFailures() throws InterruptedException {
+        when(valuesIngestionService.ingest(anyList()))
+            .thenThrow(new CannotAcquireLockException("Deadlock"))
+            .thenThrow(new CannotCreateTransactionException("Connection refused"))
+            .thenReturn(Collections.emptyList());
+
+        buffer.start();
+        buffer.enqueue(readings(5));
+        verify(valuesIngestionService, timeout(5000).times(3)).ingest(anyList());
+        buffer.stop();
+        assertThat(meterRegistry.get("values.write_behind.retries").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("values.write_behind.dropped").tag("reason", "error").counter().count()).isZero();
+    }
+
+    @Test
+    public void testDropReadingsOnceTheRetriesAreExhausted() throws InterruptedException {
+        when(valuesIngestionService.ingest(anyList())).thenThrow(new CannotAcquireLockException("Deadlock"));
+
+        buffer.start();
+        buffer.enqueue(readings(5));
+        verify(valuesIngestionService, timeout(5000).times(4)).ingest(anyList());
+        buffer.stop();
+        assertThat(meterRegistry.get("values.write_behind.dropped").tag("reason", "error").counter().count()).isEqualTo(5);
+        assertThat(buffer.getQueueDepth()).isZero();
+    }
+
+    @Test
+    public void testDoNotRetryOtherFailures() throws InterruptedException {
+        when(valuesIngestionService.ingest(anyList())).thenThrow(new DataIntegrityViolationException("Constraint violation"));
+
+        buffer.start();
+        buffer.enqueue(readings(5));
+        buffer.stop();
+
+        // 5 readings, then 2 and 3, then each reading alone
+        verify(valuesIngestionService, times(9)).ingest(anyList());
+        assertThat(meterRegistry.get("values.write_behind.retries").counter().count()).isZero();
+        assertThat(meterRegistry.get("values.write_behind.dropped").tag("reason", "error").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    public void testOnlyDropTheReadingThatFails() throws InterruptedException {
+        List<ValuesReadingDTO> stored = Collections.synchronizedList(new ArrayList<>());
+        when(valuesIngestionService.ingest(anyList()))
+            .thenAnswer(
+                invocation -> {
+                    List<ValuesReadingDTO> readings = invocation.getArgument(0);
+                    if (readings.stream().anyMatch(reading -> reading.getValue() == 3)) {
+                        throw new DataIntegrityViolationException("Constraint violation");
+                    }
+                    stored.addAll(readings);
+                    return Collections.emptyList();
+                }
+            );
+
+        buffer.start();
+        buffer.enqueue(readings(5));
+        buffer.stop();
+
+        assertThat(stored).extracting(ValuesReadingDTO::getValue).containsExactly(0d, 1d, 2d, 4d);
+        assertThat(meterRegistry.get("values.write_behind.splits").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("values.write_behind.dropped").tag("reason", "error").counter().count()).isEqualTo(1);
+        assertThat(buffer.getQueueDepth()).isZero();
+    }
+
+    private static List<ValuesReadingDTO> readings(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new ValuesReadingDTO(1L, null, (double) i, null)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,170 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Application;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.ApplicationDataService;
+import com.mycompany.myapp.service.FirmwareDownloadThrottle;
+import com.mycompany.myapp.service.FirmwareRolloutService;
+import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Unit tests for the downloads of the {@link ApplicationDataResource} REST controller.
+ */
+public class ApplicationDataResourceTest {
+    private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String ETAG = "\"84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882\"";
+
+    @TempDir
+    Path storeDirectory;
+
+    private FirmwareRolloutService firmwareRolloutService;
+
+    private MockMvc restMockMvc;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Application application = new Application()
+            .fileName("app.bin")
+            .dataContentType("application/octet-stream")
+            .dataSize((long) DATA.length)
+            .dataSha256(ETAG.substring(1, ETAG.length() - 1));
+        application.setId(1L);
+        Path file = Files.write(storeDirectory.resolve(application.getDataSha256()), DATA);
+        ApplicationDataService applicationDataService = mock(ApplicationDataService.class);
+        when(applicationDataService.prepareData(1L)).thenReturn(Optional.of(application));
+        when(applicationDataService.getDataFile(application)).thenReturn(file);
+        Path delta = Files.write(storeDirectory.resolve("base-target"), "delta".getBytes(StandardCharsets.US_ASCII));
+        when(applicationDataService.prepareDelta(application, 1L)).thenReturn(Optional.of(delta));
+        when(applicationDataService.prepareDelta(application, 2L)).thenReturn(Optional.empty());
+        firmwareRolloutService = mock(FirmwareRolloutService.class);
+        ApplicationDataResource applicationDataResource = new ApplicationDataResource(
+            applicationDataService,
+            firmwareRolloutService,
+            new FirmwareDownloadThrottle(new ApplicationProperties(), new SimpleMeterRegistry())
+        );
+        restMockMvc =
+            MockMvcBuilders
+                .standaloneSetup(applicationDataResource)
+                .setControllerAdvice(new ExceptionTranslator(new MockEnvironment()))
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void downloadWholeImage() throws Exception {
+        restMockMvc
+            .perform(get("/api/applications/1/data"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, DATA.length))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"app.bin\""))
+            .andExpect(content().bytes(DATA));
+    }
+
+    @Test
+    public void resumeDownload() throws Exception {
+        restMockMvc
+            .perform(get("/api/applications/1/data").header(HttpHeaders.RANGE, "bytes=4-").header(HttpHeaders.IF_RANGE, ETAG))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-9/10"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 6))
+            .andExpect(content().string("456789"));
+
+        restMockMvc
+            .perform(get("/api/applications/1/data").header(HttpHeaders.RANGE, "bytes=-3"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+            .andExpect(content().string("789"));
+    }
+
+    @Test
+    public void downloadWholeImageWhenItChanged() throws Exception {
+        restMockMvc
+            .perform(get("/api/applications/1/data").header(HttpHeaders.RANGE, "bytes=4-").header(HttpHeaders.IF_RANGE, "\"other\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(DATA));
+    }
+
+    @Test
+    public void rejectUnsatisfiableRange() throws Exception {
+        restMockMvc
+            .perform(get("/api/applications/1/data").header(HttpHeaders.RANGE, "bytes=10-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    public void notModified() throws Exception {
+        restMockMvc
+            .perform(get("/api/applications/1/data").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void downloadUnknownApplication() throws Exception {
+        restMockMvc.perform(get("/api/applications/2/data")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void downloadDelta() throws Exception {
+        restMockMvc
+            .perform(get("/api/applications/1/delta").param("deviceId", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"base-target\""))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/octet-stream"))
+            .andExpect(content().string("delta"));
+    }
+
+    @Test
+    public void redirectToTheImageWithoutDelta() throws Exception {
+        restMockMvc
+            .perform(get("/api/applications/1/delta").param("deviceId", "2"))
+            .andExpect(status().isSeeOther())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/api/applications/1/data?deviceId=2"));
+    }
+
+    @Test
+    public void requireTheDeviceDuringARollout() throws Exception {
+        when(firmwareRolloutService.isRollingOut(1L)).thenReturn(true);
+
+        restMockMvc.perform(get("/api/applications/1/data")).andExpect(status().isBadRequest());
+        restMockMvc.perform(get("/api/applications/1/data").param("deviceId", "1")).andExpect(status().isOk());
+
+        SecurityContextHolder
+            .getContext()
+            .setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", "admin", AuthorityUtils.createAuthorityList(AuthoritiesConstants.ADMIN))
+            );
+        restMockMvc.perform(get("/api/applications/1/data")).andExpect(status().isOk());
+    }
+}
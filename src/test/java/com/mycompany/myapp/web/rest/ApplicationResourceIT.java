@@ -5,14 +5,20 @@ import com.mycompany.myapp.domain.Application;
 import com.mycompany.myapp.repository.ApplicationRepository;
 import com.mycompany.myapp.repository.search.ApplicationSearchRepository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.mockito.Mock;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,6 +31,8 @@ import java.time.ZoneOffset;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
 
 import static com.mycompany.myapp.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +51,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WithMockUser
 public class ApplicationResourceIT {
 
+    private final Logger log = LoggerFactory.getLogger(ApplicationResourceIT.class);
+
     private static final String DEFAULT_FILE_NAME = "AAAAAAAAAA";
     private static final String UPDATED_FILE_NAME = "BBBBBBBBBB";
 
@@ -74,6 +84,9 @@ public class ApplicationResourceIT {
     @Autowired
     private MockMvc restApplicationMockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private Application application;
 
     /**
@@ -129,6 +142,8 @@ public class ApplicationResourceIT {
         assertThat(testApplication.getFileName()).isEqualTo(DEFAULT_FILE_NAME);
         assertThat(testApplication.getData()).isEqualTo(DEFAULT_DATA);
         assertThat(testApplication.getDataContentType()).isEqualTo(DEFAULT_DATA_CONTENT_TYPE);
+        assertThat(testApplication.getDataSize()).isEqualTo((long) DEFAULT_DATA.length);
+        assertThat(testApplication.getDataSha256()).hasSize(64);
         assertThat(testApplication.getVersion()).isEqualTo(DEFAULT_VERSION);
         assertThat(testApplication.getTimestamp()).isEqualTo(DEFAULT_TIMESTAMP);
 
@@ -172,7 +187,7 @@ public class ApplicationResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(application.getId().intValue())))
             .andExpect(jsonPath("$.[*].fileName").value(hasItem(DEFAULT_FILE_NAME)))
             .andExpect(jsonPath("$.[*].dataContentType").value(hasItem(DEFAULT_DATA_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].data").value(hasItem(Base64Utils.encodeToString(DEFAULT_DATA))))
+            .andExpect(jsonPath("$.[0].data").doesNotExist())
             .andExpect(jsonPath("$.[*].version").value(hasItem(DEFAULT_VERSION)))
             .andExpect(jsonPath("$.[*].timestamp").value(hasItem(sameInstant(DEFAULT_TIMESTAMP))));
     }
@@ -286,8 +301,8 @@ public class ApplicationResourceIT {
         // Configure the mock search repository
         // Initialize the database
         applicationRepository.saveAndFlush(application);
-        when(mockApplicationSearchRepository.search(queryStringQuery("id:" + application.getId())))
-            .thenReturn(Collections.singletonList(application));
+        when(mockApplicationSearchRepository.search(queryStringQuery("id:" + application.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(application), PageRequest.of(0, 1), 1));
 
         // Search the application
         restApplicationMockMvc.perform(get("/api/_search/applications?query=id:" + application.getId()))
@@ -296,8 +311,58 @@ public class ApplicationResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(application.getId().intValue())))
             .andExpect(jsonPath("$.[*].fileName").value(hasItem(DEFAULT_FILE_NAME)))
             .andExpect(jsonPath("$.[*].dataContentType").value(hasItem(DEFAULT_DATA_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].data").value(hasItem(Base64Utils.encodeToString(DEFAULT_DATA))))
+            .andExpect(jsonPath("$.[0].data").doesNotExist())
             .andExpect(jsonPath("$.[*].version").value(hasItem(DEFAULT_VERSION)))
             .andExpect(jsonPath("$.[*].timestamp").value(hasItem(sameInstant(DEFAULT_TIMESTAMP))));
     }
+
+    /**
+     * Compares the size and latency of the list of applications, which has no firmware images, with the list of the
+     * entities and their images returned before.
+     * <p>
+     * Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @Transactional
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void compareMetadataAndEntityListSizeAndLatency() throws Exception {
+        byte[] image = new byte[1024 * 1024];
+        new Random(0).nextBytes(image);
+        for (int i = 0; i < 50; i++) {
+            applicationRepository.save(createEntity(em).data(image));
+        }
+        applicationRepository.flush();
+
+        Callable<byte[]> metadataList = () ->
+            restApplicationMockMvc
+                .perform(get("/api/applications"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        Callable<byte[]> entityList = () -> objectMapper.writeValueAsBytes(applicationRepository.findAll());
+        log.info(
+            "50 applications of 1 MiB: metadata list {} bytes in {} µs, entity list {} bytes in {} µs",
+            metadataList.call().length,
+            averageMicros(metadataList),
+            entityList.call().length,
+            averageMicros(entityList)
+        );
+    }
+
+    private long averageMicros(Callable<byte[]> request) throws Exception {
+        int runs = 10;
+        for (int i = 0; i < 3; i++) {
+            em.clear();
+            request.call();
+        }
+        long nanos = 0;
+        for (int i = 0; i < runs; i++) {
+            em.clear();
+            long start = System.nanoTime();
+            request.call();
+            nanos += System.nanoTime() - start;
+        }
+        return nanos / runs / 1000;
+    }
 }
@@ -13,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -261,8 +263,8 @@ public class DeviceConfigurationResourceIT {
         // Configure the mock search repository
         // Initialize the database
         deviceConfigurationRepository.saveAndFlush(deviceConfiguration);
-        when(mockDeviceConfigurationSearchRepository.search(queryStringQuery("id:" + deviceConfiguration.getId())))
-            .thenReturn(Collections.singletonList(deviceConfiguration));
+        when(mockDeviceConfigurationSearchRepository.search(queryStringQuery("id:" + deviceConfiguration.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(deviceConfiguration), PageRequest.of(0, 1), 1));
 
         // Search the deviceConfiguration
         restDeviceConfigurationMockMvc.perform(get("/api/_search/device-configurations?query=id:" + deviceConfiguration.getId()))
@@ -256,8 +256,8 @@ public class DeviceProfileResourceIT {
         // Configure the mock search repository
         // Initialize the database
         deviceProfileRepository.saveAndFlush(deviceProfile);
-        when(mockDeviceProfileSearchRepository.search(queryStringQuery("id:" + deviceProfile.getId())))
-            .thenReturn(Collections.singletonList(deviceProfile));
+        when(mockDeviceProfileSearchRepository.search(queryStringQuery("id:" + deviceProfile.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(deviceProfile), PageRequest.of(0, 1), 1));
 
         // Search the deviceProfile
         restDeviceProfileMockMvc.perform(get("/api/_search/device-profiles?query=id:" + deviceProfile.getId()))
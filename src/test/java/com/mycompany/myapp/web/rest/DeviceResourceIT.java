@@ -13,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -261,8 +263,8 @@ public class DeviceResourceIT {
         // Configure the mock search repository
         // Initialize the database
         deviceRepository.saveAndFlush(device);
-        when(mockDeviceSearchRepository.search(queryStringQuery("id:" + device.getId())))
-            .thenReturn(Collections.singletonList(device));
+        when(mockDeviceSearchRepository.search(queryStringQuery("id:" + device.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(device), PageRequest.of(0, 1), 1));
 
         // Search the device
         restDeviceMockMvc.perform(get("/api/_search/devices?query=id:" + device.getId()))
@@ -267,8 +267,8 @@ public class PlaceResourceIT {
         // Configure the mock search repository
         // Initialize the database
         placeRepository.saveAndFlush(place);
-        when(mockPlaceSearchRepository.search(queryStringQuery("id:" + place.getId())))
-            .thenReturn(Collections.singletonList(place));
+        when(mockPlaceSearchRepository.search(queryStringQuery("id:" + place.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(place), PageRequest.of(0, 1), 1));
 
         // Search the place
         restPlaceMockMvc.perform(get("/api/_search/places?query=id:" + place.getId()))
@@ -0,0 +1,156 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.JhipsterSampleApplicationApp;
+import com.mycompany.myapp.domain.Device;
+import com.mycompany.myapp.domain.Place;
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link PlaceValuesResource} REST controller.
+ */
+@SpringBootTest(classes = JhipsterSampleApplicationApp.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class PlaceValuesResourceIT {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2026, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restPlaceValuesMockMvc;
+
+    private Place place;
+
+    @BeforeEach
+    public void initTest() {
+        place = PlaceResourceIT.createEntity(em);
+    }
+
+    private Temperature createValues(int count) {
+        em.persist(place);
+        Device device = DeviceResourceIT.createEntity(em).place(place);
+        em.persist(device);
+        Temperature temperature = TemperatureResourceIT.createEntity(em).device(device);
+        em.persist(temperature);
+        for (int i = 0; i < count; i++) {
+            em.persist(new Values().value((double) i).timestamp(START.plusMinutes(i)).temperature(temperature));
+        }
+        em.flush();
+        return temperature;
+    }
+
+    @Test
+    @Transactional
+    public void getPlaceLatestReadings() throws Exception {
+        Temperature temperature = createValues(3);
+        Temperature withoutReading = TemperatureResourceIT.createEntity(em).device(temperature.getDevice());
+        em.persist(withoutReading);
+        em.flush();
+
+        restPlaceValuesMockMvc.perform(get("/api/places/{id}/temperatures/latest", place.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].temperatureId").value(temperature.getId().intValue()))
+            .andExpect(jsonPath("$.[0].value").value(2.0))
+            .andExpect(jsonPath("$.[0].timestamp").value("2026-10-01T00:02:00Z"))
+            .andExpect(jsonPath("$.[1].value").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingPlaceLatestReadings() throws Exception {
+        restPlaceValuesMockMvc.perform(get("/api/places/{id}/temperatures/latest", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void exportPlaceValuesAsNdjson() throws Exception {
+        createValues(3);
+
+        MvcResult result = restPlaceValuesMockMvc.perform(get("/api/places/{id}/values/export?from={from}&to={to}", place.getId(),
+            START.toInstant(), START.plusMinutes(2).toInstant()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("place-" + place.getId() + "-values.ndjson")))
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains("\"value\":1.0").contains("\"timestamp\":\"2026-10-01T00:01:00Z\"");
+    }
+
+    @Test
+    @Transactional
+    public void exportPlaceValuesAsGzippedCsv() throws Exception {
+        createValues(3);
+
+        MvcResult result = restPlaceValuesMockMvc.perform(get("/api/places/{id}/values/export?from={from}&to={to}&format=csv",
+            place.getId(), START.toInstant(), START.plusHours(1).toInstant())
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        String csv = gunzip(result.getResponse().getContentAsByteArray());
+        assertThat(csv.split("\n")).hasSize(4).startsWith("id,temperature_id,address,value,timestamp");
+    }
+
+    @Test
+    @Transactional
+    public void exportPlaceValuesWithInvalidFormat() throws Exception {
+        createValues(1);
+
+        restPlaceValuesMockMvc.perform(get("/api/places/{id}/values/export?from={from}&to={to}&format=xml", place.getId(),
+            START.toInstant(), START.plusHours(1).toInstant()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void exportNonExistingPlaceValues() throws Exception {
+        restPlaceValuesMockMvc.perform(get("/api/places/{id}/values/export?from={from}&to={to}", Long.MAX_VALUE,
+            START.toInstant(), START.plusHours(1).toInstant()))
+            .andExpect(status().isNotFound());
+    }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -13,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -256,8 +258,8 @@ public class PushNotificationTokenResourceIT {
         // Configure the mock search repository
         // Initialize the database
         pushNotificationTokenRepository.saveAndFlush(pushNotificationToken);
-        when(mockPushNotificationTokenSearchRepository.search(queryStringQuery("id:" + pushNotificationToken.getId())))
-            .thenReturn(Collections.singletonList(pushNotificationToken));
+        when(mockPushNotificationTokenSearchRepository.search(queryStringQuery("id:" + pushNotificationToken.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(pushNotificationToken), PageRequest.of(0, 1), 1));
 
         // Search the pushNotificationToken
         restPushNotificationTokenMockMvc.perform(get("/api/_search/push-notification-tokens?query=id:" + pushNotificationToken.getId()))
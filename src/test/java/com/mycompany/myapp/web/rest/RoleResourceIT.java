@@ -267,8 +267,8 @@ public class RoleResourceIT {
         // Configure the mock search repository
         // Initialize the database
         roleRepository.saveAndFlush(role);
-        when(mockRoleSearchRepository.search(queryStringQuery("id:" + role.getId())))
-            .thenReturn(Collections.singletonList(role));
+        when(mockRoleSearchRepository.search(queryStringQuery("id:" + role.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(role), PageRequest.of(0, 1), 1));
 
         // Search the role
         restRoleMockMvc.perform(get("/api/_search/roles?query=id:" + role.getId()))
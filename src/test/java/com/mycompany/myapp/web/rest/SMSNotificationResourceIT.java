@@ -13,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -337,8 +339,8 @@ public class SMSNotificationResourceIT {
         // Configure the mock search repository
         // Initialize the database
         sMSNotificationRepository.saveAndFlush(sMSNotification);
-        when(mockSMSNotificationSearchRepository.search(queryStringQuery("id:" + sMSNotification.getId())))
-            .thenReturn(Collections.singletonList(sMSNotification));
+        when(mockSMSNotificationSearchRepository.search(queryStringQuery("id:" + sMSNotification.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(sMSNotification), PageRequest.of(0, 1), 1));
 
         // Search the sMSNotification
         restSMSNotificationMockMvc.perform(get("/api/_search/sms-notifications?query=id:" + sMSNotification.getId()))
@@ -13,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -276,8 +278,8 @@ public class TemperatureResourceIT {
         // Configure the mock search repository
         // Initialize the database
         temperatureRepository.saveAndFlush(temperature);
-        when(mockTemperatureSearchRepository.search(queryStringQuery("id:" + temperature.getId())))
-            .thenReturn(Collections.singletonList(temperature));
+        when(mockTemperatureSearchRepository.search(queryStringQuery("id:" + temperature.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(temperature), PageRequest.of(0, 1), 1));
 
         // Search the temperature
         restTemperatureMockMvc.perform(get("/api/_search/temperatures?query=id:" + temperature.getId()))
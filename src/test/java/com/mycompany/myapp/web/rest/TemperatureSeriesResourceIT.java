@@ -0,0 +1,223 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.JhipsterSampleApplicationApp;
+import com.mycompany.myapp.domain.Temperature;
+import com.mycompany.myapp.domain.Values;
+import com.mycompany.myapp.repository.TemperatureRepository;
+import com.mycompany.myapp.repository.ValuesRepository;
+import com.mycompany.myapp.service.ValuesIngestionService;
+import com.mycompany.myapp.service.ValuesSeriesService;
+import com.mycompany.myapp.service.dto.ReadingPosition;
+import com.mycompany.myapp.service.dto.ValuesReadingDTO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link TemperatureSeriesResource} REST controller.
+ */
+@SpringBootTest(classes = JhipsterSampleApplicationApp.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class TemperatureSeriesResourceIT {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2026, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final Logger log = LoggerFactory.getLogger(TemperatureSeriesResourceIT.class);
+
+    @Autowired
+    private ValuesRepository valuesRepository;
+
+    @Autowired
+    private TemperatureRepository temperatureRepository;
+
+    @Autowired
+    private ValuesIngestionService valuesIngestionService;
+
+    @Autowired
+    private ValuesSeriesService valuesSeriesService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restTemperatureSeriesMockMvc;
+
+    private Temperature createTemperatureWithValues(int count) {
+        Temperature temperature = TemperatureResourceIT.createEntity(em);
+        em.persist(temperature);
+        for (int i = 0; i < count; i++) {
+            // Two readings share each timestamp, so pages are also split between equal timestamps
+            em.persist(new Values().value((double) i).timestamp(START.plusMinutes(i / 2)).temperature(temperature));
+        }
+        em.flush();
+        return temperature;
+    }
+
+    @Test
+    @Transactional
+    public void getTemperatureValuesByPage() throws Exception {
+        Temperature temperature = createTemperatureWithValues(5);
+
+        MvcResult firstPage = restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/values?limit=2", temperature.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].value").value(contains(0.0, 1.0)))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andReturn();
+        String secondPageUrl = nextPageUrl(firstPage);
+
+        MvcResult secondPage = restTemperatureSeriesMockMvc.perform(get(secondPageUrl))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].value").value(contains(2.0, 3.0)))
+            .andReturn();
+
+        restTemperatureSeriesMockMvc.perform(get(nextPageUrl(secondPage)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].value").value(contains(4.0)))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    public void getTemperatureValuesInRange() throws Exception {
+        Temperature temperature = createTemperatureWithValues(6);
+
+        restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/values?from={from}&to={to}", temperature.getId(),
+            START.plusMinutes(1).toInstant(), START.plusMinutes(2).toInstant()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].value").value(contains(2.0, 3.0)));
+    }
+
+    @Test
+    @Transactional
+    public void getTemperatureValuesWithInvalidParameters() throws Exception {
+        Temperature temperature = createTemperatureWithValues(1);
+
+        restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/values?after=invalid", temperature.getId()))
+            .andExpect(status().isBadRequest());
+        restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/values?limit=0", temperature.getId()))
+            .andExpect(status().isBadRequest());
+        restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/values?from={from}&to={from}", temperature.getId(),
+            START.toInstant(), START.toInstant()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingTemperatureValues() throws Exception {
+        restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/values", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void getTemperatureSeriesFromRawReadings() throws Exception {
+        Temperature temperature = createTemperatureWithValues(4);
+
+        restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/series?from={from}&to={to}", temperature.getId(),
+            START.toInstant(), START.plusHours(1).toInstant()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.resolution").value("RAW"))
+            .andExpect(jsonPath("$.points.[*].last").value(contains(0.0, 1.0, 2.0, 3.0)));
+    }
+
+    @Test
+    @Transactional
+    public void getTemperatureSeriesDownsampledWithLttb() throws Exception {
+        Temperature temperature = createTemperatureWithValues(10);
+
+        restTemperatureSeriesMockMvc.perform(get("/api/temperatures/{id}/series?from={from}&to={to}&maxPoints=4&decimation=lttb",
+            temperature.getId(), START.toInstant(), START.plusHours(1).toInstant()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.resolution").value("LTTB"))
+            .andExpect(jsonPath("$.points.length()").value(4))
+            .andExpect(jsonPath("$.points.[0].last").value(0.0))
+            .andExpect(jsonPath("$.points.[3].last").value(9.0));
+    }
+
+    private static String nextPageUrl(MvcResult result) {
+        String link = result.getResponse().getHeader(HttpHeaders.LINK);
+        assertThat(link).isNotNull().endsWith(">; rel=\"next\"");
+        return link.substring(link.indexOf("/api/"), link.indexOf('>'));
+    }
+
+    /**
+     * Measures the latency of the first and of the last page of a sensor's readings while the table grows, with keyset
+     * pagination and with OFFSET pagination. Keyset latency stays flat, OFFSET latency grows with the page depth.
+     * <p>
+     * Run with {@code -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void compareKeysetAndOffsetPaginationLatency() {
+        int pageSize = 100;
+        int step = 20000;
+        Temperature temperature = temperatureRepository.saveAndFlush(new Temperature().name("bench").address("28-0000000000fe"));
+        try {
+            for (int size = step; size <= 5 * step; size += step) {
+                List<ValuesReadingDTO> readings = new ArrayList<>(step);
+                for (int i = size - step; i < size; i++) {
+                    readings.add(new ValuesReadingDTO(temperature.getId(), null, (double) i, START.plusSeconds(i)));
+                }
+                for (int i = 0; i < readings.size(); i += 5000) {
+                    valuesIngestionService.ingest(readings.subList(i, Math.min(i + 5000, readings.size())));
+                }
+
+                Instant to = START.plusSeconds(size).toInstant();
+                Values lastBeforeLastPage = valuesSeriesService
+                    .findReadings(temperature.getId(), START.plusSeconds(size - pageSize - 1).toInstant(), to, null, 1)
+                    .get(0);
+                ReadingPosition lastPage = ReadingPosition.of(lastBeforeLastPage);
+                int lastPageNumber = size / pageSize - 1;
+                PageRequest offsetLastPage = PageRequest.of(lastPageNumber, pageSize, Sort.by("timestamp", "id"));
+
+                log.info(
+                    "{} readings: keyset first page {} µs, keyset last page {} µs, offset last page {} µs",
+                    size,
+                    averageMicros(() -> valuesSeriesService.findReadings(temperature.getId(), START.toInstant(), to, null, pageSize)),
+                    averageMicros(() -> valuesSeriesService.findReadings(temperature.getId(), START.toInstant(), to, lastPage, pageSize)),
+                    averageMicros(() -> valuesRepository.findAll(offsetLastPage).getContent())
+                );
+            }
+        } finally {
+            valuesRepository.deleteAll();
+            temperatureRepository.delete(temperature);
+        }
+    }
+
+    private static long averageMicros(Supplier<List<Values>> query) {
+        int runs = 20;
+        for (int i = 0; i < 5; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            assertThat(query.get()).isNotEmpty();
+        }
+        return (System.nanoTime() - start) / runs / 1000;
+    }
+}
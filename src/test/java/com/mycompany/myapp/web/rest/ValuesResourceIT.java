@@ -1,9 +1,12 @@
 package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.JhipsterSampleApplicationApp;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Temperature;
 import com.mycompany.myapp.domain.Values;
 import com.mycompany.myapp.repository.ValuesRepository;
 import com.mycompany.myapp.repository.search.ValuesSearchRepository;
+import com.mycompany.myapp.service.dto.ValuesReadingDTO;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,13 +27,13 @@ import java.time.ZonedDateTime;
 import java.time.ZoneOffset;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.mycompany.myapp.web.rest.TestUtil.sameInstant;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -120,8 +122,8 @@ public class ValuesResourceIT {
         assertThat(testValues.getValue()).isEqualTo(DEFAULT_VALUE);
         assertThat(testValues.getTimestamp()).isEqualTo(DEFAULT_TIMESTAMP);
 
-        // Validate the Values in Elasticsearch
-        verify(mockValuesSearchRepository, times(1)).save(testValues);
+        // Validate the Values are not indexed
+        verify(mockValuesSearchRepository, never()).save(testValues);
     }
 
     @Test
@@ -147,6 +149,57 @@ public class ValuesResourceIT {
     }
 
 
+    @Test
+    @Transactional
+    public void createValuesBulk() throws Exception {
+        Temperature temperature = TemperatureResourceIT.createEntity(em);
+        em.persist(temperature);
+        em.flush();
+        int databaseSizeBeforeCreate = valuesRepository.findAll().size();
+
+        List<ValuesReadingDTO> readings = Arrays.asList(
+            new ValuesReadingDTO(temperature.getId(), null, DEFAULT_VALUE, DEFAULT_TIMESTAMP),
+            new ValuesReadingDTO(null, temperature.getAddress(), UPDATED_VALUE, UPDATED_TIMESTAMP),
+            new ValuesReadingDTO(Long.MAX_VALUE, null, DEFAULT_VALUE, DEFAULT_TIMESTAMP)
+        );
+        restValuesMockMvc.perform(post("/api/values/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(readings)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[1].status").value("CREATED"))
+            .andExpect(jsonPath("$.[2].status").value("REJECTED"));
+
+        // Validate the Values in the database
+        List<Values> valuesList = valuesRepository.findAll();
+        assertThat(valuesList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(valuesList).extracting(Values::getTemperature).filteredOn(t -> t != null).contains(temperature);
+
+        // Validate the Values are not indexed
+        verify(mockValuesSearchRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    @Transactional
+    public void createValuesBulkFromNdjson() throws Exception {
+        Temperature temperature = TemperatureResourceIT.createEntity(em);
+        em.persist(temperature);
+        em.flush();
+        int databaseSizeBeforeCreate = valuesRepository.findAll().size();
+
+        String body = new String(TestUtil.convertObjectToJsonBytes(new ValuesReadingDTO(temperature.getId(), null, DEFAULT_VALUE, DEFAULT_TIMESTAMP)))
+            + "\n"
+            + new String(TestUtil.convertObjectToJsonBytes(new ValuesReadingDTO(temperature.getId(), null, UPDATED_VALUE, UPDATED_TIMESTAMP)))
+            + "\n";
+        restValuesMockMvc.perform(post("/api/values/bulk")
+            .contentType(Constants.APPLICATION_NDJSON_VALUE)
+            .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(hasItem("CREATED")));
+
+        assertThat(valuesRepository.findAll()).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
     @Test
     @Transactional
     public void getAllValues() throws Exception {
@@ -232,8 +285,8 @@ public class ValuesResourceIT {
         assertThat(testValues.getValue()).isEqualTo(UPDATED_VALUE);
         assertThat(testValues.getTimestamp()).isEqualTo(UPDATED_TIMESTAMP);
 
-        // Validate the Values in Elasticsearch
-        verify(mockValuesSearchRepository, times(1)).save(testValues);
+        // Validate the Values are not indexed
+        verify(mockValuesSearchRepository, never()).save(testValues);
     }
 
     @Test
@@ -272,25 +325,19 @@ public class ValuesResourceIT {
         List<Values> valuesList = valuesRepository.findAll();
         assertThat(valuesList).hasSize(databaseSizeBeforeDelete - 1);
 
-        // Validate the Values in Elasticsearch
-        verify(mockValuesSearchRepository, times(1)).deleteById(values.getId());
+        // Validate the Values are not indexed
+        verify(mockValuesSearchRepository, never()).deleteById(values.getId());
     }
 
     @Test
     @Transactional
-    public void searchValues() throws Exception {
-        // Configure the mock search repository
+    public void searchValuesIsNotServed() throws Exception {
         // Initialize the database
         valuesRepository.saveAndFlush(values);
-        when(mockValuesSearchRepository.search(queryStringQuery("id:" + values.getId())))
-            .thenReturn(Collections.singletonList(values));
 
-        // Search the values
+        // Readings are not indexed, so they cannot be searched
         restValuesMockMvc.perform(get("/api/_search/values?query=id:" + values.getId()))
-            .andExpect(status().isOk())
-            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(values.getId().intValue())))
-            .andExpect(jsonPath("$.[*].value").value(hasItem(DEFAULT_VALUE.doubleValue())))
-            .andExpect(jsonPath("$.[*].timestamp").value(hasItem(sameInstant(DEFAULT_TIMESTAMP))));
+            .andExpect(status().isNotFound());
+        verifyNoInteractions(mockValuesSearchRepository);
     }
 }
@@ -297,8 +297,8 @@ public class WebUserResourceIT {
         // Configure the mock search repository
         // Initialize the database
         webUserRepository.saveAndFlush(webUser);
-        when(mockWebUserSearchRepository.search(queryStringQuery("id:" + webUser.getId())))
-            .thenReturn(Collections.singletonList(webUser));
+        when(mockWebUserSearchRepository.search(queryStringQuery("id:" + webUser.getId()), PageRequest.of(0, 20)))
+            .thenReturn(new PageImpl<>(Collections.singletonList(webUser), PageRequest.of(0, 1), 1));
 
         // Search the webUser
         restWebUserMockMvc.perform(get("/api/_search/web-users?query=id:" + webUser.getId()))
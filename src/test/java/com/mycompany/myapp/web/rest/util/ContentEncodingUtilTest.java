@@ -0,0 +1,31 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ContentEncodingUtil} utility class.
+ */
+public class ContentEncodingUtilTest {
+
+    @Test
+    public void testAcceptsGzip() {
+        assertThat(ContentEncodingUtil.acceptsGzip("gzip")).isTrue();
+        assertThat(ContentEncodingUtil.acceptsGzip("deflate, GZIP;q=0.5, br")).isTrue();
+        assertThat(ContentEncodingUtil.acceptsGzip("x-gzip")).isTrue();
+        assertThat(ContentEncodingUtil.acceptsGzip("br, *")).isTrue();
+    }
+
+    @Test
+    public void testDoesNotAcceptGzip() {
+        assertThat(ContentEncodingUtil.acceptsGzip((String) null)).isFalse();
+        assertThat(ContentEncodingUtil.acceptsGzip("")).isFalse();
+        assertThat(ContentEncodingUtil.acceptsGzip("identity, br")).isFalse();
+        assertThat(ContentEncodingUtil.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ContentEncodingUtil.acceptsGzip("gzip; q=0.0, *")).isFalse();
+        assertThat(ContentEncodingUtil.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(ContentEncodingUtil.acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(ContentEncodingUtil.acceptsGzip("nogzip")).isFalse();
+    }
+}
@@ -117,6 +117,17 @@ describe('Service Tests', () => {
         expect(expectedResult).toContainEqual(expected);
       });
 
+      it('should download the data of a Application', () => {
+        const data = new Blob(['AAAAAAA']);
+        let downloaded: Blob | null = null;
+
+        service.downloadData(123).subscribe(resp => (downloaded = resp));
+
+        const req = httpMock.expectOne({ method: 'GET', url: service.resourceUrl + '/123/data' });
+        req.flush(data);
+        expect(downloaded).toEqual(data);
+      });
+
       it('should delete a Application', () => {
         service.delete(123).subscribe(resp => (expectedResult = resp.ok));
 
@@ -45,5 +45,27 @@ describe('Component Tests', () => {
       expect(service.query).toHaveBeenCalled();
       expect(comp.deviceProfiles && comp.deviceProfiles[0]).toEqual(jasmine.objectContaining({ id: 123 }));
     });
+
+    it('Should request one page of search results and read the total count', () => {
+      // GIVEN
+      const headers = new HttpHeaders().append('X-Total-Count', '45');
+      spyOn(service, 'search').and.returnValue(
+        of(
+          new HttpResponse({
+            body: [new DeviceProfile(123)],
+            headers,
+          })
+        )
+      );
+      comp.page = 3;
+
+      // WHEN
+      comp.search('foo');
+
+      // THEN
+      expect(service.search).toHaveBeenCalledWith({ query: 'foo', page: 0, size: 20, sort: ['id,asc'] });
+      expect(comp.totalItems).toEqual(45);
+      expect(comp.deviceProfiles && comp.deviceProfiles[0]).toEqual(jasmine.objectContaining({ id: 123 }));
+    });
   });
 });